@@ -16,39 +16,56 @@ import org.springframework.core.task.TaskExecutor;
 
 import com.ciphertool.genetics.GeneticAlgorithmStrategy;
 import com.ciphertool.genetics.algorithms.crossover.CrossoverAlgorithm;
+import com.ciphertool.genetics.algorithms.crossover.PooledCrossoverAlgorithm;
 import com.ciphertool.genetics.algorithms.mutation.MutationAlgorithm;
 import com.ciphertool.genetics.algorithms.mutation.NonUniformMutationAlgorithm;
 import com.ciphertool.genetics.algorithms.mutation.UniformMutationAlgorithm;
+import com.ciphertool.genetics.algorithms.termination.TerminationCriterion;
 import com.ciphertool.genetics.dao.ExecutionStatisticsDao;
 import com.ciphertool.genetics.dao.GenerationStatisticsDao;
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.statistics.ExecutionStatistics;
 import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
 import com.ciphertool.genetics.entities.statistics.PerformanceStatistics;
+import com.ciphertool.genetics.population.ChromosomePool;
+import com.ciphertool.genetics.population.KnownSolutionProximityTracker;
 import com.ciphertool.genetics.population.Population;
+import com.ciphertool.genetics.util.AllocationMeter;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
 public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 	protected Logger					log					= LoggerFactory.getLogger(getClass());
 
-	protected Population				population;
-	protected GeneticAlgorithmStrategy	strategy;
-	protected Boolean					stopRequested		= false;
-	protected Integer					generationCount		= 0;
-	protected Integer					generationsToSkip;
-	protected Integer					generationsToKeep;
-	protected Boolean					verifyAncestry		= false;
-	protected ExecutionStatistics		executionStatistics;
+	protected Population					population;
+	protected GeneticAlgorithmStrategy		strategy;
+	protected Boolean						stopRequested		= false;
+	protected Integer						generationCount		= 0;
+	protected Integer						generationsToSkip;
+	protected Integer						generationsToKeep;
+	protected Boolean						verifyAncestry		= false;
+	protected ExecutionStatistics			executionStatistics;
+	protected ExecutionStatistics			lastExecutionStatistics;
 	@SuppressWarnings("rawtypes")
-	protected MutationAlgorithm			mutationAlgorithm;
-	protected AtomicInteger				mutations			= new AtomicInteger(0);
+	protected MutationAlgorithm				mutationAlgorithm;
+	protected AtomicInteger					mutations			= new AtomicInteger(0);
 	@SuppressWarnings("rawtypes")
-	protected CrossoverAlgorithm		crossoverAlgorithm;
-	protected ExecutionStatisticsDao	executionStatisticsDao;
-	protected GenerationStatisticsDao	generationStatisticsDao;
-	protected TaskExecutor				taskExecutor;
-	protected Boolean					persistStatistics	= false;
-	protected Double					majorEvaluationPercentage;
-	protected Integer					majorEvaluationStepSize;
+	protected CrossoverAlgorithm			crossoverAlgorithm;
+	protected ExecutionStatisticsDao		executionStatisticsDao;
+	protected GenerationStatisticsDao		generationStatisticsDao;
+	protected TaskExecutor					taskExecutor;
+	protected Boolean						persistStatistics	= false;
+	protected Double						majorEvaluationPercentage;
+	protected Integer						majorEvaluationStepSize;
+	protected RandomSource					randomSource		= new RandomSource();
+	protected int							maxAncestryAttempts	= 100;
+	protected AncestryFallbackPolicy		ancestryFallback	= AncestryFallbackPolicy.ACCEPT_LAST_CANDIDATE;
+	protected boolean						indexLineages;
+	protected AtomicInteger					ancestryRejections	= new AtomicInteger(0);
+	protected TerminationCriterion			terminationCriterion;
+	protected int							generationsChecked;
+	protected ChromosomePool				chromosomePool;
+	protected KnownSolutionProximityTracker	knownSolutionProximityTracker;
 
 	protected class SelectionResult {
 		private Chromosome	mom;
@@ -80,6 +97,24 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 		}
 	}
 
+	/**
+	 * @return whether the ancestry of mates needs to be checked in the current generation
+	 */
+	protected boolean isAncestryVerified() {
+		return verifyAncestry && generationCount > generationsToKeep;
+	}
+
+	/**
+	 * The idea is to make sure that individuals which share too much ancestry (i.e. immediate family members) or not
+	 * enough ancestry (i.e. different species) cannot reproduce.
+	 * 
+	 * @return whether the two Chromosomes may mate
+	 */
+	protected boolean isAncestryCompatible(Chromosome mom, Chromosome dad) {
+		return mom.getAncestry() == null || dad.getAncestry() == null
+				|| mom.getAncestry().sharesLineageWith(dad.getAncestry(), generationsToSkip);
+	}
+
 	@PostConstruct
 	public void verifyParameters() {
 		if (verifyAncestry && (generationsToSkip == null || generationsToKeep == null)) {
@@ -107,10 +142,12 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 				- startEntropyCalculation);
 
 		long startEvaluation = System.currentTimeMillis();
-		this.population.evaluateFitness(generationStatistics);
+		Chromosome bestFitIndividual = this.population.evaluateFitness(generationStatistics);
 		generationStatistics.getPerformanceStatistics().setEvaluationMillis(System.currentTimeMillis()
 				- startEvaluation);
 
+		trackKnownSolution(bestFitIndividual, generationStatistics);
+
 		long executionTime = System.currentTimeMillis() - start;
 		generationStatistics.getPerformanceStatistics().setTotalMillis(executionTime);
 
@@ -126,13 +163,28 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 		try {
 			initialize();
 
+			String terminationReason = null;
+
 			do {
 				proceedWithNextGeneration();
-			} while (!this.stopRequested && (this.strategy.getMaxGenerations() < 0
+
+				terminationReason = checkTermination();
+			} while (!this.stopRequested && terminationReason == null && (this.strategy.getMaxGenerations() < 0
 					|| this.generationCount < this.strategy.getMaxGenerations()));
+
+			if (terminationReason == null) {
+				terminationReason = this.stopRequested ? "Stop requested" : "Reached the maximum of "
+						+ this.strategy.getMaxGenerations() + " generations";
+			}
+
+			log.info("Terminating: " + terminationReason);
+
+			this.executionStatistics.setTerminationReason(terminationReason);
 		} catch (InterruptedException ie) {
 			log.info(ie.getMessage());
 
+			this.executionStatistics.setTerminationReason(ie.getMessage());
+
 			this.population.recoverFromBackup();
 		}
 
@@ -147,6 +199,26 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 
 		this.stopRequested = false;
 		this.population.setStopRequested(false);
+		this.population.reset();
+
+		this.randomSource.reset();
+
+		if (this.randomSource.isSeeded()) {
+			shareRandomSource();
+		}
+
+		this.generationsChecked = 0;
+
+		if (this.terminationCriterion != null) {
+			this.terminationCriterion.reset();
+		}
+
+		if (this.knownSolutionProximityTracker != null) {
+			this.knownSolutionProximityTracker.reset();
+
+			// The tracker measures the proximity in the background instead of the population, until finish()
+			this.population.setCompareToKnownSolution(false);
+		}
 
 		Date startDate = new Date();
 		this.executionStatistics = new ExecutionStatistics(startDate, this.strategy);
@@ -154,6 +226,33 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 		this.spawnInitialPopulation();
 	}
 
+	/**
+	 * Hands the RandomSource of this algorithm to each component which draws from one, so that a seeded run does not
+	 * depend on how the components were wired. Helpers nested inside the components, such as a Coin, need not share
+	 * it, since a draw made inside a bound task comes from the stream of that task whichever RandomSource it goes
+	 * through.
+	 */
+	protected void shareRandomSource() {
+		Object[] components = new Object[] { this.population, this.strategy.getSelector(), this.crossoverAlgorithm,
+				this.mutationAlgorithm };
+
+		for (Object component : components) {
+			if (component instanceof RandomSourceAware) {
+				((RandomSourceAware) component).setRandomSource(this.randomSource);
+			}
+		}
+	}
+
+	/**
+	 * Hands the ChromosomePool of this algorithm, or null if there is none, to the crossover algorithm if it takes its
+	 * children from one, so that the pool is in place whichever of the two was set first.
+	 */
+	protected void shareChromosomePool() {
+		if (this.crossoverAlgorithm instanceof PooledCrossoverAlgorithm) {
+			((PooledCrossoverAlgorithm<?>) this.crossoverAlgorithm).setChromosomePool(this.chromosomePool);
+		}
+	}
+
 	protected void validateParameters() {
 		List<String> validationErrors = new ArrayList<String>();
 
@@ -239,10 +338,52 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 				this.generationCount);
 
 		long generationStart = System.currentTimeMillis();
+		AllocationMeter allocationMeter = new AllocationMeter(this.chromosomePool);
+
+		PerformanceStatistics performanceStats = generationStatistics.getPerformanceStatistics();
 
+		breedAndReplace(generationStatistics);
+
+		long startEntropyCalculation = System.currentTimeMillis();
+		BigDecimal entropy = this.population.calculateEntropy();
+		generationStatistics.setEntropy(entropy);
+		performanceStats.setEntropyMillis(System.currentTimeMillis() - startEntropyCalculation);
+
+		long startEvaluation = System.currentTimeMillis();
+		Chromosome bestFitIndividual = this.population.evaluateFitness(generationStatistics);
+		performanceStats.setEvaluationMillis(System.currentTimeMillis() - startEvaluation);
+
+		if (majorEvaluationStepSize > 0 && (this.generationCount % majorEvaluationStepSize) == 0) {
+			long startMajorEvaluation = System.currentTimeMillis();
+			bestFitIndividual = this.population.performMajorEvaluation(generationStatistics,
+					majorEvaluationPercentage);
+			performanceStats.setMajorEvaluationMillis(System.currentTimeMillis() - startMajorEvaluation);
+		}
+
+		trackKnownSolution(bestFitIndividual, generationStatistics);
+
+		allocationMeter.recordTo(performanceStats);
+		performanceStats.setTotalMillis(System.currentTimeMillis() - generationStart);
+		generationStatistics.setPerformanceStatistics(performanceStats);
+
+		log.info(generationStatistics.toString());
+
+		this.executionStatistics.addGenerationStatistics(generationStatistics);
+	}
+
+	/**
+	 * Breeds the next generation from the current population and puts it in the population's place, recording the
+	 * selection, crossover and mutation statistics. Evaluation of the new generation is left to the caller.
+	 * 
+	 * @param generationStatistics
+	 *            the statistics of the generation being bred
+	 * @throws InterruptedException
+	 *             if stop is requested
+	 */
+	protected void breedAndReplace(GenerationStatistics generationStatistics) throws InterruptedException {
 		int populationSizeBeforeGeneration = this.population.size();
 
-		PerformanceStatistics performanceStats = new PerformanceStatistics();
+		PerformanceStatistics performanceStats = generationStatistics.getPerformanceStatistics();
 
 		List<Chromosome> moms = new ArrayList<Chromosome>();
 		List<Chromosome> dads = new ArrayList<Chromosome>();
@@ -251,6 +392,7 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 		this.population.reIndexSelector();
 		select(populationSizeBeforeGeneration, moms, dads);
 		performanceStats.setSelectionMillis(System.currentTimeMillis() - startSelection);
+		generationStatistics.setNumberOfAncestryRejections(ancestryRejections.getAndSet(0));
 
 		long startCrossover = System.currentTimeMillis();
 		generationStatistics.setNumberOfCrossovers(crossover(populationSizeBeforeGeneration, moms, dads));
@@ -259,28 +401,46 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 		long startMutation = System.currentTimeMillis();
 		generationStatistics.setNumberOfMutations(mutate(populationSizeBeforeGeneration));
 		performanceStats.setMutationMillis(System.currentTimeMillis() - startMutation);
+	}
 
-		long startEntropyCalculation = System.currentTimeMillis();
-		BigDecimal entropy = this.population.calculateEntropy();
-		generationStatistics.setEntropy(entropy);
-		performanceStats.setEntropyMillis(System.currentTimeMillis() - startEntropyCalculation);
+	/**
+	 * Hands the best individual of the generation, once all of its evaluations are done, to the
+	 * knownSolutionProximityTracker, if there is one and the strategy compares to the known solution.
+	 */
+	protected void trackKnownSolution(Chromosome bestFitIndividual, GenerationStatistics generationStatistics) {
+		if (this.knownSolutionProximityTracker == null || bestFitIndividual == null
+				|| !Boolean.TRUE.equals(this.strategy.getCompareToKnownSolution())) {
+			return;
+		}
 
-		long startEvaluation = System.currentTimeMillis();
-		this.population.evaluateFitness(generationStatistics);
-		performanceStats.setEvaluationMillis(System.currentTimeMillis() - startEvaluation);
+		this.knownSolutionProximityTracker.track(this.strategy.getKnownSolutionFitnessEvaluator(), bestFitIndividual,
+				generationStatistics);
+	}
 
-		if (majorEvaluationStepSize > 0 && (this.generationCount % majorEvaluationStepSize) == 0) {
-			long startMajorEvaluation = System.currentTimeMillis();
-			this.population.performMajorEvaluation(generationStatistics, majorEvaluationPercentage);
-			performanceStats.setMajorEvaluationMillis(System.currentTimeMillis() - startMajorEvaluation);
+	/**
+	 * Passes the GenerationStatistics of each generation completed since the last check to the terminationCriterion, so
+	 * that none is skipped when several generations complete between checks.
+	 * 
+	 * @return the reason to terminate, or null if the run should continue
+	 */
+	protected String checkTermination() {
+		if (this.terminationCriterion == null) {
+			return null;
 		}
 
-		performanceStats.setTotalMillis(System.currentTimeMillis() - generationStart);
-		generationStatistics.setPerformanceStatistics(performanceStats);
+		List<GenerationStatistics> generationStatisticsList = this.executionStatistics.getGenerationStatisticsList();
 
-		log.info(generationStatistics.toString());
+		String terminationReason = null;
 
-		this.executionStatistics.addGenerationStatistics(generationStatistics);
+		for (; this.generationsChecked < generationStatisticsList.size(); this.generationsChecked++) {
+			String reason = this.terminationCriterion.check(generationStatisticsList.get(this.generationsChecked));
+
+			if (terminationReason == null) {
+				terminationReason = reason;
+			}
+		}
+
+		return terminationReason;
 	}
 
 	@Override
@@ -292,9 +452,34 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 
 	@Override
 	public void finish() {
+		List<GenerationStatistics> generationStatisticsList = this.executionStatistics.getGenerationStatisticsList();
+
+		if (this.population != null) {
+			try {
+				// Evaluations still running in the background belong to the final generation
+				this.population.awaitBackgroundEvaluations(generationStatisticsList.isEmpty() ? null : generationStatisticsList.get(generationStatisticsList.size()
+						- 1));
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for background evaluations ", ie);
+			}
+		}
+
+		if (this.knownSolutionProximityTracker != null) {
+			try {
+				this.knownSolutionProximityTracker.await();
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for ProximityTask ", ie);
+			}
+
+			if (this.population != null && this.strategy != null) {
+				// Hand the measurement back to the population, as configured by the strategy
+				this.population.setCompareToKnownSolution(this.strategy.getCompareToKnownSolution());
+			}
+		}
+
 		long totalExecutionTime = 0;
 
-		for (GenerationStatistics generationStatistics : this.executionStatistics.getGenerationStatisticsList()) {
+		for (GenerationStatistics generationStatistics : generationStatisticsList) {
 			if (generationStatistics.getGeneration() == 0) {
 				// This is the initial spawning of the population, which will potentially skew the average
 				continue;
@@ -325,9 +510,20 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 		}
 
 		// This needs to be reset to null in case the algorithm is re-run
+		this.lastExecutionStatistics = this.executionStatistics;
 		this.executionStatistics = null;
 	}
 
+	@Override
+	public ExecutionStatistics getExecutionStatistics() {
+		return executionStatistics;
+	}
+
+	@Override
+	public ExecutionStatistics getLastExecutionStatistics() {
+		return lastExecutionStatistics;
+	}
+
 	/**
 	 * @param executionStatistics
 	 *            the ExecutionStatistics to persist
@@ -355,6 +551,8 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 
 		this.crossoverAlgorithm = geneticAlgorithmStrategy.getCrossoverAlgorithm();
 
+		shareChromosomePool();
+
 		this.mutationAlgorithm = geneticAlgorithmStrategy.getMutationAlgorithm();
 
 		if (this.mutationAlgorithm instanceof UniformMutationAlgorithm) {
@@ -385,6 +583,14 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * @param terminationCriterion
+	 *            the TerminationCriterion which may end a run before maxGenerations, or null to run until then
+	 */
+	public void setTerminationCriterion(TerminationCriterion terminationCriterion) {
+		this.terminationCriterion = terminationCriterion;
+	}
+
 	/**
 	 * @param generationsToSkip
 	 *            the generationsToSkip to set
@@ -428,6 +634,31 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 		this.verifyAncestry = verifyAncestry;
 	}
 
+	/**
+	 * @param maxAncestryAttempts
+	 *            the number of candidate mates to draw for each parent before applying the ancestryFallback
+	 */
+	public void setMaxAncestryAttempts(int maxAncestryAttempts) {
+		this.maxAncestryAttempts = maxAncestryAttempts;
+	}
+
+	/**
+	 * @param ancestryFallback
+	 *            the AncestryFallbackPolicy to apply when no compatible mate is found
+	 */
+	public void setAncestryFallback(AncestryFallbackPolicy ancestryFallback) {
+		this.ancestryFallback = ancestryFallback;
+	}
+
+	/**
+	 * @param indexLineages
+	 *            whether to draw mates only from the lineage cluster of the first parent, rather than from the whole
+	 *            population, when verifying ancestry
+	 */
+	public void setIndexLineages(boolean indexLineages) {
+		this.indexLineages = indexLineages;
+	}
+
 	/**
 	 * @return the population
 	 */
@@ -472,4 +703,37 @@ public abstract class AbstractGeneticAlgorithm implements GeneticAlgorithm {
 	public void setPersistStatistics(boolean persistStatistics) {
 		this.persistStatistics = persistStatistics;
 	}
+
+	/**
+	 * If the RandomSource is seeded, it is given to the Population, the Selector and the genetic operators when the
+	 * algorithm is initialized, so that a seeded run hands out its streams in the same order every time.
+	 * 
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
+	/**
+	 * When set, the individuals which die in one generation are recycled as the shells of the children made in the
+	 * next. This only has an effect with Chromosomes which are ReusableChromosomes.
+	 * 
+	 * @param chromosomePool
+	 *            the chromosomePool to set, or null to allocate every child
+	 */
+	public void setChromosomePool(ChromosomePool chromosomePool) {
+		this.chromosomePool = chromosomePool;
+
+		shareChromosomePool();
+	}
+
+	/**
+	 * @param knownSolutionProximityTracker
+	 *            the KnownSolutionProximityTracker which measures proximity to the known solution in the background
+	 *            once per generation, or null for the population to measure it synchronously
+	 */
+	public void setKnownSolutionProximityTracker(KnownSolutionProximityTracker knownSolutionProximityTracker) {
+		this.knownSolutionProximityTracker = knownSolutionProximityTracker;
+	}
 }
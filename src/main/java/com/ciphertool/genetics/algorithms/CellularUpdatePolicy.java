@@ -0,0 +1,47 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms;
+
+/**
+ * The order in which an asynchronous cellular genetic algorithm updates the cells of its lattice in place. Each update
+ * breeds a child from the neighborhood of a cell, which replaces the cell's individual unless it is less fit.
+ */
+public enum CellularUpdatePolicy {
+	/**
+	 * Every cell once per generation, row by row
+	 */
+	LINE_SWEEP,
+
+	/**
+	 * Every cell once per generation, in a random order which is chosen once and reused every generation
+	 */
+	FIXED_RANDOM_SWEEP,
+
+	/**
+	 * Every cell once per generation, in a new random order each generation
+	 */
+	NEW_RANDOM_SWEEP,
+
+	/**
+	 * As many updates per generation as there are cells, each of a cell chosen uniformly at random, so some cells may
+	 * be updated more than once and others not at all
+	 */
+	UNIFORM_CHOICE
+}
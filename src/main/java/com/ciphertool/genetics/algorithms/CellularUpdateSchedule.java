@@ -0,0 +1,240 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ciphertool.genetics.util.RandomSource;
+
+/**
+ * Turns a CellularUpdatePolicy into steps of cell updates which are safe to run concurrently.
+ * 
+ * Cells are coloured so that two cells of the same colour are always more than the neighborhood radius apart along at
+ * least one axis, even when the lattice wraps around. Updating a cell only reads its neighborhood and only writes the
+ * cell itself, so all the cells of one colour can be updated at once. Along each axis, a cell's coordinate modulo
+ * (radius + 1) gives its colour, except that the rows and columns left over when the length is not a multiple of
+ * (radius + 1) each get a colour of their own.
+ * 
+ * Within a generation, each colour is updated as one step, in the order in which the policy first reaches a cell of
+ * that colour. A cell chosen more than once by UNIFORM_CHOICE is updated in successive steps.
+ */
+public class CellularUpdateSchedule {
+	private final int	rows;
+	private final int	columns;
+	private final int	radius;
+	private final int	numberOfColours;
+	private final int[]	colourOfCell;
+	private int[]		fixedSweep;
+
+	/**
+	 * @param rows
+	 *            the number of rows in the lattice
+	 * @param columns
+	 *            the number of columns in the lattice
+	 * @param radius
+	 *            the distance from a cell to the furthest cell in its neighborhood
+	 */
+	public CellularUpdateSchedule(int rows, int columns, int radius) {
+		this.rows = rows;
+		this.columns = columns;
+		this.radius = radius;
+
+		int[] rowColours = axisColours(rows, radius + 1);
+		int[] columnColours = axisColours(columns, radius + 1);
+		int numberOfColumnColours = numberOfAxisColours(columns, radius + 1);
+
+		this.numberOfColours = numberOfAxisColours(rows, radius + 1) * numberOfColumnColours;
+		this.colourOfCell = new int[rows * columns];
+
+		for (int x = 0; x < rows; x++) {
+			for (int y = 0; y < columns; y++) {
+				this.colourOfCell[(x * columns) + y] = (rowColours[x] * numberOfColumnColours) + columnColours[y];
+			}
+		}
+	}
+
+	private static int[] axisColours(int length, int period) {
+		int[] colours = new int[length];
+		int regularLength = (length / period) * period;
+
+		for (int i = 0; i < length; i++) {
+			colours[i] = (i < regularLength) ? (i % period) : (period + (i - regularLength));
+		}
+
+		return colours;
+	}
+
+	private static int numberOfAxisColours(int length, int period) {
+		return period + (length % period);
+	}
+
+	/**
+	 * @param policy
+	 *            the CellularUpdatePolicy to follow
+	 * @param randomSource
+	 *            the RandomSource to draw random orders from
+	 * @return the cell indices (row * columns + column) to update, as a list of steps to run one after another, where
+	 *         the cells within a step may be updated concurrently
+	 */
+	public List<int[]> stepsFor(CellularUpdatePolicy policy, RandomSource randomSource) {
+		int[] sequence = sequenceFor(policy, randomSource);
+
+		List<List<Integer>> cellsByColour = new ArrayList<List<Integer>>(numberOfColours);
+		List<Integer> colourOrder = new ArrayList<Integer>();
+
+		for (int colour = 0; colour < numberOfColours; colour++) {
+			cellsByColour.add(new ArrayList<Integer>());
+		}
+
+		for (int cell : sequence) {
+			List<Integer> cells = cellsByColour.get(colourOfCell[cell]);
+
+			if (cells.isEmpty()) {
+				colourOrder.add(colourOfCell[cell]);
+			}
+
+			cells.add(cell);
+		}
+
+		List<int[]> steps = new ArrayList<int[]>();
+		boolean[] inStep = new boolean[rows * columns];
+
+		for (int colour : colourOrder) {
+			List<Integer> pending = cellsByColour.get(colour);
+
+			while (!pending.isEmpty()) {
+				List<Integer> step = new ArrayList<Integer>(pending.size());
+				List<Integer> repeated = new ArrayList<Integer>();
+
+				for (int cell : pending) {
+					if (inStep[cell]) {
+						repeated.add(cell);
+					} else {
+						inStep[cell] = true;
+						step.add(cell);
+					}
+				}
+
+				int[] cells = new int[step.size()];
+
+				for (int i = 0; i < cells.length; i++) {
+					cells[i] = step.get(i);
+					inStep[cells[i]] = false;
+				}
+
+				steps.add(cells);
+
+				pending = repeated;
+			}
+		}
+
+		return steps;
+	}
+
+	protected int[] sequenceFor(CellularUpdatePolicy policy, RandomSource randomSource) {
+		int size = rows * columns;
+
+		switch (policy) {
+		case LINE_SWEEP:
+			return identity(size);
+
+		case FIXED_RANDOM_SWEEP:
+			if (this.fixedSweep == null) {
+				this.fixedSweep = shuffle(identity(size), randomSource);
+			}
+
+			return this.fixedSweep;
+
+		case NEW_RANDOM_SWEEP:
+			return shuffle(identity(size), randomSource);
+
+		case UNIFORM_CHOICE:
+			int[] sequence = new int[size];
+
+			for (int i = 0; i < size; i++) {
+				sequence[i] = randomSource.nextInt(size);
+			}
+
+			return sequence;
+
+		default:
+			throw new IllegalArgumentException("Unsupported CellularUpdatePolicy " + policy);
+		}
+	}
+
+	private static int[] identity(int size) {
+		int[] sequence = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			sequence[i] = i;
+		}
+
+		return sequence;
+	}
+
+	private static int[] shuffle(int[] sequence, RandomSource randomSource) {
+		for (int i = sequence.length - 1; i > 0; i--) {
+			int j = randomSource.nextInt(i + 1);
+			int swap = sequence[i];
+			sequence[i] = sequence[j];
+			sequence[j] = swap;
+		}
+
+		return sequence;
+	}
+
+	/**
+	 * @param cell
+	 *            the cell index
+	 * @return the colour of the cell
+	 */
+	public int colourOf(int cell) {
+		return colourOfCell[cell];
+	}
+
+	/**
+	 * @return the number of colours
+	 */
+	public int getNumberOfColours() {
+		return numberOfColours;
+	}
+
+	/**
+	 * @return the number of rows in the lattice
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return the number of columns in the lattice
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * @return the radius of the neighborhoods
+	 */
+	public int getRadius() {
+		return radius;
+	}
+}
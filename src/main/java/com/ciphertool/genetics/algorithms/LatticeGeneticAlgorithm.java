@@ -30,10 +30,17 @@ import org.slf4j.LoggerFactory;
 
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.SpatialChromosome;
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.entities.statistics.PerformanceStatistics;
 import com.ciphertool.genetics.population.LatticePopulation;
+import com.ciphertool.genetics.population.LatticeTiling;
 
 public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
-	private Logger log = LoggerFactory.getLogger(getClass());
+	protected static final int		CELLS_PER_TASK	= 16;
+
+	private Logger					log				= LoggerFactory.getLogger(getClass());
+	private CellularUpdatePolicy	updatePolicy;
+	private CellularUpdateSchedule	updateSchedule;
 
 	/**
 	 * A concurrent task for performing a crossover of two parent Chromosomes, producing one child Chromosome.
@@ -65,12 +72,180 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 
 		@Override
 		public SelectionResult call() throws Exception {
-			LatticePopulation latticePopulation = (LatticePopulation) population;
-			SpatialChromosome mom = null;
-			SpatialChromosome dad = null;
-			List<SpatialChromosome> parents = null;
+			return selectParents(x, y);
+		}
+	}
+
+	/**
+	 * A concurrent task for selecting the parents of every cell in a tile.
+	 */
+	protected class TileSelectionTask implements Callable<List<SelectionResult>> {
+		private LatticeTiling	tiling;
+		private int				tile;
+
+		public TileSelectionTask(LatticeTiling tiling, int tile) {
+			this.tiling = tiling;
+			this.tile = tile;
+		}
+
+		@Override
+		public List<SelectionResult> call() throws Exception {
+			List<SelectionResult> results = new ArrayList<SelectionResult>(tiling.getNumberOfCells(tile));
+
+			for (int x = tiling.getRowStart(tile); x < tiling.getRowEnd(tile); x++) {
+				for (int y = tiling.getColumnStart(tile); y < tiling.getColumnEnd(tile); y++) {
+					results.add(selectParents(x, y));
+				}
+			}
+
+			return results;
+		}
+	}
+
+	/**
+	 * A concurrent task for performing the crossovers of a contiguous range of parents.
+	 */
+	protected class TileCrossoverTask implements Callable<List<SpatialChromosome>> {
+		private List<Chromosome>	moms;
+		private List<Chromosome>	dads;
+
+		public TileCrossoverTask(List<Chromosome> moms, List<Chromosome> dads) {
+			this.moms = moms;
+			this.dads = dads;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public List<SpatialChromosome> call() throws Exception {
+			List<SpatialChromosome> children = new ArrayList<SpatialChromosome>(moms.size());
+
+			for (int i = 0; i < moms.size(); i++) {
+				children.addAll(crossoverAlgorithm.crossover(moms.get(i), dads.get(i)));
+			}
+
+			return children;
+		}
+	}
+
+	/**
+	 * A concurrent task for mutating every cell in a tile.
+	 */
+	protected class TileMutationTask implements Callable<Void> {
+		private LatticeTiling	tiling;
+		private int				tile;
+
+		public TileMutationTask(LatticeTiling tiling, int tile) {
+			this.tiling = tiling;
+			this.tile = tile;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Void call() throws Exception {
+			Chromosome[][] individuals = ((LatticePopulation) population).getIndividualsAsArray();
+
+			for (int x = tiling.getRowStart(tile); x < tiling.getRowEnd(tile); x++) {
+				for (int y = tiling.getColumnStart(tile); y < tiling.getColumnEnd(tile); y++) {
+					if (mutationAlgorithm.mutateChromosome(individuals[x][y])) {
+						mutations.incrementAndGet();
+					}
+				}
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 * A concurrent task for updating a range of cells in place, all of which are far enough apart that their
+	 * neighborhoods do not overlap the other cells being updated. Returns the number of children bred.
+	 */
+	protected class CellUpdateTask implements Callable<Integer> {
+		private int[]	cells;
+		private int		from;
+		private int		to;
+
+		public CellUpdateTask(int[] cells, int from, int to) {
+			this.cells = cells;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public Integer call() throws Exception {
+			int children = 0;
+
+			for (int i = from; i < to; i++) {
+				if (updateCell(cells[i])) {
+					children++;
+				}
+			}
+
+			return children;
+		}
+	}
+
+	/**
+	 * Selects the parents of the cell from its neighborhood. The neighbors are read from the shared lattice, which is
+	 * not modified during selection, so cells at the edge of a tile read across into neighboring tiles.
+	 */
+	protected SelectionResult selectParents(int x, int y) {
+		SelectionResult result = chooseParents(x, y);
+
+		/*
+		 * The children take their position from the parents they are cloned from.
+		 */
+		((SpatialChromosome) result.getMom()).setXPos(x);
+		((SpatialChromosome) result.getMom()).setYPos(y);
+
+		((SpatialChromosome) result.getDad()).setXPos(x);
+		((SpatialChromosome) result.getDad()).setYPos(y);
+
+		return result;
+	}
+
+	/**
+	 * Chooses the parents of the cell from its neighborhood without modifying them, so that it is safe to call while
+	 * other cells are being updated in place. When ancestry is verified, a bounded number of pairs is drawn before the
+	 * ancestryFallback is applied.
+	 */
+	protected SelectionResult chooseParents(int x, int y) {
+		SelectionResult parents = drawParents(x, y);
+
+		if (!isAncestryVerified()) {
+			return parents;
+		}
+
+		for (int attempt = 1; !isAncestryCompatible(parents.getMom(), parents.getDad()); attempt++) {
+			ancestryRejections.incrementAndGet();
+
+			if (attempt >= maxAncestryAttempts) {
+				return (ancestryFallback == AncestryFallbackPolicy.SELECT_UNRESTRICTED) ? drawParents(x, y) : parents;
+			}
+
+			parents = drawParents(x, y);
+		}
+
+		return parents;
+	}
+
+	/**
+	 * Draws two distinct parents from the neighborhood of the cell, regardless of their ancestry.
+	 */
+	protected SelectionResult drawParents(int x, int y) {
+		LatticePopulation latticePopulation = (LatticePopulation) population;
+		SpatialChromosome mom = null;
+		SpatialChromosome dad = null;
+		List<SpatialChromosome> parents = null;
+		int[] selected = new int[2];
 
-			do {
+		do {
+			if (latticePopulation.isNeighborhoodEnabled()) {
+				latticePopulation.selectParentIndices(x, y, selected);
+
+				mom = latticePopulation.getIndividual(selected[0]);
+				dad = latticePopulation.getIndividual(selected[1]);
+			} else {
 				parents = latticePopulation.selectIndices(x, y);
 
 				if (parents == null || parents.isEmpty() || parents.size() < 2) {
@@ -78,23 +253,11 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 				}
 
 				mom = parents.get(0);
-				mom.setXPos(x);
-				mom.setYPos(y);
-
 				dad = parents.get(1);
-				dad.setXPos(x);
-				dad.setYPos(y);
 			}
-			/*
-			 * The idea is to make sure that individuals which share too much ancestry (i.e. immediate family members)
-			 * or not enough ancestry (i.e. different species) cannot reproduce.
-			 */
-			while (mom == dad || (verifyAncestry && generationCount > generationsToKeep && mom.getAncestry() != null
-					&& dad.getAncestry() != null
-					&& !mom.getAncestry().sharesLineageWith(dad.getAncestry(), generationsToSkip)));
+		} while (mom == dad);
 
-			return new SelectionResult(mom, dad);
-		}
+		return new SelectionResult(mom, dad);
 	}
 
 	@Override
@@ -102,8 +265,15 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 			throws InterruptedException {
 		LatticePopulation latticePopulation = (LatticePopulation) this.population;
 
+		if (latticePopulation.getTiling() != null) {
+			selectTiles(latticePopulation.getTiling(), moms, dads);
+
+			return;
+		}
+
 		List<FutureTask<SelectionResult>> futureTasks = new ArrayList<FutureTask<SelectionResult>>();
 		FutureTask<SelectionResult> futureTask = null;
+		long stream = this.randomSource.nextStream();
 
 		/*
 		 * Execute each selection concurrently. Each should produce two children, but this is not necessarily always
@@ -111,7 +281,8 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 		 */
 		for (int x = 0; x < latticePopulation.getLatticeRows(); x++) {
 			for (int y = 0; y < latticePopulation.getLatticeColumns(); y++) {
-				futureTask = new FutureTask<SelectionResult>(new SelectionTask(x, y));
+				futureTask = new FutureTask<SelectionResult>(this.randomSource.bind(new SelectionTask(x, y), stream, (x
+						* latticePopulation.getLatticeColumns()) + y));
 				futureTasks.add(futureTask);
 				this.taskExecutor.execute(futureTask);
 			}
@@ -135,6 +306,38 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 		}
 	}
 
+	protected void selectTiles(LatticeTiling tiling, List<Chromosome> moms, List<Chromosome> dads)
+			throws InterruptedException {
+		List<FutureTask<List<SelectionResult>>> futureTasks = new ArrayList<FutureTask<List<SelectionResult>>>();
+		FutureTask<List<SelectionResult>> futureTask = null;
+		long stream = this.randomSource.nextStream();
+
+		for (int tile = 0; tile < tiling.getNumberOfTiles(); tile++) {
+			futureTask = new FutureTask<List<SelectionResult>>(this.randomSource.bind(new TileSelectionTask(tiling,
+					tile), stream, tile));
+			futureTasks.add(futureTask);
+			this.taskExecutor.execute(futureTask);
+		}
+
+		// Add the results tile by tile, so that the crossovers can be partitioned by the same tiles
+		for (FutureTask<List<SelectionResult>> future : futureTasks) {
+			if (stopRequested) {
+				throw new InterruptedException("Stop requested during concurrent selections");
+			}
+
+			try {
+				for (SelectionResult result : future.get()) {
+					moms.add(result.getMom());
+					dads.add(result.getDad());
+				}
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for TileSelectionTask ", ie);
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for TileSelectionTask ", ee);
+			}
+		}
+	}
+
 	@Override
 	public int crossover(int pairsToCrossover, List<Chromosome> moms, List<Chromosome> dads)
 			throws InterruptedException {
@@ -185,8 +388,15 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 							+ moms.size() + ", Dads:  " + dads.size());
 		}
 
+		LatticeTiling tiling = ((LatticePopulation) this.population).getTiling();
+
+		if (tiling != null) {
+			return doConcurrentTileCrossovers(tiling, moms, dads);
+		}
+
 		List<FutureTask<List<SpatialChromosome>>> futureTasks = new ArrayList<FutureTask<List<SpatialChromosome>>>();
 		FutureTask<List<SpatialChromosome>> futureTask = null;
+		long stream = this.randomSource.nextStream();
 
 		SpatialChromosome mom = null;
 		SpatialChromosome dad = null;
@@ -199,7 +409,7 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 			mom = (SpatialChromosome) moms.get(i);
 			dad = (SpatialChromosome) dads.get(i);
 
-			futureTask = new FutureTask<List<SpatialChromosome>>(new CrossoverTask(mom, dad));
+			futureTask = new FutureTask<List<SpatialChromosome>>(this.randomSource.bind(new CrossoverTask(mom, dad), stream, i));
 			futureTasks.add(futureTask);
 			this.taskExecutor.execute(futureTask);
 		}
@@ -227,12 +437,54 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 		return childrenToAdd;
 	}
 
+	protected List<SpatialChromosome> doConcurrentTileCrossovers(LatticeTiling tiling, List<Chromosome> moms,
+			List<Chromosome> dads) throws InterruptedException {
+		List<FutureTask<List<SpatialChromosome>>> futureTasks = new ArrayList<FutureTask<List<SpatialChromosome>>>();
+		FutureTask<List<SpatialChromosome>> futureTask = null;
+		long stream = this.randomSource.nextStream();
+
+		int from = 0;
+		for (int tile = 0; tile < tiling.getNumberOfTiles() && from < moms.size(); tile++) {
+			int to = Math.min(moms.size(), from + tiling.getNumberOfCells(tile));
+
+			futureTask = new FutureTask<List<SpatialChromosome>>(this.randomSource.bind(new TileCrossoverTask(
+					moms.subList(from, to), dads.subList(from, to)), stream, tile));
+			futureTasks.add(futureTask);
+			this.taskExecutor.execute(futureTask);
+
+			from = to;
+		}
+
+		List<SpatialChromosome> childrenToAdd = new ArrayList<SpatialChromosome>();
+
+		for (FutureTask<List<SpatialChromosome>> future : futureTasks) {
+			if (stopRequested) {
+				throw new InterruptedException("Stop requested during concurrent crossovers");
+			}
+
+			try {
+				childrenToAdd.addAll(future.get());
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for TileCrossoverTask ", ie);
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for TileCrossoverTask ", ee);
+			}
+		}
+
+		return childrenToAdd;
+	}
+
 	@Override
 	public int mutate(int initialPopulationSize) throws InterruptedException {
 		LatticePopulation latticePopulation = (LatticePopulation) this.population;
 
+		if (latticePopulation.getTiling() != null) {
+			return mutateTiles(latticePopulation.getTiling());
+		}
+
 		List<FutureTask<Void>> futureTasks = new ArrayList<FutureTask<Void>>();
 		FutureTask<Void> futureTask = null;
+		long stream = this.randomSource.nextStream();
 
 		mutations.set(0);
 
@@ -241,7 +493,9 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 		 */
 		for (int x = 0; x < latticePopulation.getLatticeRows(); x++) {
 			for (int y = 0; y < latticePopulation.getLatticeColumns(); y++) {
-				futureTask = new FutureTask<Void>(new MutationTask(latticePopulation.getIndividualsAsArray()[x][y]));
+				futureTask = new FutureTask<Void>(this.randomSource.bind(new MutationTask(
+						latticePopulation.getIndividualsAsArray()[x][y]), stream, (x
+								* latticePopulation.getLatticeColumns()) + y));
 				futureTasks.add(futureTask);
 				this.taskExecutor.execute(futureTask);
 			}
@@ -263,4 +517,168 @@ public class LatticeGeneticAlgorithm extends AbstractGeneticAlgorithm {
 
 		return mutations.get();
 	}
+
+	protected int mutateTiles(LatticeTiling tiling) throws InterruptedException {
+		List<FutureTask<Void>> futureTasks = new ArrayList<FutureTask<Void>>();
+		FutureTask<Void> futureTask = null;
+		long stream = this.randomSource.nextStream();
+
+		mutations.set(0);
+
+		for (int tile = 0; tile < tiling.getNumberOfTiles(); tile++) {
+			futureTask = new FutureTask<Void>(this.randomSource.bind(new TileMutationTask(tiling, tile), stream, tile));
+			futureTasks.add(futureTask);
+			this.taskExecutor.execute(futureTask);
+		}
+
+		for (FutureTask<Void> future : futureTasks) {
+			if (stopRequested) {
+				throw new InterruptedException("Stop requested during mutation");
+			}
+
+			try {
+				future.get();
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for TileMutationTask ", ie);
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for TileMutationTask ", ee);
+			}
+		}
+
+		return mutations.get();
+	}
+
+	@Override
+	protected void breedAndReplace(GenerationStatistics generationStatistics) throws InterruptedException {
+		if (this.updatePolicy == null) {
+			super.breedAndReplace(generationStatistics);
+
+			return;
+		}
+
+		LatticePopulation latticePopulation = (LatticePopulation) this.population;
+
+		PerformanceStatistics performanceStats = generationStatistics.getPerformanceStatistics();
+
+		long startSelection = System.currentTimeMillis();
+		this.population.reIndexSelector();
+		List<int[]> steps = scheduleUpdates(latticePopulation);
+		performanceStats.setSelectionMillis(System.currentTimeMillis() - startSelection);
+
+		mutations.set(0);
+
+		/*
+		 * Selection, crossover, mutation and replacement are interleaved cell by cell, so they are timed together.
+		 */
+		long startCrossover = System.currentTimeMillis();
+		generationStatistics.setNumberOfCrossovers(updateInPlace(latticePopulation, steps));
+		performanceStats.setCrossoverMillis(System.currentTimeMillis() - startCrossover);
+
+		generationStatistics.setNumberOfMutations(mutations.get());
+		generationStatistics.setNumberOfAncestryRejections(ancestryRejections.getAndSet(0));
+	}
+
+	protected List<int[]> scheduleUpdates(final LatticePopulation latticePopulation) {
+		if (this.updateSchedule == null || this.updateSchedule.getRows() != latticePopulation.getLatticeRows()
+				|| this.updateSchedule.getColumns() != latticePopulation.getLatticeColumns()
+				|| this.updateSchedule.getRadius() != latticePopulation.getNeighborhoodRadius()) {
+			this.updateSchedule = new CellularUpdateSchedule(latticePopulation.getLatticeRows(),
+					latticePopulation.getLatticeColumns(), latticePopulation.getNeighborhoodRadius());
+		}
+
+		try {
+			return this.randomSource.bind(new Callable<List<int[]>>() {
+				@Override
+				public List<int[]> call() throws Exception {
+					return updateSchedule.stepsFor(updatePolicy, randomSource);
+				}
+			}, this.randomSource.nextStream(), 0).call();
+		} catch (Exception e) {
+			throw new IllegalStateException("Unable to schedule the cell updates", e);
+		}
+	}
+
+	/**
+	 * Runs the steps one after another, updating the cells within each step concurrently, CELLS_PER_TASK at a time.
+	 * Each task draws from its own stream, and the tasks do not depend on the number of processors, so seeded runs are
+	 * reproducible on any machine.
+	 * 
+	 * @return the number of children bred
+	 */
+	protected int updateInPlace(LatticePopulation latticePopulation, List<int[]> steps) throws InterruptedException {
+		int children = 0;
+
+		for (int[] cells : steps) {
+			List<FutureTask<Integer>> futureTasks = new ArrayList<FutureTask<Integer>>();
+			FutureTask<Integer> futureTask = null;
+			long stream = this.randomSource.nextStream();
+
+			for (int from = 0; from < cells.length; from += CELLS_PER_TASK) {
+				futureTask = new FutureTask<Integer>(this.randomSource.bind(new CellUpdateTask(cells, from, Math.min(
+						cells.length, from + CELLS_PER_TASK)), stream, from / CELLS_PER_TASK));
+				futureTasks.add(futureTask);
+				this.taskExecutor.execute(futureTask);
+			}
+
+			// Every cell of a step must be updated before any of their neighbors are
+			for (FutureTask<Integer> future : futureTasks) {
+				if (stopRequested) {
+					throw new InterruptedException("Stop requested during in-place updates");
+				}
+
+				try {
+					children += future.get();
+				} catch (InterruptedException ie) {
+					log.error("Caught InterruptedException while waiting for CellUpdateTask ", ie);
+				} catch (ExecutionException ee) {
+					log.error("Caught ExecutionException while waiting for CellUpdateTask ", ee);
+				}
+			}
+		}
+
+		return children;
+	}
+
+	/**
+	 * Breeds a child at the cell from its neighborhood, mutates it, and keeps it unless it is less fit than the
+	 * individual already there.
+	 * 
+	 * @return whether a child was bred
+	 */
+	@SuppressWarnings("unchecked")
+	protected boolean updateCell(int cell) {
+		LatticePopulation latticePopulation = (LatticePopulation) this.population;
+		int x = cell / latticePopulation.getLatticeColumns();
+		int y = cell % latticePopulation.getLatticeColumns();
+
+		SelectionResult parents = chooseParents(x, y);
+
+		List<SpatialChromosome> children = crossoverAlgorithm.crossover(parents.getMom(), parents.getDad());
+
+		if (children == null || children.isEmpty()) {
+			return false;
+		}
+
+		SpatialChromosome child = children.get(0);
+		child.setXPos(x);
+		child.setYPos(y);
+
+		if (mutationAlgorithm.mutateChromosome(child)) {
+			mutations.incrementAndGet();
+		}
+
+		latticePopulation.replaceIfNotWorse(child);
+
+		return true;
+	}
+
+	/**
+	 * @param updatePolicy
+	 *            the order in which cells are updated in place, or null to replace the whole lattice at once each
+	 *            generation
+	 */
+	public void setUpdatePolicy(CellularUpdatePolicy updatePolicy) {
+		this.updatePolicy = updatePolicy;
+		this.updateSchedule = null;
+	}
 }
@@ -20,7 +20,10 @@
 package com.ciphertool.genetics.algorithms;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
@@ -29,13 +32,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Required;
 
+import com.ciphertool.genetics.algorithms.selection.LineageIndex;
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.population.StandardPopulation;
 
 public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
-	private Logger	log	= LoggerFactory.getLogger(getClass());
+	private Logger				log			= LoggerFactory.getLogger(getClass());
 
-	private int		elitism;
+	private int					elitism;
+
+	private LineageIndex		lineageIndex;
+
+	private List<Chromosome>	quarantine	= new ArrayList<Chromosome>();
 
 	/**
 	 * A concurrent task for performing a crossover of two parent Chromosomes, producing one child Chromosome.
@@ -63,32 +71,53 @@ public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
 		@Override
 		public SelectionResult call() throws Exception {
 			StandardPopulation standardPopulation = (StandardPopulation) population;
-			int momIndex;
-			int dadIndex;
-			Chromosome mom;
-			Chromosome dad;
-
-			do {
-				momIndex = standardPopulation.selectIndex();
-				mom = standardPopulation.getIndividuals().get(momIndex);
-
-				dadIndex = standardPopulation.selectIndex();
-				// Ensure that dadIndex is different from momIndex
-				dadIndex += (dadIndex == momIndex) ? ((dadIndex == 0) ? 1 : -1) : 0;
-				dad = standardPopulation.getIndividuals().get(dadIndex);
+
+			int momIndex = standardPopulation.selectIndex();
+			Chromosome mom = standardPopulation.getIndividuals().get(momIndex);
+
+			if (!isAncestryVerified()) {
+				return new SelectionResult(mom, standardPopulation.getIndividuals().get(selectMateIndex(momIndex)));
 			}
+
+			Chromosome candidate = null;
+
 			/*
-			 * The idea is to make sure that individuals which share too much ancestry (i.e. immediate family members)
-			 * or not enough ancestry (i.e. different species) cannot reproduce.
+			 * Draw a bounded number of candidates, so that selection cannot stall in a population where most
+			 * individuals are related.
 			 */
-			while (verifyAncestry && generationCount > generationsToKeep && mom.getAncestry() != null
-					&& dad.getAncestry() != null
-					&& !mom.getAncestry().sharesLineageWith(dad.getAncestry(), generationsToSkip));
+			for (int attempt = 0; attempt < maxAncestryAttempts; attempt++) {
+				int dadIndex = (lineageIndex != null) ? lineageIndex.sampleMate(momIndex, randomSource)
+						: selectMateIndex(momIndex);
+
+				if (dadIndex < 0) {
+					// There is no other member of mom's lineage cluster to mate with
+					break;
+				}
+
+				candidate = standardPopulation.getIndividuals().get(dadIndex);
+
+				if (isAncestryCompatible(mom, candidate)) {
+					return new SelectionResult(mom, candidate);
+				}
 
-			return new SelectionResult(mom, dad);
+				ancestryRejections.incrementAndGet();
+			}
+
+			if (candidate == null || ancestryFallback == AncestryFallbackPolicy.SELECT_UNRESTRICTED) {
+				candidate = standardPopulation.getIndividuals().get(selectMateIndex(momIndex));
+			}
+
+			return new SelectionResult(mom, candidate);
 		}
 	}
 
+	private int selectMateIndex(int momIndex) {
+		int dadIndex = ((StandardPopulation) population).selectIndex();
+
+		// Ensure that dadIndex is different from momIndex
+		return dadIndex + ((dadIndex == momIndex) ? ((dadIndex == 0) ? 1 : -1) : 0);
+	}
+
 	@Override
 	public void select(int initialPopulationSize, List<Chromosome> moms, List<Chromosome> dads)
 			throws InterruptedException {
@@ -96,13 +125,17 @@ public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
 
 		List<FutureTask<SelectionResult>> futureTasks = new ArrayList<FutureTask<SelectionResult>>();
 		FutureTask<SelectionResult> futureTask = null;
+		long stream = this.randomSource.nextStream();
+
+		this.lineageIndex = (indexLineages && isAncestryVerified()) ? new LineageIndex(
+				this.population.getIndividuals(), generationsToSkip) : null;
 
 		/*
 		 * Execute each selection concurrently. Each should produce two children, but this is not necessarily always
 		 * guaranteed.
 		 */
 		for (int i = 0; i < Math.max(0, pairsToCrossover); i++) {
-			futureTask = new FutureTask<SelectionResult>(new SelectionTask());
+			futureTask = new FutureTask<SelectionResult>(this.randomSource.bind(new SelectionTask(), stream, i));
 			futureTasks.add(futureTask);
 			this.taskExecutor.execute(futureTask);
 		}
@@ -138,6 +171,10 @@ public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
 
 		log.debug("Pairs to crossover: " + pairsToCrossover);
 
+		if (this.chromosomePool != null) {
+			recycle();
+		}
+
 		List<Chromosome> crossoverResults = doConcurrentCrossovers(moms, dads);
 		List<Chromosome> childrenToAdd = new ArrayList<Chromosome>();
 
@@ -154,6 +191,8 @@ public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
 		}
 
 		List<Chromosome> eliteIndividuals = new ArrayList<Chromosome>();
+		List<Chromosome> previousGeneration = (this.chromosomePool != null) ? new ArrayList<Chromosome>(
+				this.population.getIndividuals()) : null;
 
 		if (elitism > 0) {
 			standardPopulation.sortIndividuals();
@@ -183,9 +222,49 @@ public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
 			standardPopulation.addIndividual(child);
 		}
 
+		if (previousGeneration != null) {
+			quarantine(previousGeneration);
+		}
+
 		return (int) childrenToAdd.size();
 	}
 
+	/**
+	 * Releases the individuals which died in the previous generation to the ChromosomePool, so that the children about
+	 * to be made can reuse them. They could not be released as soon as they died, because the backup of the population
+	 * still referred to them, and crowding could have brought them back from it.
+	 */
+	protected void recycle() {
+		Set<Chromosome> alive = Collections.newSetFromMap(new IdentityHashMap<Chromosome, Boolean>());
+		alive.addAll(this.population.getIndividuals());
+
+		for (Chromosome dead : this.quarantine) {
+			if (!alive.contains(dead)) {
+				this.chromosomePool.release(dead);
+			}
+		}
+
+		this.quarantine.clear();
+	}
+
+	/**
+	 * Holds back the individuals of the previous generation which did not survive into the current one, until the
+	 * next call to {@link #recycle()}.
+	 * 
+	 * @param previousGeneration
+	 *            the individuals of the previous generation
+	 */
+	protected void quarantine(List<Chromosome> previousGeneration) {
+		Set<Chromosome> survivors = Collections.newSetFromMap(new IdentityHashMap<Chromosome, Boolean>());
+		survivors.addAll(this.population.getIndividuals());
+
+		for (Chromosome individual : previousGeneration) {
+			if (!survivors.contains(individual)) {
+				this.quarantine.add(individual);
+			}
+		}
+	}
+
 	protected List<Chromosome> doConcurrentCrossovers(List<Chromosome> moms, List<Chromosome> dads)
 			throws InterruptedException {
 		if (moms.size() != dads.size()) {
@@ -196,6 +275,7 @@ public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
 
 		List<FutureTask<List<Chromosome>>> futureTasks = new ArrayList<FutureTask<List<Chromosome>>>();
 		FutureTask<List<Chromosome>> futureTask = null;
+		long stream = this.randomSource.nextStream();
 
 		Chromosome mom = null;
 		Chromosome dad = null;
@@ -208,7 +288,7 @@ public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
 			mom = moms.get(i);
 			dad = dads.get(i);
 
-			futureTask = new FutureTask<List<Chromosome>>(new CrossoverTask(mom, dad));
+			futureTask = new FutureTask<List<Chromosome>>(this.randomSource.bind(new CrossoverTask(mom, dad), stream, i));
 			futureTasks.add(futureTask);
 			this.taskExecutor.execute(futureTask);
 		}
@@ -243,6 +323,7 @@ public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
 
 		List<FutureTask<Void>> futureTasks = new ArrayList<FutureTask<Void>>();
 		FutureTask<Void> futureTask = null;
+		long stream = this.randomSource.nextStream();
 
 		mutations.set(0);
 
@@ -252,7 +333,7 @@ public class StandardGeneticAlgorithm extends AbstractGeneticAlgorithm {
 		 * Execute each mutation concurrently.
 		 */
 		for (int i = this.population.size() - elitism - 1; i >= 0; i--) {
-			futureTask = new FutureTask<Void>(new MutationTask(this.population.getIndividuals().get(i)));
+			futureTask = new FutureTask<Void>(this.randomSource.bind(new MutationTask(this.population.getIndividuals().get(i)), stream, i));
 			futureTasks.add(futureTask);
 			this.taskExecutor.execute(futureTask);
 		}
@@ -25,16 +25,20 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Required;
 
-import com.ciphertool.genetics.algorithms.crossover.CrossoverAlgorithm;
+import com.ciphertool.genetics.algorithms.crossover.PooledCrossoverAlgorithm;
 import com.ciphertool.genetics.entities.Ancestry;
 import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.ImmutableGene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
+import com.ciphertool.genetics.population.ChromosomePool;
 import com.ciphertool.genetics.util.Coin;
 
-public class EqualOpportunityGeneCrossoverAlgorithm implements CrossoverAlgorithm<KeyedChromosome<Object>> {
-	private int		maxGenerations;
+public class EqualOpportunityGeneCrossoverAlgorithm implements PooledCrossoverAlgorithm<KeyedChromosome<Object>> {
+	private int				maxGenerations;
 
-	private Coin	coin;
+	private Coin			coin;
+
+	private ChromosomePool	chromosomePool;
 
 	@Override
 	public List<KeyedChromosome<Object>> crossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
@@ -60,16 +64,23 @@ public class EqualOpportunityGeneCrossoverAlgorithm implements CrossoverAlgorith
 
 	@SuppressWarnings("unchecked")
 	protected KeyedChromosome<Object> performCrossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
-		KeyedChromosome<Object> child = (KeyedChromosome<Object>) parentA.clone();
+		KeyedChromosome<Object> child = (KeyedChromosome<Object>) ChromosomePool.copyOrClone(chromosomePool, parentA);
 
 		Object key;
+		long mask = 0L;
+		int slot = 0;
 
 		for (Map.Entry<Object, Gene> entry : parentA.getGenes().entrySet()) {
 			key = entry.getKey();
 
-			if (coin.flip()) {
-				if (!child.getGenes().get(key).equals(parentB.getGenes().get(key))) {
-					child.replaceGene(key, parentB.getGenes().get(key).clone());
+			// Draw the flips 64 at a time, one per key slot
+			if (slot % 64 == 0) {
+				mask = coin.flipMask();
+			}
+
+			if (Coin.isHeads(mask, slot++)) {
+				if (!ImmutableGene.same(child.getGenes().get(key), parentB.getGenes().get(key))) {
+					child.replaceGene(key, ImmutableGene.share(parentB.getGenes().get(key)));
 				}
 			}
 		}
@@ -100,6 +111,11 @@ public class EqualOpportunityGeneCrossoverAlgorithm implements CrossoverAlgorith
 		this.maxGenerations = maxGenerations;
 	}
 
+	@Override
+	public void setChromosomePool(ChromosomePool chromosomePool) {
+		this.chromosomePool = chromosomePool;
+	}
+
 	@Override
 	public int numberOfOffspring() {
 		return 1;
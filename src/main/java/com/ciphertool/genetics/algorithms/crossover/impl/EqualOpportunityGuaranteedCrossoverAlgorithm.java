@@ -30,14 +30,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Required;
 
 import com.ciphertool.genetics.algorithms.crossover.EvaluatedCrossoverAlgorithm;
+import com.ciphertool.genetics.algorithms.crossover.PooledCrossoverAlgorithm;
 import com.ciphertool.genetics.entities.Ancestry;
 import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.ImmutableGene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.population.ChromosomePool;
 import com.ciphertool.genetics.util.Coin;
 
 public class EqualOpportunityGuaranteedCrossoverAlgorithm implements
-		EvaluatedCrossoverAlgorithm<KeyedChromosome<Object>> {
+		EvaluatedCrossoverAlgorithm<KeyedChromosome<Object>>, PooledCrossoverAlgorithm<KeyedChromosome<Object>> {
 	private Logger				log	= LoggerFactory.getLogger(getClass());
 
 	private int					maxAttempts;
@@ -47,6 +50,8 @@ public class EqualOpportunityGuaranteedCrossoverAlgorithm implements
 
 	private Coin				coin;
 
+	private ChromosomePool		chromosomePool;
+
 	@Override
 	public List<KeyedChromosome<Object>> crossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
 		List<KeyedChromosome<Object>> children = new ArrayList<KeyedChromosome<Object>>(1);
@@ -71,27 +76,35 @@ public class EqualOpportunityGuaranteedCrossoverAlgorithm implements
 
 	@SuppressWarnings("unchecked")
 	protected KeyedChromosome<Object> performCrossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
-		KeyedChromosome<Object> child = (KeyedChromosome<Object>) parentA.clone();
+		KeyedChromosome<Object> child = (KeyedChromosome<Object>) ChromosomePool.copyOrClone(chromosomePool, parentA);
 		Map<Object, Gene> replaced = new HashMap<Object, Gene>();
 		BigDecimal originalFitness = parentA.getFitness();
 		Gene originalGene;
 		Gene replacement;
+		long mask = 0L;
+		int slot;
 
 		boolean crossedOver;
 		int attempts = 0;
 		for (; attempts < maxAttempts; attempts++) {
 			crossedOver = false;
 			replaced.clear();
+			slot = 0;
 
 			for (Object key : child.getGenes().keySet()) {
-				if (coin.flip()) {
+				// Draw the flips 64 at a time, one per key slot
+				if (slot % 64 == 0) {
+					mask = coin.flipMask();
+				}
+
+				if (Coin.isHeads(mask, slot++)) {
 					originalGene = child.getGenes().get(key);
-					replacement = parentB.getGenes().get(key).clone();
+					replacement = parentB.getGenes().get(key);
 
-					if (!replacement.equals(originalGene)) {
+					if (!ImmutableGene.same(replacement, originalGene)) {
 						replaced.put(key, originalGene);
 
-						child.replaceGene(key, replacement);
+						child.replaceGene(key, ImmutableGene.share(replacement));
 
 						crossedOver = true;
 					}
@@ -148,6 +161,11 @@ public class EqualOpportunityGuaranteedCrossoverAlgorithm implements
 		this.maxGenerations = maxGenerations;
 	}
 
+	@Override
+	public void setChromosomePool(ChromosomePool chromosomePool) {
+		this.chromosomePool = chromosomePool;
+	}
+
 	/**
 	 * @param fitnessEvaluator
 	 *            the fitnessEvaluator to set
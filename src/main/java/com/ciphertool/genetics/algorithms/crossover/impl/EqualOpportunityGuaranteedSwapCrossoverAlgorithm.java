@@ -30,14 +30,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Required;
 
 import com.ciphertool.genetics.algorithms.crossover.EvaluatedCrossoverAlgorithm;
+import com.ciphertool.genetics.algorithms.crossover.PooledCrossoverAlgorithm;
 import com.ciphertool.genetics.entities.Ancestry;
 import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.ImmutableGene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.population.ChromosomePool;
 import com.ciphertool.genetics.util.Coin;
 
 public class EqualOpportunityGuaranteedSwapCrossoverAlgorithm implements
-		EvaluatedCrossoverAlgorithm<KeyedChromosome<Object>> {
+		EvaluatedCrossoverAlgorithm<KeyedChromosome<Object>>, PooledCrossoverAlgorithm<KeyedChromosome<Object>> {
 	private Logger				log	= LoggerFactory.getLogger(getClass());
 
 	private int					maxAttempts;
@@ -47,6 +50,8 @@ public class EqualOpportunityGuaranteedSwapCrossoverAlgorithm implements
 
 	private Coin				coin;
 
+	private ChromosomePool		chromosomePool;
+
 	@Override
 	public List<KeyedChromosome<Object>> crossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
 		List<KeyedChromosome<Object>> children = performCrossover(parentA, parentB);
@@ -67,16 +72,16 @@ public class EqualOpportunityGuaranteedSwapCrossoverAlgorithm implements
 
 	@SuppressWarnings("unchecked")
 	protected List<KeyedChromosome<Object>> performCrossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
-		KeyedChromosome<Object> childA = (KeyedChromosome<Object>) parentA.clone();
-		KeyedChromosome<Object> childB = (KeyedChromosome<Object>) parentB.clone();
+		KeyedChromosome<Object> childA = (KeyedChromosome<Object>) ChromosomePool.copyOrClone(chromosomePool, parentA);
+		KeyedChromosome<Object> childB = (KeyedChromosome<Object>) ChromosomePool.copyOrClone(chromosomePool, parentB);
 		Map<Object, Gene> replacedChildA = new HashMap<Object, Gene>();
 		Map<Object, Gene> replacedChildB = new HashMap<Object, Gene>();
 		BigDecimal originalFitnessA = parentA.getFitness();
 		BigDecimal originalFitnessB = parentB.getFitness();
 		Gene originalGeneChildA;
 		Gene originalGeneChildB;
-		Gene replacementChildA;
-		Gene replacementChildB;
+		long mask = 0L;
+		int slot;
 
 		boolean crossedOver;
 		int attempts = 0;
@@ -84,20 +89,25 @@ public class EqualOpportunityGuaranteedSwapCrossoverAlgorithm implements
 			crossedOver = false;
 			replacedChildA.clear();
 			replacedChildB.clear();
+			slot = 0;
 
 			for (Object key : parentA.getGenes().keySet()) {
-				originalGeneChildA = childA.getGenes().get(key);
-				originalGeneChildB = childB.getGenes().get(key);
-				replacementChildA = parentB.getGenes().get(key).clone();
-				replacementChildB = parentA.getGenes().get(key).clone();
+				// Draw the flips 64 at a time, one per key slot
+				if (slot % 64 == 0) {
+					mask = coin.flipMask();
+				}
+
+				if (Coin.isHeads(mask, slot++)) {
+					originalGeneChildA = childA.getGenes().get(key);
+					originalGeneChildB = childB.getGenes().get(key);
 
-				if (coin.flip()) {
-					if (!originalGeneChildA.equals(originalGeneChildB)) {
+					if (!ImmutableGene.same(originalGeneChildA, originalGeneChildB)) {
 						replacedChildA.put(key, originalGeneChildA);
 						replacedChildB.put(key, originalGeneChildB);
 
-						childA.replaceGene(key, replacementChildA);
-						childB.replaceGene(key, replacementChildB);
+						// Only copy the Genes which are actually swapped
+						childA.replaceGene(key, ImmutableGene.share(parentB.getGenes().get(key)));
+						childB.replaceGene(key, ImmutableGene.share(parentA.getGenes().get(key)));
 
 						crossedOver = true;
 					}
@@ -165,6 +175,11 @@ public class EqualOpportunityGuaranteedSwapCrossoverAlgorithm implements
 		this.maxGenerations = maxGenerations;
 	}
 
+	@Override
+	public void setChromosomePool(ChromosomePool chromosomePool) {
+		this.chromosomePool = chromosomePool;
+	}
+
 	/**
 	 * @param fitnessEvaluator
 	 *            the fitnessEvaluator to set
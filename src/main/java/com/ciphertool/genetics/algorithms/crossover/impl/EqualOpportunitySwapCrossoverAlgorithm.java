@@ -24,15 +24,19 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Required;
 
-import com.ciphertool.genetics.algorithms.crossover.CrossoverAlgorithm;
+import com.ciphertool.genetics.algorithms.crossover.PooledCrossoverAlgorithm;
 import com.ciphertool.genetics.entities.Ancestry;
+import com.ciphertool.genetics.entities.ImmutableGene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
+import com.ciphertool.genetics.population.ChromosomePool;
 import com.ciphertool.genetics.util.Coin;
 
-public class EqualOpportunitySwapCrossoverAlgorithm implements CrossoverAlgorithm<KeyedChromosome<Object>> {
-	private int		maxGenerations;
+public class EqualOpportunitySwapCrossoverAlgorithm implements PooledCrossoverAlgorithm<KeyedChromosome<Object>> {
+	private int				maxGenerations;
 
-	private Coin	coin;
+	private Coin			coin;
+
+	private ChromosomePool	chromosomePool;
 
 	@Override
 	public List<KeyedChromosome<Object>> crossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
@@ -54,13 +58,22 @@ public class EqualOpportunitySwapCrossoverAlgorithm implements CrossoverAlgorith
 
 	@SuppressWarnings("unchecked")
 	protected List<KeyedChromosome<Object>> performCrossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
-		KeyedChromosome<Object> childA = (KeyedChromosome<Object>) parentA.clone();
-		KeyedChromosome<Object> childB = (KeyedChromosome<Object>) parentB.clone();
+		KeyedChromosome<Object> childA = (KeyedChromosome<Object>) ChromosomePool.copyOrClone(chromosomePool, parentA);
+		KeyedChromosome<Object> childB = (KeyedChromosome<Object>) ChromosomePool.copyOrClone(chromosomePool, parentB);
+
+		long mask = 0L;
+		int slot = 0;
 
 		for (Object key : parentA.getGenes().keySet()) {
-			if (coin.flip()) {
-				childA.replaceGene(key, parentB.getGenes().get(key).clone());
-				childB.replaceGene(key, parentA.getGenes().get(key).clone());
+			// Draw the flips 64 at a time, one per key slot
+			if (slot % 64 == 0) {
+				mask = coin.flipMask();
+			}
+
+			// Swapping equal Genes would change nothing, so only the differing ones are copied
+			if (Coin.isHeads(mask, slot++) && !ImmutableGene.same(parentA.getGenes().get(key), parentB.getGenes().get(key))) {
+				childA.replaceGene(key, ImmutableGene.share(parentB.getGenes().get(key)));
+				childB.replaceGene(key, ImmutableGene.share(parentA.getGenes().get(key)));
 			}
 		}
 
@@ -94,6 +107,11 @@ public class EqualOpportunitySwapCrossoverAlgorithm implements CrossoverAlgorith
 		this.maxGenerations = maxGenerations;
 	}
 
+	@Override
+	public void setChromosomePool(ChromosomePool chromosomePool) {
+		this.chromosomePool = chromosomePool;
+	}
+
 	@Override
 	public int numberOfOffspring() {
 		return 2;
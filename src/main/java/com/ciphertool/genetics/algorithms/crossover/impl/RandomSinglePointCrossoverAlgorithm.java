@@ -21,17 +21,25 @@ package com.ciphertool.genetics.algorithms.crossover.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Required;
 
-import com.ciphertool.genetics.algorithms.crossover.CrossoverAlgorithm;
+import com.ciphertool.genetics.algorithms.crossover.PooledCrossoverAlgorithm;
 import com.ciphertool.genetics.entities.Ancestry;
+import com.ciphertool.genetics.entities.ImmutableGene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
+import com.ciphertool.genetics.population.ChromosomePool;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
-public class RandomSinglePointCrossoverAlgorithm implements CrossoverAlgorithm<KeyedChromosome<Object>> {
-	private int maxGenerations;
+public class RandomSinglePointCrossoverAlgorithm implements PooledCrossoverAlgorithm<KeyedChromosome<Object>>,
+		RandomSourceAware {
+	private int				maxGenerations;
+
+	private RandomSource	randomSource	= new RandomSource();
+
+	private ChromosomePool	chromosomePool;
 
 	@Override
 	public List<KeyedChromosome<Object>> crossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
@@ -57,15 +65,14 @@ public class RandomSinglePointCrossoverAlgorithm implements CrossoverAlgorithm<K
 
 	@SuppressWarnings("unchecked")
 	protected KeyedChromosome<Object> performCrossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
-		Random generator = new Random();
 		Set<Object> availableKeys = parentA.getGenes().keySet();
 		Object[] keys = availableKeys.toArray();
 
 		// Get a random map key
-		int randomIndex = generator.nextInt(keys.length);
+		int randomIndex = randomSource.nextInt(keys.length);
 
 		// Replace all the Genes from the map key to the end of the array
-		KeyedChromosome<Object> child = (KeyedChromosome<Object>) parentA.clone();
+		KeyedChromosome<Object> child = (KeyedChromosome<Object>) ChromosomePool.copyOrClone(chromosomePool, parentA);
 		for (int i = 0; i <= randomIndex; i++) {
 			Object nextKey = (Object) keys[i];
 
@@ -74,12 +81,21 @@ public class RandomSinglePointCrossoverAlgorithm implements CrossoverAlgorithm<K
 						+ ", but no such key was found.  Cannot continue.");
 			}
 
-			child.replaceGene(nextKey, parentB.getGenes().get(nextKey).clone());
+			child.replaceGene(nextKey, ImmutableGene.share(parentB.getGenes().get(nextKey)));
 		}
 
 		return child;
 	}
 
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
 	@Override
 	public String getDisplayName() {
 		return "Random Single Point";
@@ -94,6 +110,11 @@ public class RandomSinglePointCrossoverAlgorithm implements CrossoverAlgorithm<K
 		this.maxGenerations = maxGenerations;
 	}
 
+	@Override
+	public void setChromosomePool(ChromosomePool chromosomePool) {
+		this.chromosomePool = chromosomePool;
+	}
+
 	@Override
 	public int numberOfOffspring() {
 		return 1;
@@ -24,26 +24,35 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Required;
 
 import com.ciphertool.genetics.algorithms.crossover.EvaluatedCrossoverAlgorithm;
+import com.ciphertool.genetics.algorithms.crossover.PooledCrossoverAlgorithm;
 import com.ciphertool.genetics.entities.Ancestry;
 import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.ImmutableGene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.population.ChromosomePool;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
 public class RandomSinglePointGuaranteedCrossoverAlgorithm implements
-		EvaluatedCrossoverAlgorithm<KeyedChromosome<Object>> {
-	private Logger				log	= LoggerFactory.getLogger(getClass());
+		EvaluatedCrossoverAlgorithm<KeyedChromosome<Object>>, PooledCrossoverAlgorithm<KeyedChromosome<Object>>,
+		RandomSourceAware {
+	private Logger				log				= LoggerFactory.getLogger(getClass());
 
 	private int					maxAttempts;
 	private int					maxGenerations;
 	private FitnessEvaluator	fitnessEvaluator;
 
+	private RandomSource		randomSource	= new RandomSource();
+
+	private ChromosomePool		chromosomePool;
+
 	@Override
 	public List<KeyedChromosome<Object>> crossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
 		List<KeyedChromosome<Object>> children = new ArrayList<KeyedChromosome<Object>>(1);
@@ -68,9 +77,8 @@ public class RandomSinglePointGuaranteedCrossoverAlgorithm implements
 
 	@SuppressWarnings("unchecked")
 	protected KeyedChromosome<Object> performCrossover(KeyedChromosome<Object> parentA, KeyedChromosome<Object> parentB) {
-		Random generator = new Random();
 		Object[] keys = parentA.getGenes().keySet().toArray();
-		KeyedChromosome<Object> child = (KeyedChromosome<Object>) parentA.clone();
+		KeyedChromosome<Object> child = (KeyedChromosome<Object>) ChromosomePool.copyOrClone(chromosomePool, parentA);
 		Map<Object, Gene> replaced = new HashMap<Object, Gene>();
 
 		BigDecimal originalFitness = parentA.getFitness();
@@ -85,7 +93,7 @@ public class RandomSinglePointGuaranteedCrossoverAlgorithm implements
 			replaced.clear();
 
 			// Get a random map key
-			randomIndex = generator.nextInt(keys.length);
+			randomIndex = randomSource.nextInt(keys.length);
 
 			// Replace all the Genes from the map key to the end of the array
 			for (int i = 0; i <= randomIndex; i++) {
@@ -97,12 +105,12 @@ public class RandomSinglePointGuaranteedCrossoverAlgorithm implements
 				}
 
 				originalGene = child.getGenes().get(nextKey);
-				replacement = parentB.getGenes().get(nextKey).clone();
+				replacement = parentB.getGenes().get(nextKey);
 
-				if (!replacement.equals(originalGene)) {
+				if (!ImmutableGene.same(replacement, originalGene)) {
 					replaced.put(nextKey, originalGene);
 
-					child.replaceGene(nextKey, replacement);
+					child.replaceGene(nextKey, ImmutableGene.share(replacement));
 
 					crossedOver = true;
 				}
@@ -135,6 +143,15 @@ public class RandomSinglePointGuaranteedCrossoverAlgorithm implements
 		return child;
 	}
 
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
 	@Override
 	public String getDisplayName() {
 		return "Random Single Point Guaranteed";
@@ -149,6 +166,11 @@ public class RandomSinglePointGuaranteedCrossoverAlgorithm implements
 		this.maxGenerations = maxGenerations;
 	}
 
+	@Override
+	public void setChromosomePool(ChromosomePool chromosomePool) {
+		this.chromosomePool = chromosomePool;
+	}
+
 	/**
 	 * @param fitnessEvaluator
 	 *            the fitnessEvaluator to set
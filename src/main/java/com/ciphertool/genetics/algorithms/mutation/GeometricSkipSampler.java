@@ -0,0 +1,58 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.mutation;
+
+import com.ciphertool.genetics.util.RandomSource;
+
+/**
+ * Draws the gaps between mutated positions when each position is mutated independently with the same probability. The
+ * gaps of such a process are geometrically distributed, so a sparse mutation can jump straight from one mutated
+ * position to the next with a single draw, rather than drawing once for every position it passes over.
+ */
+public class GeometricSkipSampler {
+	private GeometricSkipSampler() {
+		// Not meant to be instantiated
+	}
+
+	/**
+	 * @param randomSource
+	 *            the RandomSource to draw from
+	 * @param rate
+	 *            the probability that any one position is mutated
+	 * @return the number of positions to skip before the next mutated position, which is capped at Integer.MAX_VALUE
+	 *         since no Chromosome has more positions than that
+	 */
+	public static long nextGap(RandomSource randomSource, double rate) {
+		if (rate >= 1.0) {
+			return 0;
+		}
+
+		if (rate <= 0.0) {
+			return Integer.MAX_VALUE;
+		}
+
+		// Draw from (0, 1] so that the logarithm is always finite
+		double uniform = 1.0 - randomSource.nextDouble();
+
+		double gap = Math.floor(Math.log(uniform) / Math.log1p(-rate));
+
+		return (gap >= Integer.MAX_VALUE) ? Integer.MAX_VALUE : (long) gap;
+	}
+}
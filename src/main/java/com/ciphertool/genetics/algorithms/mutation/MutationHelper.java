@@ -19,23 +19,24 @@
 
 package com.ciphertool.genetics.algorithms.mutation;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import org.springframework.beans.factory.annotation.Required;
 
+import com.ciphertool.genetics.util.RandomSource;
+
 public class MutationHelper {
-	private int		maxMutations;
-	private double	mutationCountFactor;
+	private int				maxMutations;
+	private double			mutationCountFactor;
+	private RandomSource	randomSource	= new RandomSource();
 
 	public int getNumMutations(int numGenes) {
-		return ThreadLocalRandom.current().nextInt(Math.min(maxMutations, numGenes)) + 1;
+		return randomSource.nextInt(Math.min(maxMutations, numGenes)) + 1;
 	}
 
 	public int getNumMutationsDistributed(int numGenes) {
 		int max = Math.min(maxMutations, numGenes);
 
 		for (int i = 1; i <= max; i++) {
-			if (ThreadLocalRandom.current().nextDouble() < mutationCountFactor) {
+			if (randomSource.nextDouble() < mutationCountFactor) {
 				return i;
 			}
 		}
@@ -60,4 +61,12 @@ public class MutationHelper {
 	public void setMutationCountFactor(double mutationCountFactor) {
 		this.mutationCountFactor = mutationCountFactor;
 	}
+
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
 }
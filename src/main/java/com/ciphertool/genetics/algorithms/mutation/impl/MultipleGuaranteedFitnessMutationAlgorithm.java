@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,9 +36,12 @@ import com.ciphertool.genetics.dao.GeneDao;
 import com.ciphertool.genetics.entities.Gene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.util.DistinctIndexSampler;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
 public class MultipleGuaranteedFitnessMutationAlgorithm implements UniformMutationAlgorithm<KeyedChromosome<Object>>,
-		EvaluatedMutationAlgorithm<KeyedChromosome<Object>> {
+		EvaluatedMutationAlgorithm<KeyedChromosome<Object>>, RandomSourceAware {
 	private Logger				log	= LoggerFactory.getLogger(getClass());
 
 	private int					maxAttempts;
@@ -50,11 +52,13 @@ public class MultipleGuaranteedFitnessMutationAlgorithm implements UniformMutati
 
 	private FitnessEvaluator	fitnessEvaluator;
 
+	private RandomSource		randomSource	= new RandomSource();
+
 	@Override
 	public boolean mutateChromosome(KeyedChromosome<Object> chromosome) {
 		BigDecimal originalFitness = chromosome.getFitness();
 
-		List<Object> availableKeys;
+		Object[] keys = chromosome.getGenes().keySet().toArray();
 		Map<Object, Gene> replaced = new HashMap<Object, Gene>();
 		List<Object> randomKeys = new ArrayList<Object>();
 		int numMutations;
@@ -71,19 +75,12 @@ public class MultipleGuaranteedFitnessMutationAlgorithm implements UniformMutati
 			 */
 			numMutations = mutationHelper.getNumMutations(chromosome.getGenes().size());
 
-			availableKeys = new ArrayList<Object>(chromosome.getGenes().keySet());
 			replaced.clear();
 			randomKeys.clear();
 
-			for (int i = 0; i < numMutations; i++) {
-				/*
-				 * We don't want to reuse an index, so we get one from the List of indices which are still available
-				 */
-				int randomIndex = (int) (ThreadLocalRandom.current().nextDouble() * availableKeys.size());
-
-				randomKeys.add(availableKeys.get(randomIndex));
-
-				availableKeys.remove(randomIndex);
+			// We don't want to reuse an index, so we draw distinct ones
+			for (int randomIndex : DistinctIndexSampler.sample(randomSource, keys.length, numMutations)) {
+				randomKeys.add(keys[randomIndex]);
 			}
 
 			for (Object key : randomKeys) {
@@ -172,6 +169,15 @@ public class MultipleGuaranteedFitnessMutationAlgorithm implements UniformMutati
 		this.mutationHelper = mutationHelper;
 	}
 
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
 	@Override
 	public String getDisplayName() {
 		return "Multiple Guaranteed Fitness";
@@ -19,11 +19,9 @@
 
 package com.ciphertool.genetics.algorithms.mutation.impl;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Required;
 
@@ -31,20 +29,23 @@ import com.ciphertool.genetics.algorithms.mutation.EvaluatedMutationAlgorithm;
 import com.ciphertool.genetics.algorithms.mutation.MutationHelper;
 import com.ciphertool.genetics.algorithms.mutation.UniformMutationAlgorithm;
 import com.ciphertool.genetics.dao.GeneDao;
-import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.Gene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.util.DistinctIndexSampler;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
 public class MultipleMutationAlgorithm implements UniformMutationAlgorithm<KeyedChromosome<Object>>,
-		EvaluatedMutationAlgorithm<KeyedChromosome<Object>> {
+		EvaluatedMutationAlgorithm<KeyedChromosome<Object>>, RandomSourceAware {
 	private MutationHelper	mutationHelper;
 
 	private GeneDao			geneDao;
 
+	private RandomSource	randomSource	= new RandomSource();
+
 	@Override
 	public boolean mutateChromosome(KeyedChromosome<Object> chromosome) {
-		Chromosome original = chromosome.clone();
 		int numMutations;
 
 		/*
@@ -52,25 +53,27 @@ public class MultipleMutationAlgorithm implements UniformMutationAlgorithm<Keyed
 		 */
 		numMutations = mutationHelper.getNumMutations(chromosome.getGenes().size());
 
-		List<Object> availableKeys = new ArrayList<Object>(chromosome.getGenes().keySet());
+		Object[] keys = chromosome.getGenes().keySet().toArray();
 		Map<Object, Gene> originalGenes = new HashMap<Object, Gene>(numMutations);
 
-		for (int i = 0; i < numMutations; i++) {
-			/*
-			 * We don't want to reuse an index, so we get one from the List of indices which are still available
-			 */
-			int randomIndex = (int) (ThreadLocalRandom.current().nextDouble() * availableKeys.size());
-			Object randomKey = availableKeys.get(randomIndex);
-			originalGenes.put(randomKey, chromosome.getGenes().get(randomKey));
-			availableKeys.remove(randomIndex);
+		// We don't want to reuse an index, so we draw distinct ones
+		for (int randomIndex : DistinctIndexSampler.sample(randomSource, keys.length, numMutations)) {
+			originalGenes.put(keys[randomIndex], chromosome.getGenes().get(keys[randomIndex]));
 		}
 
-		for (Object key : originalGenes.keySet()) {
+		boolean changed = false;
+
+		for (Map.Entry<Object, Gene> entry : originalGenes.entrySet()) {
+			Gene replacement = geneDao.findRandomGene(chromosome);
+
 			// Replace that map value with a randomly generated Gene
-			chromosome.replaceGene(key, geneDao.findRandomGene(chromosome));
+			chromosome.replaceGene(entry.getKey(), replacement);
+
+			// The keys are distinct, so comparing each replacement to the Gene it replaced is enough
+			changed |= !Objects.equals(entry.getValue(), replacement);
 		}
 
-		return !original.equals(chromosome);
+		return changed;
 	}
 
 	@Override
@@ -101,6 +104,15 @@ public class MultipleMutationAlgorithm implements UniformMutationAlgorithm<Keyed
 		this.mutationHelper = mutationHelper;
 	}
 
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
 	@Override
 	public String getDisplayName() {
 		return "Multiple";
@@ -19,10 +19,8 @@
 
 package com.ciphertool.genetics.algorithms.mutation.impl;
 
-import java.util.HashSet;
-import java.util.Random;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,14 +28,19 @@ import org.springframework.beans.factory.annotation.Required;
 
 import com.ciphertool.genetics.algorithms.mutation.NonUniformMutationAlgorithm;
 import com.ciphertool.genetics.dao.GeneDao;
-import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.Gene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
+import com.ciphertool.genetics.util.DistinctIndexSampler;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
-public class RandomValueMutationAlgorithm implements NonUniformMutationAlgorithm<KeyedChromosome<Object>> {
+public class RandomValueMutationAlgorithm implements NonUniformMutationAlgorithm<KeyedChromosome<Object>>,
+		RandomSourceAware {
 	private static Logger	log	= LoggerFactory.getLogger(RandomValueMutationAlgorithm.class);
 
 	private GeneDao			geneDao;
 	private Integer			maxMutationsPerChromosome;
+	private RandomSource	randomSource	= new RandomSource();
 
 	@Override
 	public boolean mutateChromosome(KeyedChromosome<Object> chromosome) {
@@ -45,27 +48,25 @@ public class RandomValueMutationAlgorithm implements NonUniformMutationAlgorithm
 			throw new IllegalStateException("The maxMutationsPerChromosome cannot be null.");
 		}
 
-		Chromosome original = chromosome.clone();
-
 		/*
 		 * Choose a random number of mutations constrained by the configurable max and the total number of genes
 		 */
-		int numMutations = (int) (ThreadLocalRandom.current().nextDouble()
+		int numMutations = (int) (randomSource.nextDouble()
 				* Math.min(maxMutationsPerChromosome, chromosome.getGenes().size())) + 1;
 
-		Set<Object> availableKeys = chromosome.getGenes().keySet();
+		Object[] keys = chromosome.getGenes().keySet().toArray();
 
-		Set<Object> modifiableKeys = new HashSet<Object>();
-		for (Object key : availableKeys) {
-			modifiableKeys.add(key);
-		}
+		boolean changed = false;
 
-		for (int i = 0; i < numMutations; i++) {
-			// Keep track of the mutated keys
-			mutateRandomGene(chromosome, modifiableKeys);
+		// Draw distinct keys so that no Gene is mutated twice
+		int[] randomIndices = DistinctIndexSampler.sample(randomSource, keys.length, Math.min(numMutations,
+				keys.length));
+
+		for (int randomIndex : randomIndices) {
+			changed |= replaceGene(chromosome, keys[randomIndex]);
 		}
 
-		return !original.equals(chromosome);
+		return changed;
 	}
 
 	/**
@@ -75,25 +76,34 @@ public class RandomValueMutationAlgorithm implements NonUniformMutationAlgorithm
 	 *            the Chromosome to mutate
 	 * @param availableIndices
 	 *            the Set of available indices to mutate
+	 * @return whether the new Gene differs from the one it replaced
 	 */
-	protected void mutateRandomGene(KeyedChromosome<Object> chromosome, Set<Object> availableIndices) {
+	protected boolean mutateRandomGene(KeyedChromosome<Object> chromosome, Set<Object> availableIndices) {
 		if (availableIndices == null || availableIndices.isEmpty()) {
 			log.warn("List of available indices is null or empty.  Unable to find a Gene to mutate.  Returning null.");
 
-			return;
+			return false;
 		}
 
-		Random generator = new Random();
 		Object[] keys = availableIndices.toArray();
 
 		// Get a random map key
-		Object randomKey = keys[generator.nextInt(keys.length)];
-
-		// Replace that map value with a randomly generated Gene
-		chromosome.replaceGene((Object) randomKey, geneDao.findRandomGene(chromosome));
+		Object randomKey = keys[DistinctIndexSampler.sample(randomSource, keys.length, 1)[0]];
 
 		// Remove the key so that it is not used for mutation again
 		availableIndices.remove(randomKey);
+
+		return replaceGene(chromosome, randomKey);
+	}
+
+	private boolean replaceGene(KeyedChromosome<Object> chromosome, Object key) {
+		Gene replaced = chromosome.getGenes().get(key);
+		Gene replacement = geneDao.findRandomGene(chromosome);
+
+		// Replace that map value with a randomly generated Gene
+		chromosome.replaceGene(key, replacement);
+
+		return !Objects.equals(replaced, replacement);
 	}
 
 	/**
@@ -110,6 +120,15 @@ public class RandomValueMutationAlgorithm implements NonUniformMutationAlgorithm
 		this.maxMutationsPerChromosome = maxMutationsPerChromosome;
 	}
 
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
 	@Override
 	public String getDisplayName() {
 		return "Random Value";
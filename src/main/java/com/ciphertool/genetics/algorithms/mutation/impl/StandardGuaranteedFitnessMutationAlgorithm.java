@@ -23,21 +23,23 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Required;
 
 import com.ciphertool.genetics.algorithms.mutation.EvaluatedMutationAlgorithm;
+import com.ciphertool.genetics.algorithms.mutation.GeometricSkipSampler;
 import com.ciphertool.genetics.algorithms.mutation.UniformMutationAlgorithm;
 import com.ciphertool.genetics.dao.GeneDao;
 import com.ciphertool.genetics.entities.Gene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
 public class StandardGuaranteedFitnessMutationAlgorithm implements UniformMutationAlgorithm<KeyedChromosome<Object>>,
-		EvaluatedMutationAlgorithm<KeyedChromosome<Object>> {
+		EvaluatedMutationAlgorithm<KeyedChromosome<Object>>, RandomSourceAware {
 	private Logger				log			= LoggerFactory.getLogger(getClass());
 
 	private int					maxAttempts	= 100;
@@ -48,6 +50,10 @@ public class StandardGuaranteedFitnessMutationAlgorithm implements UniformMutati
 
 	private FitnessEvaluator	fitnessEvaluator;
 
+	private RandomSource		randomSource	= new RandomSource();
+
+	private boolean				sparse;
+
 	@Override
 	public boolean mutateChromosome(KeyedChromosome<Object> chromosome) {
 		if (mutationRate == null) {
@@ -55,10 +61,9 @@ public class StandardGuaranteedFitnessMutationAlgorithm implements UniformMutati
 		}
 
 		Set<Object> keys = chromosome.getGenes().keySet();
+		Object[] indexedKeys = sparse ? keys.toArray() : null;
 		Map<Object, Gene> replaced = new HashMap<Object, Gene>();
 		BigDecimal originalFitness = chromosome.getFitness();
-		Gene originalGene;
-		Gene replacement;
 
 		boolean mutated;
 		int attempts = 0;
@@ -66,20 +71,19 @@ public class StandardGuaranteedFitnessMutationAlgorithm implements UniformMutati
 			mutated = false;
 			replaced.clear();
 
-			for (Object key : keys) {
-				if (ThreadLocalRandom.current().nextDouble() <= mutationRate) {
-
-					originalGene = chromosome.getGenes().get(key);
-
-					// Replace that map value with a randomly generated Gene
-					replacement = geneDao.findRandomGene(chromosome);
+			if (sparse) {
+				// Jump straight to each mutated position instead of drawing for every key
+				long i = GeometricSkipSampler.nextGap(randomSource, mutationRate);
 
-					if (!replacement.equals(originalGene)) {
-						replaced.put(key, originalGene);
+				while (i < indexedKeys.length) {
+					mutated |= replaceGene(chromosome, indexedKeys[(int) i], replaced);
 
-						chromosome.replaceGene(key, replacement);
-
-						mutated = true;
+					i += GeometricSkipSampler.nextGap(randomSource, mutationRate) + 1;
+				}
+			} else {
+				for (Object key : keys) {
+					if (randomSource.nextDouble() <= mutationRate) {
+						mutated |= replaceGene(chromosome, key, replaced);
 					}
 				}
 			}
@@ -114,6 +118,23 @@ public class StandardGuaranteedFitnessMutationAlgorithm implements UniformMutati
 		return true;
 	}
 
+	private boolean replaceGene(KeyedChromosome<Object> chromosome, Object key, Map<Object, Gene> replaced) {
+		Gene originalGene = chromosome.getGenes().get(key);
+
+		// Replace that map value with a randomly generated Gene
+		Gene replacement = geneDao.findRandomGene(chromosome);
+
+		if (replacement.equals(originalGene)) {
+			return false;
+		}
+
+		replaced.put(key, originalGene);
+
+		chromosome.replaceGene(key, replacement);
+
+		return true;
+	}
+
 	@Override
 	public void setMutationRate(Double mutationRate) {
 		this.mutationRate = mutationRate;
@@ -146,6 +167,24 @@ public class StandardGuaranteedFitnessMutationAlgorithm implements UniformMutati
 		this.maxAttempts = maxAttempts;
 	}
 
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
+	/**
+	 * @param sparse
+	 *            whether to skip straight from one mutated position to the next, so that the cost of each attempt
+	 *            scales with the number of Genes mutated rather than with the length of the Chromosome
+	 */
+	public void setSparse(boolean sparse) {
+		this.sparse = sparse;
+	}
+
 	@Override
 	public String getDisplayName() {
 		return "Standard Guaranteed Fitness";
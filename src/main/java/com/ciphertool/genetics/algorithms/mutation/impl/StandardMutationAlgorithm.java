@@ -19,20 +19,27 @@
 
 package com.ciphertool.genetics.algorithms.mutation.impl;
 
-import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Required;
 
+import com.ciphertool.genetics.algorithms.mutation.GeometricSkipSampler;
 import com.ciphertool.genetics.algorithms.mutation.UniformMutationAlgorithm;
 import com.ciphertool.genetics.dao.GeneDao;
-import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.Gene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
-public class StandardMutationAlgorithm implements UniformMutationAlgorithm<KeyedChromosome<Object>> {
-	private Double	mutationRate;
+public class StandardMutationAlgorithm implements UniformMutationAlgorithm<KeyedChromosome<Object>>,
+		RandomSourceAware {
+	private Double			mutationRate;
 
-	private GeneDao	geneDao;
+	private GeneDao			geneDao;
+
+	private RandomSource	randomSource	= new RandomSource();
+
+	private boolean			sparse;
 
 	@Override
 	public boolean mutateChromosome(KeyedChromosome<Object> chromosome) {
@@ -40,17 +47,43 @@ public class StandardMutationAlgorithm implements UniformMutationAlgorithm<Keyed
 			throw new IllegalStateException("The mutationRate cannot be null.");
 		}
 
-		Chromosome original = chromosome.clone();
-		Set<Object> keys = chromosome.getGenes().keySet();
+		boolean changed = false;
+
+		// Take the keys up front, since replacing a Gene may remove and re-add its key
+		Object[] keys = chromosome.getGenes().keySet().toArray();
+
+		if (sparse) {
+			// Jump straight to each mutated position instead of drawing for every key
+			long i = GeometricSkipSampler.nextGap(randomSource, mutationRate);
+
+			while (i < keys.length) {
+				changed |= replaceGene(chromosome, keys[(int) i]);
 
-		for (Object key : keys) {
-			if (ThreadLocalRandom.current().nextDouble() <= mutationRate) {
-				// Replace that map value with a randomly generated Gene
-				chromosome.replaceGene(key, geneDao.findRandomGene(chromosome));
+				i += GeometricSkipSampler.nextGap(randomSource, mutationRate) + 1;
+			}
+		} else {
+			for (Object key : keys) {
+				if (randomSource.nextDouble() <= mutationRate) {
+					changed |= replaceGene(chromosome, key);
+				}
 			}
 		}
 
-		return !original.equals(chromosome);
+		/*
+		 * Each key is replaced at most once, so the Chromosome differs from how it started exactly when one of the
+		 * replacements differs from the Gene it replaced, and there is no need to clone it up front to compare against.
+		 */
+		return changed;
+	}
+
+	private boolean replaceGene(KeyedChromosome<Object> chromosome, Object key) {
+		Gene replaced = chromosome.getGenes().get(key);
+		Gene replacement = geneDao.findRandomGene(chromosome);
+
+		// Replace that map value with a randomly generated Gene
+		chromosome.replaceGene(key, replacement);
+
+		return !Objects.equals(replaced, replacement);
 	}
 
 	@Override
@@ -67,6 +100,24 @@ public class StandardMutationAlgorithm implements UniformMutationAlgorithm<Keyed
 		this.geneDao = geneDao;
 	}
 
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
+	/**
+	 * @param sparse
+	 *            whether to skip straight from one mutated position to the next, so that the cost of a mutation scales
+	 *            with the number of Genes mutated rather than with the length of the Chromosome
+	 */
+	public void setSparse(boolean sparse) {
+		this.sparse = sparse;
+	}
+
 	@Override
 	public String getDisplayName() {
 		return "Standard";
@@ -0,0 +1,174 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.util.RandomSource;
+
+/**
+ * Groups the individuals of a population into lineage clusters, so that a mate can be drawn only from individuals
+ * which share an ancestor with the first parent at the given number of generations back. Individuals are clustered by
+ * the smallest hashed ancestor id at that level, so two members of a cluster always share at least that ancestor.
+ * Within a cluster, mates are drawn in proportion to their fitness.
+ * 
+ * The index is a snapshot, and must be rebuilt whenever the population changes.
+ */
+public class LineageIndex {
+	private static final int[]	NO_MEMBERS	= new int[0];
+
+	private int[]				clusterOf;
+	private int[][]				members;
+	private double[][]			cumulativeFitness;
+
+	/**
+	 * @param individuals
+	 *            the individuals to index, in the order used to refer to them
+	 * @param level
+	 *            the number of generations back at which mates must share an ancestor, where zero is the parents
+	 */
+	public LineageIndex(List<Chromosome> individuals, int level) {
+		Map<Long, Integer> clusters = new HashMap<Long, Integer>();
+		List<List<Integer>> clusterMembers = new ArrayList<List<Integer>>();
+
+		this.clusterOf = new int[individuals.size()];
+
+		for (int i = 0; i < individuals.size(); i++) {
+			Chromosome individual = individuals.get(i);
+			long[] ancestorIds = (individual.getAncestry() == null) ? null
+					: individual.getAncestry().getAncestorIds(level);
+
+			if (ancestorIds == null || ancestorIds.length == 0) {
+				this.clusterOf[i] = -1;
+
+				continue;
+			}
+
+			Integer cluster = clusters.get(ancestorIds[0]);
+
+			if (cluster == null) {
+				cluster = clusterMembers.size();
+				clusters.put(ancestorIds[0], cluster);
+				clusterMembers.add(new ArrayList<Integer>());
+			}
+
+			this.clusterOf[i] = cluster;
+			clusterMembers.get(cluster).add(i);
+		}
+
+		this.members = new int[clusterMembers.size()][];
+		this.cumulativeFitness = new double[clusterMembers.size()][];
+
+		for (int cluster = 0; cluster < clusterMembers.size(); cluster++) {
+			List<Integer> indices = clusterMembers.get(cluster);
+			this.members[cluster] = new int[indices.size()];
+			this.cumulativeFitness[cluster] = new double[indices.size()];
+
+			double total = 0.0;
+
+			for (int j = 0; j < indices.size(); j++) {
+				this.members[cluster][j] = indices.get(j);
+
+				total += Math.max(0.0, individuals.get(indices.get(j)).getFitness().doubleValue());
+				this.cumulativeFitness[cluster][j] = total;
+			}
+		}
+	}
+
+	/**
+	 * Draws a mate for the individual from the other members of its cluster.
+	 * 
+	 * @param index
+	 *            the index of the individual to find a mate for
+	 * @param randomSource
+	 *            the RandomSource to draw from
+	 * @return the index of the mate, or -1 if the individual has no other member in its cluster
+	 */
+	public int sampleMate(int index, RandomSource randomSource) {
+		int cluster = this.clusterOf[index];
+
+		if (cluster < 0 || this.members[cluster].length < 2) {
+			return -1;
+		}
+
+		int[] candidates = this.members[cluster];
+		double[] cumulative = this.cumulativeFitness[cluster];
+		double total = cumulative[cumulative.length - 1];
+		int position;
+
+		if (total > 0.0) {
+			double random = randomSource.nextDouble() * total;
+			int low = 0;
+			int high = candidates.length - 1;
+
+			// Find the first candidate whose cumulative fitness exceeds the random value
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+
+				if (cumulative[middle] > random) {
+					high = middle;
+				} else {
+					low = middle + 1;
+				}
+			}
+
+			position = low;
+		} else {
+			position = randomSource.nextInt(candidates.length);
+		}
+
+		// Ensure that the mate is different from the individual
+		if (candidates[position] == index) {
+			position += (position == 0) ? 1 : -1;
+		}
+
+		return candidates[position];
+	}
+
+	/**
+	 * @param index
+	 *            the index of an individual
+	 * @return the cluster of the individual, or -1 if its ancestry does not go back far enough
+	 */
+	public int clusterOf(int index) {
+		return this.clusterOf[index];
+	}
+
+	/**
+	 * @param cluster
+	 *            the cluster
+	 * @return the indices of the individuals in the cluster
+	 */
+	public int[] getMembers(int cluster) {
+		return (cluster < 0) ? NO_MEMBERS : Arrays.copyOf(this.members[cluster], this.members[cluster].length);
+	}
+
+	/**
+	 * @return the number of clusters
+	 */
+	public int getNumberOfClusters() {
+		return this.members.length;
+	}
+}
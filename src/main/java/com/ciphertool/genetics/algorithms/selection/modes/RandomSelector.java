@@ -20,15 +20,18 @@ package com.ciphertool.genetics.algorithms.selection.modes;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
-public class RandomSelector implements Selector {
-	private Logger log = LoggerFactory.getLogger(getClass());
+public class RandomSelector implements Selector, RandomSourceAware {
+	private Logger			log				= LoggerFactory.getLogger(getClass());
+
+	private RandomSource	randomSource	= new RandomSource();
 
 	@Override
 	public synchronized void reIndex(List<Chromosome> individuals) {
@@ -43,7 +46,7 @@ public class RandomSelector implements Selector {
 			return -1;
 		}
 
-		int randomIndex = (int) (ThreadLocalRandom.current().nextDouble() * individuals.size());
+		int randomIndex = (int) (randomSource.nextDouble() * individuals.size());
 
 		return randomIndex;
 	}
@@ -52,4 +55,13 @@ public class RandomSelector implements Selector {
 	public String getDisplayName() {
 		return "Random";
 	}
+
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
 }
\ No newline at end of file
@@ -23,7 +23,6 @@ import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,12 +30,16 @@ import org.slf4j.LoggerFactory;
 import com.ciphertool.genetics.algorithms.selection.BinaryRouletteNode;
 import com.ciphertool.genetics.algorithms.selection.BinaryRouletteTree;
 import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
-public class RouletteSelector implements Selector {
+public class RouletteSelector implements Selector, RandomSourceAware {
 	private Logger				log	= LoggerFactory.getLogger(getClass());
 
 	private BinaryRouletteTree	rouletteWheel;
 
+	private RandomSource		randomSource	= new RandomSource();
+
 	@Override
 	public synchronized void reIndex(List<Chromosome> individuals) {
 		this.rouletteWheel = new BinaryRouletteTree();
@@ -101,10 +104,10 @@ public class RouletteSelector implements Selector {
 
 		if (totalFitness.compareTo(BigDecimal.ZERO) == 0) {
 			// If all the individuals have zero fitness, then pick one at random
-			return ThreadLocalRandom.current().nextInt(0, individuals.size());
+			return randomSource.nextInt(0, individuals.size());
 		}
 
-		BigDecimal randomIndex = BigDecimal.valueOf(ThreadLocalRandom.current().nextDouble()).multiply(totalFitness);
+		BigDecimal randomIndex = BigDecimal.valueOf(randomSource.nextDouble()).multiply(totalFitness);
 
 		BinaryRouletteNode winner = this.rouletteWheel.find(randomIndex);
 
@@ -115,4 +118,13 @@ public class RouletteSelector implements Selector {
 	public String getDisplayName() {
 		return "Roulette";
 	}
+
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
 }
@@ -0,0 +1,195 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.selection.modes;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.population.SimilarityIndex;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
+
+/**
+ * A roulette selector over shared fitness, which is the fitness of an individual divided by its niche count, so that
+ * individuals crowded into one niche share its reward and the population spreads out across niches. The niche count
+ * of an individual is one plus, for each candidate neighbor found by a {@link SimilarityIndex} within sharingRadius,
+ * 1 - (distance / sharingRadius)^alpha, where the distance is one minus {@link Chromosome#similarityTo(Chromosome)}.
+ * Only candidate neighbors are compared, which keeps reIndexing sub-quadratic.
+ */
+public class SharedFitnessSelector implements Selector, RandomSourceAware {
+	private Logger			log				= LoggerFactory.getLogger(getClass());
+
+	private int				bands			= 16;
+	private int				rows			= 4;
+	private int				maxBucketSize	= 64;
+	private double			sharingRadius	= 0.2;
+	private double			alpha			= 1.0;
+	private double[]		cumulativeFitness;
+	private double[]		nicheCounts;
+	private RandomSource	randomSource	= new RandomSource();
+
+	@Override
+	public synchronized void reIndex(List<Chromosome> individuals) {
+		SimilarityIndex similarityIndex = new SimilarityIndex(this.bands, this.rows);
+		similarityIndex.setMaxBucketSize(this.maxBucketSize);
+		similarityIndex.build(individuals);
+
+		this.cumulativeFitness = new double[individuals.size()];
+		this.nicheCounts = new double[individuals.size()];
+
+		double totalFitness = 0.0;
+
+		for (int i = 0; i < individuals.size(); i++) {
+			Chromosome individual = individuals.get(i);
+
+			if (individual == null || individual.getFitness() == null) {
+				this.cumulativeFitness[i] = totalFitness;
+
+				continue;
+			}
+
+			double nicheCount = 1.0;
+
+			for (int candidate : similarityIndex.candidatesOf(i)) {
+				double distance = 1.0 - individual.similarityTo(individuals.get(candidate));
+
+				if (distance < this.sharingRadius) {
+					nicheCount += 1.0 - Math.pow(distance / this.sharingRadius, this.alpha);
+				}
+			}
+
+			this.nicheCounts[i] = nicheCount;
+
+			totalFitness += Math.max(0.0, individual.getFitness().doubleValue()) / nicheCount;
+
+			this.cumulativeFitness[i] = totalFitness;
+		}
+	}
+
+	@Override
+	public int getNextIndex(List<Chromosome> individuals, BigDecimal totalFitness) {
+		if (individuals == null || individuals.isEmpty()) {
+			log.warn("Attempted to select an individual from a null or empty population.  Unable to continue.");
+
+			return -1;
+		}
+
+		double[] cumulative = this.cumulativeFitness;
+
+		if (cumulative == null || cumulative.length != individuals.size()) {
+			log.warn("Attempted to select an individual before the selector was indexed for this population.  Please make a call to reIndex() first.");
+
+			return -1;
+		}
+
+		double total = cumulative[cumulative.length - 1];
+
+		if (total <= 0.0) {
+			// If all the individuals have zero shared fitness, then pick one at random
+			return randomSource.nextInt(0, individuals.size());
+		}
+
+		double spin = randomSource.nextDouble() * total;
+
+		int index = Arrays.binarySearch(cumulative, spin);
+
+		// Find the first individual whose cumulative shared fitness exceeds the spin
+		index = (index < 0) ? -(index + 1) : index + 1;
+
+		while (index < cumulative.length - 1 && cumulative[index] <= spin) {
+			index++;
+		}
+
+		return Math.min(index, cumulative.length - 1);
+	}
+
+	/**
+	 * @param index
+	 *            the position of an individual at the last reIndex
+	 * @return the niche count of the individual
+	 */
+	public double getNicheCount(int index) {
+		return this.nicheCounts[index];
+	}
+
+	/**
+	 * @param bands
+	 *            the number of bands of the SimilarityIndex used to find neighbors
+	 */
+	public void setBands(int bands) {
+		this.bands = bands;
+	}
+
+	/**
+	 * @param rows
+	 *            the number of rows in each band of the SimilarityIndex used to find neighbors
+	 */
+	public void setRows(int rows) {
+		this.rows = rows;
+	}
+
+	/**
+	 * @param maxBucketSize
+	 *            the maximum number of members of a single bucket to consider as candidate neighbors
+	 */
+	public void setMaxBucketSize(int maxBucketSize) {
+		this.maxBucketSize = maxBucketSize;
+	}
+
+	/**
+	 * @param sharingRadius
+	 *            the distance within which neighbors share fitness
+	 */
+	public void setSharingRadius(double sharingRadius) {
+		if (sharingRadius <= 0.0 || sharingRadius > 1.0) {
+			throw new IllegalArgumentException("Tried to set a sharingRadius of " + sharingRadius
+					+ ", but SharedFitnessSelector requires a sharingRadius greater than 0.0 and at most 1.0.");
+		}
+
+		this.sharingRadius = sharingRadius;
+	}
+
+	/**
+	 * @param alpha
+	 *            the exponent shaping how quickly sharing falls off with distance
+	 */
+	public void setAlpha(double alpha) {
+		this.alpha = alpha;
+	}
+
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
+	@Override
+	public String getDisplayName() {
+		return "Shared Fitness";
+	}
+}
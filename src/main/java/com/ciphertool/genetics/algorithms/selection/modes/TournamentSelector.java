@@ -21,7 +21,6 @@ package com.ciphertool.genetics.algorithms.selection.modes;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,15 +29,19 @@ import org.springframework.beans.factory.annotation.Required;
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.fitness.DescendingFitnessComparator;
 import com.ciphertool.genetics.fitness.FitnessComparator;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
-public class TournamentSelector implements Selector {
+public class TournamentSelector implements Selector, RandomSourceAware {
 	private Logger						log					= LoggerFactory.getLogger(getClass());
 	private Double						selectionAccuracy;
 	private static FitnessComparator	fitnessComparator	= new DescendingFitnessComparator();
+	private RandomSource				randomSource		= new RandomSource();
 
 	@Override
 	public synchronized void reIndex(List<Chromosome> individuals) {
-		// Nothing to do
+		// Sort up front, so that the concurrent calls to getNextIndex() only have to read the population
+		Collections.sort(individuals, fitnessComparator);
 	}
 
 	@Override
@@ -49,10 +52,12 @@ public class TournamentSelector implements Selector {
 			return -1;
 		}
 
-		Collections.sort(individuals, fitnessComparator);
+		if (!isSorted(individuals)) {
+			Collections.sort(individuals, fitnessComparator);
+		}
 
 		for (int i = 0; i < individuals.size(); i++) {
-			if (ThreadLocalRandom.current().nextDouble() <= selectionAccuracy) {
+			if (randomSource.nextDouble() <= selectionAccuracy) {
 				return i;
 			}
 		}
@@ -61,6 +66,16 @@ public class TournamentSelector implements Selector {
 		return individuals.size() - 1;
 	}
 
+	private static boolean isSorted(List<Chromosome> individuals) {
+		for (int i = 1; i < individuals.size(); i++) {
+			if (fitnessComparator.compare(individuals.get(i - 1), individuals.get(i)) > 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	/**
 	 * @param selectionAccuracy
 	 *            the selectionAccuracy to set
@@ -79,4 +94,13 @@ public class TournamentSelector implements Selector {
 	public String getDisplayName() {
 		return "Tournament";
 	}
+
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
 }
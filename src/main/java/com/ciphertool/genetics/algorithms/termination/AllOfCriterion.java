@@ -0,0 +1,73 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+/**
+ * Terminates once all of its criteria are satisfied in the same generation. Every criterion is checked in every
+ * generation so that their running aggregates stay current.
+ */
+public class AllOfCriterion implements TerminationCriterion {
+	private List<TerminationCriterion> criteria;
+
+	/**
+	 * @param criteria
+	 *            the criteria which must all be satisfied
+	 */
+	public AllOfCriterion(TerminationCriterion... criteria) {
+		this.criteria = new ArrayList<TerminationCriterion>(Arrays.asList(criteria));
+	}
+
+	@Override
+	public void reset() {
+		for (TerminationCriterion criterion : this.criteria) {
+			criterion.reset();
+		}
+	}
+
+	@Override
+	public String check(GenerationStatistics generationStatistics) {
+		StringBuilder reasons = new StringBuilder();
+		boolean satisfied = !this.criteria.isEmpty();
+
+		for (TerminationCriterion criterion : this.criteria) {
+			String reason = criterion.check(generationStatistics);
+
+			if (reason == null) {
+				satisfied = false;
+
+				continue;
+			}
+
+			if (reasons.length() > 0) {
+				reasons.append(" and ");
+			}
+
+			reasons.append(reason);
+		}
+
+		return satisfied ? reasons.toString() : null;
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import java.math.BigDecimal;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+/**
+ * Terminates once the entropy of the population has collapsed to or below a threshold.
+ */
+public class EntropyCriterion implements TerminationCriterion {
+	private BigDecimal threshold;
+
+	/**
+	 * @param threshold
+	 *            the entropy at or below which to terminate
+	 */
+	public EntropyCriterion(BigDecimal threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void reset() {
+		// Nothing to do
+	}
+
+	@Override
+	public String check(GenerationStatistics generationStatistics) {
+		BigDecimal entropy = generationStatistics.getEntropy();
+
+		if (entropy == null || entropy.compareTo(this.threshold) > 0) {
+			return null;
+		}
+
+		return "Entropy of " + entropy + " fell to the threshold of " + this.threshold;
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+/**
+ * Terminates once the number of fitness evaluations, counting both regular and major evaluations, reaches a budget.
+ */
+public class EvaluationBudgetCriterion implements TerminationCriterion {
+	private long	maxEvaluations;
+	private long	evaluations;
+
+	/**
+	 * @param maxEvaluations
+	 *            the number of evaluations at which to terminate
+	 */
+	public EvaluationBudgetCriterion(long maxEvaluations) {
+		this.maxEvaluations = maxEvaluations;
+	}
+
+	@Override
+	public void reset() {
+		this.evaluations = 0;
+	}
+
+	@Override
+	public String check(GenerationStatistics generationStatistics) {
+		this.evaluations += generationStatistics.getNumberOfEvaluations()
+				+ generationStatistics.getNumberOfMajorEvaluations();
+
+		if (this.evaluations < this.maxEvaluations) {
+			return null;
+		}
+
+		return "Performed " + this.evaluations + " evaluations against a budget of " + this.maxEvaluations;
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import java.math.BigDecimal;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+/**
+ * Terminates once the best fitness has not improved by more than minImprovement for a number of generations.
+ */
+public class StagnationCriterion implements TerminationCriterion {
+	private int			generations;
+	private BigDecimal	minImprovement	= BigDecimal.ZERO;
+	private BigDecimal	bestFitness;
+	private int			generationsWithoutImprovement;
+
+	/**
+	 * @param generations
+	 *            the number of consecutive generations without improvement after which to terminate
+	 */
+	public StagnationCriterion(int generations) {
+		if (generations <= 0) {
+			throw new IllegalArgumentException("Tried to create a StagnationCriterion of " + generations
+					+ " generations, but the number of generations must be greater than zero.");
+		}
+
+		this.generations = generations;
+	}
+
+	@Override
+	public void reset() {
+		this.bestFitness = null;
+		this.generationsWithoutImprovement = 0;
+	}
+
+	@Override
+	public String check(GenerationStatistics generationStatistics) {
+		BigDecimal fitness = generationStatistics.getBestFitness();
+
+		if (fitness == null) {
+			return null;
+		}
+
+		if (this.bestFitness == null || fitness.subtract(this.bestFitness).compareTo(this.minImprovement) > 0) {
+			this.bestFitness = fitness;
+			this.generationsWithoutImprovement = 0;
+
+			return null;
+		}
+
+		this.generationsWithoutImprovement++;
+
+		if (this.generationsWithoutImprovement < this.generations) {
+			return null;
+		}
+
+		return "Best fitness of " + this.bestFitness + " did not improve in " + this.generationsWithoutImprovement
+				+ " generations";
+	}
+
+	/**
+	 * @param minImprovement
+	 *            the amount by which the best fitness must exceed the best so far to count as an improvement
+	 */
+	public void setMinImprovement(BigDecimal minImprovement) {
+		this.minImprovement = minImprovement;
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import java.math.BigDecimal;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+/**
+ * Terminates once the best fitness reaches a target.
+ */
+public class TargetFitnessCriterion implements TerminationCriterion {
+	private BigDecimal targetFitness;
+
+	/**
+	 * @param targetFitness
+	 *            the best fitness at or above which to terminate
+	 */
+	public TargetFitnessCriterion(BigDecimal targetFitness) {
+		this.targetFitness = targetFitness;
+	}
+
+	@Override
+	public void reset() {
+		// Nothing to do
+	}
+
+	@Override
+	public String check(GenerationStatistics generationStatistics) {
+		BigDecimal fitness = generationStatistics.getBestFitness();
+
+		if (fitness == null || fitness.compareTo(this.targetFitness) < 0) {
+			return null;
+		}
+
+		return "Best fitness of " + fitness + " reached the target of " + this.targetFitness;
+	}
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+/**
+ * Decides whether a run of a genetic algorithm should end early. A criterion is shown the GenerationStatistics of
+ * every generation once, in order, starting with the initial population, so that it can keep running aggregates
+ * rather than scanning the whole history each time.
+ */
+public interface TerminationCriterion {
+
+	/**
+	 * Clears any running aggregates, so that the criterion can be reused for another run.
+	 */
+	public void reset();
+
+	/**
+	 * @param generationStatistics
+	 *            the GenerationStatistics of the generation which has just completed
+	 * @return the reason to terminate, or null if the run should continue
+	 */
+	public String check(GenerationStatistics generationStatistics);
+}
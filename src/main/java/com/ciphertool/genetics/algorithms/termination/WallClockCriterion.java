@@ -0,0 +1,55 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+/**
+ * Terminates once a run has taken longer than a budget of wall-clock time, measured from the last reset.
+ */
+public class WallClockCriterion implements TerminationCriterion {
+	private long	maxMillis;
+	private long	startMillis;
+
+	/**
+	 * @param maxMillis
+	 *            the wall-clock budget in milliseconds
+	 */
+	public WallClockCriterion(long maxMillis) {
+		this.maxMillis = maxMillis;
+		this.startMillis = System.currentTimeMillis();
+	}
+
+	@Override
+	public void reset() {
+		this.startMillis = System.currentTimeMillis();
+	}
+
+	@Override
+	public String check(GenerationStatistics generationStatistics) {
+		long elapsedMillis = System.currentTimeMillis() - this.startMillis;
+
+		if (elapsedMillis < this.maxMillis) {
+			return null;
+		}
+
+		return "Elapsed time of " + elapsedMillis + "ms exceeded the budget of " + this.maxMillis + "ms";
+	}
+}
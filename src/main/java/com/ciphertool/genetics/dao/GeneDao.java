@@ -19,9 +19,31 @@
 
 package com.ciphertool.genetics.dao;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.Gene;
 
 public interface GeneDao {
 	public Gene findRandomGene(Chromosome chromosome);
+
+	/**
+	 * Implementations backed by a store should override this to fetch all of the Genes in one round trip.
+	 * 
+	 * @param chromosome
+	 *            the Chromosome the Genes are intended for
+	 * @param count
+	 *            the number of Genes to find
+	 * @return the random Genes
+	 */
+	public default List<Gene> findRandomGenes(Chromosome chromosome, int count) {
+		List<Gene> genes = new ArrayList<Gene>(count);
+
+		for (int i = 0; i < count; i++) {
+			genes.add(findRandomGene(chromosome));
+		}
+
+		return genes;
+	}
 }
@@ -0,0 +1,223 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.dao;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.VirtualThreads;
+
+/**
+ * Per-thread ring buffers of prefetched results, used by the prefetching DAO decorators.
+ * 
+ * Each thread has its own ring per key, so the thread taking from a ring never contends with other callers. Whenever a
+ * ring drops to the low watermark, a refill is fetched in bulk on the TaskExecutor, ahead of demand, for a snapshot of
+ * the argument which first triggered a refill of that ring. If a ring is empty anyway, or a refill could not be
+ * scheduled, take() returns null and the caller falls back to a synchronous lookup.
+ * 
+ * Prefetching trades reproducibility for latency: whether a result comes from a ring or from the synchronous lookup,
+ * and so which random draws produced it, depends on how far the refills have got. When the RandomSource is seeded the
+ * rings are bypassed altogether, so that every result is looked up synchronously within the caller's bound task and a
+ * seeded run is reproduced exactly. The rings are also bypassed on virtual threads, which each run a single task and
+ * so would only ever start an empty ring.
+ * 
+ * @param <A>
+ *            the type of the argument passed through to the Loader
+ * @param <T>
+ *            the type of the prefetched results
+ */
+public class PrefetchBuffer<A, T> {
+	private static Logger								log				= LoggerFactory.getLogger(PrefetchBuffer.class);
+
+	private Loader<A, T>								loader;
+	private TaskExecutor								taskExecutor;
+	private int											capacity		= 64;
+	private int											lowWatermark	= 16;
+	private RandomSource								randomSource;
+
+	private final ThreadLocal<Map<Object, Ring<A, T>>>	rings			= new ThreadLocal<Map<Object, Ring<A, T>>>() {
+		@Override
+		protected Map<Object, Ring<A, T>> initialValue() {
+			return new HashMap<Object, Ring<A, T>>();
+		}
+	};
+
+	/**
+	 * Fetches results in bulk to refill a ring.
+	 */
+	public interface Loader<A, T> {
+		/**
+		 * @param argument
+		 *            the argument of the call which triggered the refill
+		 * @param key
+		 *            the key of the ring being refilled
+		 * @param count
+		 *            the number of results to fetch
+		 * @return the results
+		 */
+		public List<T> load(A argument, Object key, int count);
+
+		/**
+		 * Called on the thread which triggered the first refill of a ring, before the refill is scheduled. The copy is
+		 * kept by the ring and reused for all of its later refills, so the results must depend on the argument only
+		 * through the key.
+		 * 
+		 * @param argument
+		 *            the argument of the call which triggered the refill
+		 * @return a copy of the argument which the refills can read on another thread while the caller goes on
+		 *         changing the original
+		 */
+		public A snapshot(A argument);
+	}
+
+	private static class Ring<A, T> {
+		private final ArrayBlockingQueue<T>	queue;
+		private final AtomicBoolean			refilling	= new AtomicBoolean(false);
+		private A							argument;
+
+		public Ring(int capacity) {
+			this.queue = new ArrayBlockingQueue<T>(capacity);
+		}
+	}
+
+	/**
+	 * A concurrent task for refilling a ring in bulk.
+	 */
+	private class RefillTask implements Runnable {
+		private Ring<A, T>	ring;
+		private Object		key;
+
+		public RefillTask(Ring<A, T> ring, Object key) {
+			this.ring = ring;
+			this.key = key;
+		}
+
+		@Override
+		public void run() {
+			try {
+				int count = ring.queue.remainingCapacity();
+
+				if (count > 0) {
+					for (T result : loader.load(ring.argument, key, count)) {
+						if (!ring.queue.offer(result)) {
+							break;
+						}
+					}
+				}
+			} catch (RuntimeException re) {
+				log.error("Caught RuntimeException while refilling prefetch buffer for key " + key + " ", re);
+			} finally {
+				ring.refilling.set(false);
+			}
+		}
+	}
+
+	/**
+	 * @param loader
+	 *            the Loader used to refill the rings
+	 */
+	public PrefetchBuffer(Loader<A, T> loader) {
+		this.loader = loader;
+	}
+
+	/**
+	 * Takes the next prefetched result from the calling thread's ring for the key, scheduling a refill if the ring has
+	 * run low.
+	 * 
+	 * @param key
+	 *            the key identifying which results are interchangeable
+	 * @param argument
+	 *            the argument to pass to the Loader should a refill be needed
+	 * @return the next result, or null if the ring is empty or bypassed
+	 */
+	public T take(Object key, A argument) {
+		if ((randomSource != null && randomSource.isSeeded()) || VirtualThreads.isVirtual(Thread.currentThread())) {
+			return null;
+		}
+
+		Map<Object, Ring<A, T>> ringsForThread = rings.get();
+		Ring<A, T> ring = ringsForThread.get(key);
+
+		if (ring == null) {
+			ring = new Ring<A, T>(capacity);
+
+			ringsForThread.put(key, ring);
+		}
+
+		T result = ring.queue.poll();
+
+		if (ring.queue.size() <= lowWatermark && ring.refilling.compareAndSet(false, true)) {
+			try {
+				if (ring.argument == null) {
+					ring.argument = loader.snapshot(argument);
+				}
+
+				taskExecutor.execute(new RefillTask(ring, key));
+			} catch (RuntimeException re) {
+				// Allow the next take() to try again
+				ring.refilling.set(false);
+
+				log.error("Caught RuntimeException while scheduling refill of prefetch buffer for key " + key + " ", re);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @param taskExecutor
+	 *            the taskExecutor to set
+	 */
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * @param capacity
+	 *            the capacity of each ring
+	 */
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * @param lowWatermark
+	 *            the number of results remaining in a ring at or below which a refill is scheduled
+	 */
+	public void setLowWatermark(int lowWatermark) {
+		this.lowWatermark = lowWatermark;
+	}
+
+	/**
+	 * @param randomSource
+	 *            the RandomSource of the genetic algorithm, which bypasses the rings when it is seeded
+	 */
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.dao;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.core.task.TaskExecutor;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
+
+/**
+ * A GeneDao decorator which serves random Genes from per-thread ring buffers, refilled in bulk from the delegate ahead
+ * of demand, so that mutation does not wait on the delegate in the hot path.
+ * 
+ * Prefetched Genes are fetched on behalf of a clone of one Chromosome and handed to another, so this is only suitable
+ * when the delegate's Genes depend on the Chromosome solely through its type, which is what rings are keyed by, or
+ * through the requested length. Each Gene is attached to the Chromosome it is handed to.
+ * 
+ * When the RandomSource is seeded, or the caller runs on a virtual thread, every Gene is fetched synchronously from the
+ * delegate instead, as described by {@link PrefetchBuffer}.
+ */
+public class PrefetchingGeneDao implements VariableLengthGeneDao, RandomSourceAware {
+	private GeneDao									delegate;
+
+	private final PrefetchBuffer<Chromosome, Gene>	genes;
+	private final PrefetchBuffer<Chromosome, Gene>	genesOfLength;
+
+	private static class GeneLoader implements PrefetchBuffer.Loader<Chromosome, Gene> {
+		private PrefetchingGeneDao geneDao;
+
+		public GeneLoader(PrefetchingGeneDao geneDao) {
+			this.geneDao = geneDao;
+		}
+
+		@Override
+		public List<Gene> load(Chromosome chromosome, Object key, int count) {
+			return geneDao.delegate.findRandomGenes(chromosome, count);
+		}
+
+		@Override
+		public Chromosome snapshot(Chromosome chromosome) {
+			return chromosome.clone();
+		}
+	}
+
+	private static class GeneOfLengthLoader implements PrefetchBuffer.Loader<Chromosome, Gene> {
+		private PrefetchingGeneDao geneDao;
+
+		public GeneOfLengthLoader(PrefetchingGeneDao geneDao) {
+			this.geneDao = geneDao;
+		}
+
+		@Override
+		public List<Gene> load(Chromosome chromosome, Object key, int count) {
+			return ((VariableLengthGeneDao) geneDao.delegate).findRandomGenesOfLength(chromosome, (Integer) key, count);
+		}
+
+		@Override
+		public Chromosome snapshot(Chromosome chromosome) {
+			return chromosome.clone();
+		}
+	}
+
+	public PrefetchingGeneDao() {
+		this.genes = new PrefetchBuffer<Chromosome, Gene>(new GeneLoader(this));
+		this.genesOfLength = new PrefetchBuffer<Chromosome, Gene>(new GeneOfLengthLoader(this));
+	}
+
+	@Override
+	public Gene findRandomGene(Chromosome chromosome) {
+		Gene gene = genes.take(chromosome.getClass(), chromosome);
+
+		if (gene == null) {
+			return delegate.findRandomGene(chromosome);
+		}
+
+		gene.setChromosome(chromosome);
+
+		return gene;
+	}
+
+	@Override
+	public Gene findRandomGeneOfLength(Chromosome chromosome, int length) {
+		if (!(delegate instanceof VariableLengthGeneDao)) {
+			throw new UnsupportedOperationException("The delegate GeneDao of type " + delegate.getClass().getName()
+					+ " does not support finding Genes of a specific length.");
+		}
+
+		Gene gene = genesOfLength.take(length, chromosome);
+
+		if (gene == null) {
+			return ((VariableLengthGeneDao) delegate).findRandomGeneOfLength(chromosome, length);
+		}
+
+		gene.setChromosome(chromosome);
+
+		return gene;
+	}
+
+	/**
+	 * @param delegate
+	 *            the GeneDao to fetch Genes from
+	 */
+	@Required
+	public void setDelegate(GeneDao delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * @param taskExecutor
+	 *            the taskExecutor to refill the buffers with
+	 */
+	@Required
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.genes.setTaskExecutor(taskExecutor);
+		this.genesOfLength.setTaskExecutor(taskExecutor);
+	}
+
+	/**
+	 * @param capacity
+	 *            the number of Genes buffered per thread and key
+	 */
+	public void setCapacity(int capacity) {
+		this.genes.setCapacity(capacity);
+		this.genesOfLength.setCapacity(capacity);
+	}
+
+	/**
+	 * @param lowWatermark
+	 *            the number of buffered Genes at or below which a refill is scheduled
+	 */
+	public void setLowWatermark(int lowWatermark) {
+		this.genes.setLowWatermark(lowWatermark);
+		this.genesOfLength.setLowWatermark(lowWatermark);
+	}
+
+	/**
+	 * @param randomSource
+	 *            the RandomSource of the genetic algorithm, which bypasses the buffers when it is seeded
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.genes.setRandomSource(randomSource);
+		this.genesOfLength.setRandomSource(randomSource);
+	}
+}
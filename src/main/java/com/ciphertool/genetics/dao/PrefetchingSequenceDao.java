@@ -0,0 +1,118 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.dao;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.core.task.TaskExecutor;
+
+import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.Sequence;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
+
+/**
+ * A SequenceDao decorator which serves random Sequences from per-thread ring buffers keyed by sequence index, refilled
+ * in bulk from the delegate ahead of demand. A prefetched Sequence is attached to the Gene it is handed to.
+ */
+public class PrefetchingSequenceDao implements SequenceDao, RandomSourceAware {
+	private SequenceDao								delegate;
+
+	private final PrefetchBuffer<Gene, Sequence>	sequences;
+
+	private static class SequenceLoader implements PrefetchBuffer.Loader<Gene, Sequence> {
+		private PrefetchingSequenceDao sequenceDao;
+
+		public SequenceLoader(PrefetchingSequenceDao sequenceDao) {
+			this.sequenceDao = sequenceDao;
+		}
+
+		@Override
+		public List<Sequence> load(Gene gene, Object key, int count) {
+			return sequenceDao.delegate.findRandomSequences(gene, (Integer) key, count);
+		}
+
+		@Override
+		public Gene snapshot(Gene gene) {
+			return gene.clone();
+		}
+	}
+
+	public PrefetchingSequenceDao() {
+		this.sequences = new PrefetchBuffer<Gene, Sequence>(new SequenceLoader(this));
+	}
+
+	@Override
+	public Sequence findRandomSequence(Gene gene, int sequenceIndex) {
+		Sequence sequence = sequences.take(sequenceIndex, gene);
+
+		if (sequence == null) {
+			return delegate.findRandomSequence(gene, sequenceIndex);
+		}
+
+		sequence.setGene(gene);
+
+		return sequence;
+	}
+
+	/**
+	 * @param delegate
+	 *            the SequenceDao to fetch Sequences from
+	 */
+	@Required
+	public void setDelegate(SequenceDao delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * @param taskExecutor
+	 *            the taskExecutor to refill the buffers with
+	 */
+	@Required
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.sequences.setTaskExecutor(taskExecutor);
+	}
+
+	/**
+	 * @param capacity
+	 *            the number of Sequences buffered per thread and sequence index
+	 */
+	public void setCapacity(int capacity) {
+		this.sequences.setCapacity(capacity);
+	}
+
+	/**
+	 * @param lowWatermark
+	 *            the number of buffered Sequences at or below which a refill is scheduled
+	 */
+	public void setLowWatermark(int lowWatermark) {
+		this.sequences.setLowWatermark(lowWatermark);
+	}
+
+	/**
+	 * @param randomSource
+	 *            the RandomSource of the genetic algorithm, which bypasses the buffers when it is seeded
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.sequences.setRandomSource(randomSource);
+	}
+}
@@ -19,6 +19,9 @@
 
 package com.ciphertool.genetics.dao;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.ciphertool.genetics.entities.Gene;
 import com.ciphertool.genetics.entities.Sequence;
 
@@ -31,4 +34,25 @@ public interface SequenceDao {
 	 * @return the new Sequence
 	 */
 	public Sequence findRandomSequence(Gene gene, int sequenceIndex);
+
+	/**
+	 * Implementations backed by a store should override this to fetch all of the Sequences in one round trip.
+	 * 
+	 * @param gene
+	 *            the Gene containing the Sequences
+	 * @param sequenceIndex
+	 *            the index of the sequence to replace
+	 * @param count
+	 *            the number of Sequences to find
+	 * @return the new Sequences
+	 */
+	public default List<Sequence> findRandomSequences(Gene gene, int sequenceIndex, int count) {
+		List<Sequence> sequences = new ArrayList<Sequence>(count);
+
+		for (int i = 0; i < count; i++) {
+			sequences.add(findRandomSequence(gene, sequenceIndex));
+		}
+
+		return sequences;
+	}
 }
@@ -1,8 +1,21 @@
 package com.ciphertool.genetics.dao;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.Gene;
 
 public interface VariableLengthGeneDao extends GeneDao {
 	public Gene findRandomGeneOfLength(Chromosome chromosome, int length);
+
+	public default List<Gene> findRandomGenesOfLength(Chromosome chromosome, int length, int count) {
+		List<Gene> genes = new ArrayList<Gene>(count);
+
+		for (int i = 0; i < count; i++) {
+			genes.add(findRandomGeneOfLength(chromosome, length));
+		}
+
+		return genes;
+	}
 }
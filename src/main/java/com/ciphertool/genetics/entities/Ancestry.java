@@ -19,18 +19,175 @@
 
 package com.ciphertool.genetics.entities;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.ciphertool.genetics.util.Hashing;
+
+/**
+ * The ancestors of a Chromosome, as one set of 64-bit hashed ids per generation back: the parents at level zero, the
+ * grandparents at level one, and so on up to generationsToKeep. Each level also carries a fixed-size 512-bit
+ * signature with one bit set per id, so that most pairs of levels which share no ancestor are ruled out with a few
+ * ANDs, however many ancestors they hold.
+ * 
+ * A level is shared structurally rather than copied: level k of a child is a node joining level k - 1 of each parent,
+ * so building a new Ancestry costs a constant amount of work and memory per level. The nodes refer to the parents'
+ * levels but never to the parents' Ancestry objects, and a level k node only reaches k levels further back, so the
+ * memory held is bounded by generationsToKeep regardless of how long the algorithm has been running. The ids of a
+ * level are only gathered when they are actually needed, and are then kept by the level, since it never changes.
+ */
 public class Ancestry {
-	private String		dad;
-	private String		mom;
-	private Ancestry	maternal;
-	private Ancestry	paternal;
+	private static final long[]	EMPTY			= new long[0];
+	private static final int	SIGNATURE_WORDS	= 8;
+	private static final int	SIGNATURE_BITS	= SIGNATURE_WORDS * 64;
+
+	private String				dad;
+	private String				mom;
+	private Level[]				levels;
+
+	/**
+	 * One level of ancestors, which is either the parents themselves or the join of a level of each parent. Levels
+	 * are immutable, so that they can be shared by every descendant.
+	 */
+	private static class Level {
+		private final long[]	ids;
+		private final Level		maternal;
+		private final Level		paternal;
+		private final long[]	signature;
+		private volatile long[]	collected;
+
+		private Level(long[] ids) {
+			this.ids = ids;
+			this.maternal = null;
+			this.paternal = null;
+			this.signature = new long[SIGNATURE_WORDS];
+
+			for (long id : ids) {
+				int bit = (int) (id & (SIGNATURE_BITS - 1));
+
+				this.signature[bit >>> 6] |= 1L << bit;
+			}
+		}
+
+		private Level(Level maternal, Level paternal) {
+			this.ids = null;
+			this.maternal = maternal;
+			this.paternal = paternal;
+			this.signature = new long[SIGNATURE_WORDS];
+
+			for (int i = 0; i < SIGNATURE_WORDS; i++) {
+				this.signature[i] = maternal.signature[i] | paternal.signature[i];
+			}
+		}
+
+		private boolean mayIntersect(Level other) {
+			for (int i = 0; i < SIGNATURE_WORDS; i++) {
+				if ((this.signature[i] & other.signature[i]) != 0) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * @return the sorted, distinct ids reachable from this level, visiting each shared node only once and reusing
+		 *         the ids already gathered by any node along the way
+		 */
+		private long[] collect() {
+			if (this.ids != null) {
+				return this.ids;
+			}
+
+			long[] cached = this.collected;
+
+			if (cached != null) {
+				return cached;
+			}
+
+			Set<Level> visited = Collections.newSetFromMap(new IdentityHashMap<Level, Boolean>());
+			Deque<Level> pending = new ArrayDeque<Level>();
+			List<long[]> leaves = new ArrayList<long[]>();
+			int size = 0;
+
+			pending.push(this);
+
+			while (!pending.isEmpty()) {
+				Level next = pending.pop();
+
+				if (!visited.add(next)) {
+					continue;
+				}
+
+				long[] known = (next.ids != null) ? next.ids : next.collected;
+
+				if (known != null) {
+					leaves.add(known);
+					size += known.length;
+				} else {
+					pending.push(next.maternal);
+					pending.push(next.paternal);
+				}
+			}
+
+			long[] all = new long[size];
+			int offset = 0;
+
+			for (long[] leaf : leaves) {
+				System.arraycopy(leaf, 0, all, offset, leaf.length);
+				offset += leaf.length;
+			}
+
+			Arrays.sort(all);
+
+			int distinct = 0;
+
+			for (int i = 0; i < all.length; i++) {
+				if (i == 0 || all[i] != all[i - 1]) {
+					all[distinct++] = all[i];
+				}
+			}
+
+			// Racing threads gather the same ids, so whichever of them is kept does not matter
+			long[] result = (distinct == all.length) ? all : Arrays.copyOf(all, distinct);
+			this.collected = result;
+
+			return result;
+		}
+	}
 
 	public Ancestry(String dad, String mom, Ancestry maternal, Ancestry paternal, int generationsToKeep) {
 		this.dad = dad;
 		this.mom = mom;
-		this.maternal = maternal;
-		this.paternal = paternal;
-		truncateAncestry(generationsToKeep);
+
+		int depth = 1;
+
+		if (maternal != null && paternal != null && generationsToKeep > 0) {
+			depth += Math.min(generationsToKeep, Math.min(maternal.levels.length, paternal.levels.length));
+		}
+
+		this.levels = new Level[depth];
+
+		for (int level = 1; level < depth; level++) {
+			this.levels[level] = new Level(maternal.levels[level - 1], paternal.levels[level - 1]);
+		}
+
+		indexParents();
+	}
+
+	private void indexParents() {
+		long dadId = hashId(this.dad);
+		long momId = hashId(this.mom);
+
+		// Replace rather than modify the level, since descendants may already share it
+		this.levels[0] = new Level((dadId == momId) ? new long[] { dadId } : new long[] { Math.min(dadId, momId),
+				Math.max(dadId, momId) });
 	}
 
 	/**
@@ -39,6 +196,8 @@ public class Ancestry {
 	 */
 	public void setDad(String dad) {
 		this.dad = dad;
+
+		indexParents();
 	}
 
 	/**
@@ -48,39 +207,91 @@ public class Ancestry {
 		return mom;
 	}
 
-	private void truncateAncestry(int generationsToKeep) {
-		if (generationsToKeep <= 0) {
-			this.maternal = null;
-			this.paternal = null;
-		}
+	/**
+	 * Two lineages are compatible when they share no ancestor within the first generationsToSkip levels, but do share
+	 * one at some level after that, up to the number of levels both have kept.
+	 * 
+	 * @param other
+	 *            the Ancestry to compare to
+	 * @param generationsToSkip
+	 *            the number of levels in which a shared ancestor means the lineages are too closely related
+	 * @return whether the two lineages are compatible
+	 */
+	public boolean sharesLineageWith(Ancestry other, int generationsToSkip) {
+		int depth = Math.min(this.levels.length, other.levels.length);
+
+		for (int level = 0; level < depth; level++) {
+			Level mine = this.levels[level];
+			Level theirs = other.levels[level];
 
-		generationsToKeep--;
-		if (this.maternal != null) {
-			this.maternal.truncateAncestry(generationsToKeep);
+			if (mine == theirs || (mine.mayIntersect(theirs) && intersects(mine.collect(), theirs.collect()))) {
+				// A shared ancestor before generationsToSkip means these two lineages don't branch far enough
+				return level >= generationsToSkip;
+			}
 		}
 
-		if (this.paternal != null) {
-			this.paternal.truncateAncestry(generationsToKeep);
+		return false;
+	}
+
+	/**
+	 * @return the number of levels of ancestors kept, including the parents
+	 */
+	public int getDepth() {
+		return this.levels.length;
+	}
+
+	/**
+	 * @param level
+	 *            the number of generations back, where zero is the parents
+	 * @return the sorted hashed ids of the ancestors at the level
+	 */
+	public long[] getAncestorIds(int level) {
+		if (level >= this.levels.length) {
+			return EMPTY;
 		}
+
+		long[] ids = this.levels[level].collect();
+
+		return Arrays.copyOf(ids, ids.length);
 	}
 
-	public boolean sharesLineageWith(Ancestry other, int generationsToSkip) {
-		if (generationsToSkip > 0 && (other.mom.equals(this.mom) || other.mom.equals(this.dad)
-				|| other.dad.equals(this.dad) || other.dad.equals(this.mom))) {
-			// These two lineages don't branch far enough
-			return false;
+	/**
+	 * Hashes a Chromosome id to 64 bits using FNV-1a followed by the SplitMix64 finalizer, so that collisions are
+	 * negligible for any realistic number of Chromosomes.
+	 * 
+	 * @param id
+	 *            the id to hash
+	 * @return the hashed id
+	 */
+	public static long hashId(String id) {
+		if (id == null) {
+			return 0L;
+		}
+
+		long hash = 0xcbf29ce484222325L;
+
+		for (int i = 0; i < id.length(); i++) {
+			hash ^= id.charAt(i);
+			hash *= 0x100000001b3L;
 		}
-		if (generationsToSkip <= 0 && (other.mom.equals(this.mom) || other.mom.equals(this.dad)
-				|| other.dad.equals(this.dad) || other.dad.equals(this.mom))) {
-			return true;
-		} else {
-			generationsToSkip--;
-
-			return this.maternal != null && this.paternal != null && other.maternal != null && other.paternal != null
-					&& (other.maternal.sharesLineageWith(this.maternal, generationsToSkip)
-							|| other.maternal.sharesLineageWith(this.paternal, generationsToSkip)
-							|| other.paternal.sharesLineageWith(this.paternal, generationsToSkip)
-							|| other.paternal.sharesLineageWith(this.maternal, generationsToSkip));
+
+		return Hashing.mix(hash);
+	}
+
+	private static boolean intersects(long[] a, long[] b) {
+		int i = 0;
+		int j = 0;
+
+		while (i < a.length && j < b.length) {
+			if (a[i] == b[j]) {
+				return true;
+			} else if (a[i] < b[j]) {
+				i++;
+			} else {
+				j++;
+			}
 		}
+
+		return false;
 	}
 }
@@ -0,0 +1,52 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.entities;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interns ImmutableGenes, so that there is only ever one instance of each value. A GeneDao producing ImmutableGenes
+ * passes every Gene it creates through its pool, and may be called from many threads at once.
+ * 
+ * @param <T>
+ *            the type of Gene pooled
+ */
+public class GenePool<T extends ImmutableGene> {
+	private ConcurrentMap<T, T> genes = new ConcurrentHashMap<T, T>();
+
+	/**
+	 * @param gene
+	 *            the Gene to intern
+	 * @return the pooled instance equal to the Gene, which is the Gene itself if its value was not pooled yet
+	 */
+	public T intern(T gene) {
+		T pooled = this.genes.putIfAbsent(gene, gene);
+
+		return (pooled != null) ? pooled : gene;
+	}
+
+	/**
+	 * @return the number of distinct Genes pooled
+	 */
+	public int size() {
+		return this.genes.size();
+	}
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.entities;
+
+/**
+ * A Gene which is a value object, so that one instance can be shared by every Chromosome holding that value instead of
+ * being cloned into each of them. Implementations must honor the following contract:
+ * <ul>
+ * <li>the value never changes after construction, and {@link #clone()} returns this same instance</li>
+ * <li>{@link #setChromosome(Chromosome)} and {@link #setHasMatch(boolean)} do not modify the instance, since it does
+ * not belong to any single Chromosome</li>
+ * <li>instances are obtained through a {@link GenePool}, so that equal Genes are the same instance and equality can be
+ * checked by identity</li>
+ * </ul>
+ */
+public interface ImmutableGene extends Gene {
+	/**
+	 * @param gene
+	 *            the Gene to put into another Chromosome
+	 * @return the Gene itself if it is immutable, or otherwise a clone of it
+	 */
+	public static Gene share(Gene gene) {
+		return (gene instanceof ImmutableGene) ? gene : gene.clone();
+	}
+
+	/**
+	 * @param first
+	 *            the first Gene, which must not be null
+	 * @param second
+	 *            the second Gene
+	 * @return whether the Genes are equal, which is checked by identity when both are immutable
+	 */
+	public static boolean same(Gene first, Gene second) {
+		if (first instanceof ImmutableGene && second instanceof ImmutableGene) {
+			return first == second;
+		}
+
+		return first.equals(second);
+	}
+}
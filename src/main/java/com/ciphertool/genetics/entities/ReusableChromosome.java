@@ -0,0 +1,46 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.entities;
+
+/**
+ * A Chromosome which can be reused as the shell of a new child once it has died, rather than being left to the garbage
+ * collector while a fresh clone is allocated in its place. This library has no Chromosome classes of its own, so an
+ * application opts in to recycling by having its Chromosome class implement this interface.
+ */
+public interface ReusableChromosome extends Chromosome {
+	/**
+	 * Overwrites this Chromosome in place so that it is indistinguishable from what {@link #clone()} would return for
+	 * the source, reusing its own collections where it can. Nothing may refer to this Chromosome from its previous life
+	 * when this is called. Implementations must reset everything left over from that life, in particular:
+	 * <ul>
+	 * <li>the Genes, which are replaced by copies of those of the source, sharing any which are
+	 * {@link ImmutableGene}s through {@link ImmutableGene#share(Gene)}, with each Gene attached to this Chromosome</li>
+	 * <li>the fitness and whether evaluation is needed, which are copied from the source</li>
+	 * <li>the age and the number of children, which start again from zero</li>
+	 * <li>the population, which is cleared, since the child does not belong to one until it is added</li>
+	 * <li>the ancestry, which is left as {@link #clone()} would leave it, since crossover only sets the ancestry of a
+	 * child when ancestry is verified and would otherwise leave that of the dead Chromosome behind</li>
+	 * </ul>
+	 * 
+	 * @param source
+	 *            the Chromosome to copy, which is of the same class as this one
+	 */
+	public void copyFrom(Chromosome source);
+}
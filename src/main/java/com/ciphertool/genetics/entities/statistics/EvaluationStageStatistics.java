@@ -0,0 +1,155 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.entities.statistics;
+
+import java.io.Serializable;
+
+/**
+ * The cost and agreement of one stage of an evaluation cascade within a single generation.
+ */
+public class EvaluationStageStatistics implements Serializable {
+	private static final long	serialVersionUID	= 2926385715044624611L;
+
+	private int					stage;
+	private String				name;
+	private int					numberOfEvaluations;
+	private long				millis;
+	private Double				rankCorrelation;
+
+	/**
+	 * Default no-args constructor
+	 */
+	public EvaluationStageStatistics() {
+	}
+
+	/**
+	 * @param stage
+	 *            the position of the stage in the cascade, starting at one
+	 * @param name
+	 *            the name of the stage
+	 * @param numberOfEvaluations
+	 *            the number of Chromosomes the stage evaluated
+	 * @param millis
+	 *            the time the stage took
+	 * @param rankCorrelation
+	 *            the Spearman rank correlation between the fitness before and after the stage, or null if it could
+	 *            not be computed
+	 */
+	public EvaluationStageStatistics(int stage, String name, int numberOfEvaluations, long millis,
+			Double rankCorrelation) {
+		this.stage = stage;
+		this.name = name;
+		this.numberOfEvaluations = numberOfEvaluations;
+		this.millis = millis;
+		this.rankCorrelation = rankCorrelation;
+	}
+
+	/**
+	 * @return the stage
+	 */
+	public int getStage() {
+		return stage;
+	}
+
+	/**
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the numberOfEvaluations
+	 */
+	public int getNumberOfEvaluations() {
+		return numberOfEvaluations;
+	}
+
+	/**
+	 * @return the millis
+	 */
+	public long getMillis() {
+		return millis;
+	}
+
+	/**
+	 * @return the Spearman rank correlation between the fitness before and after the stage, or null if it could not be
+	 *         computed
+	 */
+	public Double getRankCorrelation() {
+		return rankCorrelation;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + stage;
+		result = prime * result + ((name == null) ? 0 : name.hashCode());
+		result = prime * result + numberOfEvaluations;
+		result = prime * result + (int) (millis ^ (millis >>> 32));
+		result = prime * result + ((rankCorrelation == null) ? 0 : rankCorrelation.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		EvaluationStageStatistics other = (EvaluationStageStatistics) obj;
+		if (stage != other.stage) {
+			return false;
+		}
+		if (name == null) {
+			if (other.name != null) {
+				return false;
+			}
+		} else if (!name.equals(other.name)) {
+			return false;
+		}
+		if (numberOfEvaluations != other.numberOfEvaluations) {
+			return false;
+		}
+		if (millis != other.millis) {
+			return false;
+		}
+		if (rankCorrelation == null) {
+			if (other.rankCorrelation != null) {
+				return false;
+			}
+		} else if (!rankCorrelation.equals(other.rankCorrelation)) {
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "[stage=" + stage + ", name=" + name + ", evals=" + numberOfEvaluations + ", millis=" + millis
+				+ (rankCorrelation == null ? "" : ", rho=" + String.format("%1$,.3f", rankCorrelation)) + "]";
+	}
+}
@@ -53,6 +53,8 @@ public class ExecutionStatistics implements Serializable {
 
 	private String						mutationAlgorithm;
 
+	private String						terminationReason;
+
 	@DBRef
 	private List<GenerationStatistics>	generationStatisticsList	= new ArrayList<GenerationStatistics>();
 
@@ -188,6 +190,21 @@ public class ExecutionStatistics implements Serializable {
 		this.mutationAlgorithm = mutationAlgorithm;
 	}
 
+	/**
+	 * @return the reason the run ended
+	 */
+	public String getTerminationReason() {
+		return terminationReason;
+	}
+
+	/**
+	 * @param terminationReason
+	 *            the terminationReason to set
+	 */
+	public void setTerminationReason(String terminationReason) {
+		this.terminationReason = terminationReason;
+	}
+
 	/**
 	 * @return an unmodifiable List of GenerationStatistics
 	 */
@@ -223,6 +240,7 @@ public class ExecutionStatistics implements Serializable {
 		result = prime * result + ((mutationRate == null) ? 0 : mutationRate.hashCode());
 		result = prime * result + ((populationSize == null) ? 0 : populationSize.hashCode());
 		result = prime * result + ((startDateTime == null) ? 0 : startDateTime.hashCode());
+		result = prime * result + ((terminationReason == null) ? 0 : terminationReason.hashCode());
 		return result;
 	}
 
@@ -294,6 +312,13 @@ public class ExecutionStatistics implements Serializable {
 		} else if (!startDateTime.equals(other.startDateTime)) {
 			return false;
 		}
+		if (terminationReason == null) {
+			if (other.terminationReason != null) {
+				return false;
+			}
+		} else if (!terminationReason.equals(other.terminationReason)) {
+			return false;
+		}
 		return true;
 	}
 
@@ -302,6 +327,6 @@ public class ExecutionStatistics implements Serializable {
 		return "ExecutionStatistics [id=" + id + ", startDateTime=" + startDateTime + ", endDateTime=" + endDateTime
 				+ ", populationSize=" + populationSize + ", mutationRate=" + mutationRate + ", crossoverAlgorithm="
 				+ crossoverAlgorithm + ", fitnessEvaluator=" + fitnessEvaluator + ", mutationAlgorithm="
-				+ mutationAlgorithm + "]";
+				+ mutationAlgorithm + ", terminationReason=" + terminationReason + "]";
 	}
 }
\ No newline at end of file
@@ -21,6 +21,9 @@ package com.ciphertool.genetics.entities.statistics;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
@@ -61,6 +64,12 @@ public class GenerationStatistics implements Serializable {
 
 	private int						numberSelectedOut;
 
+	private int						numberOfAncestryRejections;
+
+	private BigDecimal				duplicateRatio;
+
+	private List<EvaluationStageStatistics>	evaluationStageStatistics;
+
 	private PerformanceStatistics	performanceStatistics;
 
 	/**
@@ -267,6 +276,60 @@ public class GenerationStatistics implements Serializable {
 		this.numberSelectedOut = numberSelectedOut;
 	}
 
+	/**
+	 * @return the number of candidate mates rejected for sharing too much or too little ancestry
+	 */
+	public int getNumberOfAncestryRejections() {
+		return numberOfAncestryRejections;
+	}
+
+	/**
+	 * @param numberOfAncestryRejections
+	 *            the numberOfAncestryRejections to set
+	 */
+	public void setNumberOfAncestryRejections(int numberOfAncestryRejections) {
+		this.numberOfAncestryRejections = numberOfAncestryRejections;
+	}
+
+	/**
+	 * @return the fraction of the population whose genotype duplicates that of another individual
+	 */
+	public BigDecimal getDuplicateRatio() {
+		return duplicateRatio;
+	}
+
+	/**
+	 * @param duplicateRatio
+	 *            the duplicateRatio to set
+	 */
+	public void setDuplicateRatio(BigDecimal duplicateRatio) {
+		this.duplicateRatio = duplicateRatio;
+	}
+
+	/**
+	 * @return an unmodifiable List of the statistics of each stage of the evaluation cascade, which is empty if no
+	 *         cascade was performed
+	 */
+	public List<EvaluationStageStatistics> getEvaluationStageStatistics() {
+		if (evaluationStageStatistics == null) {
+			return Collections.emptyList();
+		}
+
+		return Collections.unmodifiableList(evaluationStageStatistics);
+	}
+
+	/**
+	 * @param stageStatistics
+	 *            the EvaluationStageStatistics to add
+	 */
+	public void addEvaluationStageStatistics(EvaluationStageStatistics stageStatistics) {
+		if (evaluationStageStatistics == null) {
+			this.evaluationStageStatistics = new ArrayList<EvaluationStageStatistics>();
+		}
+
+		this.evaluationStageStatistics.add(stageStatistics);
+	}
+
 	/**
 	 * @return the performanceStatistics
 	 */
@@ -303,6 +366,9 @@ public class GenerationStatistics implements Serializable {
 		result = prime * result + numberOfMutations;
 		result = prime * result + numberRandomlyGenerated;
 		result = prime * result + numberSelectedOut;
+		result = prime * result + numberOfAncestryRejections;
+		result = prime * result + ((duplicateRatio == null) ? 0 : duplicateRatio.hashCode());
+		result = prime * result + ((evaluationStageStatistics == null) ? 0 : evaluationStageStatistics.hashCode());
 		result = prime * result + ((performanceStatistics == null) ? 0 : performanceStatistics.hashCode());
 		return result;
 	}
@@ -382,6 +448,23 @@ public class GenerationStatistics implements Serializable {
 		if (numberSelectedOut != other.numberSelectedOut) {
 			return false;
 		}
+		if (numberOfAncestryRejections != other.numberOfAncestryRejections) {
+			return false;
+		}
+		if (duplicateRatio == null) {
+			if (other.duplicateRatio != null) {
+				return false;
+			}
+		} else if (!duplicateRatio.equals(other.duplicateRatio)) {
+			return false;
+		}
+		if (evaluationStageStatistics == null) {
+			if (other.evaluationStageStatistics != null) {
+				return false;
+			}
+		} else if (!evaluationStageStatistics.equals(other.evaluationStageStatistics)) {
+			return false;
+		}
 		return true;
 	}
 
@@ -395,7 +478,12 @@ public class GenerationStatistics implements Serializable {
 						+ bestFitness.round(MathConstants.PREC_10_HALF_UP)) + proximity + ", entropy="
 				+ String.format("%1$,.4f", entropy) + ", crossovers=" + numberOfCrossovers + ", evals="
 				+ numberOfEvaluations + ", majorEvals=" + numberOfMajorEvaluations + ", mutations=" + numberOfMutations
-				+ ", deaths=" + numberSelectedOut + ", births=" + numberRandomlyGenerated + ", performance="
+				+ ", deaths=" + numberSelectedOut + ", births=" + numberRandomlyGenerated
+				+ (numberOfAncestryRejections == 0 ? "" : ", ancestryRejections=" + numberOfAncestryRejections)
+				+ (duplicateRatio == null ? "" : ", duplicates=" + String.format("%1$,.2f", duplicateRatio.multiply(
+						BigDecimal.valueOf(100.0))) + "%")
+				+ (evaluationStageStatistics == null ? "" : ", cascade=" + evaluationStageStatistics)
+				+ ", performance="
 				+ performanceStatistics.toString() + "]";
 	}
 }
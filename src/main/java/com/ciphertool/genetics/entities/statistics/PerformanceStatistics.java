@@ -31,6 +31,15 @@ public class PerformanceStatistics implements Serializable {
 	private long				evaluationMillis;
 	private long				majorEvaluationMillis;
 	private long				entropyMillis;
+	private long				evaluationP50Micros;
+	private long				evaluationP95Micros;
+	private long				evaluationP99Micros;
+	private long				evaluationMaxMicros;
+	private int					evaluationTimeouts;
+	private long				garbageCollections;
+	private long				garbageCollectionMillis;
+	private long				chromosomesAllocated;
+	private long				chromosomesRecycled;
 
 	/**
 	 * Default no-args constructor
@@ -143,10 +152,163 @@ public class PerformanceStatistics implements Serializable {
 		this.entropyMillis = entropyMillis;
 	}
 
+	/**
+	 * @return the evaluationP50Micros
+	 */
+	public long getEvaluationP50Micros() {
+		return evaluationP50Micros;
+	}
+
+	/**
+	 * @param evaluationP50Micros
+	 *            the evaluationP50Micros to set
+	 */
+	public void setEvaluationP50Micros(long evaluationP50Micros) {
+		this.evaluationP50Micros = evaluationP50Micros;
+	}
+
+	/**
+	 * @return the evaluationP95Micros
+	 */
+	public long getEvaluationP95Micros() {
+		return evaluationP95Micros;
+	}
+
+	/**
+	 * @param evaluationP95Micros
+	 *            the evaluationP95Micros to set
+	 */
+	public void setEvaluationP95Micros(long evaluationP95Micros) {
+		this.evaluationP95Micros = evaluationP95Micros;
+	}
+
+	/**
+	 * @return the evaluationP99Micros
+	 */
+	public long getEvaluationP99Micros() {
+		return evaluationP99Micros;
+	}
+
+	/**
+	 * @param evaluationP99Micros
+	 *            the evaluationP99Micros to set
+	 */
+	public void setEvaluationP99Micros(long evaluationP99Micros) {
+		this.evaluationP99Micros = evaluationP99Micros;
+	}
+
+	/**
+	 * @return the evaluationMaxMicros
+	 */
+	public long getEvaluationMaxMicros() {
+		return evaluationMaxMicros;
+	}
+
+	/**
+	 * @param evaluationMaxMicros
+	 *            the evaluationMaxMicros to set
+	 */
+	public void setEvaluationMaxMicros(long evaluationMaxMicros) {
+		this.evaluationMaxMicros = evaluationMaxMicros;
+	}
+
+	/**
+	 * @return the evaluationTimeouts
+	 */
+	public int getEvaluationTimeouts() {
+		return evaluationTimeouts;
+	}
+
+	/**
+	 * @param evaluationTimeouts
+	 *            the evaluationTimeouts to set
+	 */
+	public void setEvaluationTimeouts(int evaluationTimeouts) {
+		this.evaluationTimeouts = evaluationTimeouts;
+	}
+
+	/**
+	 * @return the number of garbage collections during the generation
+	 */
+	public long getGarbageCollections() {
+		return garbageCollections;
+	}
+
+	/**
+	 * @param garbageCollections
+	 *            the garbageCollections to set
+	 */
+	public void setGarbageCollections(long garbageCollections) {
+		this.garbageCollections = garbageCollections;
+	}
+
+	/**
+	 * @return the time spent in garbage collection during the generation
+	 */
+	public long getGarbageCollectionMillis() {
+		return garbageCollectionMillis;
+	}
+
+	/**
+	 * @param garbageCollectionMillis
+	 *            the garbageCollectionMillis to set
+	 */
+	public void setGarbageCollectionMillis(long garbageCollectionMillis) {
+		this.garbageCollectionMillis = garbageCollectionMillis;
+	}
+
+	/**
+	 * @return the number of child Chromosomes which had to be allocated because no recycled shell was available
+	 */
+	public long getChromosomesAllocated() {
+		return chromosomesAllocated;
+	}
+
+	/**
+	 * @param chromosomesAllocated
+	 *            the chromosomesAllocated to set
+	 */
+	public void setChromosomesAllocated(long chromosomesAllocated) {
+		this.chromosomesAllocated = chromosomesAllocated;
+	}
+
+	/**
+	 * @return the number of child Chromosomes made from recycled shells
+	 */
+	public long getChromosomesRecycled() {
+		return chromosomesRecycled;
+	}
+
+	/**
+	 * @param chromosomesRecycled
+	 *            the chromosomesRecycled to set
+	 */
+	public void setChromosomesRecycled(long chromosomesRecycled) {
+		this.chromosomesRecycled = chromosomesRecycled;
+	}
+
 	@Override
 	public String toString() {
+		String latency = "";
+
+		if (evaluationMaxMicros > 0) {
+			latency = ", evaluationLatency[p50=" + evaluationP50Micros + "us, p95=" + evaluationP95Micros + "us, p99="
+					+ evaluationP99Micros + "us, max=" + evaluationMaxMicros + "us, timeouts=" + evaluationTimeouts
+					+ "]";
+		}
+
+		String memory = "";
+
+		if (garbageCollections > 0) {
+			memory += ", gc[collections=" + garbageCollections + ", time=" + garbageCollectionMillis + "ms]";
+		}
+
+		if (chromosomesAllocated > 0 || chromosomesRecycled > 0) {
+			memory += ", chromosomes[allocated=" + chromosomesAllocated + ", recycled=" + chromosomesRecycled + "]";
+		}
+
 		return "[total=" + totalMillis + "ms, selection=" + selectionMillis + "ms, crossover=" + crossoverMillis
 				+ "ms, mutation=" + mutationMillis + "ms, evaluation=" + evaluationMillis + "ms, major="
-				+ majorEvaluationMillis + "ms, entropy=" + entropyMillis + "ms]";
+				+ majorEvaluationMillis + "ms, entropy=" + entropyMillis + "ms" + latency + memory + "]";
 	}
 }
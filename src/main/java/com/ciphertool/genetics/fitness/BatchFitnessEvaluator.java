@@ -0,0 +1,42 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.fitness;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.ciphertool.genetics.entities.Chromosome;
+
+/**
+ * A FitnessEvaluator which can evaluate a slice of Chromosomes in one call, so that it may amortize setup costs such
+ * as table lookups and scratch buffers across many candidates. Populations hand each worker one contiguous batch
+ * instead of one task per Chromosome when the configured FitnessEvaluator implements this interface.
+ */
+public interface BatchFitnessEvaluator extends FitnessEvaluator {
+	/**
+	 * Evaluates every Chromosome in the slice. Implementations must not set the fitness on the Chromosomes themselves.
+	 * 
+	 * @param chromosomes
+	 *            the Chromosomes to evaluate
+	 * @param fitnesses
+	 *            the array to fill, where the fitness of chromosomes.get(i) is stored at index i
+	 */
+	public void evaluate(List<Chromosome> chromosomes, BigDecimal[] fitnesses);
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.fitness;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.statistics.EvaluationStageStatistics;
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.util.RankCorrelation;
+
+/**
+ * A sequence of progressively more expensive evaluation stages. The Chromosomes handed to the cascade are expected to
+ * have been scored already by a cheap surrogate, such as the regular FitnessEvaluator of the Population. Each stage
+ * then evaluates only the survivors of the stage before it, and passes on the fittest quota of them which also meet
+ * its threshold, so that the most expensive FitnessEvaluator sees only a small fraction of the candidates.
+ * 
+ * For each stage, the cost and the Spearman rank correlation between the fitness of its Chromosomes before and after
+ * the stage are recorded to the GenerationStatistics. A correlation near one means that the stage mostly agrees with
+ * the stage before it, and is a candidate for a smaller quota.
+ */
+public class EvaluationCascade {
+	private static FitnessComparator	fitnessComparator	= new DescendingFitnessComparator();
+
+	private List<EvaluationStage>		stages				= new ArrayList<EvaluationStage>();
+
+	/**
+	 * Performs the evaluations of one stage, typically concurrently.
+	 */
+	public interface Evaluations {
+		/**
+		 * Evaluates every Chromosome and sets its fitness.
+		 * 
+		 * @param fitnessEvaluator
+		 *            the FitnessEvaluator of the stage
+		 * @param chromosomes
+		 *            the Chromosomes to evaluate
+		 * @throws InterruptedException
+		 *             if stop is requested
+		 */
+		public void evaluate(FitnessEvaluator fitnessEvaluator, List<Chromosome> chromosomes)
+				throws InterruptedException;
+	}
+
+	/**
+	 * @param candidates
+	 *            the Chromosomes to put through the cascade, which must have a fitness already
+	 * @param evaluations
+	 *            the means of evaluating the Chromosomes of each stage
+	 * @param generationStatistics
+	 *            the GenerationStatistics to record each stage to, or null
+	 * @return the total number of evaluations performed by all stages
+	 * @throws InterruptedException
+	 *             if stop is requested
+	 */
+	public int evaluate(List<Chromosome> candidates, Evaluations evaluations,
+			GenerationStatistics generationStatistics) throws InterruptedException {
+		List<Chromosome> survivors = new ArrayList<Chromosome>(candidates);
+		int totalEvaluations = 0;
+
+		for (int i = 0; i < this.stages.size() && !survivors.isEmpty(); i++) {
+			EvaluationStage stage = this.stages.get(i);
+
+			double[] before = fitnessesOf(survivors);
+
+			long start = System.currentTimeMillis();
+			evaluations.evaluate(stage.getFitnessEvaluator(), survivors);
+			long millis = System.currentTimeMillis() - start;
+
+			totalEvaluations += survivors.size();
+
+			if (generationStatistics != null) {
+				generationStatistics.addEvaluationStageStatistics(new EvaluationStageStatistics(i + 1,
+						stage.getName(), survivors.size(), millis, RankCorrelation.spearman(before, fitnessesOf(survivors))));
+			}
+
+			if (i < this.stages.size() - 1) {
+				survivors = advance(stage, survivors);
+			}
+		}
+
+		return totalEvaluations;
+	}
+
+	private static List<Chromosome> advance(EvaluationStage stage, List<Chromosome> evaluated) {
+		List<Chromosome> sorted = new ArrayList<Chromosome>(evaluated);
+		Collections.sort(sorted, fitnessComparator);
+
+		int quota = (int) Math.ceil(sorted.size() * stage.getQuota());
+		List<Chromosome> survivors = new ArrayList<Chromosome>(quota);
+
+		for (int i = 0; i < quota; i++) {
+			BigDecimal fitness = sorted.get(i).getFitness();
+
+			if (stage.getThreshold() != null && (fitness == null || fitness.compareTo(stage.getThreshold()) < 0)) {
+				// The rest are sorted below this one, so none of them meet the threshold either
+				break;
+			}
+
+			survivors.add(sorted.get(i));
+		}
+
+		return survivors;
+	}
+
+	private static double[] fitnessesOf(List<Chromosome> chromosomes) {
+		double[] fitnesses = new double[chromosomes.size()];
+
+		for (int i = 0; i < fitnesses.length; i++) {
+			BigDecimal fitness = chromosomes.get(i).getFitness();
+
+			fitnesses[i] = (fitness == null) ? Double.NEGATIVE_INFINITY : fitness.doubleValue();
+		}
+
+		return fitnesses;
+	}
+
+	/**
+	 * @param stage
+	 *            the EvaluationStage to append to the cascade
+	 */
+	public void addStage(EvaluationStage stage) {
+		this.stages.add(stage);
+	}
+
+	/**
+	 * @param stages
+	 *            the stages to set, from the cheapest to the most expensive
+	 */
+	public void setStages(List<EvaluationStage> stages) {
+		this.stages = new ArrayList<EvaluationStage>(stages);
+	}
+
+	/**
+	 * @return an unmodifiable List of the stages
+	 */
+	public List<EvaluationStage> getStages() {
+		return Collections.unmodifiableList(this.stages);
+	}
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.fitness;
+
+import java.math.BigDecimal;
+
+/**
+ * One stage of an {@link EvaluationCascade}: a FitnessEvaluator, along with the rule deciding which of the
+ * Chromosomes it evaluates go on to the next stage.
+ */
+public class EvaluationStage {
+	private FitnessEvaluator	fitnessEvaluator;
+	private double				quota		= 1.0;
+	private BigDecimal			threshold;
+	private String				name;
+
+	/**
+	 * @param fitnessEvaluator
+	 *            the FitnessEvaluator of this stage
+	 * @param quota
+	 *            the fraction of the Chromosomes evaluated by this stage, taken from the fittest, which go on to the
+	 *            next stage
+	 */
+	public EvaluationStage(FitnessEvaluator fitnessEvaluator, double quota) {
+		if (quota <= 0.0 || quota > 1.0) {
+			throw new IllegalArgumentException("Tried to create an EvaluationStage with a quota of " + quota
+					+ ", but the quota must be greater than 0.0 and at most 1.0.");
+		}
+
+		this.fitnessEvaluator = fitnessEvaluator;
+		this.quota = quota;
+		this.name = fitnessEvaluator.getClass().getSimpleName();
+	}
+
+	/**
+	 * @return the fitnessEvaluator
+	 */
+	public FitnessEvaluator getFitnessEvaluator() {
+		return fitnessEvaluator;
+	}
+
+	/**
+	 * @return the quota
+	 */
+	public double getQuota() {
+		return quota;
+	}
+
+	/**
+	 * @return the least fitness from this stage for a Chromosome to go on to the next stage, or null for no minimum
+	 */
+	public BigDecimal getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * @param threshold
+	 *            the least fitness from this stage for a Chromosome to go on to the next stage, or null for no minimum
+	 */
+	public void setThreshold(BigDecimal threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @param name
+	 *            the name to set, which defaults to the simple class name of the FitnessEvaluator
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+}
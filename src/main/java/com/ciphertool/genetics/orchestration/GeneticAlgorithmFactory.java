@@ -0,0 +1,42 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.orchestration;
+
+import org.springframework.core.task.TaskExecutor;
+
+import com.ciphertool.genetics.GeneticAlgorithmStrategy;
+import com.ciphertool.genetics.algorithms.GeneticAlgorithm;
+
+/**
+ * Creates the GeneticAlgorithm for a single run. Since a GeneticAlgorithm and its Population hold the state of the run
+ * they are executing, every call must return new instances, typically prototype-scoped beans.
+ */
+public interface GeneticAlgorithmFactory {
+
+	/**
+	 * @param strategy
+	 *            the GeneticAlgorithmStrategy of the run, which must be set on the returned GeneticAlgorithm
+	 * @param taskExecutor
+	 *            the TaskExecutor which the returned GeneticAlgorithm and its Population must use for their concurrent
+	 *            tasks
+	 * @return a new GeneticAlgorithm, ready to evolve
+	 */
+	public GeneticAlgorithm newGeneticAlgorithm(GeneticAlgorithmStrategy strategy, TaskExecutor taskExecutor);
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.orchestration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Required;
+
+import com.ciphertool.genetics.GeneticAlgorithmStrategy;
+import com.ciphertool.genetics.algorithms.GeneticAlgorithm;
+import com.ciphertool.genetics.util.FairShareTaskExecutor;
+
+/**
+ * Runs many GeneticAlgorithmStrategy instances concurrently in one JVM. Each run gets its own GeneticAlgorithm and
+ * Population from the GeneticAlgorithmFactory, so that no run state is shared, and its own Share of a
+ * FairShareTaskExecutor, so that all runs together are bounded by the worker threads of that executor and take turns
+ * on them. At most maxConcurrentRuns runs are in progress at once; each is driven by a coordinating thread which spends
+ * most of its time waiting on its tasks.
+ */
+public class MultiRunOrchestrator {
+	private Logger					log					= LoggerFactory.getLogger(getClass());
+
+	private GeneticAlgorithmFactory	geneticAlgorithmFactory;
+	private FairShareTaskExecutor	fairShareTaskExecutor;
+	private int						maxConcurrentRuns	= Runtime.getRuntime().availableProcessors();
+	private Set<GeneticAlgorithm>	activeRuns			= Collections.newSetFromMap(new ConcurrentHashMap<GeneticAlgorithm, Boolean>());
+	private volatile boolean		stopRequested;
+
+	/**
+	 * A concurrent task for executing one run of a strategy from start to finish.
+	 */
+	protected class RunTask implements Callable<RunResult> {
+		private GeneticAlgorithmStrategy	strategy;
+		private int							run;
+
+		public RunTask(GeneticAlgorithmStrategy strategy, int run) {
+			this.strategy = strategy;
+			this.run = run;
+		}
+
+		@Override
+		public RunResult call() throws Exception {
+			if (stopRequested) {
+				return new RunResult(strategy, run, null, new InterruptedException("Stop requested before run " + run
+						+ " started"));
+			}
+
+			GeneticAlgorithm geneticAlgorithm = geneticAlgorithmFactory.newGeneticAlgorithm(strategy, fairShareTaskExecutor.newShare("run "
+					+ run));
+
+			activeRuns.add(geneticAlgorithm);
+
+			try {
+				geneticAlgorithm.evolveAutonomously();
+
+				return new RunResult(strategy, run, geneticAlgorithm.getLastExecutionStatistics(), null);
+			} catch (InterruptedException ie) {
+				return new RunResult(strategy, run, geneticAlgorithm.getLastExecutionStatistics(), ie);
+			} catch (RuntimeException re) {
+				log.error("Caught RuntimeException during run " + run + " ", re);
+
+				return new RunResult(strategy, run, null, re);
+			} finally {
+				activeRuns.remove(geneticAlgorithm);
+			}
+		}
+	}
+
+	private static class RunThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadCount = new AtomicInteger(0);
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "genie-run-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	/**
+	 * @param strategies
+	 *            the strategies to run
+	 * @param runsPerStrategy
+	 *            the number of independent runs of each strategy
+	 * @return the results of all runs, ordered by strategy and then by run
+	 * @throws InterruptedException
+	 *             if the calling thread is interrupted while waiting for the runs
+	 */
+	public List<RunResult> run(List<GeneticAlgorithmStrategy> strategies, int runsPerStrategy)
+			throws InterruptedException {
+		if (this.fairShareTaskExecutor == null) {
+			this.fairShareTaskExecutor = new FairShareTaskExecutor();
+		}
+
+		this.stopRequested = false;
+
+		ExecutorService runExecutor = Executors.newFixedThreadPool(this.maxConcurrentRuns, new RunThreadFactory());
+
+		List<FutureTask<RunResult>> futureTasks = new ArrayList<FutureTask<RunResult>>();
+		FutureTask<RunResult> futureTask = null;
+
+		try {
+			int run = 0;
+
+			for (GeneticAlgorithmStrategy strategy : strategies) {
+				for (int i = 0; i < runsPerStrategy; i++) {
+					futureTask = new FutureTask<RunResult>(new RunTask(strategy, run++));
+					futureTasks.add(futureTask);
+					runExecutor.execute(futureTask);
+				}
+			}
+
+			List<RunResult> runResults = new ArrayList<RunResult>();
+
+			for (FutureTask<RunResult> future : futureTasks) {
+				try {
+					runResults.add(future.get());
+				} catch (ExecutionException ee) {
+					log.error("Caught ExecutionException while waiting for RunTask ", ee);
+				}
+			}
+
+			return runResults;
+		} finally {
+			runExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * @param runResults
+	 *            the results to aggregate
+	 * @return a RunSummary for each strategy, in the order the strategies first appear among the results
+	 */
+	public Map<GeneticAlgorithmStrategy, RunSummary> summarize(List<RunResult> runResults) {
+		Map<GeneticAlgorithmStrategy, RunSummary> summaries = new LinkedHashMap<GeneticAlgorithmStrategy, RunSummary>();
+
+		for (RunResult runResult : runResults) {
+			RunSummary summary = summaries.get(runResult.getStrategy());
+
+			if (summary == null) {
+				summary = new RunSummary(runResult.getStrategy());
+
+				summaries.put(runResult.getStrategy(), summary);
+			}
+
+			summary.add(runResult);
+		}
+
+		return summaries;
+	}
+
+	/**
+	 * Asks every run in progress to stop, and keeps the runs not yet started from starting.
+	 */
+	public void requestStop() {
+		this.stopRequested = true;
+
+		for (GeneticAlgorithm geneticAlgorithm : this.activeRuns) {
+			geneticAlgorithm.requestStop();
+		}
+	}
+
+	/**
+	 * @param geneticAlgorithmFactory
+	 *            the geneticAlgorithmFactory to set
+	 */
+	@Required
+	public void setGeneticAlgorithmFactory(GeneticAlgorithmFactory geneticAlgorithmFactory) {
+		this.geneticAlgorithmFactory = geneticAlgorithmFactory;
+	}
+
+	/**
+	 * @param fairShareTaskExecutor
+	 *            the FairShareTaskExecutor shared by all runs, which defaults to one with a thread per processor
+	 */
+	public void setFairShareTaskExecutor(FairShareTaskExecutor fairShareTaskExecutor) {
+		this.fairShareTaskExecutor = fairShareTaskExecutor;
+	}
+
+	/**
+	 * @param maxConcurrentRuns
+	 *            the maximum number of runs in progress at once
+	 */
+	public void setMaxConcurrentRuns(int maxConcurrentRuns) {
+		if (maxConcurrentRuns <= 0) {
+			throw new IllegalArgumentException("Tried to set a maxConcurrentRuns of " + maxConcurrentRuns
+					+ ", but MultiRunOrchestrator requires a maxConcurrentRuns greater than zero.");
+		}
+
+		this.maxConcurrentRuns = maxConcurrentRuns;
+	}
+}
@@ -0,0 +1,387 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.orchestration;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Required;
+
+import com.ciphertool.genetics.GeneticAlgorithmStrategy;
+import com.ciphertool.genetics.algorithms.GeneticAlgorithm;
+import com.ciphertool.genetics.entities.statistics.ExecutionStatistics;
+import com.ciphertool.genetics.util.FairShareTaskExecutor;
+
+/**
+ * Races competing GeneticAlgorithmStrategy candidates against each other by successive halving. All candidates are
+ * advanced by the same number of generations in a round, and then ranked by the best fitness they have reached so far,
+ * with ties broken by how much they improved during the round. The worst pruneFraction of them are finished and
+ * dropped, and each following round is longer than the last by a factor of eta, so that the compute freed by the
+ * pruned candidates goes to the survivors. Since every candidate runs on its own Share of one FairShareTaskExecutor,
+ * the worker threads are also taken up by the survivors as soon as the pruned candidates stop submitting tasks.
+ * 
+ * The race ends once a single candidate remains and has reached its maxGenerations, or once every survivor has.
+ */
+public class RacingRunner {
+	private Logger					log					= LoggerFactory.getLogger(getClass());
+
+	private GeneticAlgorithmFactory	geneticAlgorithmFactory;
+	private FairShareTaskExecutor	fairShareTaskExecutor;
+	private int						maxConcurrentRuns	= Runtime.getRuntime().availableProcessors();
+	private int						initialGenerations	= 10;
+	private double					eta					= 2.0;
+	private double					pruneFraction		= 0.5;
+	private volatile boolean		stopRequested;
+	private List<Candidate>			candidates			= Collections.emptyList();
+
+	/**
+	 * A strategy taking part in the race, along with the GeneticAlgorithm running it.
+	 */
+	protected class Candidate {
+		private GeneticAlgorithmStrategy	strategy;
+		private int							index;
+		private GeneticAlgorithm			geneticAlgorithm;
+		private int							generations;
+		private BigDecimal					bestFitness;
+		private BigDecimal					improvement;
+		private Exception					failure;
+
+		public Candidate(GeneticAlgorithmStrategy strategy, int index, GeneticAlgorithm geneticAlgorithm) {
+			this.strategy = strategy;
+			this.index = index;
+			this.geneticAlgorithm = geneticAlgorithm;
+		}
+
+		/**
+		 * @return whether the candidate has reached the maxGenerations of its strategy
+		 */
+		public boolean isExhausted() {
+			return strategy.getMaxGenerations() >= 0 && generations >= strategy.getMaxGenerations();
+		}
+	}
+
+	/**
+	 * A concurrent task for advancing one candidate by a round of generations.
+	 */
+	protected class AdvanceTask implements Callable<Void> {
+		private Candidate	candidate;
+		private int			generations;
+
+		public AdvanceTask(Candidate candidate, int generations) {
+			this.candidate = candidate;
+			this.generations = generations;
+		}
+
+		@Override
+		public Void call() throws Exception {
+			GeneticAlgorithm geneticAlgorithm = candidate.geneticAlgorithm;
+
+			if (geneticAlgorithm.getExecutionStatistics() == null) {
+				geneticAlgorithm.initialize();
+			}
+
+			BigDecimal bestFitnessBefore = RunResult.bestFitnessOf(geneticAlgorithm.getExecutionStatistics());
+
+			try {
+				for (int i = 0; i < generations && !candidate.isExhausted() && !stopRequested; i++) {
+					geneticAlgorithm.proceedWithNextGeneration();
+
+					candidate.generations++;
+				}
+			} catch (InterruptedException ie) {
+				log.info(ie.getMessage());
+
+				// The stop interrupted a generation part way through, so go back to the last complete one
+				geneticAlgorithm.getPopulation().recoverFromBackup();
+			}
+
+			candidate.bestFitness = RunResult.bestFitnessOf(geneticAlgorithm.getExecutionStatistics());
+			candidate.improvement = (candidate.bestFitness == null || bestFitnessBefore == null) ? BigDecimal.ZERO : candidate.bestFitness.subtract(bestFitnessBefore);
+
+			return null;
+		}
+	}
+
+	/**
+	 * Ranks candidates from best to worst.
+	 */
+	private static class CandidateComparator implements Comparator<Candidate> {
+		@Override
+		public int compare(Candidate first, Candidate second) {
+			if (first.bestFitness == null || second.bestFitness == null) {
+				return (first.bestFitness == null) ? ((second.bestFitness == null) ? 0 : 1) : -1;
+			}
+
+			int byFitness = second.bestFitness.compareTo(first.bestFitness);
+
+			return (byFitness != 0) ? byFitness : second.improvement.compareTo(first.improvement);
+		}
+	}
+
+	private static class RaceThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadCount = new AtomicInteger(0);
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "genie-race-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	/**
+	 * @param strategies
+	 *            the competing strategies
+	 * @return the result of every candidate, ordered from the winner to the first one pruned, where the run of each
+	 *         RunResult is the index of its strategy
+	 * @throws InterruptedException
+	 *             if the calling thread is interrupted while waiting for a round
+	 */
+	public List<RunResult> race(List<GeneticAlgorithmStrategy> strategies) throws InterruptedException {
+		if (this.fairShareTaskExecutor == null) {
+			this.fairShareTaskExecutor = new FairShareTaskExecutor();
+		}
+
+		this.stopRequested = false;
+
+		List<Candidate> survivors = new ArrayList<Candidate>();
+
+		for (int i = 0; i < strategies.size(); i++) {
+			GeneticAlgorithm geneticAlgorithm = this.geneticAlgorithmFactory.newGeneticAlgorithm(strategies.get(i), this.fairShareTaskExecutor.newShare("candidate "
+					+ i));
+
+			survivors.add(new Candidate(strategies.get(i), i, geneticAlgorithm));
+		}
+
+		this.candidates = new ArrayList<Candidate>(survivors);
+
+		// Pruned candidates are added as they are dropped, and reversed at the end so that the winner comes first
+		List<RunResult> eliminated = new ArrayList<RunResult>();
+
+		ExecutorService raceExecutor = Executors.newFixedThreadPool(this.maxConcurrentRuns, new RaceThreadFactory());
+
+		try {
+			int roundGenerations = this.initialGenerations;
+			int round = 0;
+
+			while (!survivors.isEmpty() && !this.stopRequested) {
+				round++;
+
+				advance(raceExecutor, survivors, roundGenerations);
+
+				for (Candidate failed : removeFailed(survivors)) {
+					eliminated.add(finish(failed, "Failed during round " + round + ": " + failed.failure.getMessage()));
+				}
+
+				if (survivors.isEmpty() || isRaceOver(survivors)) {
+					break;
+				}
+
+				Collections.sort(survivors, new CandidateComparator());
+
+				int toPrune = Math.min(survivors.size() - 1, Math.max(1, (int) Math.floor(survivors.size()
+						* this.pruneFraction)));
+
+				for (int i = 0; i < toPrune; i++) {
+					Candidate pruned = survivors.remove(survivors.size() - 1);
+
+					eliminated.add(finish(pruned, "Pruned from the race after round " + round));
+				}
+
+				log.info("Round " + round + " of the race took " + roundGenerations + " generations and pruned "
+						+ toPrune + " candidates, leaving " + survivors.size() + ".");
+
+				roundGenerations = (int) Math.ceil(roundGenerations * this.eta);
+			}
+
+			Collections.sort(survivors, new CandidateComparator());
+
+			for (int i = survivors.size() - 1; i >= 0; i--) {
+				eliminated.add(finish(survivors.get(i), this.stopRequested ? "Stop requested" : "Finished the race"));
+			}
+		} finally {
+			raceExecutor.shutdown();
+		}
+
+		Collections.reverse(eliminated);
+
+		return eliminated;
+	}
+
+	private void advance(ExecutorService raceExecutor, List<Candidate> survivors, int roundGenerations)
+			throws InterruptedException {
+		List<FutureTask<Void>> futureTasks = new ArrayList<FutureTask<Void>>();
+		FutureTask<Void> futureTask = null;
+
+		for (Candidate candidate : survivors) {
+			futureTask = new FutureTask<Void>(new AdvanceTask(candidate, roundGenerations));
+			futureTasks.add(futureTask);
+			raceExecutor.execute(futureTask);
+		}
+
+		for (int i = 0; i < futureTasks.size(); i++) {
+			try {
+				futureTasks.get(i).get();
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for AdvanceTask ", ee);
+
+				survivors.get(i).failure = (ee.getCause() instanceof Exception) ? (Exception) ee.getCause() : ee;
+			}
+		}
+	}
+
+	private static List<Candidate> removeFailed(List<Candidate> survivors) {
+		List<Candidate> failed = new ArrayList<Candidate>();
+
+		for (int i = survivors.size() - 1; i >= 0; i--) {
+			if (survivors.get(i).failure != null) {
+				failed.add(survivors.remove(i));
+			}
+		}
+
+		return failed;
+	}
+
+	private static boolean isRaceOver(List<Candidate> survivors) {
+		for (Candidate candidate : survivors) {
+			if (!candidate.isExhausted()) {
+				// A lone survivor without a generation limit would otherwise run forever
+				return survivors.size() == 1 && candidate.strategy.getMaxGenerations() < 0;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Finishes the run of a candidate, so that the statistics it has gathered so far are kept, and persisted if its
+	 * GeneticAlgorithm persists statistics. This includes candidates which failed part way through.
+	 */
+	private RunResult finish(Candidate candidate, String terminationReason) {
+		ExecutionStatistics executionStatistics = candidate.geneticAlgorithm.getExecutionStatistics();
+
+		if (executionStatistics == null) {
+			return new RunResult(candidate.strategy, candidate.index, null, candidate.failure);
+		}
+
+		executionStatistics.setTerminationReason(terminationReason);
+
+		try {
+			candidate.geneticAlgorithm.finish();
+		} catch (RuntimeException re) {
+			log.error("Caught RuntimeException while finishing candidate " + candidate.index + " ", re);
+		}
+
+		return new RunResult(candidate.strategy, candidate.index, executionStatistics, candidate.failure);
+	}
+
+	/**
+	 * Asks every candidate still racing to stop, after which the race ends and all survivors are finished.
+	 */
+	public void requestStop() {
+		this.stopRequested = true;
+
+		for (Candidate candidate : this.candidates) {
+			candidate.geneticAlgorithm.requestStop();
+		}
+	}
+
+	/**
+	 * @param geneticAlgorithmFactory
+	 *            the geneticAlgorithmFactory to set
+	 */
+	@Required
+	public void setGeneticAlgorithmFactory(GeneticAlgorithmFactory geneticAlgorithmFactory) {
+		this.geneticAlgorithmFactory = geneticAlgorithmFactory;
+	}
+
+	/**
+	 * @param fairShareTaskExecutor
+	 *            the FairShareTaskExecutor shared by all candidates, which defaults to one with a thread per processor
+	 */
+	public void setFairShareTaskExecutor(FairShareTaskExecutor fairShareTaskExecutor) {
+		this.fairShareTaskExecutor = fairShareTaskExecutor;
+	}
+
+	/**
+	 * @param maxConcurrentRuns
+	 *            the maximum number of candidates advanced at once
+	 */
+	public void setMaxConcurrentRuns(int maxConcurrentRuns) {
+		if (maxConcurrentRuns <= 0) {
+			throw new IllegalArgumentException("Tried to set a maxConcurrentRuns of " + maxConcurrentRuns
+					+ ", but RacingRunner requires a maxConcurrentRuns greater than zero.");
+		}
+
+		this.maxConcurrentRuns = maxConcurrentRuns;
+	}
+
+	/**
+	 * @param initialGenerations
+	 *            the number of generations in the first round
+	 */
+	public void setInitialGenerations(int initialGenerations) {
+		if (initialGenerations <= 0) {
+			throw new IllegalArgumentException("Tried to set an initialGenerations of " + initialGenerations
+					+ ", but RacingRunner requires an initialGenerations greater than zero.");
+		}
+
+		this.initialGenerations = initialGenerations;
+	}
+
+	/**
+	 * @param eta
+	 *            the factor by which each round is longer than the last
+	 */
+	public void setEta(double eta) {
+		if (eta < 1.0) {
+			throw new IllegalArgumentException("Tried to set an eta of " + eta
+					+ ", but RacingRunner requires an eta of at least 1.0.");
+		}
+
+		this.eta = eta;
+	}
+
+	/**
+	 * @param pruneFraction
+	 *            the fraction of the survivors pruned after each round
+	 */
+	public void setPruneFraction(double pruneFraction) {
+		if (pruneFraction <= 0.0 || pruneFraction >= 1.0) {
+			throw new IllegalArgumentException("Tried to set a pruneFraction of " + pruneFraction
+					+ ", but RacingRunner requires a pruneFraction greater than 0.0 and less than 1.0.");
+		}
+
+		this.pruneFraction = pruneFraction;
+	}
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.orchestration;
+
+import java.math.BigDecimal;
+
+import com.ciphertool.genetics.GeneticAlgorithmStrategy;
+import com.ciphertool.genetics.entities.statistics.ExecutionStatistics;
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+/**
+ * The outcome of a single run of a GeneticAlgorithmStrategy.
+ */
+public class RunResult {
+	private GeneticAlgorithmStrategy	strategy;
+	private int							run;
+	private ExecutionStatistics			executionStatistics;
+	private Exception					failure;
+
+	/**
+	 * @param strategy
+	 *            the strategy which was run
+	 * @param run
+	 *            the index of the run among the runs of the strategy
+	 * @param executionStatistics
+	 *            the ExecutionStatistics of the run, or null if it failed before gathering any
+	 * @param failure
+	 *            the Exception which ended the run, or null if it completed
+	 */
+	public RunResult(GeneticAlgorithmStrategy strategy, int run, ExecutionStatistics executionStatistics,
+			Exception failure) {
+		this.strategy = strategy;
+		this.run = run;
+		this.executionStatistics = executionStatistics;
+		this.failure = failure;
+	}
+
+	/**
+	 * @return the best fitness reached in any generation of the run, or null if there is none
+	 */
+	public BigDecimal getBestFitness() {
+		return bestFitnessOf(this.executionStatistics);
+	}
+
+	/**
+	 * @param executionStatistics
+	 *            the ExecutionStatistics of a run, which may be in progress
+	 * @return the best fitness reached in any generation so far, or null if there is none
+	 */
+	static BigDecimal bestFitnessOf(ExecutionStatistics executionStatistics) {
+		if (executionStatistics == null) {
+			return null;
+		}
+
+		BigDecimal bestFitness = null;
+
+		for (GenerationStatistics generationStatistics : executionStatistics.getGenerationStatisticsList()) {
+			BigDecimal fitness = generationStatistics.getBestFitness();
+
+			if (fitness != null && (bestFitness == null || fitness.compareTo(bestFitness) > 0)) {
+				bestFitness = fitness;
+			}
+		}
+
+		return bestFitness;
+	}
+
+	/**
+	 * @return the number of generations the run went through, not counting the initial population
+	 */
+	public int getGenerations() {
+		if (this.executionStatistics == null) {
+			return 0;
+		}
+
+		return Math.max(0, this.executionStatistics.getGenerationStatisticsList().size() - 1);
+	}
+
+	/**
+	 * @return the strategy
+	 */
+	public GeneticAlgorithmStrategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * @return the run
+	 */
+	public int getRun() {
+		return run;
+	}
+
+	/**
+	 * @return the executionStatistics
+	 */
+	public ExecutionStatistics getExecutionStatistics() {
+		return executionStatistics;
+	}
+
+	/**
+	 * @return the failure
+	 */
+	public Exception getFailure() {
+		return failure;
+	}
+
+	@Override
+	public String toString() {
+		return "RunResult [run=" + run + ", bestFitness=" + getBestFitness() + ", generations=" + getGenerations()
+				+ ", terminationReason="
+				+ ((executionStatistics == null) ? null : executionStatistics.getTerminationReason()) + ", failure="
+				+ failure + "]";
+	}
+}
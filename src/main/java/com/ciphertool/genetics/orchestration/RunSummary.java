@@ -0,0 +1,145 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.orchestration;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import com.ciphertool.genetics.GeneticAlgorithmStrategy;
+
+/**
+ * The results of all the runs of one GeneticAlgorithmStrategy, aggregated as they are added.
+ */
+public class RunSummary {
+	private static final MathContext	MATH_CONTEXT		= new MathContext(10, RoundingMode.HALF_UP);
+
+	private GeneticAlgorithmStrategy	strategy;
+	private int							runs;
+	private int							failures;
+	private int							scoredRuns;
+	private BigDecimal					bestFitness;
+	private BigDecimal					worstFitness;
+	private BigDecimal					totalBestFitness	= BigDecimal.ZERO;
+	private long						totalGenerations;
+
+	/**
+	 * @param strategy
+	 *            the strategy whose runs are summarized
+	 */
+	public RunSummary(GeneticAlgorithmStrategy strategy) {
+		this.strategy = strategy;
+	}
+
+	/**
+	 * @param runResult
+	 *            the RunResult to add, which must be of this strategy
+	 */
+	public void add(RunResult runResult) {
+		this.runs++;
+
+		if (runResult.getFailure() != null) {
+			this.failures++;
+
+			return;
+		}
+
+		this.totalGenerations += runResult.getGenerations();
+
+		BigDecimal fitness = runResult.getBestFitness();
+
+		if (fitness == null) {
+			return;
+		}
+
+		this.scoredRuns++;
+		this.totalBestFitness = this.totalBestFitness.add(fitness, MATH_CONTEXT);
+
+		if (this.bestFitness == null || fitness.compareTo(this.bestFitness) > 0) {
+			this.bestFitness = fitness;
+		}
+
+		if (this.worstFitness == null || fitness.compareTo(this.worstFitness) < 0) {
+			this.worstFitness = fitness;
+		}
+	}
+
+	/**
+	 * @return the strategy
+	 */
+	public GeneticAlgorithmStrategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * @return the number of runs, including those which failed
+	 */
+	public int getRuns() {
+		return runs;
+	}
+
+	/**
+	 * @return the number of runs which failed
+	 */
+	public int getFailures() {
+		return failures;
+	}
+
+	/**
+	 * @return the highest best fitness of any run
+	 */
+	public BigDecimal getBestFitness() {
+		return bestFitness;
+	}
+
+	/**
+	 * @return the lowest best fitness of any run
+	 */
+	public BigDecimal getWorstFitness() {
+		return worstFitness;
+	}
+
+	/**
+	 * @return the mean of the best fitness of the runs which reached one, or null if none did
+	 */
+	public BigDecimal getMeanBestFitness() {
+		if (this.scoredRuns == 0) {
+			return null;
+		}
+
+		return this.totalBestFitness.divide(BigDecimal.valueOf(this.scoredRuns), MATH_CONTEXT);
+	}
+
+	/**
+	 * @return the mean number of generations of the runs which completed
+	 */
+	public double getMeanGenerations() {
+		int completed = this.runs - this.failures;
+
+		return (completed == 0) ? 0.0 : (double) this.totalGenerations / (double) completed;
+	}
+
+	@Override
+	public String toString() {
+		return "RunSummary [runs=" + runs + ", failures=" + failures + ", bestFitness=" + bestFitness
+				+ ", meanBestFitness=" + getMeanBestFitness() + ", worstFitness=" + worstFitness
+				+ ", meanGenerations=" + getMeanGenerations() + "]";
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.core.task.TaskExecutor;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.fitness.BatchFitnessEvaluator;
+import com.ciphertool.genetics.util.RandomSource;
+
+/**
+ * Splits Chromosomes into contiguous batches and starts a concurrent evaluation of each batch with a
+ * BatchFitnessEvaluator. The batches depend only on the batch size, and never on the machine, so that each is bound to
+ * the same random stream on every run.
+ */
+public class BatchEvaluation {
+	public static final int DEFAULT_BATCH_SIZE = 16;
+
+	/**
+	 * A concurrent task for evaluating the fitness of a contiguous batch of Chromosomes in a single call.
+	 */
+	protected static class BatchEvaluationTask implements Callable<Void> {
+		private List<Chromosome>		chromosomes;
+		private BatchFitnessEvaluator	fitnessEvaluator;
+
+		public BatchEvaluationTask(List<Chromosome> chromosomes, BatchFitnessEvaluator fitnessEvaluator) {
+			this.chromosomes = chromosomes;
+			this.fitnessEvaluator = fitnessEvaluator;
+		}
+
+		@Override
+		public Void call() throws Exception {
+			BigDecimal[] fitnesses = new BigDecimal[this.chromosomes.size()];
+
+			this.fitnessEvaluator.evaluate(this.chromosomes, fitnesses);
+
+			for (int i = 0; i < fitnesses.length; i++) {
+				this.chromosomes.get(i).setFitness(fitnesses[i]);
+			}
+
+			return null;
+		}
+	}
+
+	private BatchEvaluation() {
+	}
+
+	/**
+	 * @param taskExecutor
+	 *            the TaskExecutor to run the batches on
+	 * @param randomSource
+	 *            the RandomSource to bind the batches to
+	 * @param fitnessEvaluator
+	 *            the BatchFitnessEvaluator to evaluate with
+	 * @param chromosomes
+	 *            the Chromosomes to evaluate
+	 * @param batchSize
+	 *            the number of Chromosomes per batch, or zero for the DEFAULT_BATCH_SIZE
+	 * @return the FutureTasks of the batches, in order
+	 */
+	public static List<FutureTask<Void>> start(TaskExecutor taskExecutor, RandomSource randomSource,
+			BatchFitnessEvaluator fitnessEvaluator, List<Chromosome> chromosomes, int batchSize) {
+		List<FutureTask<Void>> futureTasks = new ArrayList<FutureTask<Void>>();
+		FutureTask<Void> futureTask = null;
+		long stream = randomSource.nextStream();
+
+		if (batchSize <= 0) {
+			batchSize = DEFAULT_BATCH_SIZE;
+		}
+
+		int batch = 0;
+		for (int from = 0; from < chromosomes.size(); from += batchSize) {
+			List<Chromosome> batchOfChromosomes = chromosomes.subList(from, Math.min(from + batchSize, chromosomes.size()));
+
+			futureTask = new FutureTask<Void>(randomSource.bind(new BatchEvaluationTask(batchOfChromosomes,
+					fitnessEvaluator), stream, batch++));
+			futureTasks.add(futureTask);
+			taskExecutor.execute(futureTask);
+		}
+
+		return futureTasks;
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.ReusableChromosome;
+
+/**
+ * Keeps dead Chromosomes so that they can be reused as the shells of new children, which cuts the allocation, and so
+ * the garbage collection, of a generation down to whatever the pool cannot supply. Only {@link ReusableChromosome}s
+ * are kept, each shell is only reused for a copy of a Chromosome of its own class, and the pool may be used from many
+ * threads at once. This library has no Chromosome classes of its own, so the pool only has an effect when the
+ * Chromosomes of the application implement {@link ReusableChromosome}, and otherwise every copy is a clone.
+ */
+public class ChromosomePool {
+	private Logger												log			= LoggerFactory.getLogger(getClass());
+
+	private int													capacity	= 10000;
+	private ConcurrentMap<Class<?>, Queue<ReusableChromosome>>	shells		= new ConcurrentHashMap<Class<?>, Queue<ReusableChromosome>>();
+	private AtomicInteger										size		= new AtomicInteger(0);
+	private AtomicLong											recycled	= new AtomicLong(0);
+	private AtomicLong											allocated	= new AtomicLong(0);
+	private Set<Chromosome>										pinned		= Collections.synchronizedSet(Collections
+			.newSetFromMap(new IdentityHashMap<Chromosome, Boolean>()));
+	private AtomicBoolean										warned		= new AtomicBoolean(false);
+
+	/**
+	 * @param chromosomePool
+	 *            the ChromosomePool to copy through, or null
+	 * @param source
+	 *            the Chromosome to copy
+	 * @return a copy of the source through the pool if there is one, or otherwise a clone
+	 */
+	public static Chromosome copyOrClone(ChromosomePool chromosomePool, Chromosome source) {
+		return (chromosomePool != null) ? chromosomePool.copyOf(source) : source.clone();
+	}
+
+	/**
+	 * @param chromosome
+	 *            a Chromosome which has died, and which nothing refers to anymore
+	 * @return whether the Chromosome was kept for reuse, which it is not if it is pinned
+	 */
+	public boolean release(Chromosome chromosome) {
+		if (!(chromosome instanceof ReusableChromosome)) {
+			if (this.warned.compareAndSet(false, true)) {
+				log.warn("Chromosome class " + chromosome.getClass().getName()
+						+ " does not implement ReusableChromosome, so it cannot be recycled.");
+			}
+
+			return false;
+		}
+
+		if (this.pinned.contains(chromosome)) {
+			return false;
+		}
+
+		if (this.size.incrementAndGet() > this.capacity) {
+			this.size.decrementAndGet();
+
+			return false;
+		}
+
+		Queue<ReusableChromosome> queue = this.shells.get(chromosome.getClass());
+
+		if (queue == null) {
+			Queue<ReusableChromosome> newQueue = new ConcurrentLinkedQueue<ReusableChromosome>();
+			queue = this.shells.putIfAbsent(chromosome.getClass(), newQueue);
+
+			if (queue == null) {
+				queue = newQueue;
+			}
+		}
+
+		queue.add((ReusableChromosome) chromosome);
+
+		return true;
+	}
+
+	/**
+	 * @param source
+	 *            the Chromosome to copy
+	 * @return a copy of the source, in a recycled shell if one of its class is available, or otherwise a clone
+	 */
+	public Chromosome copyOf(Chromosome source) {
+		Queue<ReusableChromosome> queue = this.shells.get(source.getClass());
+		ReusableChromosome shell = (queue != null) ? queue.poll() : null;
+
+		if (shell == null) {
+			this.allocated.incrementAndGet();
+
+			return source.clone();
+		}
+
+		this.size.decrementAndGet();
+		this.recycled.incrementAndGet();
+
+		shell.copyFrom(source);
+
+		return shell;
+	}
+
+	/**
+	 * Keeps a Chromosome from being released, for as long as something outside the population, such as an abandoned
+	 * evaluation, may still be using it.
+	 * 
+	 * @param chromosome
+	 *            the Chromosome to pin
+	 */
+	public void pin(Chromosome chromosome) {
+		this.pinned.add(chromosome);
+	}
+
+	/**
+	 * @param chromosome
+	 *            the Chromosome to unpin, which is simply left to the garbage collector if it was refused meanwhile
+	 */
+	public void unpin(Chromosome chromosome) {
+		this.pinned.remove(chromosome);
+	}
+
+	/**
+	 * @return the number of shells waiting to be reused
+	 */
+	public int size() {
+		return this.size.get();
+	}
+
+	/**
+	 * @return the number of copies made in recycled shells so far
+	 */
+	public long getRecycled() {
+		return this.recycled.get();
+	}
+
+	/**
+	 * @return the number of copies which had to be allocated so far
+	 */
+	public long getAllocated() {
+		return this.allocated.get();
+	}
+
+	/**
+	 * @param capacity
+	 *            the maximum number of shells kept
+	 */
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+}
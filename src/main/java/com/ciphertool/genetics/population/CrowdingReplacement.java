@@ -0,0 +1,134 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.util.Hashing;
+
+/**
+ * Maintains diversity by letting each evaluated offspring compete only with the parent it most resembles, so that
+ * distinct niches of the population are not overrun by the fittest one. The most similar parent is looked up through
+ * a {@link SimilarityIndex} rather than by comparing the offspring with every parent. An offspring without candidate
+ * neighbors competes with a window of windowSize parents chosen from its signature instead, which makes this a
+ * restricted tournament.
+ */
+public class CrowdingReplacement {
+	private static final long	GOLDEN_GAMMA	= 0x9e3779b97f4a7c15L;
+
+	private int					bands			= 16;
+	private int					rows			= 4;
+	private int					maxBucketSize	= 64;
+	private int					windowSize		= 4;
+
+	/**
+	 * @param parents
+	 *            the evaluated individuals of the previous generation
+	 * @param offspring
+	 *            the evaluated individuals bred from them
+	 * @return the survivors, which are as many as the parents, where each parent has been replaced by the last of the
+	 *         offspring nearest to it which was at least as fit as the survivor at that time
+	 */
+	public List<Chromosome> replace(List<Chromosome> parents, List<Chromosome> offspring) {
+		List<Chromosome> survivors = new ArrayList<Chromosome>(parents);
+
+		if (parents.isEmpty()) {
+			return survivors;
+		}
+
+		SimilarityIndex similarityIndex = new SimilarityIndex(this.bands, this.rows);
+		similarityIndex.setMaxBucketSize(this.maxBucketSize);
+		similarityIndex.build(parents);
+
+		for (Chromosome child : offspring) {
+			int nearest = similarityIndex.nearest(child);
+
+			if (nearest < 0) {
+				nearest = nearestInWindow(similarityIndex, child);
+			}
+
+			if (child.getFitness().compareTo(survivors.get(nearest).getFitness()) >= 0) {
+				survivors.set(nearest, child);
+			}
+		}
+
+		return survivors;
+	}
+
+	private int nearestInWindow(SimilarityIndex similarityIndex, Chromosome child) {
+		// Derive the window from the child itself so that the outcome does not depend on the thread
+		long seed = similarityIndex.signatureOf(child)[0];
+
+		int nearest = -1;
+		double highestSimilarity = -1.0;
+
+		for (int i = 0; i < this.windowSize; i++) {
+			int candidate = (int) ((Hashing.mix(seed + (GOLDEN_GAMMA * (i + 1))) >>> 1) % similarityIndex.size());
+
+			double similarity = child.similarityTo(similarityIndex.get(candidate));
+
+			if (similarity > highestSimilarity) {
+				highestSimilarity = similarity;
+				nearest = candidate;
+			}
+		}
+
+		return nearest;
+	}
+
+	/**
+	 * @param bands
+	 *            the number of bands of the SimilarityIndex used to find the nearest parent
+	 */
+	public void setBands(int bands) {
+		this.bands = bands;
+	}
+
+	/**
+	 * @param rows
+	 *            the number of rows in each band of the SimilarityIndex used to find the nearest parent
+	 */
+	public void setRows(int rows) {
+		this.rows = rows;
+	}
+
+	/**
+	 * @param maxBucketSize
+	 *            the maximum number of members of a single bucket to consider as candidate neighbors
+	 */
+	public void setMaxBucketSize(int maxBucketSize) {
+		this.maxBucketSize = maxBucketSize;
+	}
+
+	/**
+	 * @param windowSize
+	 *            the number of parents an offspring without candidate neighbors competes with
+	 */
+	public void setWindowSize(int windowSize) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("Tried to set a windowSize of " + windowSize
+					+ ", but CrowdingReplacement requires a windowSize greater than zero.");
+		}
+
+		this.windowSize = windowSize;
+	}
+}
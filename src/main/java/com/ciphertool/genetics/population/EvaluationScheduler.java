@@ -0,0 +1,430 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.core.task.TaskExecutor;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.statistics.PerformanceStatistics;
+import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.util.RandomSource;
+
+/**
+ * Schedules fitness evaluations whose cost varies widely between Chromosomes.
+ * 
+ * Rather than submitting one task per Chromosome and waiting on each in turn, a small number of workers pull
+ * evaluations from a shared queue, so an idle worker always takes the next outstanding evaluation. The queue is ordered
+ * most-expensive-first using an exponentially weighted moving average of past evaluation times, kept separately for
+ * each FitnessEvaluator and keyed by the actual size of the Chromosome, so that long evaluations do not end up alone at
+ * the tail of the generation. Chromosomes of equal size are predicted to cost the same, so with fixed-length
+ * Chromosomes the queue simply keeps the order it was given.
+ * 
+ * When a timeout is set, an evaluation still running past the timeout is abandoned, its worker is interrupted and a
+ * replacement worker is started, so that a single slow evaluation cannot hold up the generation. Its Chromosome is
+ * assigned the penalty fitness unless the caller asks to keep the fitness it already has, and the result of the
+ * abandoned evaluation is discarded if it completes anyway. Its Chromosome is pinned in the ChromosomePool until then,
+ * so that it is not recycled while the FitnessEvaluator may still be reading it.
+ * 
+ * Each evaluation is bound to the RandomSource by the index of its Chromosome in the list given, rather than by the
+ * order in which the workers happen to take them.
+ */
+public class EvaluationScheduler {
+	private static Logger				log					= LoggerFactory.getLogger(EvaluationScheduler.class);
+
+	private static final int			PENDING				= 0;
+	private static final int			RUNNING				= 1;
+	private static final int			DONE				= 2;
+	private static final int			TIMED_OUT			= 3;
+
+	private static final long			MAX_POLL_MILLIS		= 10;
+
+	private TaskExecutor				taskExecutor;
+	private int							workers				= Runtime.getRuntime().availableProcessors();
+	private long						timeoutMillis;
+	private BigDecimal					penaltyFitness		= BigDecimal.ZERO;
+	private double						smoothingFactor		= 0.2;
+	private ChromosomePool				chromosomePool;
+
+	private final Map<FitnessEvaluator, CostModel>	costModels	= new IdentityHashMap<FitnessEvaluator, CostModel>();
+
+	/**
+	 * The moving averages of the evaluation times of a single FitnessEvaluator, so that evaluators of very different
+	 * cost, such as a minor and a major one, do not skew each other's predictions.
+	 */
+	private static class CostModel {
+		private Map<Integer, Double>	costBySize	= new HashMap<Integer, Double>();
+		private double					averageCost;
+	}
+
+	private static class Evaluation {
+		private Chromosome		chromosome;
+		private int				index;
+		private Integer			size;
+		private double			predictedCost;
+		private AtomicInteger	state	= new AtomicInteger(PENDING);
+		private volatile long	startNanos;
+		private volatile long	elapsedNanos;
+		// The thread running the evaluation, guarded by the Evaluation itself
+		private Thread			worker;
+
+		public Evaluation(Chromosome chromosome, int index, Integer size, double predictedCost) {
+			this.chromosome = chromosome;
+			this.index = index;
+			this.size = size;
+			this.predictedCost = predictedCost;
+		}
+	}
+
+	private static class EvaluationCall implements Callable<BigDecimal> {
+		private Chromosome			chromosome;
+		private FitnessEvaluator	fitnessEvaluator;
+
+		public EvaluationCall(Chromosome chromosome, FitnessEvaluator fitnessEvaluator) {
+			this.chromosome = chromosome;
+			this.fitnessEvaluator = fitnessEvaluator;
+		}
+
+		@Override
+		public BigDecimal call() throws Exception {
+			return fitnessEvaluator.evaluate(chromosome);
+		}
+	}
+
+	private static class PredictedCostComparator implements Comparator<Evaluation> {
+		@Override
+		public int compare(Evaluation first, Evaluation second) {
+			return Double.compare(second.predictedCost, first.predictedCost);
+		}
+	}
+
+	/**
+	 * A concurrent worker which keeps taking the next pending evaluation from the shared queue until it is empty.
+	 */
+	private class Worker implements Runnable {
+		private Evaluation[]		evaluations;
+		private AtomicInteger		next;
+		private FitnessEvaluator	fitnessEvaluator;
+		private RandomSource		randomSource;
+		private long				stream;
+		private CountDownLatch		remaining;
+
+		private Worker(Evaluation[] evaluations, AtomicInteger next, FitnessEvaluator fitnessEvaluator,
+				RandomSource randomSource, long stream, CountDownLatch remaining) {
+			this.evaluations = evaluations;
+			this.next = next;
+			this.fitnessEvaluator = fitnessEvaluator;
+			this.randomSource = randomSource;
+			this.stream = stream;
+			this.remaining = remaining;
+		}
+
+		@Override
+		public void run() {
+			int index;
+
+			while ((index = next.getAndIncrement()) < evaluations.length) {
+				Evaluation evaluation = evaluations[index];
+
+				synchronized (evaluation) {
+					evaluation.worker = Thread.currentThread();
+				}
+
+				evaluation.startNanos = System.nanoTime();
+				evaluation.state.set(RUNNING);
+
+				BigDecimal fitness = null;
+
+				try {
+					fitness = randomSource.bind(new EvaluationCall(evaluation.chromosome, fitnessEvaluator), stream,
+							evaluation.index).call();
+				} catch (Exception e) {
+					log.error("Caught Exception while evaluating Chromosome ", e);
+				}
+
+				synchronized (evaluation) {
+					evaluation.worker = null;
+				}
+
+				long elapsedNanos = System.nanoTime() - evaluation.startNanos;
+
+				recordCost(fitnessEvaluator, evaluation.size, elapsedNanos);
+
+				if (!evaluation.state.compareAndSet(RUNNING, DONE)) {
+					/*
+					 * The evaluation timed out and a replacement worker has already taken over the queue. Clear the
+					 * interrupt meant for the evaluation before handing the thread back.
+					 */
+					Thread.interrupted();
+
+					if (chromosomePool != null) {
+						chromosomePool.unpin(evaluation.chromosome);
+					}
+
+					return;
+				}
+
+				evaluation.elapsedNanos = elapsedNanos;
+
+				if (fitness != null) {
+					evaluation.chromosome.setFitness(fitness);
+				}
+
+				remaining.countDown();
+			}
+		}
+	}
+
+	/**
+	 * Evaluates every Chromosome, returning once each has either been evaluated or timed out, and assigns the penalty
+	 * fitness to those which timed out.
+	 * 
+	 * @param chromosomes
+	 *            the Chromosomes to evaluate
+	 * @param fitnessEvaluator
+	 *            the FitnessEvaluator to use
+	 * @param randomSource
+	 *            the RandomSource to bind the evaluations to
+	 * @param performanceStatistics
+	 *            the PerformanceStatistics to record the latency percentiles and timeouts to, or null
+	 * @throws InterruptedException
+	 *             if the calling thread is interrupted while waiting
+	 */
+	public void evaluate(List<Chromosome> chromosomes, FitnessEvaluator fitnessEvaluator, RandomSource randomSource,
+			PerformanceStatistics performanceStatistics) throws InterruptedException {
+		evaluate(chromosomes, fitnessEvaluator, randomSource, performanceStatistics, true);
+	}
+
+	/**
+	 * Evaluates every Chromosome, returning once each has either been evaluated or timed out.
+	 * 
+	 * @param chromosomes
+	 *            the Chromosomes to evaluate
+	 * @param fitnessEvaluator
+	 *            the FitnessEvaluator to use
+	 * @param randomSource
+	 *            the RandomSource to bind the evaluations to
+	 * @param performanceStatistics
+	 *            the PerformanceStatistics to record the latency percentiles and timeouts to, or null
+	 * @param penalizeTimeouts
+	 *            whether to assign the penalty fitness to the Chromosomes which timed out, or to let them keep the
+	 *            fitness they already have, as when re-evaluating Chromosomes which have been evaluated before
+	 * @throws InterruptedException
+	 *             if the calling thread is interrupted while waiting
+	 */
+	public void evaluate(List<Chromosome> chromosomes, FitnessEvaluator fitnessEvaluator, RandomSource randomSource,
+			PerformanceStatistics performanceStatistics, boolean penalizeTimeouts) throws InterruptedException {
+		if (chromosomes.isEmpty()) {
+			return;
+		}
+
+		Evaluation[] evaluations = new Evaluation[chromosomes.size()];
+
+		for (int i = 0; i < evaluations.length; i++) {
+			Integer size = chromosomes.get(i).actualSize();
+
+			evaluations[i] = new Evaluation(chromosomes.get(i), i, size, predictCost(fitnessEvaluator, size));
+		}
+
+		// The sort is stable, so Chromosomes with equal predicted cost keep their original order
+		Arrays.sort(evaluations, new PredictedCostComparator());
+
+		AtomicInteger next = new AtomicInteger(0);
+		CountDownLatch remaining = new CountDownLatch(evaluations.length);
+		long stream = randomSource.nextStream();
+
+		for (int i = 0; i < Math.min(workers, evaluations.length); i++) {
+			this.taskExecutor.execute(new Worker(evaluations, next, fitnessEvaluator, randomSource, stream, remaining));
+		}
+
+		int timeouts = 0;
+
+		if (this.timeoutMillis <= 0) {
+			remaining.await();
+		} else {
+			long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(this.timeoutMillis);
+			long pollMillis = Math.max(1, Math.min(MAX_POLL_MILLIS, this.timeoutMillis / 4));
+
+			while (!remaining.await(pollMillis, TimeUnit.MILLISECONDS)) {
+				long now = System.nanoTime();
+
+				for (Evaluation evaluation : evaluations) {
+					if (evaluation.state.get() != RUNNING || now - evaluation.startNanos < timeoutNanos) {
+						continue;
+					}
+
+					// Pin before the state changes, so that the worker can only unpin after this
+					if (this.chromosomePool != null) {
+						this.chromosomePool.pin(evaluation.chromosome);
+					}
+
+					if (evaluation.state.compareAndSet(RUNNING, TIMED_OUT)) {
+						evaluation.elapsedNanos = now - evaluation.startNanos;
+
+						if (penalizeTimeouts) {
+							evaluation.chromosome.setFitness(this.penaltyFitness);
+						}
+
+						synchronized (evaluation) {
+							if (evaluation.worker != null) {
+								evaluation.worker.interrupt();
+							}
+						}
+
+						timeouts++;
+
+						remaining.countDown();
+
+						if (next.get() < evaluations.length) {
+							this.taskExecutor.execute(new Worker(evaluations, next, fitnessEvaluator, randomSource,
+									stream, remaining));
+						}
+					} else if (this.chromosomePool != null) {
+						this.chromosomePool.unpin(evaluation.chromosome);
+					}
+				}
+			}
+		}
+
+		if (timeouts > 0) {
+			log.warn(timeouts + " of " + evaluations.length + " evaluations exceeded the timeout of "
+					+ this.timeoutMillis + "ms and " + (penalizeTimeouts ? "were assigned the penalty fitness of "
+							+ this.penaltyFitness : "kept their current fitness") + ".");
+		}
+
+		if (performanceStatistics != null) {
+			long[] latencies = new long[evaluations.length];
+
+			for (int i = 0; i < evaluations.length; i++) {
+				latencies[i] = evaluations[i].elapsedNanos;
+			}
+
+			Arrays.sort(latencies);
+
+			performanceStatistics.setEvaluationP50Micros(TimeUnit.NANOSECONDS.toMicros(percentile(latencies, 0.50)));
+			performanceStatistics.setEvaluationP95Micros(TimeUnit.NANOSECONDS.toMicros(percentile(latencies, 0.95)));
+			performanceStatistics.setEvaluationP99Micros(TimeUnit.NANOSECONDS.toMicros(percentile(latencies, 0.99)));
+			performanceStatistics.setEvaluationMaxMicros(TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length
+					- 1]));
+			performanceStatistics.setEvaluationTimeouts(timeouts);
+		}
+	}
+
+	// Nearest-rank percentile of an array sorted in ascending order
+	private static long percentile(long[] sorted, double percentile) {
+		int rank = (int) Math.ceil(percentile * sorted.length);
+
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	protected synchronized double predictCost(FitnessEvaluator fitnessEvaluator, Integer size) {
+		CostModel costModel = this.costModels.get(fitnessEvaluator);
+
+		if (costModel == null) {
+			return 0.0;
+		}
+
+		Double cost = costModel.costBySize.get(size);
+
+		return (cost != null) ? cost : costModel.averageCost;
+	}
+
+	protected synchronized void recordCost(FitnessEvaluator fitnessEvaluator, Integer size, long elapsedNanos) {
+		CostModel costModel = this.costModels.get(fitnessEvaluator);
+
+		if (costModel == null) {
+			costModel = new CostModel();
+			this.costModels.put(fitnessEvaluator, costModel);
+		}
+
+		Double cost = costModel.costBySize.get(size);
+
+		costModel.costBySize.put(size, (cost == null) ? elapsedNanos : cost
+				+ (smoothingFactor * (elapsedNanos - cost)));
+
+		costModel.averageCost = (costModel.averageCost == 0.0) ? elapsedNanos : costModel.averageCost
+				+ (smoothingFactor * (elapsedNanos - costModel.averageCost));
+	}
+
+	/**
+	 * @param taskExecutor
+	 *            the taskExecutor to set
+	 */
+	@Required
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * @param workers
+	 *            the number of workers pulling evaluations from the queue, which should not exceed the number of
+	 *            threads available to the TaskExecutor
+	 */
+	public void setWorkers(int workers) {
+		this.workers = workers;
+	}
+
+	/**
+	 * @param timeoutMillis
+	 *            the time after which an evaluation is abandoned, or zero to wait indefinitely
+	 */
+	public void setTimeoutMillis(long timeoutMillis) {
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * @param penaltyFitness
+	 *            the fitness assigned to Chromosomes whose evaluation times out
+	 */
+	public void setPenaltyFitness(BigDecimal penaltyFitness) {
+		this.penaltyFitness = penaltyFitness;
+	}
+
+	/**
+	 * @param smoothingFactor
+	 *            the weight between 0 and 1 given to the latest evaluation time when updating the moving average
+	 */
+	public void setSmoothingFactor(double smoothingFactor) {
+		this.smoothingFactor = smoothingFactor;
+	}
+
+	/**
+	 * @param chromosomePool
+	 *            the ChromosomePool of the genetic algorithm, if it recycles Chromosomes, in which to pin the
+	 *            Chromosomes whose evaluations time out
+	 */
+	public void setChromosomePool(ChromosomePool chromosomePool) {
+		this.chromosomePool = chromosomePool;
+	}
+}
@@ -0,0 +1,241 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.KeyedChromosome;
+import com.ciphertool.genetics.entities.Sequence;
+import com.ciphertool.genetics.entities.VariableLengthGene;
+import com.ciphertool.genetics.util.Hashing;
+
+/**
+ * Groups the individuals of a population by a 64-bit hash of their genes, so that individuals with identical
+ * genotypes can be found without comparing every pair. A matching hash is always confirmed with equals().
+ * 
+ * The hash of an individual is taken when it is added, so an individual which is modified in place afterwards must
+ * be refreshed before it is looked up again.
+ */
+public class GenotypeIndex {
+	private Map<Long, List<Chromosome>>	buckets	= new HashMap<Long, List<Chromosome>>();
+	private Map<Chromosome, Long>		hashes	= new IdentityHashMap<Chromosome, Long>();
+
+	/**
+	 * @param chromosome
+	 *            the Chromosome to add
+	 */
+	public void add(Chromosome chromosome) {
+		long hash = contentHash(chromosome);
+
+		this.hashes.put(chromosome, hash);
+
+		List<Chromosome> bucket = this.buckets.get(hash);
+
+		if (bucket == null) {
+			bucket = new ArrayList<Chromosome>(1);
+			this.buckets.put(hash, bucket);
+		}
+
+		bucket.add(chromosome);
+	}
+
+	/**
+	 * @param chromosome
+	 *            the Chromosome to remove
+	 */
+	public void remove(Chromosome chromosome) {
+		Long hash = this.hashes.remove(chromosome);
+
+		if (hash == null) {
+			return;
+		}
+
+		List<Chromosome> bucket = this.buckets.get(hash);
+
+		for (int i = 0; i < bucket.size(); i++) {
+			if (bucket.get(i) == chromosome) {
+				bucket.remove(i);
+
+				break;
+			}
+		}
+
+		if (bucket.isEmpty()) {
+			this.buckets.remove(hash);
+		}
+	}
+
+	/**
+	 * Re-hashes a Chromosome whose genes may have changed since it was added.
+	 * 
+	 * @param chromosome
+	 *            the Chromosome to refresh
+	 */
+	public void refresh(Chromosome chromosome) {
+		remove(chromosome);
+		add(chromosome);
+	}
+
+	public void clear() {
+		this.buckets.clear();
+		this.hashes.clear();
+	}
+
+	/**
+	 * @param chromosome
+	 *            the Chromosome to find a duplicate of, which must have been added
+	 * @return another indexed Chromosome with genes equal to those of the given Chromosome, or null if there is none
+	 */
+	public Chromosome findDuplicate(Chromosome chromosome) {
+		return findDuplicate(chromosome, null, Collections.<Chromosome> emptySet());
+	}
+
+	/**
+	 * @param chromosome
+	 *            the Chromosome to find a duplicate of, which must have been added
+	 * @param evaluationNeeded
+	 *            whether the duplicate must be awaiting evaluation, must already have been evaluated, or null for
+	 *            either
+	 * @param excluded
+	 *            Chromosomes which may not be returned
+	 * @return another indexed Chromosome with genes equal to those of the given Chromosome, or null if there is none
+	 */
+	public Chromosome findDuplicate(Chromosome chromosome, Boolean evaluationNeeded, Set<Chromosome> excluded) {
+		Long hash = this.hashes.get(chromosome);
+		List<Chromosome> bucket = (hash == null) ? null : this.buckets.get(hash);
+
+		if (bucket == null) {
+			return null;
+		}
+
+		for (Chromosome candidate : bucket) {
+			if (candidate == chromosome || excluded.contains(candidate)) {
+				continue;
+			}
+
+			if (evaluationNeeded != null && candidate.isEvaluationNeeded() != evaluationNeeded) {
+				continue;
+			}
+
+			if (candidate.equals(chromosome)) {
+				return candidate;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return the number of indexed Chromosomes whose genotype equals that of another indexed Chromosome, not counting
+	 *         the first of each group of duplicates
+	 */
+	public int countDuplicates() {
+		int duplicates = 0;
+
+		for (List<Chromosome> bucket : this.buckets.values()) {
+			if (bucket.size() < 2) {
+				continue;
+			}
+
+			List<Chromosome> distinct = new ArrayList<Chromosome>(bucket.size());
+
+			for (Chromosome chromosome : bucket) {
+				if (distinct.contains(chromosome)) {
+					duplicates++;
+				} else {
+					distinct.add(chromosome);
+				}
+			}
+		}
+
+		return duplicates;
+	}
+
+	/**
+	 * @return the number of indexed Chromosomes
+	 */
+	public int size() {
+		return this.hashes.size();
+	}
+
+	/**
+	 * Hashes the genes of a Chromosome. For a KeyedChromosome, the hash of each key and gene pair is mixed and the
+	 * results are summed, so that the hash does not depend on the iteration order of the genes. The genes of a
+	 * VariableLengthGene are hashed by the values of their sequences; other genes are hashed by their hashCode(). Any
+	 * other Chromosome is hashed by its hashCode().
+	 * 
+	 * @param chromosome
+	 *            the Chromosome to hash
+	 * @return the hash
+	 */
+	@SuppressWarnings("unchecked")
+	public static long contentHash(Chromosome chromosome) {
+		if (!(chromosome instanceof KeyedChromosome)) {
+			return Hashing.mix(chromosome.hashCode());
+		}
+
+		long hash = 0L;
+
+		for (Map.Entry<Object, Gene> entry : ((KeyedChromosome<Object>) chromosome).getGenes().entrySet()) {
+			hash += entryHash(entry.getKey(), entry.getValue());
+		}
+
+		return hash;
+	}
+
+	/**
+	 * @param key
+	 *            the key of the gene within its KeyedChromosome
+	 * @param gene
+	 *            the gene
+	 * @return a well-mixed hash of the key and gene pair
+	 */
+	public static long entryHash(Object key, Gene gene) {
+		long keyHash = (key == null) ? 0L : key.hashCode();
+
+		return Hashing.mix((keyHash * 0x9e3779b97f4a7c15L) ^ geneHash(gene));
+	}
+
+	private static long geneHash(Gene gene) {
+		if (gene == null) {
+			return 0L;
+		}
+
+		if (!(gene instanceof VariableLengthGene)) {
+			return gene.hashCode();
+		}
+
+		long hash = 1L;
+
+		for (Sequence sequence : ((VariableLengthGene) gene).getSequences()) {
+			hash = (31L * hash) + ((sequence.getValue() == null) ? 0L : sequence.getValue().hashCode());
+		}
+
+		return hash;
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.ciphertool.genetics.entities.Chromosome;
+
+/**
+ * The fittest distinct individuals seen during a run, kept even after they have left the population. Members are
+ * ordered from the fittest, and a member is only replaced by an equal Chromosome with a higher fitness.
+ */
+public class HallOfFame {
+	private int					capacity;
+	private List<Chromosome>	members	= new ArrayList<Chromosome>();
+
+	/**
+	 * @param capacity
+	 *            the maximum number of members
+	 */
+	public HallOfFame(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Tried to create a HallOfFame with a capacity of " + capacity
+					+ ", but the capacity must be greater than zero.");
+		}
+
+		this.capacity = capacity;
+	}
+
+	/**
+	 * @param candidate
+	 *            the evaluated Chromosome to consider, which must not be modified afterwards
+	 * @return whether the candidate was admitted
+	 */
+	public synchronized boolean add(Chromosome candidate) {
+		BigDecimal fitness = candidate.getFitness();
+
+		if (fitness == null) {
+			return false;
+		}
+
+		for (int i = 0; i < this.members.size(); i++) {
+			if (this.members.get(i).equals(candidate)) {
+				if (fitness.compareTo(this.members.get(i).getFitness()) <= 0) {
+					return false;
+				}
+
+				this.members.remove(i);
+
+				break;
+			}
+		}
+
+		int position = this.members.size();
+
+		while (position > 0 && fitness.compareTo(this.members.get(position - 1).getFitness()) > 0) {
+			position--;
+		}
+
+		if (position >= this.capacity) {
+			return false;
+		}
+
+		this.members.add(position, candidate);
+
+		if (this.members.size() > this.capacity) {
+			this.members.remove(this.members.size() - 1);
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the fittest member, or null if there are no members
+	 */
+	public synchronized Chromosome getBest() {
+		return this.members.isEmpty() ? null : this.members.get(0);
+	}
+
+	/**
+	 * @return an unmodifiable copy of the members, from the fittest
+	 */
+	public synchronized List<Chromosome> getMembers() {
+		return Collections.unmodifiableList(new ArrayList<Chromosome>(this.members));
+	}
+
+	/**
+	 * @return the number of members
+	 */
+	public synchronized int size() {
+		return this.members.size();
+	}
+
+	public synchronized void clear() {
+		this.members.clear();
+	}
+}
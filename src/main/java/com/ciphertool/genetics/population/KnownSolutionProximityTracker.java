@@ -0,0 +1,191 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.core.task.TaskExecutor;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.fitness.FitnessEvaluator;
+
+/**
+ * Measures the proximity of the best individual to the known solution off the critical path. An evaluation is only
+ * started when the best individual has changed, or when sampleInterval generations have passed since the last one, and
+ * it runs on the taskExecutor, one at a time per knownSolutionFitnessEvaluator since it is not thread-safe. The result
+ * is attached to the GenerationStatistics of the generation it was sampled from by the coordinating thread, on the
+ * first call to track() or await() after it arrives, and generations which were not sampled have no proximity.
+ */
+public class KnownSolutionProximityTracker {
+	private Logger					log				= LoggerFactory.getLogger(getClass());
+
+	private int						sampleInterval	= 10;
+	private Chromosome				lastSampled;
+	private int						generationsSinceSample;
+	private TaskExecutor			taskExecutor;
+	private List<PendingProximity>	pending			= new ArrayList<PendingProximity>();
+
+	/**
+	 * A concurrent task for measuring the proximity of a snapshot to the known solution.
+	 */
+	private static class ProximityTask implements Callable<BigDecimal> {
+		private FitnessEvaluator	knownSolutionFitnessEvaluator;
+		private Chromosome			snapshot;
+
+		public ProximityTask(FitnessEvaluator knownSolutionFitnessEvaluator, Chromosome snapshot) {
+			this.knownSolutionFitnessEvaluator = knownSolutionFitnessEvaluator;
+			this.snapshot = snapshot;
+		}
+
+		@Override
+		public BigDecimal call() throws Exception {
+			BigDecimal proximity;
+
+			synchronized (this.knownSolutionFitnessEvaluator) {
+				proximity = this.knownSolutionFitnessEvaluator.evaluate(this.snapshot);
+			}
+
+			return proximity.multiply(BigDecimal.valueOf(100.0));
+		}
+	}
+
+	/**
+	 * A running ProximityTask and the GenerationStatistics which are to receive its result.
+	 */
+	private static class PendingProximity {
+		private FutureTask<BigDecimal>	future;
+		private GenerationStatistics	generationStatistics;
+
+		public PendingProximity(FutureTask<BigDecimal> future, GenerationStatistics generationStatistics) {
+			this.future = future;
+			this.generationStatistics = generationStatistics;
+		}
+	}
+
+	/**
+	 * Samples the best individual of a generation if it has changed or is due, and must only be called by the thread
+	 * coordinating the generations.
+	 * 
+	 * @param knownSolutionFitnessEvaluator
+	 *            the FitnessEvaluator measuring proximity to the known solution
+	 * @param bestFitIndividual
+	 *            the best individual of the generation
+	 * @param generationStatistics
+	 *            the GenerationStatistics of the generation, which receives the proximity when it arrives
+	 * @return whether an evaluation was started
+	 */
+	public boolean track(FitnessEvaluator knownSolutionFitnessEvaluator, Chromosome bestFitIndividual,
+			GenerationStatistics generationStatistics) {
+		pruneFinished();
+
+		this.generationsSinceSample++;
+
+		if (this.lastSampled != null && this.generationsSinceSample < this.sampleInterval
+				&& this.lastSampled.equals(bestFitIndividual)) {
+			return false;
+		}
+
+		this.generationsSinceSample = 0;
+		this.lastSampled = bestFitIndividual.clone();
+
+		/*
+		 * We have to evaluate a separate clone since the knownSolutionFitnessEvaluator sets properties on the
+		 * Chromosome, and the individual itself goes on evolving while the evaluation runs.
+		 */
+		FutureTask<BigDecimal> futureTask = new FutureTask<BigDecimal>(new ProximityTask(
+				knownSolutionFitnessEvaluator, bestFitIndividual.clone()));
+		this.pending.add(new PendingProximity(futureTask, generationStatistics));
+
+		this.taskExecutor.execute(futureTask);
+
+		return true;
+	}
+
+	/**
+	 * Waits for all evaluations which have been started, so that their results are visible in the
+	 * GenerationStatistics they were sampled from.
+	 * 
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public void await() throws InterruptedException {
+		for (PendingProximity pendingProximity : this.pending) {
+			try {
+				pendingProximity.generationStatistics.setKnownSolutionProximity(pendingProximity.future.get());
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for ProximityTask ", ee);
+			}
+		}
+
+		this.pending.clear();
+	}
+
+	/**
+	 * Forgets the last sample, so that the next generation is always sampled.
+	 */
+	public void reset() {
+		this.lastSampled = null;
+		this.generationsSinceSample = 0;
+	}
+
+	private void pruneFinished() {
+		for (int i = this.pending.size() - 1; i >= 0; i--) {
+			if (!this.pending.get(i).future.isDone()) {
+				continue;
+			}
+
+			PendingProximity pendingProximity = this.pending.remove(i);
+
+			try {
+				pendingProximity.generationStatistics.setKnownSolutionProximity(pendingProximity.future.get());
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for ProximityTask ", ee);
+			}
+		}
+	}
+
+	/**
+	 * @param taskExecutor
+	 *            the taskExecutor to set
+	 */
+	@Required
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * @param sampleInterval
+	 *            the number of generations after which an unchanged best individual is sampled again
+	 */
+	public void setSampleInterval(int sampleInterval) {
+		this.sampleInterval = sampleInterval;
+	}
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.ciphertool.genetics.util.RandomSource;
+
+/**
+ * Precomputed neighborhoods for a lattice of cells, with allocation-free local roulette selection.
+ * 
+ * Cells are addressed by index (row * columns + column). The neighbor indices of every cell are computed once, so
+ * selection only walks a small int array and a primitive array of fitness values indexed by cell. With toroidal wrap
+ * the lattice has no edges and every cell has a full neighborhood; otherwise neighbors beyond the edges are omitted.
+ * A cell is never its own neighbor, and a neighbor which wraps around to the same cell twice is only counted once.
+ */
+public class LatticeNeighborhood {
+	public enum Type {
+		/**
+		 * All cells within the radius in both directions, i.e. the surrounding square
+		 */
+		MOORE,
+
+		/**
+		 * All cells within the radius by Manhattan distance, i.e. the surrounding diamond
+		 */
+		VON_NEUMANN
+	}
+
+	private final int		rows;
+	private final int		columns;
+	private final int[][]	neighbors;
+
+	/**
+	 * @param rows
+	 *            the number of rows in the lattice
+	 * @param columns
+	 *            the number of columns in the lattice
+	 * @param type
+	 *            the shape of the neighborhood
+	 * @param radius
+	 *            the distance from a cell to the furthest of its neighbors
+	 * @param toroidal
+	 *            whether the lattice wraps around at its edges
+	 */
+	public LatticeNeighborhood(int rows, int columns, Type type, int radius, boolean toroidal) {
+		if (rows <= 0 || columns <= 0 || radius <= 0) {
+			throw new IllegalArgumentException("The rows, columns and radius of a LatticeNeighborhood must be positive.  rows="
+					+ rows + ", columns=" + columns + ", radius=" + radius);
+		}
+
+		this.rows = rows;
+		this.columns = columns;
+		this.neighbors = new int[rows * columns][];
+
+		Set<Integer> cellNeighbors = new LinkedHashSet<Integer>();
+
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				cellNeighbors.clear();
+
+				for (int rowOffset = -radius; rowOffset <= radius; rowOffset++) {
+					for (int columnOffset = -radius; columnOffset <= radius; columnOffset++) {
+						if (type == Type.VON_NEUMANN && Math.abs(rowOffset) + Math.abs(columnOffset) > radius) {
+							continue;
+						}
+
+						int neighborRow = row + rowOffset;
+						int neighborColumn = column + columnOffset;
+
+						if (toroidal) {
+							neighborRow = Math.floorMod(neighborRow, rows);
+							neighborColumn = Math.floorMod(neighborColumn, columns);
+						} else if (neighborRow < 0 || neighborRow >= rows || neighborColumn < 0
+								|| neighborColumn >= columns) {
+							continue;
+						}
+
+						if (neighborRow != row || neighborColumn != column) {
+							cellNeighbors.add(cellIndex(neighborRow, neighborColumn));
+						}
+					}
+				}
+
+				int[] neighborsOfCell = new int[cellNeighbors.size()];
+				int i = 0;
+
+				for (Integer neighbor : cellNeighbors) {
+					neighborsOfCell[i++] = neighbor;
+				}
+
+				this.neighbors[cellIndex(row, column)] = neighborsOfCell;
+			}
+		}
+	}
+
+	/**
+	 * Selects two distinct neighbors of a cell by roulette over their fitness values. Negative fitness values are
+	 * treated as zero, and if every neighbor has a fitness of zero the neighbors are chosen uniformly.
+	 * 
+	 * @param fitness
+	 *            the fitness value of every cell, indexed by cell index
+	 * @param row
+	 *            the row of the cell whose neighbors are selected from
+	 * @param column
+	 *            the column of the cell whose neighbors are selected from
+	 * @param randomSource
+	 *            the RandomSource to draw from
+	 * @param selected
+	 *            an array of at least two elements, which receives the cell indices of the two selected neighbors
+	 * @throws IllegalStateException
+	 *             if the cell has fewer than two neighbors
+	 */
+	public void selectParentIndices(double[] fitness, int row, int column, RandomSource randomSource, int[] selected) {
+		int[] candidates = this.neighbors[cellIndex(row, column)];
+
+		if (candidates.length < 2) {
+			throw new IllegalStateException("Unable to select two parents from the " + candidates.length
+					+ " neighbors of the cell at row " + row + ", column " + column + ".");
+		}
+
+		double total = 0.0;
+
+		for (int i = 0; i < candidates.length; i++) {
+			total += Math.max(0.0, fitness[candidates[i]]);
+		}
+
+		int first = spin(fitness, candidates, -1, total, randomSource);
+
+		int second = spin(fitness, candidates, first, total - Math.max(0.0, fitness[candidates[first]]), randomSource);
+
+		selected[0] = candidates[first];
+		selected[1] = candidates[second];
+	}
+
+	// Returns the position within candidates of the chosen neighbor, never choosing the excluded position
+	private static int spin(double[] fitness, int[] candidates, int excluded, double total, RandomSource randomSource) {
+		int eligible = (excluded < 0) ? candidates.length : candidates.length - 1;
+
+		if (total <= 0.0) {
+			int position = randomSource.nextInt(eligible);
+
+			return (excluded >= 0 && position >= excluded) ? position + 1 : position;
+		}
+
+		double target = randomSource.nextDouble() * total;
+		int last = -1;
+
+		for (int i = 0; i < candidates.length; i++) {
+			if (i == excluded) {
+				continue;
+			}
+
+			double value = Math.max(0.0, fitness[candidates[i]]);
+
+			if (value <= 0.0) {
+				continue;
+			}
+
+			last = i;
+			target -= value;
+
+			if (target < 0.0) {
+				return i;
+			}
+		}
+
+		// Floating point error can leave a sliver of the total unaccounted for
+		return last;
+	}
+
+	/**
+	 * @param row
+	 *            the row of the cell
+	 * @param column
+	 *            the column of the cell
+	 * @return the index of the cell
+	 */
+	public int cellIndex(int row, int column) {
+		return (row * this.columns) + column;
+	}
+
+	/**
+	 * @param cellIndex
+	 *            the index of the cell
+	 * @return the row of the cell
+	 */
+	public int rowOf(int cellIndex) {
+		return cellIndex / this.columns;
+	}
+
+	/**
+	 * @param cellIndex
+	 *            the index of the cell
+	 * @return the column of the cell
+	 */
+	public int columnOf(int cellIndex) {
+		return cellIndex % this.columns;
+	}
+
+	/**
+	 * @param row
+	 *            the row of the cell
+	 * @param column
+	 *            the column of the cell
+	 * @return the cell indices of the neighbors, which must not be modified
+	 */
+	public int[] neighborsOf(int row, int column) {
+		return this.neighbors[cellIndex(row, column)];
+	}
+
+	/**
+	 * @return the number of rows in the lattice
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return the number of columns in the lattice
+	 */
+	public int getColumns() {
+		return columns;
+	}
+}
@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,27 +40,44 @@ import com.ciphertool.genetics.algorithms.selection.modes.Selector;
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.SpatialChromosome;
 import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.fitness.BatchFitnessEvaluator;
 import com.ciphertool.genetics.fitness.FitnessComparator;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
-
-public class LatticePopulation implements Population {
-	private Logger					log									= LoggerFactory.getLogger(getClass());
-	private Breeder					breeder;
-	private SpatialChromosome[][]	individuals;
-	private SpatialChromosome[][]	backup;
-	private FitnessEvaluator		fitnessEvaluator;
-	private FitnessComparator		fitnessComparator;
-	private Selector				selector;
-	private BigDecimal				totalFitness						= BigDecimal.ZERO;
-	private TaskExecutor			taskExecutor;
-	private ChromosomePrinter		chromosomePrinter;
-	private FitnessEvaluator		knownSolutionFitnessEvaluator;
-	private static final boolean	COMPARE_TO_KNOWN_SOLUTION_DEFAULT	= false;
-	private Boolean					compareToKnownSolution				= COMPARE_TO_KNOWN_SOLUTION_DEFAULT;
-	private boolean					stopRequested;
-	private int						latticeRows;
-	private int						latticeColumns;
-	private int						maxToPrint;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
+
+public class LatticePopulation implements Population, RandomSourceAware {
+	private Logger						log									= LoggerFactory.getLogger(getClass());
+	private Breeder						breeder;
+	private SpatialChromosome[][]		individuals;
+	private SpatialChromosome[][]		backup;
+	private FitnessEvaluator			fitnessEvaluator;
+	private FitnessComparator			fitnessComparator;
+	private Selector					selector;
+	private BigDecimal					totalFitness						= BigDecimal.ZERO;
+	private TaskExecutor				taskExecutor;
+	private ChromosomePrinter			chromosomePrinter;
+	private FitnessEvaluator			knownSolutionFitnessEvaluator;
+	private static final boolean		COMPARE_TO_KNOWN_SOLUTION_DEFAULT	= false;
+	private Boolean						compareToKnownSolution				= COMPARE_TO_KNOWN_SOLUTION_DEFAULT;
+	private boolean						stopRequested;
+	private int							latticeRows;
+	private int							latticeColumns;
+	private int							maxToPrint;
+	private RandomSource				randomSource						= new RandomSource();
+	private int							evaluationBatchSize;
+	private LatticeNeighborhood.Type	neighborhoodType;
+	private int							neighborhoodRadius					= 1;
+	private boolean						toroidal;
+	private LatticeNeighborhood			neighborhood;
+	private double[]					fitnessValues;
+	private int							tileSize;
+	private LatticeTiling				tiling;
+	private FitnessEvaluator			majorFitnessEvaluator;
+	private AtomicLong					modCount							= new AtomicLong(0);
+	private AtomicInteger				inPlaceEvaluations					= new AtomicInteger(0);
+	private long						sortedModCount						= -1;
+	private List<Chromosome>			sortedIndividuals;
 
 	public LatticePopulation() {
 	}
@@ -85,16 +104,54 @@ public class LatticePopulation implements Population {
 		}
 	}
 
+	/**
+	 * A concurrent task for adding brand new Chromosomes to every cell of a tile.
+	 */
+	protected class TileGeneratorTask implements Callable<List<SpatialChromosome>> {
+		private LatticeTiling	tiling;
+		private int				tile;
+
+		public TileGeneratorTask(LatticeTiling tiling, int tile) {
+			this.tiling = tiling;
+			this.tile = tile;
+		}
+
+		@Override
+		public List<SpatialChromosome> call() throws Exception {
+			List<SpatialChromosome> chromosomes = new ArrayList<SpatialChromosome>(tiling.getNumberOfCells(tile));
+
+			for (int x = tiling.getRowStart(tile); x < tiling.getRowEnd(tile); x++) {
+				for (int y = tiling.getColumnStart(tile); y < tiling.getColumnEnd(tile); y++) {
+					SpatialChromosome chromosome = (SpatialChromosome) breeder.breed();
+					chromosome.setXPos(x);
+					chromosome.setYPos(y);
+
+					chromosomes.add(chromosome);
+				}
+			}
+
+			return chromosomes;
+		}
+	}
+
 	public int breed() {
 		individuals = new SpatialChromosome[latticeRows][latticeColumns];
 
+		LatticeTiling tiling = getTiling();
+
+		if (tiling != null) {
+			return breedTiles(tiling);
+		}
+
 		List<FutureTask<SpatialChromosome>> futureTasks = new ArrayList<FutureTask<SpatialChromosome>>();
 		FutureTask<SpatialChromosome> futureTask = null;
+		long stream = this.randomSource.nextStream();
 
 		int individualsAdded = 0;
 		for (int x = 0; x < latticeRows; x++) {
 			for (int y = 0; y < latticeColumns; y++) {
-				futureTask = new FutureTask<SpatialChromosome>(new GeneratorTask(x, y));
+				futureTask = new FutureTask<SpatialChromosome>(this.randomSource.bind(new GeneratorTask(x, y), stream, (x
+						* latticeColumns) + y));
 				futureTasks.add(futureTask);
 
 				this.taskExecutor.execute(futureTask);
@@ -124,33 +181,146 @@ public class LatticePopulation implements Population {
 		return individualsAdded;
 	}
 
+	protected int breedTiles(LatticeTiling tiling) {
+		List<FutureTask<List<SpatialChromosome>>> futureTasks = new ArrayList<FutureTask<List<SpatialChromosome>>>();
+		FutureTask<List<SpatialChromosome>> futureTask = null;
+		long stream = this.randomSource.nextStream();
+
+		for (int tile = 0; tile < tiling.getNumberOfTiles(); tile++) {
+			futureTask = new FutureTask<List<SpatialChromosome>>(this.randomSource.bind(new TileGeneratorTask(tiling,
+					tile), stream, tile));
+			futureTasks.add(futureTask);
+
+			this.taskExecutor.execute(futureTask);
+		}
+
+		int individualsAdded = 0;
+
+		for (FutureTask<List<SpatialChromosome>> future : futureTasks) {
+			if (stopRequested) {
+				return individualsAdded;
+			}
+
+			try {
+				for (SpatialChromosome chromosome : future.get()) {
+					this.addIndividual(chromosome);
+
+					individualsAdded++;
+				}
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for TileGeneratorTask ", ie);
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for TileGeneratorTask ", ee);
+			}
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Added " + individualsAdded + " individuals to the population.");
+		}
+
+		return individualsAdded;
+	}
+
 	/**
 	 * A concurrent task for evaluating the fitness of a Chromosome.
 	 */
 	protected class EvaluationTask implements Callable<Void> {
-		private Chromosome chromosome;
+		private Chromosome			chromosome;
+		private FitnessEvaluator	evaluator;
 
 		public EvaluationTask(Chromosome chromosome) {
+			this(chromosome, fitnessEvaluator);
+		}
+
+		public EvaluationTask(Chromosome chromosome, FitnessEvaluator evaluator) {
 			this.chromosome = chromosome;
+			this.evaluator = evaluator;
 		}
 
 		@Override
 		public Void call() throws Exception {
-			this.chromosome.setFitness(fitnessEvaluator.evaluate(this.chromosome));
+			this.chromosome.setFitness(this.evaluator.evaluate(this.chromosome));
 
 			return null;
 		}
 	}
 
+	/**
+	 * A concurrent task for evaluating the fitness of every Chromosome in a tile which has changed since its last
+	 * evaluation. Returns the number of evaluations carried out.
+	 */
+	protected class TileEvaluationTask implements Callable<Integer> {
+		private LatticeTiling	tiling;
+		private int				tile;
+
+		public TileEvaluationTask(LatticeTiling tiling, int tile) {
+			this.tiling = tiling;
+			this.tile = tile;
+		}
+
+		@Override
+		public Integer call() throws Exception {
+			int evaluationCount = 0;
+
+			for (int x = tiling.getRowStart(tile); x < tiling.getRowEnd(tile); x++) {
+				for (int y = tiling.getColumnStart(tile); y < tiling.getColumnEnd(tile); y++) {
+					Chromosome individual = individuals[x][y];
+
+					if (individual.isEvaluationNeeded()) {
+						try {
+							individual.setFitness(fitnessEvaluator.evaluate(individual));
+
+							evaluationCount++;
+						} catch (RuntimeException re) {
+							// Don't let one bad individual cost the rest of the tile its evaluations
+							log.error("Caught RuntimeException while evaluating Chromosome at (" + x + ", " + y + ") ",
+									re);
+						}
+					}
+				}
+			}
+
+			return evaluationCount;
+		}
+	}
+
 	/**
 	 * This method executes all the fitness evaluations concurrently.
 	 * 
+	 * @return the number of evaluations carried out
 	 * @throws InterruptedException
 	 *             if stop is requested
 	 */
-	protected void doConcurrentFitnessEvaluations() throws InterruptedException {
+	protected int doConcurrentFitnessEvaluations() throws InterruptedException {
+		if (fitnessEvaluator instanceof BatchFitnessEvaluator) {
+			List<Chromosome> chromosomesToEvaluate = new ArrayList<Chromosome>();
+
+			for (int x = 0; x < latticeRows; x++) {
+				for (int y = 0; y < latticeColumns; y++) {
+					if (this.individuals[x][y].isEvaluationNeeded()) {
+						chromosomesToEvaluate.add(this.individuals[x][y]);
+					}
+				}
+			}
+
+			if (log.isDebugEnabled()) {
+				log.debug("Evaluations carried out: " + chromosomesToEvaluate.size());
+			}
+
+			doConcurrentBatchFitnessEvaluations((BatchFitnessEvaluator) fitnessEvaluator, chromosomesToEvaluate);
+
+			return chromosomesToEvaluate.size();
+		}
+
+		LatticeTiling tiling = getTiling();
+
+		if (tiling != null) {
+			return doConcurrentTileFitnessEvaluations(tiling);
+		}
+
 		List<FutureTask<Void>> futureTasks = new ArrayList<FutureTask<Void>>();
 		FutureTask<Void> futureTask = null;
+		long stream = this.randomSource.nextStream();
 
 		int evaluationCount = 0;
 		Chromosome individual = null;
@@ -162,7 +332,8 @@ public class LatticePopulation implements Population {
 				 */
 				if (individual.isEvaluationNeeded()) {
 					evaluationCount++;
-					futureTask = new FutureTask<Void>(new EvaluationTask(individual));
+					futureTask = new FutureTask<Void>(this.randomSource.bind(new EvaluationTask(individual), stream, (x
+							* latticeColumns) + y));
 					futureTasks.add(futureTask);
 					this.taskExecutor.execute(futureTask);
 				}
@@ -186,11 +357,150 @@ public class LatticePopulation implements Population {
 				log.error("Caught ExecutionException while waiting for EvaluatorTask ", ee);
 			}
 		}
+
+		return evaluationCount;
+	}
+
+	protected int doConcurrentTileFitnessEvaluations(LatticeTiling tiling) throws InterruptedException {
+		List<FutureTask<Integer>> futureTasks = new ArrayList<FutureTask<Integer>>();
+		FutureTask<Integer> futureTask = null;
+		long stream = this.randomSource.nextStream();
+
+		for (int tile = 0; tile < tiling.getNumberOfTiles(); tile++) {
+			futureTask = new FutureTask<Integer>(this.randomSource.bind(new TileEvaluationTask(tiling, tile), stream,
+					tile));
+			futureTasks.add(futureTask);
+			this.taskExecutor.execute(futureTask);
+		}
+
+		int evaluationCount = 0;
+
+		for (FutureTask<Integer> future : futureTasks) {
+			if (stopRequested) {
+				throw new InterruptedException("Stop requested during concurrent fitness evaluations.");
+			}
+
+			try {
+				evaluationCount += future.get();
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for TileEvaluationTask ", ie);
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for TileEvaluationTask ", ee);
+			}
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Evaluations carried out: " + evaluationCount);
+		}
+
+		return evaluationCount;
+	}
+
+	/**
+	 * This method splits the Chromosomes into contiguous batches of evaluationBatchSize, and evaluates the batches
+	 * concurrently.
+	 * 
+	 * @throws InterruptedException
+	 *             if stop is requested
+	 */
+	protected void doConcurrentBatchFitnessEvaluations(BatchFitnessEvaluator fitnessEvaluator,
+			List<Chromosome> chromosomes) throws InterruptedException {
+		List<FutureTask<Void>> futureTasks = BatchEvaluation.start(this.taskExecutor, this.randomSource,
+				fitnessEvaluator, chromosomes, this.evaluationBatchSize);
+
+		for (FutureTask<Void> future : futureTasks) {
+			if (stopRequested) {
+				throw new InterruptedException("Stop requested during concurrent fitness evaluations.");
+			}
+
+			try {
+				future.get();
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for BatchEvaluationTask ", ie);
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for BatchEvaluationTask ", ee);
+			}
+		}
+	}
+
+	/**
+	 * Evaluates the given individuals concurrently with the major FitnessEvaluator, whether or not they have changed.
+	 * 
+	 * @return the number of evaluations carried out
+	 * @throws InterruptedException
+	 *             if stop is requested
+	 */
+	protected int doConcurrentMajorFitnessEvaluations(List<Chromosome> chromosomesToEvaluate)
+			throws InterruptedException {
+		if (majorFitnessEvaluator instanceof BatchFitnessEvaluator) {
+			doConcurrentBatchFitnessEvaluations((BatchFitnessEvaluator) majorFitnessEvaluator, chromosomesToEvaluate);
+
+			return chromosomesToEvaluate.size();
+		}
+
+		List<FutureTask<Void>> futureTasks = new ArrayList<FutureTask<Void>>();
+		FutureTask<Void> futureTask = null;
+		long stream = this.randomSource.nextStream();
+
+		for (int i = 0; i < chromosomesToEvaluate.size(); i++) {
+			futureTask = new FutureTask<Void>(this.randomSource.bind(new EvaluationTask(chromosomesToEvaluate.get(i),
+					majorFitnessEvaluator), stream, i));
+			futureTasks.add(futureTask);
+			this.taskExecutor.execute(futureTask);
+		}
+
+		for (FutureTask<Void> future : futureTasks) {
+			if (stopRequested) {
+				throw new InterruptedException("Stop requested during concurrent major fitness evaluations.");
+			}
+
+			try {
+				future.get();
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for EvaluatorTask ", ie);
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for EvaluatorTask ", ee);
+			}
+		}
+
+		return chromosomesToEvaluate.size();
 	}
 
 	@Override
 	public Chromosome evaluateFitness(GenerationStatistics generationStatistics) throws InterruptedException {
-		this.doConcurrentFitnessEvaluations();
+		int evaluationCount = this.doConcurrentFitnessEvaluations();
+
+		if (generationStatistics != null) {
+			// Include the children evaluated as they replaced their cells during the in-place updates
+			generationStatistics.setNumberOfEvaluations(evaluationCount + this.inPlaceEvaluations.getAndSet(0));
+		}
+
+		return updateFitness(generationStatistics);
+	}
+
+	@Override
+	public Chromosome performMajorEvaluation(GenerationStatistics generationStatistics, Double percentageToEvaluate)
+			throws InterruptedException {
+		if (this.majorFitnessEvaluator == null) {
+			log.warn("Major evaluation requested, but no majorFitnessEvaluator is set.  Skipping.");
+
+			return updateFitness(generationStatistics);
+		}
+
+		List<Chromosome> sortedIndividuals = this.getIndividuals();
+
+		int top = Math.round((int) (this.size() * percentageToEvaluate));
+
+		List<Chromosome> fittest = sortedIndividuals.subList(sortedIndividuals.size() - top, sortedIndividuals.size());
+
+		generationStatistics.setNumberOfMajorEvaluations(this.doConcurrentMajorFitnessEvaluations(fittest));
+
+		return updateFitness(generationStatistics);
+	}
+
+	protected Chromosome updateFitness(GenerationStatistics generationStatistics) {
+		// The evaluations may have changed the order of the individuals by fitness
+		this.modCount.incrementAndGet();
 
 		this.totalFitness = BigDecimal.ZERO;
 
@@ -229,9 +539,18 @@ public class LatticePopulation implements Population {
 		return bestFitIndividual;
 	}
 
-	/*
-	 * This method depends on the totalFitness and individuals' fitness being accurately maintained. Returns the chosen
-	 * Chromosome.
+	/**
+	 * Selects from the immediately surrounding cells, which do not wrap around the edges of the lattice, using the
+	 * Selector. This remains the default when no neighborhoodType is set, since the precomputed LatticeNeighborhood
+	 * always selects by roulette and so would silently replace whichever Selector is configured.
+	 * 
+	 * This method depends on the totalFitness and individuals' fitness being accurately maintained.
+	 * 
+	 * @param row
+	 *            the row of the cell
+	 * @param column
+	 *            the column of the cell
+	 * @return the chosen Chromosome
 	 */
 	public Chromosome selectIndex(int row, int column) {
 		List<Chromosome> nearbyIndividuals = new ArrayList<Chromosome>();
@@ -286,6 +605,16 @@ public class LatticePopulation implements Population {
 		return nearbyIndividuals.get(index);
 	}
 
+	/**
+	 * Selects two distinct parents from the immediately surrounding cells using the Selector, as selectIndex() does.
+	 * Used when no neighborhoodType is set.
+	 * 
+	 * @param row
+	 *            the row of the cell
+	 * @param column
+	 *            the column of the cell
+	 * @return the two chosen parents
+	 */
 	public List<SpatialChromosome> selectIndices(int row, int column) {
 		List<SpatialChromosome> selectedIndividuals = new ArrayList<SpatialChromosome>();
 		List<Chromosome> nearbyIndividuals = new ArrayList<Chromosome>();
@@ -378,6 +707,8 @@ public class LatticePopulation implements Population {
 
 		this.totalFitness = this.totalFitness.subtract(this.individuals[row][column].getFitness());
 
+		this.modCount.incrementAndGet();
+
 		return this.individuals[row][column] = null;
 	}
 
@@ -396,12 +727,14 @@ public class LatticePopulation implements Population {
 
 	@Override
 	public void backupIndividuals() {
-		this.backup = new SpatialChromosome[latticeRows][latticeColumns];
+		// Reuse the backup grid unless the lattice has been resized since it was allocated
+		if (this.backup == null || this.backup.length != latticeRows
+				|| (latticeRows > 0 && this.backup[0].length != latticeColumns)) {
+			this.backup = new SpatialChromosome[latticeRows][latticeColumns];
+		}
 
 		for (int x = 0; x < latticeRows; x++) {
-			for (int y = 0; y < latticeColumns; y++) {
-				backup[x][y] = this.individuals[x][y];
-			}
+			System.arraycopy(this.individuals[x], 0, this.backup[x], 0, latticeColumns);
 		}
 	}
 
@@ -410,6 +743,8 @@ public class LatticePopulation implements Population {
 		this.individuals = new SpatialChromosome[latticeRows][latticeColumns];
 
 		this.totalFitness = BigDecimal.ZERO;
+
+		this.modCount.incrementAndGet();
 	}
 
 	public void addAllIndividuals(SpatialChromosome[][] individuals) {
@@ -426,6 +761,8 @@ public class LatticePopulation implements Population {
 	public boolean addIndividual(SpatialChromosome individual) {
 		this.individuals[individual.getXPos()][individual.getYPos()] = individual;
 
+		this.modCount.incrementAndGet();
+
 		individual.setPopulation(this);
 
 		this.totalFitness = this.totalFitness.add(individual.getFitness());
@@ -439,32 +776,35 @@ public class LatticePopulation implements Population {
 	}
 
 	public List<Chromosome> getSortedIndividuals() {
-		List<Chromosome> individualsAsList = new ArrayList<Chromosome>();
-
-		for (int x = 0; x < latticeRows; x++) {
-			for (int y = 0; y < latticeColumns; y++) {
-				individualsAsList.add(individuals[x][y]);
-			}
-		}
-
-		Collections.sort(individualsAsList, this.fitnessComparator);
-
-		return individualsAsList;
+		return getIndividuals();
 	}
 
+	/**
+	 * Returns an unmodifiable view of the individuals in ascending order by fitness. The view is cached, and is only
+	 * rebuilt from the lattice when cells have been replaced or the fitness of the population has been updated since it
+	 * was built, so repeated calls neither copy nor re-sort, and a view already handed out is not affected by later
+	 * changes. Fitness values changed outside of this population are not noticed until its fitness is next updated.
+	 */
 	@Override
-	public List<Chromosome> getIndividuals() {
-		List<Chromosome> individualsAsList = new ArrayList<Chromosome>();
+	public synchronized List<Chromosome> getIndividuals() {
+		long currentModCount = this.modCount.get();
 
-		for (int x = 0; x < latticeRows; x++) {
-			for (int y = 0; y < latticeColumns; y++) {
-				individualsAsList.add(individuals[x][y]);
+		if (this.sortedIndividuals == null || this.sortedModCount != currentModCount) {
+			List<Chromosome> sorted = new ArrayList<Chromosome>(latticeRows * latticeColumns);
+
+			for (int x = 0; x < latticeRows; x++) {
+				for (int y = 0; y < latticeColumns; y++) {
+					sorted.add(individuals[x][y]);
+				}
 			}
-		}
 
-		Collections.sort(individualsAsList, this.fitnessComparator);
+			Collections.sort(sorted, this.fitnessComparator);
+
+			this.sortedIndividuals = Collections.unmodifiableList(sorted);
+			this.sortedModCount = currentModCount;
+		}
 
-		return individualsAsList;
+		return this.sortedIndividuals;
 	}
 
 	public Chromosome[][] getIndividualsAsArray() {
@@ -488,7 +828,112 @@ public class LatticePopulation implements Population {
 
 	@Override
 	public void reIndexSelector() {
-		// Nothing to do
+		if (this.neighborhoodType == null) {
+			// Nothing to do
+			return;
+		}
+
+		if (this.neighborhood == null || this.neighborhood.getRows() != latticeRows
+				|| this.neighborhood.getColumns() != latticeColumns) {
+			this.neighborhood = new LatticeNeighborhood(latticeRows, latticeColumns, neighborhoodType,
+					neighborhoodRadius, toroidal);
+			this.fitnessValues = new double[latticeRows * latticeColumns];
+		}
+
+		for (int x = 0; x < latticeRows; x++) {
+			for (int y = 0; y < latticeColumns; y++) {
+				this.fitnessValues[this.neighborhood.cellIndex(x, y)] = this.individuals[x][y].getFitness().doubleValue();
+			}
+		}
+	}
+
+	/**
+	 * @return the LatticeTiling which concurrent phases are partitioned by, or null to submit one task per cell
+	 */
+	public LatticeTiling getTiling() {
+		if (this.tileSize == 0) {
+			return null;
+		}
+
+		if (this.tiling == null || this.tiling.getRows() != latticeRows || this.tiling.getColumns() != latticeColumns) {
+			this.tiling = new LatticeTiling(latticeRows, latticeColumns, tileSize);
+		}
+
+		return this.tiling;
+	}
+
+	/**
+	 * @return whether parents are selected using the precomputed LatticeNeighborhood
+	 */
+	public boolean isNeighborhoodEnabled() {
+		return this.neighborhoodType != null;
+	}
+
+	/**
+	 * Selects two distinct parents from the neighborhood of a cell without allocating. Depends on reIndexSelector()
+	 * having been called since the individuals' fitness last changed.
+	 * 
+	 * @param row
+	 *            the row of the cell
+	 * @param column
+	 *            the column of the cell
+	 * @param selected
+	 *            an array of at least two elements, which receives the cell indices of the selected parents
+	 */
+	public void selectParentIndices(int row, int column, int[] selected) {
+		this.neighborhood.selectParentIndices(this.fitnessValues, row, column, this.randomSource, selected);
+	}
+
+	/**
+	 * @param cellIndex
+	 *            the index of the cell, as used by the LatticeNeighborhood
+	 * @return the individual in the cell
+	 */
+	public SpatialChromosome getIndividual(int cellIndex) {
+		return this.individuals[cellIndex / latticeColumns][cellIndex % latticeColumns];
+	}
+
+	/**
+	 * @return the distance from a cell to the furthest cell it may select parents from
+	 */
+	public int getNeighborhoodRadius() {
+		return isNeighborhoodEnabled() ? this.neighborhoodRadius : 1;
+	}
+
+	/**
+	 * Replaces the individual in the candidate's cell with the candidate, evaluating the candidate first if needed,
+	 * unless the candidate is less fit. Only the candidate's own cell is written, so cells further apart than the
+	 * neighborhood radius may be replaced concurrently. The totalFitness is not maintained, and is recalculated by the
+	 * next call to evaluateFitness().
+	 * 
+	 * @param candidate
+	 *            the SpatialChromosome to place, positioned at its cell
+	 * @return whether the candidate replaced the current individual
+	 */
+	public boolean replaceIfNotWorse(SpatialChromosome candidate) {
+		if (candidate.isEvaluationNeeded()) {
+			candidate.setFitness(fitnessEvaluator.evaluate(candidate));
+
+			this.inPlaceEvaluations.incrementAndGet();
+		}
+
+		SpatialChromosome current = this.individuals[candidate.getXPos()][candidate.getYPos()];
+
+		if (current != null && candidate.getFitness().compareTo(current.getFitness()) < 0) {
+			return false;
+		}
+
+		this.individuals[candidate.getXPos()][candidate.getYPos()] = candidate;
+
+		this.modCount.incrementAndGet();
+
+		candidate.setPopulation(this);
+
+		if (this.neighborhood != null) {
+			this.fitnessValues[this.neighborhood.cellIndex(candidate.getXPos(), candidate.getYPos())] = candidate.getFitness().doubleValue();
+		}
+
+		return true;
 	}
 
 	/**
@@ -511,6 +956,10 @@ public class LatticePopulation implements Population {
 	@Override
 	public void setGeneticStructure(Object obj) {
 		this.breeder.setGeneticStructure(obj);
+
+		if (this.majorFitnessEvaluator != null) {
+			this.majorFitnessEvaluator.setGeneticStructure(obj);
+		}
 	}
 
 	/**
@@ -544,6 +993,66 @@ public class LatticePopulation implements Population {
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
+	/**
+	 * @param evaluationBatchSize
+	 *            the number of Chromosomes handed to a BatchFitnessEvaluator per task, or zero for
+	 *            BatchEvaluation.DEFAULT_BATCH_SIZE
+	 */
+	public void setEvaluationBatchSize(int evaluationBatchSize) {
+		this.evaluationBatchSize = evaluationBatchSize;
+	}
+
+	/**
+	 * @param neighborhoodType
+	 *            the shape of the neighborhood parents are selected from by roulette, or null, the default, to
+	 *            select from the immediately surrounding cells using the Selector
+	 */
+	public void setNeighborhoodType(LatticeNeighborhood.Type neighborhoodType) {
+		this.neighborhoodType = neighborhoodType;
+		this.neighborhood = null;
+	}
+
+	/**
+	 * @param neighborhoodRadius
+	 *            the neighborhoodRadius to set
+	 */
+	public void setNeighborhoodRadius(int neighborhoodRadius) {
+		this.neighborhoodRadius = neighborhoodRadius;
+		this.neighborhood = null;
+	}
+
+	/**
+	 * @param toroidal
+	 *            whether the neighborhoods wrap around the edges of the lattice
+	 */
+	public void setToroidal(boolean toroidal) {
+		this.toroidal = toroidal;
+		this.neighborhood = null;
+	}
+
+	/**
+	 * Seeded runs are reproducible for a given tile size, but note that the automatic tile size depends on the number
+	 * of available processors.
+	 * 
+	 * @param tileSize
+	 *            the length of each side of the square tiles which concurrent phases are partitioned by,
+	 *            LatticeTiling.AUTO to size tiles by the number of available processors, or zero to submit one task
+	 *            per cell
+	 */
+	public void setTileSize(int tileSize) {
+		this.tileSize = tileSize;
+		this.tiling = null;
+	}
+
 	@Override
 	public void setSelector(Selector selector) {
 		this.selector = selector;
@@ -604,14 +1113,8 @@ public class LatticePopulation implements Population {
 		this.maxToPrint = maxToPrint;
 	}
 
-	@Override
-	public Chromosome performMajorEvaluation(GenerationStatistics generationStatistics, Double percentageToEvaluate)
-			throws InterruptedException {
-		throw new UnsupportedOperationException("Method not yet implemented");
-	}
-
 	@Override
 	public void setMajorFitnessEvaluator(FitnessEvaluator majorFitnessEvaluator) {
-		// Nothing to do
+		this.majorFitnessEvaluator = majorFitnessEvaluator;
 	}
 }
@@ -0,0 +1,155 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+/**
+ * A partition of a lattice into rectangular tiles, so that concurrent phases can submit one task per tile instead of
+ * one task per cell. Neighboring cells then tend to be processed by the same thread, and large lattices are not
+ * swamped by task overhead. Tiles are numbered in row-major order, and cells within a tile are visited in row-major
+ * order as well.
+ */
+public class LatticeTiling {
+	/**
+	 * The tile size which selects automatic sizing
+	 */
+	public static final int	AUTO				= -1;
+
+	/**
+	 * The number of tiles per available processor aimed for by automatic sizing, which leaves enough tiles to balance
+	 * the load between threads
+	 */
+	private static final int	TILES_PER_PROCESSOR	= 4;
+
+	private final int			rows;
+	private final int			columns;
+	private final int			tileSize;
+	private final int			tileRows;
+	private final int			tileColumns;
+
+	/**
+	 * @param rows
+	 *            the number of rows in the lattice
+	 * @param columns
+	 *            the number of columns in the lattice
+	 * @param tileSize
+	 *            the length of each side of a tile, or AUTO to size tiles by the number of available processors
+	 */
+	public LatticeTiling(int rows, int columns, int tileSize) {
+		if (tileSize <= 0 && tileSize != AUTO) {
+			throw new IllegalArgumentException("The tileSize of a LatticeTiling must be positive or AUTO.  tileSize="
+					+ tileSize);
+		}
+
+		this.rows = rows;
+		this.columns = columns;
+		this.tileSize = (tileSize == AUTO) ? autoTileSize(rows, columns, Runtime.getRuntime().availableProcessors())
+				: tileSize;
+		this.tileRows = (rows + this.tileSize - 1) / this.tileSize;
+		this.tileColumns = (columns + this.tileSize - 1) / this.tileSize;
+	}
+
+	/**
+	 * @param rows
+	 *            the number of rows in the lattice
+	 * @param columns
+	 *            the number of columns in the lattice
+	 * @param processors
+	 *            the number of processors to spread the tiles across
+	 * @return the side of a square tile such that there are roughly four tiles per processor
+	 */
+	public static int autoTileSize(int rows, int columns, int processors) {
+		double cellsPerTile = ((double) rows * columns) / (processors * TILES_PER_PROCESSOR);
+
+		return Math.max(1, (int) Math.floor(Math.sqrt(cellsPerTile)));
+	}
+
+	/**
+	 * @return the number of tiles
+	 */
+	public int getNumberOfTiles() {
+		return tileRows * tileColumns;
+	}
+
+	/**
+	 * @param tile
+	 *            the index of the tile
+	 * @return the first row of the tile
+	 */
+	public int getRowStart(int tile) {
+		return (tile / tileColumns) * tileSize;
+	}
+
+	/**
+	 * @param tile
+	 *            the index of the tile
+	 * @return the row after the last row of the tile
+	 */
+	public int getRowEnd(int tile) {
+		return Math.min(rows, getRowStart(tile) + tileSize);
+	}
+
+	/**
+	 * @param tile
+	 *            the index of the tile
+	 * @return the first column of the tile
+	 */
+	public int getColumnStart(int tile) {
+		return (tile % tileColumns) * tileSize;
+	}
+
+	/**
+	 * @param tile
+	 *            the index of the tile
+	 * @return the column after the last column of the tile
+	 */
+	public int getColumnEnd(int tile) {
+		return Math.min(columns, getColumnStart(tile) + tileSize);
+	}
+
+	/**
+	 * @param tile
+	 *            the index of the tile
+	 * @return the number of cells in the tile
+	 */
+	public int getNumberOfCells(int tile) {
+		return (getRowEnd(tile) - getRowStart(tile)) * (getColumnEnd(tile) - getColumnStart(tile));
+	}
+
+	/**
+	 * @return the number of rows in the lattice
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return the number of columns in the lattice
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * @return the length of each side of a tile
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+}
@@ -123,6 +123,25 @@ public interface Population {
 	 */
 	public void setSelector(Selector selector);
 
+	/**
+	 * Waits for any evaluations still running in the background, so that their results are reflected in the
+	 * individuals and statistics before a run finishes.
+	 * 
+	 * @param generationStatistics
+	 *            the GenerationStatistics of the final generation, or null
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	default void awaitBackgroundEvaluations(GenerationStatistics generationStatistics) throws InterruptedException {
+	}
+
+	/**
+	 * Discards any state carried over from a previous run, such as evaluations still running in the background or
+	 * individuals remembered across generations. Called once at the start of every run.
+	 */
+	default void reset() {
+	}
+
 	@SuppressWarnings({ "unchecked" })
 	default BigDecimal calculateEntropy() {
 		if (!(this.getIndividuals().get(0) instanceof KeyedChromosome)) {
@@ -0,0 +1,338 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.KeyedChromosome;
+import com.ciphertool.genetics.util.Hashing;
+
+/**
+ * A locality-sensitive hashing index which finds the individuals most likely to be similar to a given individual
+ * without comparing every pair. Each KeyedChromosome is treated as the set of its key and gene pairs, and is
+ * summarized by a MinHash signature of bands * rows values. The signature is split into bands, and individuals whose
+ * signatures agree on every row of at least one band share a bucket and become candidate neighbors. Two individuals
+ * whose key and gene pairs have a Jaccard similarity of s become candidates with probability 1 - (1 - s^rows)^bands,
+ * so that more rows per band make the index more selective while more bands make it less likely to miss a close
+ * neighbor.
+ * 
+ * Buckets holding more than maxBucketSize individuals, which is typical of a converged population, contribute only a
+ * window of maxBucketSize of their members, so that the cost of a lookup stays bounded.
+ * 
+ * The index is a snapshot: it must be rebuilt once the indexed individuals change. It is not thread-safe while being
+ * built, but may be read concurrently afterwards.
+ */
+public class SimilarityIndex {
+	private static final long			GOLDEN_GAMMA	= 0x9e3779b97f4a7c15L;
+
+	private int							bands;
+	private int							rows;
+	private int							maxBucketSize	= 64;
+	private List<Chromosome>			indexed			= new ArrayList<Chromosome>();
+	private long[][]					signatures		= new long[0][];
+	private Map<Long, List<Integer>>	buckets			= new HashMap<Long, List<Integer>>();
+
+	/**
+	 * @param bands
+	 *            the number of bands the signature is split into
+	 * @param rows
+	 *            the number of signature values in each band
+	 */
+	public SimilarityIndex(int bands, int rows) {
+		if (bands <= 0 || rows <= 0) {
+			throw new IllegalArgumentException("Tried to create a SimilarityIndex with " + bands + " bands of " + rows
+					+ " rows, but both must be greater than zero.");
+		}
+
+		this.bands = bands;
+		this.rows = rows;
+	}
+
+	/**
+	 * Replaces the contents of this index with the given individuals, which are afterwards referred to by their
+	 * position in the List.
+	 * 
+	 * @param individuals
+	 *            the individuals to index
+	 */
+	public void build(List<Chromosome> individuals) {
+		this.indexed = new ArrayList<Chromosome>(individuals);
+		this.signatures = new long[this.indexed.size()][];
+		this.buckets = new HashMap<Long, List<Integer>>();
+
+		for (int i = 0; i < this.indexed.size(); i++) {
+			this.signatures[i] = signatureOf(this.indexed.get(i));
+
+			for (int band = 0; band < this.bands; band++) {
+				Long bandKey = bandKey(this.signatures[i], band);
+
+				List<Integer> bucket = this.buckets.get(bandKey);
+
+				if (bucket == null) {
+					bucket = new ArrayList<Integer>(2);
+					this.buckets.put(bandKey, bucket);
+				}
+
+				bucket.add(i);
+			}
+		}
+	}
+
+	/**
+	 * @param chromosome
+	 *            the Chromosome to summarize
+	 * @return the MinHash signature of the key and gene pairs of the Chromosome, or a signature of the whole
+	 *         Chromosome if it is not a KeyedChromosome
+	 */
+	@SuppressWarnings("unchecked")
+	public long[] signatureOf(Chromosome chromosome) {
+		long[] signature = new long[this.bands * this.rows];
+		Arrays.fill(signature, Long.MAX_VALUE);
+
+		if (chromosome == null) {
+			return signature;
+		}
+
+		if (!(chromosome instanceof KeyedChromosome)) {
+			addToSignature(signature, GenotypeIndex.contentHash(chromosome));
+
+			return signature;
+		}
+
+		for (Map.Entry<Object, Gene> entry : ((KeyedChromosome<Object>) chromosome).getGenes().entrySet()) {
+			addToSignature(signature, GenotypeIndex.entryHash(entry.getKey(), entry.getValue()));
+		}
+
+		return signature;
+	}
+
+	private static void addToSignature(long[] signature, long element) {
+		for (int i = 0; i < signature.length; i++) {
+			long value = Hashing.mix(element + (GOLDEN_GAMMA * (i + 1)));
+
+			if (value < signature[i]) {
+				signature[i] = value;
+			}
+		}
+	}
+
+	private long bandKey(long[] signature, int band) {
+		long key = Hashing.mix(GOLDEN_GAMMA * (band + 1));
+
+		for (int row = band * this.rows; row < (band + 1) * this.rows; row++) {
+			key = Hashing.mix(key ^ signature[row]);
+		}
+
+		return key;
+	}
+
+	/**
+	 * @param index
+	 *            the position of an indexed individual
+	 * @return the positions of the other indexed individuals sharing at least one bucket with it, in ascending order
+	 */
+	public int[] candidatesOf(int index) {
+		return candidates(this.signatures[index], index);
+	}
+
+	/**
+	 * @param chromosome
+	 *            a Chromosome, which need not be indexed
+	 * @return the positions of the indexed individuals sharing at least one bucket with it, in ascending order
+	 */
+	public int[] candidatesFor(Chromosome chromosome) {
+		return candidates(signatureOf(chromosome), -1);
+	}
+
+	private int[] candidates(long[] signature, int self) {
+		int[] found = new int[16];
+		int count = 0;
+
+		for (int band = 0; band < this.bands; band++) {
+			List<Integer> bucket = this.buckets.get(bandKey(signature, band));
+
+			if (bucket == null) {
+				continue;
+			}
+
+			int size = Math.min(bucket.size(), this.maxBucketSize);
+			int offset = 0;
+
+			if (bucket.size() > this.maxBucketSize) {
+				// Scan a window of the bucket which depends only on the individual, so that lookups are repeatable
+				offset = (int) ((Hashing.mix(self + (GOLDEN_GAMMA * (band + 1))) >>> 1) % bucket.size());
+			}
+
+			for (int i = 0; i < size; i++) {
+				int candidate = bucket.get((offset + i) % bucket.size());
+
+				if (candidate == self) {
+					continue;
+				}
+
+				if (count == found.length) {
+					found = Arrays.copyOf(found, count * 2);
+				}
+
+				found[count++] = candidate;
+			}
+		}
+
+		Arrays.sort(found, 0, count);
+
+		int distinct = 0;
+
+		for (int i = 0; i < count; i++) {
+			if (distinct == 0 || found[distinct - 1] != found[i]) {
+				found[distinct++] = found[i];
+			}
+		}
+
+		return Arrays.copyOf(found, distinct);
+	}
+
+	/**
+	 * @param chromosome
+	 *            a Chromosome, which need not be indexed
+	 * @return the position of the candidate neighbor which is most similar to the Chromosome according to
+	 *         {@link Chromosome#similarityTo(Chromosome)}, or -1 if it has no candidate neighbors
+	 */
+	public int nearest(Chromosome chromosome) {
+		int nearest = -1;
+		double highestSimilarity = -1.0;
+
+		for (int candidate : candidatesFor(chromosome)) {
+			if (this.indexed.get(candidate) == chromosome) {
+				continue;
+			}
+
+			double similarity = chromosome.similarityTo(this.indexed.get(candidate));
+
+			if (similarity > highestSimilarity) {
+				highestSimilarity = similarity;
+				nearest = candidate;
+			}
+		}
+
+		return nearest;
+	}
+
+	/**
+	 * @param first
+	 *            the position of an indexed individual
+	 * @param second
+	 *            the position of another indexed individual
+	 * @return the fraction of their signature values which agree, which estimates the Jaccard similarity of their key
+	 *         and gene pairs
+	 */
+	public double estimateSimilarity(int first, int second) {
+		long[] firstSignature = this.signatures[first];
+		long[] secondSignature = this.signatures[second];
+
+		int agreeing = 0;
+
+		for (int i = 0; i < firstSignature.length; i++) {
+			if (firstSignature[i] == secondSignature[i]) {
+				agreeing++;
+			}
+		}
+
+		return (double) agreeing / (double) firstSignature.length;
+	}
+
+	/**
+	 * Groups the indexed individuals by joining every pair of candidate neighbors whose estimated similarity is at
+	 * least the threshold.
+	 * 
+	 * @param threshold
+	 *            the least estimated similarity for two individuals to be joined
+	 * @return the cluster of each indexed individual, by position, where each cluster is identified by the lowest
+	 *         position among its members
+	 */
+	public int[] cluster(double threshold) {
+		int[] parents = new int[this.indexed.size()];
+
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = i;
+		}
+
+		for (int i = 0; i < parents.length; i++) {
+			for (int candidate : candidatesOf(i)) {
+				if (candidate > i && estimateSimilarity(i, candidate) >= threshold) {
+					int firstRoot = root(parents, i);
+					int secondRoot = root(parents, candidate);
+
+					parents[Math.max(firstRoot, secondRoot)] = Math.min(firstRoot, secondRoot);
+				}
+			}
+		}
+
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = root(parents, i);
+		}
+
+		return parents;
+	}
+
+	private static int root(int[] parents, int index) {
+		while (parents[index] != index) {
+			// Halve the path on the way up so that later lookups are shorter
+			parents[index] = parents[parents[index]];
+			index = parents[index];
+		}
+
+		return index;
+	}
+
+	/**
+	 * @param index
+	 *            the position of an indexed individual
+	 * @return the indexed individual
+	 */
+	public Chromosome get(int index) {
+		return this.indexed.get(index);
+	}
+
+	/**
+	 * @return the number of indexed individuals
+	 */
+	public int size() {
+		return this.indexed.size();
+	}
+
+	/**
+	 * @param maxBucketSize
+	 *            the maximum number of members of a single bucket to consider as candidate neighbors
+	 */
+	public void setMaxBucketSize(int maxBucketSize) {
+		if (maxBucketSize <= 0) {
+			throw new IllegalArgumentException("Tried to set a maxBucketSize of " + maxBucketSize
+					+ ", but SimilarityIndex requires a maxBucketSize greater than zero.");
+		}
+
+		this.maxBucketSize = maxBucketSize;
+	}
+}
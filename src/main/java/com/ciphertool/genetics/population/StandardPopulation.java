@@ -22,7 +22,11 @@ package com.ciphertool.genetics.population;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
@@ -37,10 +41,15 @@ import com.ciphertool.genetics.ChromosomePrinter;
 import com.ciphertool.genetics.algorithms.selection.modes.Selector;
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.fitness.BatchFitnessEvaluator;
+import com.ciphertool.genetics.fitness.EvaluationCascade;
+import com.ciphertool.genetics.fitness.EvaluationStage;
 import com.ciphertool.genetics.fitness.FitnessComparator;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.util.RandomSource;
+import com.ciphertool.genetics.util.RandomSourceAware;
 
-public class StandardPopulation implements Population {
+public class StandardPopulation implements Population, RandomSourceAware {
 	private Logger					log									= LoggerFactory.getLogger(getClass());
 	private Breeder					breeder;
 	private List<Chromosome>		individuals							= new ArrayList<Chromosome>();
@@ -58,6 +67,16 @@ public class StandardPopulation implements Population {
 	private boolean					stopRequested;
 	private int						targetSize;
 	private int						maxToPrint;
+	private RandomSource			randomSource						= new RandomSource();
+	private int						evaluationBatchSize;
+	private EvaluationScheduler		evaluationScheduler;
+	private GenotypeIndex			genotypeIndex;
+	private boolean					replaceDuplicates;
+	private CrowdingReplacement		crowdingReplacement;
+	private EvaluationCascade		evaluationCascade;
+	private TaskExecutor			majorEvaluationExecutor;
+	private List<PendingEvaluation>	pendingMajorEvaluations				= new ArrayList<PendingEvaluation>();
+	private HallOfFame				hallOfFame							= new HallOfFame(10);
 
 	public StandardPopulation() {
 	}
@@ -78,10 +97,11 @@ public class StandardPopulation implements Population {
 	public int breed() {
 		List<FutureTask<Chromosome>> futureTasks = new ArrayList<FutureTask<Chromosome>>();
 		FutureTask<Chromosome> futureTask = null;
+		long stream = this.randomSource.nextStream();
 
 		int individualsAdded = 0;
 		for (int i = this.individuals.size(); i < targetSize; i++) {
-			futureTask = new FutureTask<Chromosome>(new GeneratorTask());
+			futureTask = new FutureTask<Chromosome>(this.randomSource.bind(new GeneratorTask(), stream, i));
 			futureTasks.add(futureTask);
 
 			this.taskExecutor.execute(futureTask);
@@ -130,6 +150,19 @@ public class StandardPopulation implements Population {
 		}
 	}
 
+	/**
+	 * A major evaluation running in the background on a snapshot of an individual.
+	 */
+	private static class PendingEvaluation {
+		private Chromosome			snapshot;
+		private FutureTask<Void>	future;
+
+		public PendingEvaluation(Chromosome snapshot, FutureTask<Void> future) {
+			this.snapshot = snapshot;
+			this.future = future;
+		}
+	}
+
 	/**
 	 * This method executes all the fitness evaluations concurrently.
 	 * 
@@ -138,14 +171,49 @@ public class StandardPopulation implements Population {
 	 */
 	protected int doConcurrentFitnessEvaluations(FitnessEvaluator fitnessEvaluator, Integer top, Boolean force)
 			throws InterruptedException {
+		return doConcurrentFitnessEvaluations(fitnessEvaluator, top, force, null);
+	}
+
+	/**
+	 * This method executes all the fitness evaluations concurrently, recording evaluation latencies to the
+	 * GenerationStatistics when an EvaluationScheduler is in use.
+	 * 
+	 * @throws InterruptedException
+	 *             if stop is requested
+	 */
+	protected int doConcurrentFitnessEvaluations(FitnessEvaluator fitnessEvaluator, Integer top, Boolean force,
+			GenerationStatistics generationStatistics) throws InterruptedException {
+		int stop = (top == null || top <= 0) ? 0 : (this.individuals.size() - top);
+		Chromosome individual;
+
+		if (fitnessEvaluator instanceof BatchFitnessEvaluator || this.evaluationScheduler != null) {
+			List<Chromosome> chromosomesToEvaluate = new ArrayList<Chromosome>();
+
+			for (int i = this.individuals.size() - 1; i >= stop; i--) {
+				individual = this.individuals.get(i);
+
+				if (individual.isEvaluationNeeded() || (force != null && force)) {
+					chromosomesToEvaluate.add(individual);
+				}
+			}
+
+			if (fitnessEvaluator instanceof BatchFitnessEvaluator) {
+				doConcurrentBatchFitnessEvaluations((BatchFitnessEvaluator) fitnessEvaluator, chromosomesToEvaluate);
+			} else {
+				this.evaluationScheduler.evaluate(chromosomesToEvaluate, fitnessEvaluator, this.randomSource,
+						(generationStatistics == null) ? null : generationStatistics.getPerformanceStatistics(),
+						(force == null || !force));
+			}
+
+			return chromosomesToEvaluate.size();
+		}
+
 		List<FutureTask<Void>> futureTasks = new ArrayList<FutureTask<Void>>();
 		FutureTask<Void> futureTask = null;
+		long stream = this.randomSource.nextStream();
 
 		int evaluationCount = 0;
 
-		int stop = (top == null || top <= 0) ? 0 : (this.individuals.size() - top);
-		Chromosome individual;
-
 		for (int i = this.individuals.size() - 1; i >= stop; i--) {
 			individual = this.individuals.get(i);
 
@@ -154,7 +222,8 @@ public class StandardPopulation implements Population {
 			 */
 			if (individual.isEvaluationNeeded() || (force != null && force)) {
 				evaluationCount++;
-				futureTask = new FutureTask<Void>(new EvaluationTask(individual, fitnessEvaluator));
+				futureTask = new FutureTask<Void>(this.randomSource.bind(new EvaluationTask(individual,
+						fitnessEvaluator), stream, i));
 				futureTasks.add(futureTask);
 				this.taskExecutor.execute(futureTask);
 			}
@@ -177,13 +246,246 @@ public class StandardPopulation implements Population {
 		return evaluationCount;
 	}
 
+	/**
+	 * This method evaluates the given Chromosomes concurrently, whether or not they need evaluation.
+	 * 
+	 * @throws InterruptedException
+	 *             if stop is requested
+	 */
+	protected void doConcurrentFitnessEvaluations(FitnessEvaluator fitnessEvaluator, List<Chromosome> chromosomes)
+			throws InterruptedException {
+		if (fitnessEvaluator instanceof BatchFitnessEvaluator) {
+			doConcurrentBatchFitnessEvaluations((BatchFitnessEvaluator) fitnessEvaluator, chromosomes);
+
+			return;
+		}
+
+		List<FutureTask<Void>> futureTasks = new ArrayList<FutureTask<Void>>();
+		FutureTask<Void> futureTask = null;
+		long stream = this.randomSource.nextStream();
+
+		for (int i = 0; i < chromosomes.size(); i++) {
+			futureTask = new FutureTask<Void>(this.randomSource.bind(new EvaluationTask(chromosomes.get(i),
+					fitnessEvaluator), stream, i));
+			futureTasks.add(futureTask);
+			this.taskExecutor.execute(futureTask);
+		}
+
+		for (FutureTask<Void> future : futureTasks) {
+			if (stopRequested) {
+				throw new InterruptedException("Stop requested during concurrent fitness evaluations.");
+			}
+
+			try {
+				future.get();
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for EvaluationTask ", ie);
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for EvaluationTask ", ee);
+			}
+		}
+	}
+
+	/**
+	 * This method splits the Chromosomes into contiguous batches of evaluationBatchSize, and evaluates the batches
+	 * concurrently.
+	 * 
+	 * @throws InterruptedException
+	 *             if stop is requested
+	 */
+	protected void doConcurrentBatchFitnessEvaluations(BatchFitnessEvaluator fitnessEvaluator,
+			List<Chromosome> chromosomes) throws InterruptedException {
+		List<FutureTask<Void>> futureTasks = BatchEvaluation.start(this.taskExecutor, this.randomSource,
+				fitnessEvaluator, chromosomes, this.evaluationBatchSize);
+
+		for (FutureTask<Void> future : futureTasks) {
+			if (stopRequested) {
+				throw new InterruptedException("Stop requested during concurrent fitness evaluations.");
+			}
+
+			try {
+				future.get();
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for BatchEvaluationTask ", ie);
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for BatchEvaluationTask ", ee);
+			}
+		}
+	}
+
 	@Override
 	public Chromosome evaluateFitness(GenerationStatistics generationStatistics) throws InterruptedException {
-		generationStatistics.setNumberOfEvaluations(this.doConcurrentFitnessEvaluations(this.fitnessEvaluator, -1, false));
+		List<Chromosome[]> deferred = (this.genotypeIndex != null) ? deduplicate(generationStatistics) : null;
+
+		boolean evaluated = false;
+
+		try {
+			generationStatistics.setNumberOfEvaluations(this.doConcurrentFitnessEvaluations(this.fitnessEvaluator, -1,
+					false, generationStatistics));
+
+			evaluated = true;
+		} finally {
+			if (deferred != null) {
+				resolveDeferred(deferred, evaluated);
+			}
+		}
+
+		if (this.crowdingReplacement != null && !this.backup.isEmpty()) {
+			crowd();
+		}
+
+		if (!this.pendingMajorEvaluations.isEmpty()) {
+			int merged = mergeMajorEvaluations(false);
+
+			if (generationStatistics != null) {
+				generationStatistics.setNumberOfMajorEvaluations(generationStatistics.getNumberOfMajorEvaluations()
+						+ merged);
+			}
+		}
 
 		return updateFitness(generationStatistics);
 	}
 
+	/**
+	 * Replaces the offspring in the population with the survivors of crowding them against the previous generation,
+	 * which is taken from the backup.
+	 */
+	protected void crowd() {
+		Set<Chromosome> parents = Collections.newSetFromMap(new IdentityHashMap<Chromosome, Boolean>());
+		parents.addAll(this.backup);
+
+		List<Chromosome> offspring = new ArrayList<Chromosome>();
+
+		for (Chromosome individual : this.individuals) {
+			if (!parents.contains(individual)) {
+				offspring.add(individual);
+			}
+		}
+
+		if (offspring.isEmpty()) {
+			return;
+		}
+
+		List<Chromosome> survivors = this.crowdingReplacement.replace(this.backup, offspring);
+
+		clearIndividuals();
+
+		addAllIndividuals(survivors);
+	}
+
+	/**
+	 * Finds the individuals awaiting evaluation whose genotype duplicates that of another individual. If
+	 * replaceDuplicates is set, they are replaced with newly bred individuals. Otherwise, they are given the fitness of
+	 * an already evaluated duplicate, or are deferred until one duplicate among those awaiting evaluation has been
+	 * evaluated.
+	 * 
+	 * @return the deferred individuals, each paired with the duplicate to copy its fitness from once evaluated
+	 */
+	protected List<Chromosome[]> deduplicate(GenerationStatistics generationStatistics) throws InterruptedException {
+		// Individuals may have been mutated in place since they were indexed
+		for (Chromosome individual : this.individuals) {
+			if (individual.isEvaluationNeeded()) {
+				this.genotypeIndex.refresh(individual);
+			}
+		}
+
+		if (generationStatistics != null && !this.individuals.isEmpty()) {
+			generationStatistics.setDuplicateRatio(BigDecimal.valueOf((double) this.genotypeIndex.countDuplicates()
+					/ (double) this.individuals.size()));
+		}
+
+		List<Chromosome[]> deferred = new ArrayList<Chromosome[]>();
+		Set<Chromosome> deferredIndividuals = Collections.newSetFromMap(new IdentityHashMap<Chromosome, Boolean>());
+		long stream = this.randomSource.nextStream();
+		int replaced = 0;
+		int copied = 0;
+
+		for (int i = 0; i < this.individuals.size(); i++) {
+			if (stopRequested) {
+				throw new InterruptedException("Stop requested during deduplication");
+			}
+
+			Chromosome individual = this.individuals.get(i);
+
+			if (!individual.isEvaluationNeeded()) {
+				continue;
+			}
+
+			if (this.replaceDuplicates) {
+				if (this.genotypeIndex.findDuplicate(individual) != null) {
+					replaceIndividual(i, stream);
+
+					replaced++;
+				}
+
+				continue;
+			}
+
+			Chromosome evaluated = this.genotypeIndex.findDuplicate(individual, false, deferredIndividuals);
+
+			if (evaluated != null) {
+				individual.setFitness(evaluated.getFitness());
+				individual.setEvaluationNeeded(false);
+
+				copied++;
+
+				continue;
+			}
+
+			Chromosome pending = this.genotypeIndex.findDuplicate(individual, true, deferredIndividuals);
+
+			if (pending != null) {
+				individual.setEvaluationNeeded(false);
+				deferredIndividuals.add(individual);
+				deferred.add(new Chromosome[] { individual, pending });
+			}
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Duplicates replaced: " + replaced + ", fitness copied: " + copied + ", deferred: "
+					+ deferred.size());
+		}
+
+		return deferred;
+	}
+
+	/**
+	 * Gives each deferred individual the fitness of the duplicate it was deferred to. If the duplicate was not
+	 * evaluated after all, the deferred individual is flagged for evaluation again rather than given a stale fitness.
+	 * 
+	 * @param deferred
+	 *            the deferred individuals, each paired with the duplicate to copy its fitness from
+	 * @param evaluated
+	 *            whether the evaluations completed
+	 */
+	protected void resolveDeferred(List<Chromosome[]> deferred, boolean evaluated) {
+		for (Chromosome[] duplicate : deferred) {
+			if (evaluated && !duplicate[1].isEvaluationNeeded()) {
+				duplicate[0].setFitness(duplicate[1].getFitness());
+			} else {
+				duplicate[0].setEvaluationNeeded(true);
+			}
+		}
+	}
+
+	private void replaceIndividual(int index, long stream) throws InterruptedException {
+		Chromosome replacement;
+
+		try {
+			replacement = this.randomSource.bind(new GeneratorTask(), stream, index).call();
+		} catch (Exception e) {
+			throw new IllegalStateException("Unable to breed a replacement for a duplicate individual", e);
+		}
+
+		this.genotypeIndex.remove(this.individuals.get(index));
+
+		this.individuals.set(index, replacement);
+
+		replacement.setPopulation(this);
+
+		this.genotypeIndex.add(replacement);
+	}
+
 	@Override
 	public Chromosome performMajorEvaluation(GenerationStatistics generationStatistics, Double percentageToEvaluate)
 			throws InterruptedException {
@@ -191,11 +493,176 @@ public class StandardPopulation implements Population {
 
 		int top = Math.round((int) (this.size() * percentageToEvaluate));
 
+		if (this.majorEvaluationExecutor != null && this.evaluationCascade == null) {
+			// Add to, rather than overwrite, any merged by evaluateFitness earlier in this generation
+			generationStatistics.setNumberOfMajorEvaluations(generationStatistics.getNumberOfMajorEvaluations()
+					+ mergeMajorEvaluations(false));
+
+			// Only one batch is in flight at a time, so that a slow evaluator cannot fall ever further behind
+			if (this.pendingMajorEvaluations.isEmpty()) {
+				snapshotMajorEvaluations(top);
+			}
+
+			return updateFitness(generationStatistics);
+		}
+
+		if (this.evaluationCascade != null) {
+			List<Chromosome> fittest = new ArrayList<Chromosome>(this.individuals.subList(this.individuals.size()
+					- top, this.individuals.size()));
+
+			generationStatistics.setNumberOfMajorEvaluations(this.evaluationCascade.evaluate(fittest, new EvaluationCascade.Evaluations() {
+				@Override
+				public void evaluate(FitnessEvaluator fitnessEvaluator, List<Chromosome> chromosomes)
+						throws InterruptedException {
+					doConcurrentFitnessEvaluations(fitnessEvaluator, chromosomes);
+				}
+			}, generationStatistics));
+
+			return updateFitness(generationStatistics);
+		}
+
 		generationStatistics.setNumberOfMajorEvaluations(this.doConcurrentFitnessEvaluations(this.majorFitnessEvaluator, top, true));
 
 		return updateFitness(generationStatistics);
 	}
 
+	/**
+	 * Starts major evaluations of clones of the top individuals on the majorEvaluationExecutor, so that evolution can
+	 * go on while they run. The individuals must be sorted.
+	 */
+	protected void snapshotMajorEvaluations(int top) {
+		long stream = this.randomSource.nextStream();
+
+		for (int i = this.individuals.size() - 1; i >= Math.max(0, this.individuals.size() - top); i--) {
+			Chromosome snapshot = this.individuals.get(i).clone();
+
+			FutureTask<Void> futureTask = new FutureTask<Void>(this.randomSource.bind(new EvaluationTask(snapshot,
+					this.majorFitnessEvaluator), stream, i));
+
+			this.pendingMajorEvaluations.add(new PendingEvaluation(snapshot, futureTask));
+
+			this.majorEvaluationExecutor.execute(futureTask);
+		}
+	}
+
+	/**
+	 * Merges the results of background major evaluations into every evaluated individual whose genes equal those of
+	 * the snapshot, whether or not it is the individual the snapshot was taken from, since a clone or a recycled
+	 * Chromosome may have taken its place in the meantime. A result which no individual matches anymore is offered to
+	 * the hall of fame instead.
+	 * 
+	 * @param wait
+	 *            whether to wait for evaluations still running, rather than leaving them for a later merge
+	 * @return the number of results merged
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	protected int mergeMajorEvaluations(boolean wait) throws InterruptedException {
+		Map<Long, List<Chromosome>> byGenotype = null;
+		List<PendingEvaluation> stillPending = new ArrayList<PendingEvaluation>();
+		int merged = 0;
+
+		for (PendingEvaluation pending : this.pendingMajorEvaluations) {
+			if (!wait && !pending.future.isDone()) {
+				stillPending.add(pending);
+
+				continue;
+			}
+
+			try {
+				pending.future.get();
+			} catch (ExecutionException ee) {
+				log.error("Caught ExecutionException while waiting for EvaluationTask ", ee);
+
+				continue;
+			}
+
+			merged++;
+
+			if (byGenotype == null) {
+				byGenotype = groupByGenotype();
+			}
+
+			List<Chromosome> matches = byGenotype.get(GenotypeIndex.contentHash(pending.snapshot));
+			boolean matched = false;
+
+			if (matches != null) {
+				for (Chromosome match : matches) {
+					if (!match.isEvaluationNeeded() && match.equals(pending.snapshot)) {
+						match.setFitness(pending.snapshot.getFitness());
+
+						matched = true;
+					}
+				}
+			}
+
+			if (!matched) {
+				this.hallOfFame.add(pending.snapshot);
+			}
+		}
+
+		this.pendingMajorEvaluations = stillPending;
+
+		return merged;
+	}
+
+	private Map<Long, List<Chromosome>> groupByGenotype() {
+		Map<Long, List<Chromosome>> byGenotype = new HashMap<Long, List<Chromosome>>();
+
+		for (Chromosome individual : this.individuals) {
+			Long hash = GenotypeIndex.contentHash(individual);
+			List<Chromosome> group = byGenotype.get(hash);
+
+			if (group == null) {
+				group = new ArrayList<Chromosome>(1);
+				byGenotype.put(hash, group);
+			}
+
+			group.add(individual);
+		}
+
+		return byGenotype;
+	}
+
+	/**
+	 * Waits for all background major evaluations, and merges them in.
+	 * 
+	 * @param generationStatistics
+	 *            the GenerationStatistics to record the merged evaluations to, or null
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public void awaitMajorEvaluations(GenerationStatistics generationStatistics) throws InterruptedException {
+		if (this.pendingMajorEvaluations.isEmpty()) {
+			return;
+		}
+
+		int merged = mergeMajorEvaluations(true);
+
+		if (generationStatistics != null) {
+			generationStatistics.setNumberOfMajorEvaluations(generationStatistics.getNumberOfMajorEvaluations()
+					+ merged);
+		}
+
+		updateFitness(generationStatistics);
+	}
+
+	@Override
+	public void reset() {
+		for (PendingEvaluation pending : this.pendingMajorEvaluations) {
+			pending.future.cancel(true);
+		}
+
+		this.pendingMajorEvaluations = new ArrayList<PendingEvaluation>();
+
+		this.hallOfFame.clear();
+	}
+
+	@Override
+	public void awaitBackgroundEvaluations(GenerationStatistics generationStatistics) throws InterruptedException {
+		awaitMajorEvaluations(generationStatistics);
+	}
+
 	protected Chromosome updateFitness(GenerationStatistics generationStatistics) {
 		this.totalFitness = BigDecimal.ZERO;
 
@@ -260,6 +727,10 @@ public class StandardPopulation implements Population {
 
 		this.totalFitness = this.totalFitness.subtract(this.individuals.get(indexToRemove).getFitness());
 
+		if (this.genotypeIndex != null) {
+			this.genotypeIndex.remove(this.individuals.get(indexToRemove));
+		}
+
 		return this.individuals.remove(indexToRemove);
 	}
 
@@ -288,6 +759,10 @@ public class StandardPopulation implements Population {
 		this.individuals.clear();
 
 		this.totalFitness = BigDecimal.ZERO;
+
+		if (this.genotypeIndex != null) {
+			this.genotypeIndex.clear();
+		}
 	}
 
 	public void addAllIndividuals(List<Chromosome> individuals) {
@@ -304,6 +779,10 @@ public class StandardPopulation implements Population {
 
 		individual.setPopulation(this);
 
+		if (this.genotypeIndex != null) {
+			this.genotypeIndex.add(individual);
+		}
+
 		this.totalFitness = this.totalFitness.add(individual.getFitness() == null ? BigDecimal.ZERO : individual.getFitness());
 
 		return individual.isEvaluationNeeded();
@@ -359,6 +838,12 @@ public class StandardPopulation implements Population {
 		this.breeder.setGeneticStructure(obj);
 
 		this.majorFitnessEvaluator.setGeneticStructure(obj);
+
+		if (this.evaluationCascade != null) {
+			for (EvaluationStage stage : this.evaluationCascade.getStages()) {
+				stage.getFitnessEvaluator().setGeneticStructure(obj);
+			}
+		}
 	}
 
 	/**
@@ -372,11 +857,24 @@ public class StandardPopulation implements Population {
 	@Override
 	public void setFitnessEvaluator(FitnessEvaluator fitnessEvaluator) {
 		this.fitnessEvaluator = fitnessEvaluator;
+
+		warnIfNotScheduled(fitnessEvaluator);
 	}
 
 	@Override
 	public void setMajorFitnessEvaluator(FitnessEvaluator majorFitnessEvaluator) {
 		this.majorFitnessEvaluator = majorFitnessEvaluator;
+
+		warnIfNotScheduled(majorFitnessEvaluator);
+	}
+
+	// An EvaluationScheduler does not apply to a BatchFitnessEvaluator, whose evaluations are batched instead
+	private void warnIfNotScheduled(FitnessEvaluator fitnessEvaluator) {
+		if (this.evaluationScheduler != null && fitnessEvaluator instanceof BatchFitnessEvaluator) {
+			log.warn("The EvaluationScheduler will not be used for " + fitnessEvaluator.getClass().getSimpleName()
+					+ ", since it is a BatchFitnessEvaluator.  Its evaluations will be split into batches of "
+					+ "evaluationBatchSize instead, without timeouts.");
+		}
 	}
 
 	/**
@@ -397,6 +895,107 @@ public class StandardPopulation implements Population {
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	@Override
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
+	/**
+	 * @param evaluationBatchSize
+	 *            the number of Chromosomes handed to a BatchFitnessEvaluator per task, or zero for
+	 *            BatchEvaluation.DEFAULT_BATCH_SIZE
+	 */
+	public void setEvaluationBatchSize(int evaluationBatchSize) {
+		this.evaluationBatchSize = evaluationBatchSize;
+	}
+
+	/**
+	 * @param evaluationScheduler
+	 *            the evaluationScheduler to set, or null to submit one task per evaluation
+	 */
+	public void setEvaluationScheduler(EvaluationScheduler evaluationScheduler) {
+		this.evaluationScheduler = evaluationScheduler;
+
+		warnIfNotScheduled(this.fitnessEvaluator);
+		warnIfNotScheduled(this.majorFitnessEvaluator);
+	}
+
+	/**
+	 * @param deduplicate
+	 *            whether to index individuals by genotype, so that duplicates are not evaluated separately
+	 */
+	public void setDeduplicate(boolean deduplicate) {
+		if (!deduplicate) {
+			this.genotypeIndex = null;
+
+			return;
+		}
+
+		if (this.genotypeIndex == null) {
+			this.genotypeIndex = new GenotypeIndex();
+
+			for (Chromosome individual : this.individuals) {
+				this.genotypeIndex.add(individual);
+			}
+		}
+	}
+
+	/**
+	 * @param replaceDuplicates
+	 *            whether duplicates awaiting evaluation are replaced with newly bred individuals, rather than given the
+	 *            fitness of the individual they duplicate, when deduplicating
+	 */
+	public void setReplaceDuplicates(boolean replaceDuplicates) {
+		this.replaceDuplicates = replaceDuplicates;
+	}
+
+	/**
+	 * @param crowdingReplacement
+	 *            the CrowdingReplacement which decides which offspring survive against the previous generation once
+	 *            evaluated, or null to keep all offspring
+	 */
+	public void setCrowdingReplacement(CrowdingReplacement crowdingReplacement) {
+		this.crowdingReplacement = crowdingReplacement;
+	}
+
+	/**
+	 * @param evaluationCascade
+	 *            the EvaluationCascade which replaces the majorFitnessEvaluator in major evaluations, or null to use the
+	 *            majorFitnessEvaluator
+	 */
+	public void setEvaluationCascade(EvaluationCascade evaluationCascade) {
+		this.evaluationCascade = evaluationCascade;
+	}
+
+	/**
+	 * @param majorEvaluationExecutor
+	 *            the TaskExecutor on which major evaluations run in the background on snapshots of the top
+	 *            individuals, or null to perform them synchronously
+	 */
+	public void setMajorEvaluationExecutor(TaskExecutor majorEvaluationExecutor) {
+		this.majorEvaluationExecutor = majorEvaluationExecutor;
+	}
+
+	/**
+	 * @return the HallOfFame holding the evaluated snapshots whose individuals left the population before their major
+	 *         evaluation finished
+	 */
+	public HallOfFame getHallOfFame() {
+		return hallOfFame;
+	}
+
+	/**
+	 * @param hallOfFame
+	 *            the hallOfFame to set
+	 */
+	public void setHallOfFame(HallOfFame hallOfFame) {
+		this.hallOfFame = hallOfFame;
+	}
+
 	@Override
 	public void setSelector(Selector selector) {
 		this.selector = selector;
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import com.ciphertool.genetics.entities.statistics.PerformanceStatistics;
+import com.ciphertool.genetics.population.ChromosomePool;
+
+/**
+ * Measures the garbage collection, and the Chromosome allocation and recycling, which happen between its creation and
+ * a call to {@link #recordTo(PerformanceStatistics)}, so that they can be reported per generation. Garbage collection
+ * is counted for the whole JVM, so it includes any other work running at the same time.
+ */
+public class AllocationMeter {
+	private ChromosomePool	chromosomePool;
+	private long			startCollections;
+	private long			startCollectionMillis;
+	private long			startAllocated;
+	private long			startRecycled;
+
+	/**
+	 * @param chromosomePool
+	 *            the ChromosomePool whose copies to count, or null if there is none
+	 */
+	public AllocationMeter(ChromosomePool chromosomePool) {
+		this.chromosomePool = chromosomePool;
+
+		for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			// Either is -1 if the collector does not report it
+			this.startCollections += Math.max(0L, garbageCollector.getCollectionCount());
+			this.startCollectionMillis += Math.max(0L, garbageCollector.getCollectionTime());
+		}
+
+		if (chromosomePool != null) {
+			this.startAllocated = chromosomePool.getAllocated();
+			this.startRecycled = chromosomePool.getRecycled();
+		}
+	}
+
+	/**
+	 * @param performanceStatistics
+	 *            the PerformanceStatistics to record what happened since this AllocationMeter was created to
+	 */
+	public void recordTo(PerformanceStatistics performanceStatistics) {
+		long collections = 0L;
+		long collectionMillis = 0L;
+
+		for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			collections += Math.max(0L, garbageCollector.getCollectionCount());
+			collectionMillis += Math.max(0L, garbageCollector.getCollectionTime());
+		}
+
+		performanceStatistics.setGarbageCollections(collections - this.startCollections);
+		performanceStatistics.setGarbageCollectionMillis(collectionMillis - this.startCollectionMillis);
+
+		if (this.chromosomePool != null) {
+			performanceStatistics.setChromosomesAllocated(this.chromosomePool.getAllocated() - this.startAllocated);
+			performanceStatistics.setChromosomesRecycled(this.chromosomePool.getRecycled() - this.startRecycled);
+		}
+	}
+}
@@ -19,16 +19,80 @@
 
 package com.ciphertool.genetics.util;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 public class Coin {
-	public static final Boolean	HEADS	= true;
-	public static final Boolean	TAILS	= false;
+	public static final Boolean	HEADS			= true;
+	public static final Boolean	TAILS			= false;
+
+	/**
+	 * The number of binary digits to which the probability of a biased mask is rounded, each of which costs one random
+	 * long per 64 flips.
+	 */
+	public static final int		BIAS_PRECISION	= 16;
+
+	private RandomSource		randomSource	= new RandomSource();
 
 	/**
 	 * @return a random boolean representing the result a coin flip
 	 */
 	public Boolean flip() {
-		return ((int) (ThreadLocalRandom.current().nextDouble() * 2)) == 0;
+		return ((int) (randomSource.nextDouble() * 2)) == 0;
+	}
+
+	/**
+	 * Flips 64 coins at once, from a single random long rather than one draw per flip.
+	 * 
+	 * @return a mask whose bits are each set with probability one half, a set bit representing heads
+	 */
+	public long flipMask() {
+		return randomSource.nextLong();
+	}
+
+	/**
+	 * Flips 64 biased coins at once. The probability is rounded to {@link #BIAS_PRECISION} binary digits, and the mask
+	 * is built from the least significant digit up: every step combines the mask so far with a fresh fair mask, by OR
+	 * for a one digit and by AND for a zero digit, which halves the probability of a set bit and then adds one half if
+	 * the digit is one. Trailing zero digits are skipped since they leave an empty mask empty.
+	 * 
+	 * @param headsProbability
+	 *            the probability that any one bit is set
+	 * @return a mask whose bits are each set with approximately the given probability
+	 */
+	public long flipMask(double headsProbability) {
+		long digits = Math.round(headsProbability * (1L << BIAS_PRECISION));
+
+		if (digits <= 0) {
+			return 0L;
+		}
+
+		if (digits >= (1L << BIAS_PRECISION)) {
+			return -1L;
+		}
+
+		long mask = 0L;
+
+		for (int i = Long.numberOfTrailingZeros(digits); i < BIAS_PRECISION; i++) {
+			mask = ((digits >>> i) & 1L) == 1L ? (mask | randomSource.nextLong()) : (mask & randomSource.nextLong());
+		}
+
+		return mask;
+	}
+
+	/**
+	 * @param mask
+	 *            a mask returned by {@link #flipMask()} or {@link #flipMask(double)}
+	 * @param slot
+	 *            the slot of the flip within its mask, of which only the lowest six bits are used
+	 * @return whether the flip in that slot came up heads
+	 */
+	public static boolean isHeads(long mask, int slot) {
+		return ((mask >>> slot) & 1L) == 1L;
+	}
+
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
 	}
 }
@@ -0,0 +1,94 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+/**
+ * Draws a number of distinct indices uniformly at random, as needed to choose which Genes of a Chromosome to mutate.
+ * 
+ * This is a partial Fisher-Yates shuffle over an identity permutation which each thread keeps and reuses. Only the
+ * first count positions are shuffled, and the swaps are undone afterwards so that the permutation is the identity
+ * again for the next call, so a call costs O(count) however large the bound is, apart from growing the permutation the
+ * first time a thread sees a larger bound.
+ */
+public class DistinctIndexSampler {
+	private static final ThreadLocal<int[]>	permutation	= new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[0];
+		}
+	};
+
+	private DistinctIndexSampler() {
+		// Not meant to be instantiated
+	}
+
+	/**
+	 * @param randomSource
+	 *            the RandomSource to draw from
+	 * @param bound
+	 *            the upper bound (exclusive) of the indices
+	 * @param count
+	 *            the number of indices to draw, which must be between zero and bound
+	 * @return count distinct indices between zero (inclusive) and bound (exclusive), in the order they were drawn
+	 */
+	public static int[] sample(RandomSource randomSource, int bound, int count) {
+		if (count < 0 || count > bound) {
+			throw new IllegalArgumentException("Tried to sample " + count + " distinct indices below " + bound
+					+ ", but the count must be between zero and the bound.");
+		}
+
+		int[] identity = permutation.get();
+
+		if (identity.length < bound) {
+			identity = new int[bound];
+
+			for (int i = 0; i < bound; i++) {
+				identity[i] = i;
+			}
+
+			permutation.set(identity);
+		}
+
+		int[] swappedWith = new int[count];
+		int[] sample = new int[count];
+
+		for (int i = 0; i < count; i++) {
+			int j = i + randomSource.nextInt(bound - i);
+
+			swap(identity, i, j);
+
+			swappedWith[i] = j;
+			sample[i] = identity[i];
+		}
+
+		// Undo the swaps in reverse so that the permutation is the identity again
+		for (int i = count - 1; i >= 0; i--) {
+			swap(identity, i, swappedWith[i]);
+		}
+
+		return sample;
+	}
+
+	private static void swap(int[] values, int i, int j) {
+		int temp = values[i];
+		values[i] = values[j];
+		values[j] = temp;
+	}
+}
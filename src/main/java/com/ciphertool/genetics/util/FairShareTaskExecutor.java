@@ -0,0 +1,176 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * A fixed pool of worker threads shared by several clients, such as concurrent runs of a genetic algorithm, each of
+ * which is handed its own {@link Share}. Every Share queues its own tasks, and the workers take one task at a time from
+ * each Share with pending tasks in turn, so that a client submitting thousands of tasks at once cannot starve the
+ * others, and the clients together never occupy more than the configured number of threads.
+ */
+public class FairShareTaskExecutor implements DisposableBean {
+	private static Logger		log		= LoggerFactory.getLogger(FairShareTaskExecutor.class);
+
+	private int					threads	= Runtime.getRuntime().availableProcessors();
+	private final Object		lock	= new Object();
+	private ArrayDeque<Share>	ready	= new ArrayDeque<Share>();
+	private List<Thread>		workers	= new ArrayList<Thread>();
+	private boolean				shutdown;
+
+	/**
+	 * The TaskExecutor handed to one client, whose tasks are queued separately from those of the other clients.
+	 */
+	public class Share implements TaskExecutor {
+		private String					name;
+		private ArrayDeque<Runnable>	tasks	= new ArrayDeque<Runnable>();
+		private boolean					scheduled;
+
+		private Share(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			synchronized (lock) {
+				if (shutdown) {
+					throw new IllegalStateException("Tried to execute a task for " + name
+							+ ", but the FairShareTaskExecutor has been shut down.");
+				}
+
+				startWorkers();
+
+				tasks.addLast(task);
+
+				if (!scheduled) {
+					scheduled = true;
+
+					ready.addLast(this);
+				}
+
+				lock.notify();
+			}
+		}
+
+		/**
+		 * @return the number of tasks of this Share waiting to run
+		 */
+		public int getPendingTasks() {
+			synchronized (lock) {
+				return tasks.size();
+			}
+		}
+	}
+
+	/**
+	 * @param name
+	 *            the name of the client, used in messages
+	 * @return a new Share of the worker threads
+	 */
+	public Share newShare(String name) {
+		return new Share(name);
+	}
+
+	private void startWorkers() {
+		if (!this.workers.isEmpty()) {
+			return;
+		}
+
+		for (int i = 0; i < this.threads; i++) {
+			Thread worker = new Thread(new Worker(), "genie-fair-share-" + (i + 1));
+			worker.setDaemon(true);
+			worker.start();
+
+			this.workers.add(worker);
+		}
+	}
+
+	private class Worker implements Runnable {
+		@Override
+		public void run() {
+			while (true) {
+				Runnable task;
+
+				synchronized (lock) {
+					while (ready.isEmpty() && !shutdown) {
+						try {
+							lock.wait();
+						} catch (InterruptedException ie) {
+							return;
+						}
+					}
+
+					if (ready.isEmpty()) {
+						return;
+					}
+
+					// Take one task from the Share at the head, and send it to the back if it has more
+					Share share = ready.removeFirst();
+					task = share.tasks.removeFirst();
+
+					if (share.tasks.isEmpty()) {
+						share.scheduled = false;
+					} else {
+						ready.addLast(share);
+					}
+				}
+
+				try {
+					task.run();
+				} catch (RuntimeException re) {
+					log.error("Caught RuntimeException while running task ", re);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Lets the workers finish the tasks already queued, and then stop.
+	 */
+	@Override
+	public void destroy() {
+		synchronized (this.lock) {
+			this.shutdown = true;
+
+			this.lock.notifyAll();
+		}
+	}
+
+	/**
+	 * @param threads
+	 *            the number of worker threads, which must be set before the first task is executed
+	 */
+	public void setThreads(int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("Tried to set a number of threads of " + threads
+					+ ", but FairShareTaskExecutor requires at least one thread.");
+		}
+
+		this.threads = threads;
+	}
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+/**
+ * Hashing helpers shared by the hashes and indexes which need well-mixed 64-bit keys.
+ */
+public final class Hashing {
+	private Hashing() {
+	}
+
+	/**
+	 * The SplitMix64 finalizer, which spreads neighboring inputs across the whole range of longs.
+	 * 
+	 * @param z
+	 *            the value to mix
+	 * @return the mixed value
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+
+		return z ^ (z >>> 31);
+	}
+}
@@ -20,9 +20,10 @@
 package com.ciphertool.genetics.util;
 
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class RandomListElementSelector {
+	private RandomSource randomSource = new RandomSource();
+
 	/**
 	 * @param list
 	 *            the List of Objects to select from
@@ -30,6 +31,14 @@ public class RandomListElementSelector {
 	 * @return a random element from the supplied List.
 	 */
 	public Integer selectRandomListElement(List<? extends Object> list) {
-		return (int) (ThreadLocalRandom.current().nextDouble() * list.size());
+		return (int) (randomSource.nextDouble() * list.size());
+	}
+
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
 	}
 }
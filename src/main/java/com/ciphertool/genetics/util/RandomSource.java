@@ -0,0 +1,179 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The source of randomness shared by the genetic operators.
+ * 
+ * When no seed is set, every draw is delegated to ThreadLocalRandom. When a seed is set, each concurrent task is bound
+ * to its own SplittableRandom, which is derived only from the seed, the stream the task belongs to (one stream per
+ * concurrent phase, requested in a fixed order by the coordinating thread) and the index of the task within that
+ * stream. Draws therefore do not depend on which thread happens to run a task, so a given seed reproduces a run
+ * bit-for-bit regardless of the size of the thread pool.
+ */
+public class RandomSource {
+	private static final long							GOLDEN_GAMMA	= 0x9e3779b97f4a7c15L;
+
+	private static final ThreadLocal<SplittableRandom>	boundRandom		= new ThreadLocal<SplittableRandom>();
+
+	private Long										seed;
+	private AtomicLong									streamCount		= new AtomicLong(0);
+
+	/**
+	 * A task which draws from its own SplittableRandom for the duration of the call.
+	 */
+	private static class BoundTask<T> implements Callable<T> {
+		private Callable<T>			task;
+		private SplittableRandom	random;
+
+		public BoundTask(Callable<T> task, SplittableRandom random) {
+			this.task = task;
+			this.random = random;
+		}
+
+		@Override
+		public T call() throws Exception {
+			SplittableRandom previous = boundRandom.get();
+			boundRandom.set(random);
+
+			try {
+				return task.call();
+			} finally {
+				if (previous == null) {
+					boundRandom.remove();
+				} else {
+					boundRandom.set(previous);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Wraps a task so that all draws made through any RandomSource while it runs come from a stream determined by the
+	 * seed, the stream and the index. If this RandomSource is not seeded, the task is returned unchanged.
+	 * 
+	 * @param task
+	 *            the task to wrap
+	 * @param stream
+	 *            the stream the task belongs to, as returned by {@link #nextStream()}
+	 * @param index
+	 *            the index of the task within the stream
+	 * @return the wrapped task
+	 */
+	public <T> Callable<T> bind(Callable<T> task, long stream, long index) {
+		if (this.seed == null) {
+			return task;
+		}
+
+		long streamSeed = Hashing.mix(this.seed + GOLDEN_GAMMA * (stream + 1));
+
+		return new BoundTask<T>(task, new SplittableRandom(Hashing.mix(streamSeed + GOLDEN_GAMMA * (index + 1))));
+	}
+
+	/**
+	 * Must only be called by the thread coordinating the concurrent tasks, so that streams are handed out in the same
+	 * order on every run.
+	 * 
+	 * @return the next stream identifier
+	 */
+	public long nextStream() {
+		return this.streamCount.getAndIncrement();
+	}
+
+	/**
+	 * Restarts the stream identifiers so that a re-run with the same seed produces the same streams.
+	 */
+	public void reset() {
+		this.streamCount.set(0);
+	}
+
+	/**
+	 * @return a random double between 0.0 (inclusive) and 1.0 (exclusive)
+	 */
+	public double nextDouble() {
+		SplittableRandom random = boundRandom.get();
+
+		return (random != null) ? random.nextDouble() : ThreadLocalRandom.current().nextDouble();
+	}
+
+	/**
+	 * @param bound
+	 *            the upper bound (exclusive), which must be positive
+	 * @return a random int between zero (inclusive) and bound (exclusive)
+	 */
+	public int nextInt(int bound) {
+		SplittableRandom random = boundRandom.get();
+
+		return (random != null) ? random.nextInt(bound) : ThreadLocalRandom.current().nextInt(bound);
+	}
+
+	/**
+	 * @param origin
+	 *            the least value returned
+	 * @param bound
+	 *            the upper bound (exclusive)
+	 * @return a random int between origin (inclusive) and bound (exclusive)
+	 */
+	public int nextInt(int origin, int bound) {
+		SplittableRandom random = boundRandom.get();
+
+		return (random != null) ? random.nextInt(origin, bound) : ThreadLocalRandom.current().nextInt(origin, bound);
+	}
+
+	/**
+	 * @return a random long
+	 */
+	public long nextLong() {
+		SplittableRandom random = boundRandom.get();
+
+		return (random != null) ? random.nextLong() : ThreadLocalRandom.current().nextLong();
+	}
+
+	/**
+	 * @return a random boolean
+	 */
+	public boolean nextBoolean() {
+		SplittableRandom random = boundRandom.get();
+
+		return (random != null) ? random.nextBoolean() : ThreadLocalRandom.current().nextBoolean();
+	}
+
+	/**
+	 * @return whether this RandomSource has been seeded
+	 */
+	public boolean isSeeded() {
+		return this.seed != null;
+	}
+
+	/**
+	 * @param seed
+	 *            the seed to set, or null to draw from ThreadLocalRandom
+	 */
+	public void setSeed(Long seed) {
+		this.seed = seed;
+
+		reset();
+	}
+}
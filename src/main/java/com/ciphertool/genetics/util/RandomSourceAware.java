@@ -0,0 +1,33 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+/**
+ * A component which draws from a RandomSource. When the RandomSource of a genetic algorithm is seeded, the algorithm
+ * hands it to its Population, Selector, CrossoverAlgorithm and MutationAlgorithm through this interface when it is
+ * initialized, so that seeding the algorithm alone seeds the whole run.
+ */
+public interface RandomSourceAware {
+	/**
+	 * @param randomSource
+	 *            the randomSource to set
+	 */
+	public void setRandomSource(RandomSource randomSource);
+}
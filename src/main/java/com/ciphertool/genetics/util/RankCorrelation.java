@@ -0,0 +1,111 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Rank statistics for comparing how two scoring functions order the same items.
+ */
+public class RankCorrelation {
+	private RankCorrelation() {
+		// Not meant to be instantiated
+	}
+
+	/**
+	 * @param first
+	 *            the scores of the items by the first function
+	 * @param second
+	 *            the scores of the same items by the second function
+	 * @return the Spearman rank correlation of the two, between -1.0 and 1.0, where tied scores share the average of
+	 *         their ranks, or null if there are fewer than two items or either function scores every item the same
+	 */
+	public static Double spearman(double[] first, double[] second) {
+		if (first.length != second.length) {
+			throw new IllegalArgumentException("Tried to correlate " + first.length + " scores with " + second.length
+					+ " scores, but the number of scores must be equal.");
+		}
+
+		if (first.length < 2) {
+			return null;
+		}
+
+		double[] firstRanks = ranks(first);
+		double[] secondRanks = ranks(second);
+
+		// With average ranks for ties, Spearman's rho is the Pearson correlation of the ranks
+		double mean = (first.length + 1) / 2.0;
+		double covariance = 0.0;
+		double firstVariance = 0.0;
+		double secondVariance = 0.0;
+
+		for (int i = 0; i < first.length; i++) {
+			double firstDeviation = firstRanks[i] - mean;
+			double secondDeviation = secondRanks[i] - mean;
+
+			covariance += firstDeviation * secondDeviation;
+			firstVariance += firstDeviation * firstDeviation;
+			secondVariance += secondDeviation * secondDeviation;
+		}
+
+		if (firstVariance == 0.0 || secondVariance == 0.0) {
+			return null;
+		}
+
+		return covariance / Math.sqrt(firstVariance * secondVariance);
+	}
+
+	private static double[] ranks(final double[] scores) {
+		Integer[] order = new Integer[scores.length];
+
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				return Double.compare(scores[first], scores[second]);
+			}
+		});
+
+		double[] ranks = new double[scores.length];
+
+		for (int from = 0; from < order.length;) {
+			int to = from + 1;
+
+			while (to < order.length && scores[order[to]] == scores[order[from]]) {
+				to++;
+			}
+
+			// Ranks start at one, and the items from..to-1 are tied
+			double averageRank = (from + to + 1) / 2.0;
+
+			for (int i = from; i < to; i++) {
+				ranks[order[i]] = averageRank;
+			}
+
+			from = to;
+		}
+
+		return ranks;
+	}
+}
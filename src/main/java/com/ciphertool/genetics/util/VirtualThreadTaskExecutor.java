@@ -0,0 +1,145 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * A TaskExecutor which runs each task on its own virtual thread, for fitness evaluators and DAOs which spend most of
+ * their time blocked on I/O. It can be given to the genetic algorithm and the Population in place of a thread pool, so
+ * that breeding, mutation and evaluation tasks all run on virtual threads.
+ * 
+ * Since virtual threads are cheap, the number of tasks running at once is bounded by a Semaphore rather than by a pool
+ * size. The permit is acquired on the virtual thread itself, so submitting never blocks the calling thread.
+ * 
+ * On a JVM without virtual threads, tasks fall back to a pool of maxConcurrency platform threads, which enforces the
+ * same limit.
+ */
+public class VirtualThreadTaskExecutor implements TaskExecutor, DisposableBean {
+	private static Logger			log				= LoggerFactory.getLogger(VirtualThreadTaskExecutor.class);
+
+	private int						maxConcurrency	= 256;
+	private Semaphore				permits;
+	private ExecutorService			fallbackExecutor;
+
+	/**
+	 * A task which holds a permit from the concurrency limiter while it runs.
+	 */
+	private class LimitedTask implements Runnable {
+		private Runnable task;
+
+		public LimitedTask(Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			try {
+				permits.acquire();
+			} catch (InterruptedException ie) {
+				log.error("Caught InterruptedException while waiting for a permit to run task ", ie);
+
+				Thread.currentThread().interrupt();
+
+				return;
+			}
+
+			try {
+				task.run();
+			} finally {
+				permits.release();
+			}
+		}
+	}
+
+	@Override
+	public synchronized void execute(Runnable task) {
+		if (VirtualThreads.isSupported()) {
+			if (this.permits == null) {
+				this.permits = new Semaphore(this.maxConcurrency);
+			}
+
+			VirtualThreads.start(new LimitedTask(task));
+
+			return;
+		}
+
+		if (this.fallbackExecutor == null) {
+			log.info("Virtual threads are not supported by this JVM.  Falling back to a pool of " + this.maxConcurrency
+					+ " platform threads.");
+
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(this.maxConcurrency, this.maxConcurrency, 60L,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory());
+			executor.allowCoreThreadTimeOut(true);
+
+			this.fallbackExecutor = executor;
+		}
+
+		this.fallbackExecutor.execute(task);
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadCount = new AtomicInteger(0);
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "genie-task-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	/**
+	 * @return whether tasks are running on virtual threads
+	 */
+	public boolean isUsingVirtualThreads() {
+		return VirtualThreads.isSupported();
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (this.fallbackExecutor != null) {
+			this.fallbackExecutor.shutdown();
+
+			this.fallbackExecutor = null;
+		}
+	}
+
+	/**
+	 * @param maxConcurrency
+	 *            the maximum number of tasks allowed to run at once, which must be set before the first task is
+	 *            executed
+	 */
+	public void setMaxConcurrency(int maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+/**
+ * Starts tasks on virtual threads where the runtime supports them.
+ * 
+ * This is the Java 8 implementation, which reports that virtual threads are unsupported. When the project is built
+ * with the java21 profile, the multi-release JAR also contains an implementation under META-INF/versions/21 which
+ * starts real virtual threads, and that implementation is loaded in its place on Java 21 and later.
+ */
+public final class VirtualThreads {
+	private VirtualThreads() {
+	}
+
+	/**
+	 * @return whether virtual threads are supported by the running JVM
+	 */
+	public static boolean isSupported() {
+		return false;
+	}
+
+	/**
+	 * @param thread
+	 *            the thread to check
+	 * @return whether the thread is a virtual thread, which it never is on this JVM
+	 */
+	public static boolean isVirtual(Thread thread) {
+		return false;
+	}
+
+	/**
+	 * @param task
+	 *            the task to run
+	 * @return the started thread
+	 * @throws UnsupportedOperationException
+	 *             always, as virtual threads require Java 21
+	 */
+	public static Thread start(Runnable task) {
+		throw new UnsupportedOperationException("Virtual threads require Java 21 or later.");
+	}
+}
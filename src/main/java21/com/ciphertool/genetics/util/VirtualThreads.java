@@ -0,0 +1,64 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Starts tasks on virtual threads where the runtime supports them.
+ * 
+ * This is the Java 21 implementation, packaged under META-INF/versions/21 of the multi-release JAR by the java21
+ * profile.
+ */
+public final class VirtualThreads {
+	// Unlike Thread.Builder, the ThreadFactory it creates is safe for use by concurrent threads
+	private static final ThreadFactory threadFactory = Thread.ofVirtual().name("genie-virtual-", 0).factory();
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * @return whether virtual threads are supported by the running JVM
+	 */
+	public static boolean isSupported() {
+		return true;
+	}
+
+	/**
+	 * @param thread
+	 *            the thread to check
+	 * @return whether the thread is a virtual thread
+	 */
+	public static boolean isVirtual(Thread thread) {
+		return thread.isVirtual();
+	}
+
+	/**
+	 * @param task
+	 *            the task to run
+	 * @return the started thread
+	 */
+	public static Thread start(Runnable task) {
+		Thread thread = threadFactory.newThread(task);
+		thread.start();
+
+		return thread;
+	}
+}
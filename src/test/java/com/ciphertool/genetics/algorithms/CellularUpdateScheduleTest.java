@@ -0,0 +1,131 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.util.RandomSource;
+
+public class CellularUpdateScheduleTest {
+	@Test
+	public void testSameColourCellsAreOutsideEachOthersToroidalNeighborhood() {
+		int rows = 11;
+		int columns = 8;
+		int radius = 2;
+		CellularUpdateSchedule schedule = new CellularUpdateSchedule(rows, columns, radius);
+
+		for (int a = 0; a < rows * columns; a++) {
+			for (int b = a + 1; b < rows * columns; b++) {
+				if (schedule.colourOf(a) != schedule.colourOf(b)) {
+					continue;
+				}
+
+				int rowDistance = Math.abs((a / columns) - (b / columns));
+				rowDistance = Math.min(rowDistance, rows - rowDistance);
+
+				int columnDistance = Math.abs((a % columns) - (b % columns));
+				columnDistance = Math.min(columnDistance, columns - columnDistance);
+
+				assertTrue(Math.max(rowDistance, columnDistance) > radius);
+			}
+		}
+	}
+
+	@Test
+	public void testSweepsUpdateEveryCellOnce() {
+		CellularUpdateSchedule schedule = new CellularUpdateSchedule(6, 5, 1);
+		RandomSource randomSource = new RandomSource();
+		randomSource.setSeed(42L);
+
+		for (CellularUpdatePolicy policy : new CellularUpdatePolicy[] { CellularUpdatePolicy.LINE_SWEEP,
+				CellularUpdatePolicy.FIXED_RANDOM_SWEEP, CellularUpdatePolicy.NEW_RANDOM_SWEEP }) {
+			int[] visits = new int[30];
+
+			for (int[] step : schedule.stepsFor(policy, randomSource)) {
+				for (int cell : step) {
+					visits[cell]++;
+				}
+			}
+
+			for (int cell = 0; cell < 30; cell++) {
+				assertEquals(1, visits[cell]);
+			}
+		}
+	}
+
+	@Test
+	public void testStepsNeverMixColoursOrRepeatCells() {
+		CellularUpdateSchedule schedule = new CellularUpdateSchedule(7, 7, 1);
+		RandomSource randomSource = new RandomSource();
+
+		List<int[]> steps = schedule.stepsFor(CellularUpdatePolicy.UNIFORM_CHOICE, randomSource);
+
+		int updates = 0;
+		for (int[] step : steps) {
+			boolean[] seen = new boolean[49];
+
+			for (int cell : step) {
+				assertEquals(schedule.colourOf(step[0]), schedule.colourOf(cell));
+				assertFalse(seen[cell]);
+
+				seen[cell] = true;
+			}
+
+			updates += step.length;
+		}
+
+		assertEquals(49, updates);
+	}
+
+	@Test
+	public void testFixedRandomSweepIsReused() {
+		CellularUpdateSchedule schedule = new CellularUpdateSchedule(4, 4, 1);
+		RandomSource randomSource = new RandomSource();
+
+		List<int[]> first = schedule.stepsFor(CellularUpdatePolicy.FIXED_RANDOM_SWEEP, randomSource);
+		List<int[]> second = schedule.stepsFor(CellularUpdatePolicy.FIXED_RANDOM_SWEEP, randomSource);
+
+		assertEquals(first.size(), second.size());
+
+		for (int i = 0; i < first.size(); i++) {
+			assertArrayEquals(first.get(i), second.get(i));
+		}
+	}
+
+	@Test
+	public void testLineSweepVisitsColoursInRowOrder() {
+		CellularUpdateSchedule schedule = new CellularUpdateSchedule(4, 4, 1);
+
+		List<int[]> steps = schedule.stepsFor(CellularUpdatePolicy.LINE_SWEEP, new RandomSource());
+
+		assertEquals(4, steps.size());
+		assertArrayEquals(new int[] { 0, 2, 8, 10 }, steps.get(0));
+		assertArrayEquals(new int[] { 1, 3, 9, 11 }, steps.get(1));
+		assertArrayEquals(new int[] { 4, 6, 12, 14 }, steps.get(2));
+		assertArrayEquals(new int[] { 5, 7, 13, 15 }, steps.get(3));
+	}
+}
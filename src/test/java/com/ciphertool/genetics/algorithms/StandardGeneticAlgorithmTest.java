@@ -41,31 +41,50 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
 
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.util.ReflectionUtils;
 
+import com.ciphertool.genetics.Breeder;
 import com.ciphertool.genetics.GeneticAlgorithmStrategy;
 import com.ciphertool.genetics.algorithms.crossover.CrossoverAlgorithm;
+import com.ciphertool.genetics.algorithms.crossover.PooledCrossoverAlgorithm;
+import com.ciphertool.genetics.algorithms.crossover.impl.RandomSinglePointCrossoverAlgorithm;
 import com.ciphertool.genetics.algorithms.mutation.MutationAlgorithm;
 import com.ciphertool.genetics.algorithms.mutation.NonUniformMutationAlgorithm;
+import com.ciphertool.genetics.algorithms.mutation.impl.RandomValueMutationAlgorithm;
 import com.ciphertool.genetics.algorithms.selection.modes.Selector;
+import com.ciphertool.genetics.algorithms.selection.modes.TournamentSelector;
 import com.ciphertool.genetics.dao.ExecutionStatisticsDao;
+import com.ciphertool.genetics.dao.GeneDao;
 import com.ciphertool.genetics.dao.GenerationStatisticsDao;
+import com.ciphertool.genetics.entities.Ancestry;
 import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.KeyedChromosome;
 import com.ciphertool.genetics.entities.statistics.ExecutionStatistics;
 import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.fitness.AscendingFitnessComparator;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.mocks.MockGene;
 import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.mocks.MockSequence;
+import com.ciphertool.genetics.population.ChromosomePool;
+import com.ciphertool.genetics.population.KnownSolutionProximityTracker;
 import com.ciphertool.genetics.population.StandardPopulation;
+import com.ciphertool.genetics.util.RandomSource;
 
 public class StandardGeneticAlgorithmTest {
 	@Test
@@ -224,6 +243,7 @@ public class StandardGeneticAlgorithmTest {
 		verify(populationMock, times(1)).evaluateFitness(any(GenerationStatistics.class));
 		verify(populationMock, times(1)).size();
 		verify(populationMock, times(1)).setStopRequested(false);
+		verify(populationMock, times(1)).reset();
 		verify(populationMock, times(1)).calculateEntropy();
 		verifyNoMoreInteractions(populationMock);
 	}
@@ -261,6 +281,34 @@ public class StandardGeneticAlgorithmTest {
 		assertNull(executionStatisticsFromObject);
 	}
 
+	@Test
+	public void testFinish_RestoresCompareToKnownSolution() throws InterruptedException {
+		StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
+
+		StandardPopulation populationMock = mock(StandardPopulation.class);
+		standardGeneticAlgorithm.setPopulation(populationMock);
+
+		GeneticAlgorithmStrategy strategyToSet = new GeneticAlgorithmStrategy();
+		strategyToSet.setCompareToKnownSolution(true);
+
+		Field strategyField = ReflectionUtils.findField(StandardGeneticAlgorithm.class, "strategy");
+		ReflectionUtils.makeAccessible(strategyField);
+		ReflectionUtils.setField(strategyField, standardGeneticAlgorithm, strategyToSet);
+
+		ExecutionStatistics executionStatistics = new ExecutionStatistics();
+		Field executionStatisticsField = ReflectionUtils.findField(StandardGeneticAlgorithm.class, "executionStatistics");
+		ReflectionUtils.makeAccessible(executionStatisticsField);
+		ReflectionUtils.setField(executionStatisticsField, standardGeneticAlgorithm, executionStatistics);
+
+		KnownSolutionProximityTracker knownSolutionProximityTrackerMock = mock(KnownSolutionProximityTracker.class);
+		standardGeneticAlgorithm.setKnownSolutionProximityTracker(knownSolutionProximityTrackerMock);
+
+		standardGeneticAlgorithm.finish();
+
+		verify(knownSolutionProximityTrackerMock, times(1)).await();
+		verify(populationMock, times(1)).setCompareToKnownSolution(eq(true));
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Test
 	public void testProceedWithNextGeneration() throws InterruptedException {
@@ -369,6 +417,73 @@ public class StandardGeneticAlgorithmTest {
 		verifyNoMoreInteractions(crossoverAlgorithmMock);
 	}
 
+	@Test
+	public void testProceedWithNextGeneration_TracksKnownSolutionOnce() throws InterruptedException {
+		StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
+
+		int populationSize = 100;
+
+		StandardPopulation populationMock = mock(StandardPopulation.class);
+
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+		for (int i = 0; i < populationSize; i++) {
+			individuals.add(new MockKeyedChromosome());
+		}
+
+		Chromosome evaluatedBest = new MockKeyedChromosome();
+		Chromosome majorEvaluatedBest = new MockKeyedChromosome();
+
+		when(populationMock.getIndividuals()).thenReturn(individuals);
+		when(populationMock.size()).thenReturn(populationSize);
+		when(populationMock.selectIndex()).thenReturn(0);
+		when(populationMock.evaluateFitness(any(GenerationStatistics.class))).thenReturn(evaluatedBest);
+		when(populationMock.performMajorEvaluation(any(GenerationStatistics.class), anyDouble())).thenReturn(majorEvaluatedBest);
+		standardGeneticAlgorithm.setPopulation(populationMock);
+
+		FitnessEvaluator knownSolutionFitnessEvaluatorMock = mock(FitnessEvaluator.class);
+
+		GeneticAlgorithmStrategy strategyToSet = new GeneticAlgorithmStrategy();
+		strategyToSet.setPopulationSize(populationSize);
+		strategyToSet.setMutationRate(0.1);
+		strategyToSet.setCompareToKnownSolution(true);
+		strategyToSet.setKnownSolutionFitnessEvaluator(knownSolutionFitnessEvaluatorMock);
+
+		Field strategyField = ReflectionUtils.findField(StandardGeneticAlgorithm.class, "strategy");
+		ReflectionUtils.makeAccessible(strategyField);
+		ReflectionUtils.setField(strategyField, standardGeneticAlgorithm, strategyToSet);
+
+		Field mutationAlgorithmField = ReflectionUtils.findField(StandardGeneticAlgorithm.class, "mutationAlgorithm");
+		ReflectionUtils.makeAccessible(mutationAlgorithmField);
+		ReflectionUtils.setField(mutationAlgorithmField, standardGeneticAlgorithm, mock(MutationAlgorithm.class));
+
+		CrossoverAlgorithm crossoverAlgorithmMock = mock(CrossoverAlgorithm.class);
+		when(crossoverAlgorithmMock.numberOfOffspring()).thenReturn(1);
+		when(crossoverAlgorithmMock.crossover(any(Chromosome.class), any(Chromosome.class))).thenReturn(Arrays.asList((Chromosome) new MockKeyedChromosome()));
+
+		Field crossoverAlgorithmField = ReflectionUtils.findField(StandardGeneticAlgorithm.class, "crossoverAlgorithm");
+		ReflectionUtils.makeAccessible(crossoverAlgorithmField);
+		ReflectionUtils.setField(crossoverAlgorithmField, standardGeneticAlgorithm, crossoverAlgorithmMock);
+
+		ExecutionStatistics executionStatistics = new ExecutionStatistics();
+		Field executionStatisticsField = ReflectionUtils.findField(StandardGeneticAlgorithm.class, "executionStatistics");
+		ReflectionUtils.makeAccessible(executionStatisticsField);
+		ReflectionUtils.setField(executionStatisticsField, standardGeneticAlgorithm, executionStatistics);
+
+		standardGeneticAlgorithm.setTaskExecutor(new SyncTaskExecutor());
+
+		KnownSolutionProximityTracker knownSolutionProximityTrackerMock = mock(KnownSolutionProximityTracker.class);
+		standardGeneticAlgorithm.setKnownSolutionProximityTracker(knownSolutionProximityTrackerMock);
+		standardGeneticAlgorithm.setMajorEvaluationStepSize(1);
+
+		standardGeneticAlgorithm.proceedWithNextGeneration();
+
+		/*
+		 * Only the best individual after the major evaluation is tracked, and only once for the generation.
+		 */
+		verify(knownSolutionProximityTrackerMock, times(1)).track(same(knownSolutionFitnessEvaluatorMock), same(majorEvaluatedBest), same(executionStatistics.getGenerationStatisticsList().get(0)));
+		verifyNoMoreInteractions(knownSolutionProximityTrackerMock);
+	}
+
 	@Test
 	public void testValidateParameters_NoErrors() {
 		StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
@@ -552,6 +667,112 @@ public class StandardGeneticAlgorithmTest {
 		verifyZeroInteractions(crossoverAlgorithmMock);
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void testCrossover_RecyclesDeadIndividuals() throws InterruptedException {
+		StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
+
+		int initialPopulationSize = 4;
+
+		StandardPopulation population = new StandardPopulation();
+		for (int i = 0; i < initialPopulationSize; i++) {
+			population.addIndividual(new MockKeyedChromosome());
+		}
+
+		standardGeneticAlgorithm.setPopulation(population);
+
+		TaskExecutor taskExecutorMock = mock(TaskExecutor.class);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				((FutureTask) invocation.getArguments()[0]).run();
+
+				return null;
+			}
+		}).when(taskExecutorMock).execute(any(FutureTask.class));
+
+		Field taskExecutorField = ReflectionUtils.findField(StandardGeneticAlgorithm.class, "taskExecutor");
+		ReflectionUtils.makeAccessible(taskExecutorField);
+		ReflectionUtils.setField(taskExecutorField, standardGeneticAlgorithm, taskExecutorMock);
+
+		final ChromosomePool chromosomePool = new ChromosomePool();
+
+		PooledCrossoverAlgorithm crossoverAlgorithmMock = mock(PooledCrossoverAlgorithm.class);
+		when(crossoverAlgorithmMock.crossover(any(Chromosome.class), any(Chromosome.class))).thenAnswer(new Answer<List<Chromosome>>() {
+			@Override
+			public List<Chromosome> answer(InvocationOnMock invocation) throws Throwable {
+				return Arrays.asList(chromosomePool.copyOf((Chromosome) invocation.getArguments()[0]));
+			}
+		});
+
+		Field crossoverAlgorithmField = ReflectionUtils.findField(StandardGeneticAlgorithm.class, "crossoverAlgorithm");
+		ReflectionUtils.makeAccessible(crossoverAlgorithmField);
+		ReflectionUtils.setField(crossoverAlgorithmField, standardGeneticAlgorithm, crossoverAlgorithmMock);
+
+		standardGeneticAlgorithm.setChromosomePool(chromosomePool);
+
+		List<Chromosome> firstGeneration = new ArrayList<Chromosome>(population.getIndividuals());
+
+		List<Chromosome> moms = new ArrayList<Chromosome>(firstGeneration);
+		List<Chromosome> dads = new ArrayList<Chromosome>(firstGeneration);
+
+		assertEquals(4, standardGeneticAlgorithm.crossover(initialPopulationSize, moms, dads));
+
+		// The dead are held back for a generation, so nothing can be reused yet
+		assertEquals(0, chromosomePool.size());
+		assertEquals(4, chromosomePool.getAllocated());
+
+		moms = new ArrayList<Chromosome>(population.getIndividuals());
+		dads = new ArrayList<Chromosome>(population.getIndividuals());
+
+		assertEquals(4, standardGeneticAlgorithm.crossover(initialPopulationSize, moms, dads));
+
+		assertEquals(0, chromosomePool.size());
+		assertEquals(4, chromosomePool.getRecycled());
+
+		for (Chromosome child : population.getIndividuals()) {
+			boolean recycled = false;
+
+			for (Chromosome dead : firstGeneration) {
+				recycled |= (child == dead);
+			}
+
+			assertTrue(recycled);
+		}
+
+		// The pool is handed to the crossover algorithm once, when it is set
+		verify(crossoverAlgorithmMock, times(1)).setChromosomePool(same(chromosomePool));
+	}
+
+	@SuppressWarnings({ "rawtypes" })
+	@Test
+	public void testSetChromosomePool() {
+		StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
+
+		StandardPopulation populationMock = mock(StandardPopulation.class);
+		standardGeneticAlgorithm.setPopulation(populationMock);
+
+		ChromosomePool chromosomePool = new ChromosomePool();
+		standardGeneticAlgorithm.setChromosomePool(chromosomePool);
+
+		PooledCrossoverAlgorithm crossoverAlgorithmMock = mock(PooledCrossoverAlgorithm.class);
+
+		GeneticAlgorithmStrategy strategyToSet = new GeneticAlgorithmStrategy();
+		strategyToSet.setPopulationSize(100);
+		strategyToSet.setCrossoverAlgorithm(crossoverAlgorithmMock);
+		strategyToSet.setMutationAlgorithm(mock(MutationAlgorithm.class));
+
+		// The crossover algorithm set after the pool still receives it
+		standardGeneticAlgorithm.setStrategy(strategyToSet);
+
+		verify(crossoverAlgorithmMock, times(1)).setChromosomePool(same(chromosomePool));
+
+		standardGeneticAlgorithm.setChromosomePool(null);
+
+		verify(crossoverAlgorithmMock, times(1)).setChromosomePool(null);
+		verifyNoMoreInteractions(crossoverAlgorithmMock);
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Test
 	public void testMutate() throws InterruptedException {
@@ -743,4 +964,183 @@ public class StandardGeneticAlgorithmTest {
 		verifyNoMoreInteractions(populationMock);
 		assertEquals(true, stopRequestedFromObject);
 	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Test
+	public void testSelect_AncestryAttemptsAreBounded() throws InterruptedException {
+		Chromosome mom = mock(Chromosome.class);
+		when(mom.getAncestry()).thenReturn(new Ancestry("a", "b", null, null, 1));
+
+		Chromosome dad = mock(Chromosome.class);
+		when(dad.getAncestry()).thenReturn(new Ancestry("c", "d", null, null, 1));
+
+		StandardPopulation populationMock = mock(StandardPopulation.class);
+		when(populationMock.selectIndex()).thenReturn(0);
+		when(populationMock.getIndividuals()).thenReturn(Arrays.asList(mom, dad));
+
+		StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
+		standardGeneticAlgorithm.setPopulation(populationMock);
+		standardGeneticAlgorithm.setVerifyAncestry(true);
+		standardGeneticAlgorithm.setGenerationsToSkip(0);
+		standardGeneticAlgorithm.setGenerationsToKeep(0);
+		standardGeneticAlgorithm.setMaxAncestryAttempts(5);
+		standardGeneticAlgorithm.generationCount = 1;
+
+		TaskExecutor taskExecutorMock = mock(TaskExecutor.class);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				((FutureTask) invocation.getArguments()[0]).run();
+
+				return null;
+			}
+		}).when(taskExecutorMock).execute(any(FutureTask.class));
+		standardGeneticAlgorithm.setTaskExecutor(taskExecutorMock);
+
+		CrossoverAlgorithm crossoverAlgorithmMock = mock(CrossoverAlgorithm.class);
+		when(crossoverAlgorithmMock.numberOfOffspring()).thenReturn(1);
+		standardGeneticAlgorithm.crossoverAlgorithm = crossoverAlgorithmMock;
+
+		List<Chromosome> moms = new ArrayList<Chromosome>();
+		List<Chromosome> dads = new ArrayList<Chromosome>();
+		standardGeneticAlgorithm.select(2, moms, dads);
+
+		// The unrelated pair is never compatible, so each selection gives up after five attempts
+		assertEquals(2, moms.size());
+		assertSame(mom, moms.get(0));
+		assertSame(dad, dads.get(0));
+		assertEquals(10, standardGeneticAlgorithm.ancestryRejections.get());
+	}
+
+	@Test
+	public void testProceedWithNextGeneration_SeededRunIndependentOfPoolSize() throws InterruptedException {
+		List<String> singleThreaded = runSeeded(1);
+		List<String> multiThreaded = runSeeded(4);
+
+		assertEquals(20, singleThreaded.size());
+		assertEquals(singleThreaded, multiThreaded);
+	}
+
+	private static final String[] VALUES = { "a", "b", "c", "d" };
+
+	private static Gene randomGene(RandomSource randomSource) {
+		MockGene gene = new MockGene();
+		gene.addSequence(new MockSequence(VALUES[randomSource.nextInt(VALUES.length)]));
+
+		return gene;
+	}
+
+	/**
+	 * Runs a few generations with a seeded algorithm. The Breeder and the GeneDao draw from a RandomSource of their
+	 * own which is never seeded, and the operators keep their default ones, so this only passes if the seed of the
+	 * algorithm reaches every draw.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static List<String> runSeeded(int threads) throws InterruptedException {
+		final RandomSource unseeded = new RandomSource();
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			TaskExecutor taskExecutor = new TaskExecutor() {
+				@Override
+				public void execute(Runnable task) {
+					executor.execute(task);
+				}
+			};
+
+			StandardPopulation population = new StandardPopulation();
+			population.setTaskExecutor(taskExecutor);
+			population.setFitnessComparator(new AscendingFitnessComparator());
+			population.setBreeder(new Breeder() {
+				@Override
+				public Chromosome breed() {
+					MockKeyedChromosome chromosome = new MockKeyedChromosome();
+
+					for (int i = 0; i < 8; i++) {
+						chromosome.putGene(i, randomGene(unseeded));
+					}
+
+					chromosome.setEvaluationNeeded(true);
+
+					return chromosome;
+				}
+
+				@Override
+				public void setGeneticStructure(Object geneticStructure) {
+				}
+			});
+
+			RandomValueMutationAlgorithm mutationAlgorithm = new RandomValueMutationAlgorithm();
+			mutationAlgorithm.setGeneDao(new GeneDao() {
+				@Override
+				public Gene findRandomGene(Chromosome chromosome) {
+					return randomGene(unseeded);
+				}
+			});
+
+			TournamentSelector selector = new TournamentSelector();
+			selector.setSelectionAccuracy(0.75);
+
+			GeneticAlgorithmStrategy strategy = new GeneticAlgorithmStrategy();
+			strategy.setGeneticStructure(new Object());
+			strategy.setPopulationSize(20);
+			strategy.setMutationRate(0.0);
+			strategy.setMaxMutationsPerIndividual(2);
+			strategy.setMaxGenerations(-1);
+			strategy.setCompareToKnownSolution(false);
+			strategy.setCrossoverAlgorithm(new RandomSinglePointCrossoverAlgorithm());
+			strategy.setMutationAlgorithm(mutationAlgorithm);
+			strategy.setSelector(selector);
+			strategy.setFitnessEvaluator(new FitnessEvaluator() {
+				@Override
+				public BigDecimal evaluate(Chromosome chromosome) {
+					int matches = 0;
+
+					for (Gene gene : ((KeyedChromosome<Object>) chromosome).getGenes().values()) {
+						matches += "a".equals(((MockGene) gene).getSequences().get(0).getValue()) ? 1 : 0;
+					}
+
+					return BigDecimal.valueOf(matches);
+				}
+
+				@Override
+				public void setGeneticStructure(Object geneticStructure) {
+				}
+
+				@Override
+				public String getDisplayName() {
+					return "Matches";
+				}
+			});
+
+			population.setMajorFitnessEvaluator(strategy.getFitnessEvaluator());
+
+			RandomSource randomSource = new RandomSource();
+			randomSource.setSeed(2016L);
+
+			StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
+			standardGeneticAlgorithm.setPopulation(population);
+			standardGeneticAlgorithm.setStrategy(strategy);
+			standardGeneticAlgorithm.setTaskExecutor(taskExecutor);
+			standardGeneticAlgorithm.setElitism(2);
+			standardGeneticAlgorithm.setMajorEvaluationStepSize(0);
+			standardGeneticAlgorithm.setRandomSource(randomSource);
+
+			standardGeneticAlgorithm.initialize();
+
+			for (int i = 0; i < 5; i++) {
+				standardGeneticAlgorithm.proceedWithNextGeneration();
+			}
+
+			List<String> individuals = new ArrayList<String>();
+
+			for (Chromosome individual : population.getIndividuals()) {
+				individuals.add(individual.toString());
+			}
+
+			return individuals;
+		} finally {
+			executor.shutdown();
+		}
+	}
 }
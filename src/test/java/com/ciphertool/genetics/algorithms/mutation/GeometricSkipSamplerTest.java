@@ -0,0 +1,59 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.mutation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.util.RandomSource;
+
+public class GeometricSkipSamplerTest {
+	@Test
+	public void testNextGap_Bounds() {
+		RandomSource randomSource = new RandomSource();
+
+		assertEquals(0L, GeometricSkipSampler.nextGap(randomSource, 1.0));
+		assertEquals((long) Integer.MAX_VALUE, GeometricSkipSampler.nextGap(randomSource, 0.0));
+	}
+
+	@Test
+	public void testNextGap_Distribution() {
+		RandomSource randomSource = new RandomSource();
+
+		double rate = 0.01;
+		int samples = 20000;
+		long positions = 0;
+		long mutations = 0;
+
+		for (int i = 0; i < samples; i++) {
+			long gap = GeometricSkipSampler.nextGap(randomSource, rate);
+
+			assertTrue(gap >= 0);
+
+			positions += gap + 1;
+			mutations++;
+		}
+
+		// Each position is mutated with probability rate, so the observed rate should be close to it
+		assertEquals(rate, (double) mutations / (double) positions, rate * 0.05);
+	}
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.mutation.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.algorithms.mutation.MutationHelper;
+import com.ciphertool.genetics.dao.GeneDao;
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.mocks.MockSequence;
+
+public class MultipleMutationAlgorithmTest {
+	@Test
+	public void testMutateChromosome_EqualReplacement() {
+		GeneDao geneDaoMock = mock(GeneDao.class);
+
+		// Every Gene is replaced
+		MutationHelper mutationHelperMock = mock(MutationHelper.class);
+		when(mutationHelperMock.getNumMutations(anyInt())).thenReturn(2);
+
+		MultipleMutationAlgorithm multipleMutationAlgorithm = new MultipleMutationAlgorithm();
+		multipleMutationAlgorithm.setGeneDao(geneDaoMock);
+		multipleMutationAlgorithm.setMutationHelper(mutationHelperMock);
+
+		MockKeyedChromosome mockKeyedChromosome = new MockKeyedChromosome();
+
+		MockGene mockGene1 = new MockGene();
+		mockGene1.addSequence(new MockSequence("a"));
+		mockKeyedChromosome.putGene("1", mockGene1);
+
+		MockGene mockGene2 = new MockGene();
+		mockGene2.addSequence(new MockSequence("a"));
+		mockKeyedChromosome.putGene("2", mockGene2);
+
+		MockGene mockGeneToReturn = new MockGene();
+		mockGeneToReturn.addSequence(new MockSequence("a"));
+		when(geneDaoMock.findRandomGene(same(mockKeyedChromosome))).thenReturn(mockGeneToReturn);
+
+		// Every replacement equals the Gene it replaces, so the Chromosome is unchanged
+		assertFalse(multipleMutationAlgorithm.mutateChromosome(mockKeyedChromosome));
+
+		mockGeneToReturn = new MockGene();
+		mockGeneToReturn.addSequence(new MockSequence("b"));
+		when(geneDaoMock.findRandomGene(same(mockKeyedChromosome))).thenReturn(mockGeneToReturn);
+
+		assertTrue(multipleMutationAlgorithm.mutateChromosome(mockKeyedChromosome));
+		verify(geneDaoMock, times(4)).findRandomGene(same(mockKeyedChromosome));
+	}
+}
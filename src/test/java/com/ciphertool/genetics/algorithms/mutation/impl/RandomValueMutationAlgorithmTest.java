@@ -55,6 +55,7 @@ import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.Gene;
 import com.ciphertool.genetics.mocks.MockGene;
 import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.mocks.MockSequence;
 
 public class RandomValueMutationAlgorithmTest {
 	private final static int					MAX_MUTATIONS	= 2;
@@ -150,6 +151,104 @@ public class RandomValueMutationAlgorithmTest {
 		verifyZeroInteractions(logMock);
 	}
 
+	@Test
+	public void testMutateChromosome_EqualReplacement() {
+		randomValueMutationAlgorithm.setMaxMutationsPerChromosome(MAX_MUTATIONS);
+
+		MockKeyedChromosome mockKeyedChromosome = new MockKeyedChromosome();
+
+		MockGene mockGene1 = new MockGene();
+		mockGene1.addSequence(new MockSequence("a"));
+		mockKeyedChromosome.putGene("1", mockGene1);
+
+		MockGene mockGene2 = new MockGene();
+		mockGene2.addSequence(new MockSequence("a"));
+		mockKeyedChromosome.putGene("2", mockGene2);
+
+		MockGene mockGeneToReturn = new MockGene();
+		mockGeneToReturn.addSequence(new MockSequence("a"));
+		when(geneDaoMock.findRandomGene(same(mockKeyedChromosome))).thenReturn(mockGeneToReturn);
+
+		// Every replacement equals the Gene it replaces, so the Chromosome is unchanged
+		assertFalse(randomValueMutationAlgorithm.mutateChromosome(mockKeyedChromosome));
+
+		mockGeneToReturn = new MockGene();
+		mockGeneToReturn.addSequence(new MockSequence("b"));
+		when(geneDaoMock.findRandomGene(same(mockKeyedChromosome))).thenReturn(mockGeneToReturn);
+
+		assertTrue(randomValueMutationAlgorithm.mutateChromosome(mockKeyedChromosome));
+		verifyZeroInteractions(logMock);
+	}
+
+	@Test
+	public void testMutateChromosome_SingleMutation() {
+		randomValueMutationAlgorithm.setMaxMutationsPerChromosome(1);
+
+		MockKeyedChromosome mockKeyedChromosome = new MockKeyedChromosome();
+
+		MockGene mockGene1 = new MockGene();
+		mockKeyedChromosome.putGene("1", mockGene1);
+
+		MockGene mockGene2 = new MockGene();
+		mockKeyedChromosome.putGene("2", mockGene2);
+
+		MockGene mockGeneToReturn = new MockGene();
+		when(geneDaoMock.findRandomGene(same(mockKeyedChromosome))).thenReturn(mockGeneToReturn);
+
+		randomValueMutationAlgorithm.mutateChromosome(mockKeyedChromosome);
+
+		/*
+		 * Only one Gene should be mutated.
+		 */
+		assertTrue((mockGene1 == mockKeyedChromosome.getGenes().get("1")
+				&& mockGeneToReturn == mockKeyedChromosome.getGenes().get("2"))
+				|| (mockGeneToReturn == mockKeyedChromosome.getGenes().get("1")
+						&& mockGene2 == mockKeyedChromosome.getGenes().get("2")));
+		verify(geneDaoMock, times(1)).findRandomGene(same(mockKeyedChromosome));
+	}
+
+	@Test
+	public void testMutateChromosome_DistinctIndices() {
+		randomValueMutationAlgorithm.setMaxMutationsPerChromosome(MAX_MUTATIONS);
+
+		for (int i = 0; i < 20; i++) {
+			reset(geneDaoMock);
+
+			MockKeyedChromosome mockKeyedChromosome = new MockKeyedChromosome();
+
+			MockGene mockGene1 = new MockGene();
+			mockKeyedChromosome.putGene("1", mockGene1);
+
+			MockGene mockGene2 = new MockGene();
+			mockKeyedChromosome.putGene("2", mockGene2);
+
+			when(geneDaoMock.findRandomGene(same(mockKeyedChromosome))).thenReturn(new MockGene(), new MockGene());
+
+			randomValueMutationAlgorithm.mutateChromosome(mockKeyedChromosome);
+
+			/*
+			 * Each new Gene replaces a different original Gene, so no Gene is mutated twice.
+			 */
+			int mutated = (mockGene1 == mockKeyedChromosome.getGenes().get("1") ? 0 : 1)
+					+ (mockGene2 == mockKeyedChromosome.getGenes().get("2") ? 0 : 1);
+			verify(geneDaoMock, times(mutated)).findRandomGene(same(mockKeyedChromosome));
+		}
+	}
+
+	@Test
+	public void testMutateChromosome_NoGenes() {
+		randomValueMutationAlgorithm.setMaxMutationsPerChromosome(MAX_MUTATIONS);
+
+		MockKeyedChromosome mockKeyedChromosome = new MockKeyedChromosome();
+
+		/*
+		 * There are no Genes to mutate.
+		 */
+		assertFalse(randomValueMutationAlgorithm.mutateChromosome(mockKeyedChromosome));
+		assertTrue(mockKeyedChromosome.getGenes().isEmpty());
+		verifyZeroInteractions(geneDaoMock);
+	}
+
 	@Test
 	public void testMutateRandomGene() {
 		MockKeyedChromosome mockKeyedChromosome = new MockKeyedChromosome();
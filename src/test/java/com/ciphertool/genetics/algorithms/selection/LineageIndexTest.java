@@ -0,0 +1,93 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.selection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.entities.Ancestry;
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.util.RandomSource;
+
+public class LineageIndexTest {
+	private static Chromosome chromosome(String dad, String mom, double fitness) {
+		Chromosome chromosome = mock(Chromosome.class);
+		when(chromosome.getAncestry()).thenReturn(new Ancestry(dad, mom, null, null, 1));
+		when(chromosome.getFitness()).thenReturn(BigDecimal.valueOf(fitness));
+
+		return chromosome;
+	}
+
+	@Test
+	public void testClustersBySharedAncestor() {
+		List<Chromosome> individuals = Arrays.asList(chromosome("a", "b", 1.0), chromosome("a", "c", 1.0),
+				chromosome("x", "y", 1.0), chromosome("a", "d", 1.0), chromosome("y", "z", 1.0));
+
+		LineageIndex index = new LineageIndex(individuals, 0);
+
+		// The clusters are keyed by the smallest hashed parent id, so check membership rather than specific keys
+		for (int i = 0; i < individuals.size(); i++) {
+			for (int member : index.getMembers(index.clusterOf(i))) {
+				long[] mine = individuals.get(i).getAncestry().getAncestorIds(0);
+				long[] theirs = individuals.get(member).getAncestry().getAncestorIds(0);
+
+				assertEquals(mine[0], theirs[0]);
+			}
+		}
+	}
+
+	@Test
+	public void testSampleMateStaysInClusterAndExcludesSelf() {
+		List<Chromosome> individuals = Arrays.asList(chromosome("a", "b", 1.0), chromosome("a", "b", 3.0),
+				chromosome("a", "b", 0.0), chromosome("p", "q", 1.0));
+
+		LineageIndex index = new LineageIndex(individuals, 0);
+		RandomSource randomSource = new RandomSource();
+
+		assertArrayEquals(new int[] { 0, 1, 2 }, index.getMembers(index.clusterOf(0)));
+		assertEquals(-1, index.sampleMate(3, randomSource));
+
+		for (int i = 0; i < 100; i++) {
+			int mate = index.sampleMate(0, randomSource);
+
+			assertTrue(mate == 1 || mate == 2);
+		}
+	}
+
+	@Test
+	public void testAncestryTooShallowIsNotClustered() {
+		List<Chromosome> individuals = Arrays.asList(chromosome("a", "b", 1.0), chromosome("a", "b", 1.0));
+
+		LineageIndex index = new LineageIndex(individuals, 1);
+
+		assertEquals(0, index.getNumberOfClusters());
+		assertEquals(-1, index.clusterOf(0));
+		assertEquals(-1, index.sampleMate(0, new RandomSource()));
+	}
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.selection.modes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.mocks.MockSequence;
+
+public class SharedFitnessSelectorTest {
+	private static MockKeyedChromosome chromosomeWithPrefix(String prefix, double fitness) {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+
+		for (int i = 0; i < 20; i++) {
+			MockGene gene = new MockGene();
+			gene.addSequence(new MockSequence(prefix + i));
+
+			chromosome.putGene(i, gene);
+		}
+
+		chromosome.setFitness(BigDecimal.valueOf(fitness));
+
+		return chromosome;
+	}
+
+	@Test
+	public void testReIndex() {
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+		individuals.add(chromosomeWithPrefix("a", 1.0));
+		individuals.add(chromosomeWithPrefix("a", 1.0));
+		individuals.add(chromosomeWithPrefix("a", 1.0));
+		individuals.add(chromosomeWithPrefix("b", 1.0));
+
+		SharedFitnessSelector sharedFitnessSelector = new SharedFitnessSelector();
+		sharedFitnessSelector.reIndex(individuals);
+
+		assertEquals(3.0, sharedFitnessSelector.getNicheCount(0), 0.0);
+		assertEquals(3.0, sharedFitnessSelector.getNicheCount(1), 0.0);
+		assertEquals(3.0, sharedFitnessSelector.getNicheCount(2), 0.0);
+		assertEquals(1.0, sharedFitnessSelector.getNicheCount(3), 0.0);
+	}
+
+	@Test
+	public void testGetNextIndex() {
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+		individuals.add(chromosomeWithPrefix("a", 1.0));
+		individuals.add(chromosomeWithPrefix("a", 1.0));
+		individuals.add(chromosomeWithPrefix("a", 1.0));
+		individuals.add(chromosomeWithPrefix("b", 1.0));
+
+		SharedFitnessSelector sharedFitnessSelector = new SharedFitnessSelector();
+		sharedFitnessSelector.reIndex(individuals);
+
+		int spins = 10000;
+		int lonelySelections = 0;
+
+		for (int i = 0; i < spins; i++) {
+			int selected = sharedFitnessSelector.getNextIndex(individuals, null);
+
+			assertTrue(selected >= 0 && selected < individuals.size());
+
+			if (selected == 3) {
+				lonelySelections++;
+			}
+		}
+
+		// The crowded niche shares a total of 1.0 among its three members, so each niche is chosen about half the time
+		assertEquals(0.5, (double) lonelySelections / (double) spins, 0.05);
+	}
+
+	@Test
+	public void testGetNextIndex_ZeroFitness() {
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+		individuals.add(chromosomeWithPrefix("a", 0.0));
+		individuals.add(chromosomeWithPrefix("b", 0.0));
+
+		SharedFitnessSelector sharedFitnessSelector = new SharedFitnessSelector();
+		sharedFitnessSelector.reIndex(individuals);
+
+		int selected = sharedFitnessSelector.getNextIndex(individuals, null);
+
+		assertTrue(selected >= 0 && selected < individuals.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetSharingRadius_Invalid() {
+		new SharedFitnessSelector().setSharingRadius(0.0);
+	}
+}
@@ -31,6 +31,7 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Before;
@@ -114,6 +115,28 @@ public class TournamentSelectorTest {
 		verifyZeroInteractions(logMock);
 	}
 
+	@Test
+	public void testReIndex() {
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+
+		for (double fitness : new double[] { 2.0, 3.0, 1.0 }) {
+			MockKeyedChromosome chromosome = new MockKeyedChromosome();
+			chromosome.setFitness(BigDecimal.valueOf(fitness));
+			individuals.add(chromosome);
+		}
+
+		tournamentSelector.reIndex(individuals);
+
+		assertEquals(BigDecimal.valueOf(3.0), individuals.get(0).getFitness());
+		assertEquals(BigDecimal.valueOf(1.0), individuals.get(2).getFitness());
+
+		// Once sorted, the individuals are only read, so concurrent selections do not race to sort them
+		int selectedIndex = tournamentSelector.getNextIndex(Collections.unmodifiableList(individuals),
+				BigDecimal.valueOf(6.0));
+
+		assertTrue(selectedIndex > -1);
+	}
+
 	@Test
 	public void testGetNextIndexWithNullPopulation() {
 		int selectedIndex = tournamentSelector.getNextIndex(null, BigDecimal.valueOf(6.0));
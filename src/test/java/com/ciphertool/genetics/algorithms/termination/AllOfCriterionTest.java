@@ -0,0 +1,57 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+public class AllOfCriterionTest {
+	@Test
+	public void testCheck() {
+		TerminationCriterion first = mock(TerminationCriterion.class);
+		when(first.check(any(GenerationStatistics.class))).thenReturn(null, "first");
+
+		TerminationCriterion second = mock(TerminationCriterion.class);
+		when(second.check(any(GenerationStatistics.class))).thenReturn("second");
+
+		AllOfCriterion allOfCriterion = new AllOfCriterion(first, second);
+
+		assertNull(allOfCriterion.check(new GenerationStatistics()));
+		assertEquals("first and second", allOfCriterion.check(new GenerationStatistics()));
+
+		allOfCriterion.reset();
+
+		verify(first).reset();
+		verify(second).reset();
+	}
+
+	@Test
+	public void testCheck_NoCriteria() {
+		assertNull(new AllOfCriterion().check(new GenerationStatistics()));
+	}
+}
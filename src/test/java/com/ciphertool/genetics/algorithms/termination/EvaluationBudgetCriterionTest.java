@@ -0,0 +1,50 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+public class EvaluationBudgetCriterionTest {
+	private static GenerationStatistics withEvaluations(int evaluations, int majorEvaluations) {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+		generationStatistics.setNumberOfEvaluations(evaluations);
+		generationStatistics.setNumberOfMajorEvaluations(majorEvaluations);
+
+		return generationStatistics;
+	}
+
+	@Test
+	public void testCheck() {
+		EvaluationBudgetCriterion evaluationBudgetCriterion = new EvaluationBudgetCriterion(10);
+
+		assertNull(evaluationBudgetCriterion.check(withEvaluations(4, 1)));
+		assertNull(evaluationBudgetCriterion.check(withEvaluations(4, 0)));
+		assertNotNull(evaluationBudgetCriterion.check(withEvaluations(1, 0)));
+
+		evaluationBudgetCriterion.reset();
+
+		assertNull(evaluationBudgetCriterion.check(withEvaluations(9, 0)));
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.algorithms.termination;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+
+public class StagnationCriterionTest {
+	private static GenerationStatistics withBestFitness(double bestFitness) {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+		generationStatistics.setBestFitness(BigDecimal.valueOf(bestFitness));
+
+		return generationStatistics;
+	}
+
+	@Test
+	public void testCheck() {
+		StagnationCriterion stagnationCriterion = new StagnationCriterion(2);
+
+		assertNull(stagnationCriterion.check(withBestFitness(1.0)));
+		assertNull(stagnationCriterion.check(withBestFitness(1.0)));
+		assertNull(stagnationCriterion.check(withBestFitness(2.0)));
+		assertNull(stagnationCriterion.check(withBestFitness(1.5)));
+		assertNotNull(stagnationCriterion.check(withBestFitness(2.0)));
+	}
+
+	@Test
+	public void testCheck_MinImprovement() {
+		StagnationCriterion stagnationCriterion = new StagnationCriterion(1);
+		stagnationCriterion.setMinImprovement(BigDecimal.valueOf(0.5));
+
+		assertNull(stagnationCriterion.check(withBestFitness(1.0)));
+		assertNotNull(stagnationCriterion.check(withBestFitness(1.25)));
+	}
+
+	@Test
+	public void testReset() {
+		StagnationCriterion stagnationCriterion = new StagnationCriterion(1);
+
+		assertNull(stagnationCriterion.check(withBestFitness(1.0)));
+
+		stagnationCriterion.reset();
+
+		assertNull(stagnationCriterion.check(withBestFitness(1.0)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_InvalidGenerations() {
+		new StagnationCriterion(0);
+	}
+}
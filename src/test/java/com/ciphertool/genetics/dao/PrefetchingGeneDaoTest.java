@@ -0,0 +1,235 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.dao;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.AdditionalMatchers.not;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.util.RandomSource;
+
+public class PrefetchingGeneDaoTest {
+	private static final int CAPACITY = 4;
+
+	private static List<Gene> genes(int count) {
+		List<Gene> genes = new ArrayList<Gene>();
+
+		for (int i = 0; i < count; i++) {
+			genes.add(new MockGene());
+		}
+
+		return genes;
+	}
+
+	@Test
+	public void testFindRandomGene() {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+		Gene synchronousGene = new MockGene();
+		List<Gene> prefetchedGenes = genes(CAPACITY);
+
+		GeneDao geneDaoMock = mock(GeneDao.class);
+		when(geneDaoMock.findRandomGene(same(chromosome))).thenReturn(synchronousGene);
+		when(geneDaoMock.findRandomGenes(any(Chromosome.class), eq(CAPACITY))).thenReturn(prefetchedGenes);
+
+		PrefetchingGeneDao prefetchingGeneDao = new PrefetchingGeneDao();
+		prefetchingGeneDao.setDelegate(geneDaoMock);
+		prefetchingGeneDao.setTaskExecutor(new SyncTaskExecutor());
+		prefetchingGeneDao.setCapacity(CAPACITY);
+		prefetchingGeneDao.setLowWatermark(0);
+
+		// The buffer starts out empty, so the first Gene is fetched synchronously while the buffer is refilled
+		assertSame(synchronousGene, prefetchingGeneDao.findRandomGene(chromosome));
+
+		for (int i = 0; i < CAPACITY; i++) {
+			assertSame(prefetchedGenes.get(i), prefetchingGeneDao.findRandomGene(chromosome));
+		}
+
+		verify(geneDaoMock, times(1)).findRandomGene(same(chromosome));
+		// Once for the empty buffer and once again when the last Gene was taken, each time for a snapshot of the caller
+		verify(geneDaoMock, times(2)).findRandomGenes(not(same(chromosome)), eq(CAPACITY));
+		verifyNoMoreInteractions(geneDaoMock);
+	}
+
+	@Test
+	public void testFindRandomGeneOfLength() {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+		List<Gene> prefetchedGenes = genes(CAPACITY);
+
+		VariableLengthGeneDao geneDaoMock = mock(VariableLengthGeneDao.class);
+		when(geneDaoMock.findRandomGeneOfLength(any(Chromosome.class), anyInt())).thenReturn(new MockGene());
+		when(geneDaoMock.findRandomGenesOfLength(any(Chromosome.class), eq(5), eq(CAPACITY))).thenReturn(prefetchedGenes);
+
+		PrefetchingGeneDao prefetchingGeneDao = new PrefetchingGeneDao();
+		prefetchingGeneDao.setDelegate(geneDaoMock);
+		prefetchingGeneDao.setTaskExecutor(new SyncTaskExecutor());
+		prefetchingGeneDao.setCapacity(CAPACITY);
+		prefetchingGeneDao.setLowWatermark(0);
+
+		prefetchingGeneDao.findRandomGeneOfLength(chromosome, 5);
+
+		assertSame(prefetchedGenes.get(0), prefetchingGeneDao.findRandomGeneOfLength(chromosome, 5));
+
+		verify(geneDaoMock, times(1)).findRandomGeneOfLength(same(chromosome), eq(5));
+		verify(geneDaoMock, times(1)).findRandomGenesOfLength(not(same(chromosome)), eq(5), eq(CAPACITY));
+	}
+
+	@Test
+	public void testFindRandomGene_AttachesToCaller() {
+		MockKeyedChromosome prefetchingChromosome = new MockKeyedChromosome();
+		MockKeyedChromosome takingChromosome = new MockKeyedChromosome();
+
+		GeneDao geneDaoMock = mock(GeneDao.class);
+		when(geneDaoMock.findRandomGene(any(Chromosome.class))).thenReturn(new MockGene());
+		when(geneDaoMock.findRandomGenes(any(Chromosome.class), eq(CAPACITY))).thenReturn(genes(CAPACITY));
+
+		PrefetchingGeneDao prefetchingGeneDao = new PrefetchingGeneDao();
+		prefetchingGeneDao.setDelegate(geneDaoMock);
+		prefetchingGeneDao.setTaskExecutor(new SyncTaskExecutor());
+		prefetchingGeneDao.setCapacity(CAPACITY);
+		prefetchingGeneDao.setLowWatermark(0);
+
+		prefetchingGeneDao.findRandomGene(prefetchingChromosome);
+
+		// The prefetched Gene was fetched on behalf of the first Chromosome, but belongs to the one it is handed to
+		Gene gene = prefetchingGeneDao.findRandomGene(takingChromosome);
+
+		verify(geneDaoMock, times(1)).findRandomGene(same(prefetchingChromosome));
+		assertSame(takingChromosome, gene.getChromosome());
+	}
+
+	@Test
+	public void testFindRandomGene_RejectedRefill() {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+		List<Gene> prefetchedGenes = genes(CAPACITY);
+
+		GeneDao geneDaoMock = mock(GeneDao.class);
+		when(geneDaoMock.findRandomGene(any(Chromosome.class))).thenReturn(new MockGene());
+		when(geneDaoMock.findRandomGenes(any(Chromosome.class), eq(CAPACITY))).thenReturn(prefetchedGenes);
+
+		final SyncTaskExecutor syncTaskExecutor = new SyncTaskExecutor();
+		final AtomicInteger scheduled = new AtomicInteger();
+
+		PrefetchingGeneDao prefetchingGeneDao = new PrefetchingGeneDao();
+		prefetchingGeneDao.setDelegate(geneDaoMock);
+		prefetchingGeneDao.setTaskExecutor(new TaskExecutor() {
+			@Override
+			public void execute(Runnable task) {
+				if (scheduled.getAndIncrement() == 0) {
+					throw new TaskRejectedException("Rejected the first refill");
+				}
+
+				syncTaskExecutor.execute(task);
+			}
+		});
+		prefetchingGeneDao.setCapacity(CAPACITY);
+		prefetchingGeneDao.setLowWatermark(0);
+
+		// The first refill is rejected, so both lookups fall back to the delegate and the second one refills again
+		prefetchingGeneDao.findRandomGene(chromosome);
+		prefetchingGeneDao.findRandomGene(chromosome);
+
+		assertSame(prefetchedGenes.get(0), prefetchingGeneDao.findRandomGene(chromosome));
+
+		verify(geneDaoMock, times(2)).findRandomGene(same(chromosome));
+		verify(geneDaoMock, times(1)).findRandomGenes(any(Chromosome.class), eq(CAPACITY));
+	}
+
+	@Test
+	public void testFindRandomGene_ReusesSnapshot() {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+
+		GeneDao geneDaoMock = mock(GeneDao.class);
+		when(geneDaoMock.findRandomGene(any(Chromosome.class))).thenReturn(new MockGene());
+		when(geneDaoMock.findRandomGenes(any(Chromosome.class), eq(CAPACITY))).thenReturn(genes(CAPACITY));
+
+		PrefetchingGeneDao prefetchingGeneDao = new PrefetchingGeneDao();
+		prefetchingGeneDao.setDelegate(geneDaoMock);
+		prefetchingGeneDao.setTaskExecutor(new SyncTaskExecutor());
+		prefetchingGeneDao.setCapacity(CAPACITY);
+		prefetchingGeneDao.setLowWatermark(0);
+
+		for (int i = 0; i <= CAPACITY; i++) {
+			prefetchingGeneDao.findRandomGene(chromosome);
+		}
+
+		// The snapshot taken for the first refill of the ring is reused rather than cloned again
+		ArgumentCaptor<Chromosome> snapshots = ArgumentCaptor.forClass(Chromosome.class);
+		verify(geneDaoMock, times(2)).findRandomGenes(snapshots.capture(), eq(CAPACITY));
+		assertSame(snapshots.getAllValues().get(0), snapshots.getAllValues().get(1));
+	}
+
+	@Test
+	public void testFindRandomGene_Seeded() {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+
+		GeneDao geneDaoMock = mock(GeneDao.class);
+		when(geneDaoMock.findRandomGene(any(Chromosome.class))).thenReturn(new MockGene());
+
+		RandomSource randomSource = new RandomSource();
+		randomSource.setSeed(42L);
+
+		PrefetchingGeneDao prefetchingGeneDao = new PrefetchingGeneDao();
+		prefetchingGeneDao.setDelegate(geneDaoMock);
+		prefetchingGeneDao.setTaskExecutor(new SyncTaskExecutor());
+		prefetchingGeneDao.setCapacity(CAPACITY);
+		prefetchingGeneDao.setLowWatermark(0);
+		prefetchingGeneDao.setRandomSource(randomSource);
+
+		for (int i = 0; i <= CAPACITY; i++) {
+			prefetchingGeneDao.findRandomGene(chromosome);
+		}
+
+		// A seeded run bypasses the buffer, so that every Gene is looked up within the caller's bound task
+		verify(geneDaoMock, times(CAPACITY + 1)).findRandomGene(same(chromosome));
+		verify(geneDaoMock, never()).findRandomGenes(any(Chromosome.class), anyInt());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testFindRandomGeneOfLength_UnsupportedDelegate() {
+		PrefetchingGeneDao prefetchingGeneDao = new PrefetchingGeneDao();
+		prefetchingGeneDao.setDelegate(mock(GeneDao.class));
+		prefetchingGeneDao.setTaskExecutor(new SyncTaskExecutor());
+
+		prefetchingGeneDao.findRandomGeneOfLength(new MockKeyedChromosome(), 5);
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.dao;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.AdditionalMatchers.not;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.Sequence;
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockSequence;
+
+public class PrefetchingSequenceDaoTest {
+	private static final int CAPACITY = 4;
+
+	@Test
+	public void testFindRandomSequence() {
+		MockGene gene = new MockGene();
+		List<Sequence> prefetchedSequences = new ArrayList<Sequence>();
+
+		for (int i = 0; i < CAPACITY; i++) {
+			prefetchedSequences.add(new MockSequence());
+		}
+
+		SequenceDao sequenceDaoMock = mock(SequenceDao.class);
+		when(sequenceDaoMock.findRandomSequence(same(gene), eq(2))).thenReturn(new MockSequence());
+		when(sequenceDaoMock.findRandomSequences(any(Gene.class), eq(2), eq(CAPACITY))).thenReturn(prefetchedSequences);
+
+		PrefetchingSequenceDao prefetchingSequenceDao = new PrefetchingSequenceDao();
+		prefetchingSequenceDao.setDelegate(sequenceDaoMock);
+		prefetchingSequenceDao.setTaskExecutor(new SyncTaskExecutor());
+		prefetchingSequenceDao.setCapacity(CAPACITY);
+		prefetchingSequenceDao.setLowWatermark(0);
+
+		prefetchingSequenceDao.findRandomSequence(gene, 2);
+
+		MockGene otherGene = new MockGene();
+		Sequence sequence = prefetchingSequenceDao.findRandomSequence(otherGene, 2);
+
+		assertSame(prefetchedSequences.get(0), sequence);
+		assertSame(otherGene, sequence.getGene());
+		// The refill was fetched for a snapshot of the Gene which triggered it
+		verify(sequenceDaoMock).findRandomSequences(not(same(gene)), eq(2), eq(CAPACITY));
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.entities;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class AncestryTest {
+	private static Ancestry founder(String dad, String mom) {
+		return new Ancestry(dad, mom, null, null, 3);
+	}
+
+	@Test
+	public void testSiblingsShareParents() {
+		Ancestry first = founder("a", "b");
+		Ancestry second = founder("b", "c");
+
+		assertTrue(first.sharesLineageWith(second, 0));
+		assertFalse(first.sharesLineageWith(second, 1));
+	}
+
+	@Test
+	public void testCousinsShareGrandparents() {
+		Ancestry auntLine = new Ancestry("p1", "q1", founder("a", "b"), founder("c", "d"), 3);
+		Ancestry uncleLine = new Ancestry("p2", "q2", founder("b", "e"), founder("f", "g"), 3);
+
+		assertEquals(2, auntLine.getDepth());
+		assertTrue(auntLine.sharesLineageWith(uncleLine, 0));
+		assertTrue(auntLine.sharesLineageWith(uncleLine, 1));
+		assertFalse(auntLine.sharesLineageWith(uncleLine, 2));
+	}
+
+	@Test
+	public void testUnrelatedLineages() {
+		Ancestry first = new Ancestry("p1", "q1", founder("a", "b"), founder("c", "d"), 3);
+		Ancestry second = new Ancestry("p2", "q2", founder("e", "f"), founder("g", "h"), 3);
+
+		assertFalse(first.sharesLineageWith(second, 0));
+	}
+
+	@Test
+	public void testDepthIsBoundedByGenerationsToKeep() {
+		Ancestry ancestry = founder("a", "b");
+
+		for (int i = 0; i < 10; i++) {
+			ancestry = new Ancestry("x" + i, "y" + i, ancestry, ancestry, 2);
+		}
+
+		assertEquals(3, ancestry.getDepth());
+		assertEquals(0, ancestry.getAncestorIds(3).length);
+	}
+
+	/**
+	 * Builds a lineage in which every ancestor at the given level is distinct, so that the level holds 2^level ids.
+	 */
+	private static Ancestry fullLineage(String prefix, int level) {
+		if (level == 0) {
+			return founder(prefix + "d", prefix + "m");
+		}
+
+		return new Ancestry(prefix + "d", prefix + "m", fullLineage(prefix + "0", level - 1), fullLineage(prefix
+				+ "1", level - 1), level);
+	}
+
+	@Test
+	public void testWideLevelsAreComparedExactly() {
+		// Eight levels back, each lineage holds 256 ancestors, far more than the signature has bits
+		Ancestry first = fullLineage("a", 8);
+		Ancestry second = fullLineage("b", 8);
+
+		assertEquals(256, first.getAncestorIds(7).length);
+		assertFalse(first.sharesLineageWith(second, 0));
+
+		Ancestry sibling = new Ancestry("c", "d", first, fullLineage("e", 8), 8);
+		Ancestry cousin = new Ancestry("f", "g", fullLineage("h", 8), first, 8);
+
+		assertTrue(sibling.sharesLineageWith(cousin, 0));
+		assertFalse(sibling.sharesLineageWith(cousin, 2));
+	}
+
+	@Test
+	public void testInbredLevelsAreShared() {
+		Ancestry ancestry = founder("a", "b");
+
+		for (int i = 0; i < 40; i++) {
+			ancestry = new Ancestry("x" + i, "y" + i, ancestry, ancestry, 40);
+		}
+
+		// Each level joins the same level of both parents, so there is only one pair of ancestors per level
+		assertEquals(41, ancestry.getDepth());
+		assertEquals(2, ancestry.getAncestorIds(40).length);
+		assertTrue(ancestry.sharesLineageWith(ancestry, 0));
+	}
+
+	@Test
+	public void testAncestorIdsAreMergedAndSorted() {
+		Ancestry ancestry = new Ancestry("p", "q", founder("a", "b"), founder("b", "c"), 1);
+
+		long[] expected = new long[] { Ancestry.hashId("a"), Ancestry.hashId("b"), Ancestry.hashId("c") };
+		Arrays.sort(expected);
+
+		assertArrayEquals(expected, ancestry.getAncestorIds(1));
+	}
+
+	@Test
+	public void testGatheredIdsAreKept() {
+		Ancestry parent = fullLineage("a", 3);
+		long[] parentIds = parent.getAncestorIds(2);
+		long[] expected = Arrays.copyOf(parentIds, parentIds.length);
+
+		// Changing a copy handed out must not change the ids kept by the level
+		parentIds[0] = 0L;
+		assertArrayEquals(expected, parent.getAncestorIds(2));
+
+		// The child's level is gathered from the ids its maternal level has already kept
+		Ancestry child = new Ancestry("c", "d", parent, fullLineage("b", 3), 3);
+
+		assertEquals(16, child.getAncestorIds(3).length);
+		Ancestry cousin = new Ancestry("e", "f", fullLineage("g", 3), parent, 3);
+
+		assertTrue(child.sharesLineageWith(cousin, 1));
+		assertFalse(child.sharesLineageWith(cousin, 2));
+	}
+}
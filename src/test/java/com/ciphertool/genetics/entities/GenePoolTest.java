@@ -0,0 +1,117 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockSequence;
+
+public class GenePoolTest {
+	private static class ValueGene implements ImmutableGene {
+		private final String value;
+
+		public ValueGene(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public ValueGene clone() {
+			return this;
+		}
+
+		@Override
+		public void setChromosome(Chromosome chromosome) {
+			// Shared by many Chromosomes
+		}
+
+		@Override
+		public Chromosome getChromosome() {
+			return null;
+		}
+
+		@Override
+		public boolean hasMatch() {
+			return false;
+		}
+
+		@Override
+		public void setHasMatch(boolean hasMatch) {
+			// Immutable
+		}
+
+		@Override
+		public int hashCode() {
+			return value.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof ValueGene) && ((ValueGene) obj).value.equals(value);
+		}
+	}
+
+	@Test
+	public void testIntern() {
+		GenePool<ValueGene> genePool = new GenePool<ValueGene>();
+
+		ValueGene first = genePool.intern(new ValueGene("a"));
+		ValueGene second = genePool.intern(new ValueGene("a"));
+		ValueGene third = genePool.intern(new ValueGene("b"));
+
+		assertSame(first, second);
+		assertNotSame(first, third);
+		assertEquals(2, genePool.size());
+	}
+
+	@Test
+	public void testShare() {
+		ValueGene immutableGene = new ValueGene("a");
+		assertSame(immutableGene, ImmutableGene.share(immutableGene));
+
+		MockGene mutableGene = new MockGene();
+		mutableGene.addSequence(new MockSequence("a"));
+		Gene shared = ImmutableGene.share(mutableGene);
+
+		assertNotSame(mutableGene, shared);
+		assertEquals(mutableGene, shared);
+	}
+
+	@Test
+	public void testSame() {
+		GenePool<ValueGene> genePool = new GenePool<ValueGene>();
+
+		assertTrue(ImmutableGene.same(genePool.intern(new ValueGene("a")), genePool.intern(new ValueGene("a"))));
+		assertFalse(ImmutableGene.same(genePool.intern(new ValueGene("a")), genePool.intern(new ValueGene("b"))));
+
+		MockGene first = new MockGene();
+		first.addSequence(new MockSequence("a"));
+		MockGene second = new MockGene();
+		second.addSequence(new MockSequence("a"));
+
+		assertTrue(ImmutableGene.same(first, second));
+	}
+}
@@ -128,6 +128,15 @@ public class ExecutionStatisticsTest {
 		assertSame(mutationAlgorithmToSet, executionStatistics.getMutationAlgorithm());
 	}
 
+	@Test
+	public void testSetTerminationReason() {
+		String terminationReasonToSet = "Stop requested";
+		ExecutionStatistics executionStatistics = new ExecutionStatistics();
+		executionStatistics.setTerminationReason(terminationReasonToSet);
+
+		assertSame(terminationReasonToSet, executionStatistics.getTerminationReason());
+	}
+
 	@Test(expected = UnsupportedOperationException.class)
 	public void testGenerationStatisticsListUnmodifiable() {
 		ExecutionStatistics executionStatistics = new ExecutionStatistics();
@@ -123,6 +123,24 @@ public class GenerationStatisticsTest {
 		assertEquals(numberSelectedOutToSet, generationStatistics.getNumberSelectedOut());
 	}
 
+	@Test
+	public void testSetNumberOfAncestryRejections() {
+		int numberOfAncestryRejectionsToSet = 25;
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+		generationStatistics.setNumberOfAncestryRejections(numberOfAncestryRejectionsToSet);
+
+		assertEquals(numberOfAncestryRejectionsToSet, generationStatistics.getNumberOfAncestryRejections());
+	}
+
+	@Test
+	public void testSetDuplicateRatio() {
+		BigDecimal duplicateRatioToSet = BigDecimal.valueOf(0.25);
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+		generationStatistics.setDuplicateRatio(duplicateRatioToSet);
+
+		assertEquals(duplicateRatioToSet, generationStatistics.getDuplicateRatio());
+	}
+
 	@Test
 	public void testEquals() {
 		Field executionStatisticsIdField = ReflectionUtils.findField(ExecutionStatistics.class, "id");
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.fitness;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.statistics.EvaluationStageStatistics;
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+
+public class EvaluationCascadeTest {
+	private static final EvaluationCascade.Evaluations SEQUENTIAL_EVALUATIONS = new EvaluationCascade.Evaluations() {
+		@Override
+		public void evaluate(FitnessEvaluator fitnessEvaluator, List<Chromosome> chromosomes) {
+			for (Chromosome chromosome : chromosomes) {
+				chromosome.setFitness(fitnessEvaluator.evaluate(chromosome));
+			}
+		}
+	};
+
+	/**
+	 * Creates a FitnessEvaluator which multiplies the current fitness of a Chromosome by the given factor.
+	 */
+	private static FitnessEvaluator scalingEvaluator(final double factor) {
+		FitnessEvaluator fitnessEvaluator = mock(FitnessEvaluator.class);
+
+		when(fitnessEvaluator.evaluate(any(Chromosome.class))).thenAnswer(new Answer<BigDecimal>() {
+			@Override
+			public BigDecimal answer(InvocationOnMock invocation) throws Throwable {
+				Chromosome chromosome = (Chromosome) invocation.getArguments()[0];
+
+				return chromosome.getFitness().multiply(BigDecimal.valueOf(factor));
+			}
+		});
+
+		return fitnessEvaluator;
+	}
+
+	@Test
+	public void testEvaluate() throws InterruptedException {
+		List<Chromosome> candidates = new ArrayList<Chromosome>();
+
+		for (int i = 1; i <= 10; i++) {
+			MockKeyedChromosome chromosome = new MockKeyedChromosome();
+			chromosome.setFitness(BigDecimal.valueOf(i));
+
+			candidates.add(chromosome);
+		}
+
+		EvaluationCascade evaluationCascade = new EvaluationCascade();
+
+		EvaluationStage first = new EvaluationStage(scalingEvaluator(2.0), 0.5);
+		first.setName("first");
+		evaluationCascade.addStage(first);
+
+		EvaluationStage second = new EvaluationStage(scalingEvaluator(10.0), 0.5);
+		second.setThreshold(BigDecimal.valueOf(180.0));
+		second.setName("second");
+		evaluationCascade.addStage(second);
+
+		EvaluationStage third = new EvaluationStage(scalingEvaluator(-1.0), 1.0);
+		third.setName("third");
+		evaluationCascade.addStage(third);
+
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+
+		int evaluations = evaluationCascade.evaluate(candidates, SEQUENTIAL_EVALUATIONS, generationStatistics);
+
+		// 10 candidates, then the top 5 (6 through 10), then the top 3 of those with at least 180 (10 and 9 only)
+		assertEquals(17, evaluations);
+		assertEquals(BigDecimal.valueOf(-200.0).compareTo(candidates.get(9).getFitness()), 0);
+		assertEquals(BigDecimal.valueOf(160.0).compareTo(candidates.get(7).getFitness()), 0);
+		assertEquals(BigDecimal.valueOf(2.0).compareTo(candidates.get(0).getFitness()), 0);
+
+		List<EvaluationStageStatistics> stageStatistics = generationStatistics.getEvaluationStageStatistics();
+		assertEquals(3, stageStatistics.size());
+		assertEquals("first", stageStatistics.get(0).getName());
+		assertEquals(10, stageStatistics.get(0).getNumberOfEvaluations());
+		assertEquals(1.0, stageStatistics.get(0).getRankCorrelation(), 1e-9);
+		assertEquals(5, stageStatistics.get(1).getNumberOfEvaluations());
+		assertEquals(2, stageStatistics.get(2).getNumberOfEvaluations());
+		assertEquals(-1.0, stageStatistics.get(2).getRankCorrelation(), 1e-9);
+	}
+
+	@Test
+	public void testEvaluate_NoStages() throws InterruptedException {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+
+		List<Chromosome> candidates = new ArrayList<Chromosome>();
+		candidates.add(new MockKeyedChromosome());
+
+		assertEquals(0, new EvaluationCascade().evaluate(candidates, SEQUENTIAL_EVALUATIONS, generationStatistics));
+		assertEquals(0, generationStatistics.getEvaluationStageStatistics().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEvaluationStage_InvalidQuota() {
+		new EvaluationStage(mock(FitnessEvaluator.class), 0.0);
+	}
+
+	@Test
+	public void testEvaluationStage_Threshold() {
+		EvaluationStage stage = new EvaluationStage(mock(FitnessEvaluator.class), 1.0);
+
+		assertNull(stage.getThreshold());
+	}
+}
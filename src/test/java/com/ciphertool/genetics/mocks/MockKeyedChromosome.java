@@ -27,10 +27,12 @@ import com.ciphertool.genetics.annotations.Clean;
 import com.ciphertool.genetics.entities.Ancestry;
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.Gene;
+import com.ciphertool.genetics.entities.ImmutableGene;
 import com.ciphertool.genetics.entities.KeyedChromosome;
+import com.ciphertool.genetics.entities.ReusableChromosome;
 import com.ciphertool.genetics.population.Population;
 
-public class MockKeyedChromosome implements KeyedChromosome<Object> {
+public class MockKeyedChromosome implements KeyedChromosome<Object>, ReusableChromosome {
 	private boolean				needsEvaluation;
 	private BigDecimal			fitness				= BigDecimal.ZERO;
 	private Map<Object, Gene>	genes				= new HashMap<Object, Gene>();
@@ -166,6 +168,23 @@ public class MockKeyedChromosome implements KeyedChromosome<Object> {
 		return copyChromosome;
 	}
 
+	@Override
+	public void copyFrom(Chromosome source) {
+		MockKeyedChromosome sourceChromosome = (MockKeyedChromosome) source;
+
+		this.genes.clear();
+		this.setAge(0);
+		this.setNumberOfChildren(0);
+		this.setEvaluationNeeded(sourceChromosome.needsEvaluation);
+		this.setFitness(sourceChromosome.fitness);
+		this.targetSize = sourceChromosome.targetSize;
+		this.population = null;
+
+		for (Object key : sourceChromosome.genes.keySet()) {
+			this.putGene(key, ImmutableGene.share(sourceChromosome.genes.get(key)));
+		}
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
@@ -206,7 +225,21 @@ public class MockKeyedChromosome implements KeyedChromosome<Object> {
 
 	@Override
 	public double similarityTo(Chromosome other) {
-		return 0;
+		if (!(other instanceof MockKeyedChromosome) || this.genes.isEmpty()) {
+			return 0;
+		}
+
+		Map<Object, Gene> otherGenes = ((MockKeyedChromosome) other).getGenes();
+
+		int matches = 0;
+
+		for (Map.Entry<Object, Gene> entry : this.genes.entrySet()) {
+			if (entry.getValue().equals(otherGenes.get(entry.getKey()))) {
+				matches++;
+			}
+		}
+
+		return (double) matches / (double) this.genes.size();
 	}
 
 	/**
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.orchestration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.task.TaskExecutor;
+
+import com.ciphertool.genetics.GeneticAlgorithmStrategy;
+import com.ciphertool.genetics.algorithms.GeneticAlgorithm;
+import com.ciphertool.genetics.entities.statistics.ExecutionStatistics;
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.util.FairShareTaskExecutor;
+
+public class MultiRunOrchestratorTest {
+	private static ExecutionStatistics executionStatisticsWithBestFitness(double... bestFitnesses) {
+		ExecutionStatistics executionStatistics = new ExecutionStatistics(new Date(), null);
+
+		for (int i = 0; i < bestFitnesses.length; i++) {
+			GenerationStatistics generationStatistics = new GenerationStatistics(executionStatistics, i);
+			generationStatistics.setBestFitness(BigDecimal.valueOf(bestFitnesses[i]));
+
+			executionStatistics.addGenerationStatistics(generationStatistics);
+		}
+
+		return executionStatistics;
+	}
+
+	@Test
+	public void testRun() throws InterruptedException {
+		final GeneticAlgorithmStrategy goodStrategy = new GeneticAlgorithmStrategy();
+		final GeneticAlgorithmStrategy badStrategy = new GeneticAlgorithmStrategy();
+		final AtomicInteger tasksRun = new AtomicInteger(0);
+
+		MultiRunOrchestrator multiRunOrchestrator = new MultiRunOrchestrator();
+		multiRunOrchestrator.setMaxConcurrentRuns(2);
+
+		FairShareTaskExecutor fairShareTaskExecutor = new FairShareTaskExecutor();
+		fairShareTaskExecutor.setThreads(2);
+		multiRunOrchestrator.setFairShareTaskExecutor(fairShareTaskExecutor);
+
+		multiRunOrchestrator.setGeneticAlgorithmFactory(new GeneticAlgorithmFactory() {
+			@Override
+			public GeneticAlgorithm newGeneticAlgorithm(GeneticAlgorithmStrategy strategy,
+					final TaskExecutor taskExecutor) {
+				GeneticAlgorithm geneticAlgorithm = mock(GeneticAlgorithm.class);
+
+				try {
+					if (strategy == badStrategy) {
+						doThrow(new IllegalStateException("bad strategy")).when(geneticAlgorithm).evolveAutonomously();
+
+						return geneticAlgorithm;
+					}
+
+					// Each run hands a task to its Share and waits for it, as a GeneticAlgorithm would
+					doAnswer(new Answer<Void>() {
+						@Override
+						public Void answer(InvocationOnMock invocation) throws Throwable {
+							FutureTask<Void> futureTask = new FutureTask<Void>(new Runnable() {
+								@Override
+								public void run() {
+									tasksRun.incrementAndGet();
+								}
+							}, null);
+
+							taskExecutor.execute(futureTask);
+							futureTask.get();
+
+							return null;
+						}
+					}).when(geneticAlgorithm).evolveAutonomously();
+				} catch (InterruptedException ie) {
+					throw new IllegalStateException(ie);
+				}
+
+				when(geneticAlgorithm.getLastExecutionStatistics()).thenReturn(executionStatisticsWithBestFitness(1.0, 3.0, 2.0));
+
+				return geneticAlgorithm;
+			}
+		});
+
+		List<RunResult> runResults = multiRunOrchestrator.run(Arrays.asList(goodStrategy, badStrategy), 3);
+
+		assertEquals(6, runResults.size());
+		assertEquals(3, tasksRun.get());
+
+		for (int i = 0; i < runResults.size(); i++) {
+			assertEquals(i, runResults.get(i).getRun());
+		}
+
+		Map<GeneticAlgorithmStrategy, RunSummary> summaries = multiRunOrchestrator.summarize(runResults);
+
+		assertEquals(2, summaries.size());
+
+		RunSummary goodSummary = summaries.get(goodStrategy);
+		assertSame(goodStrategy, goodSummary.getStrategy());
+		assertEquals(3, goodSummary.getRuns());
+		assertEquals(0, goodSummary.getFailures());
+		assertEquals(0, BigDecimal.valueOf(3.0).compareTo(goodSummary.getBestFitness()));
+		assertEquals(0, BigDecimal.valueOf(3.0).compareTo(goodSummary.getMeanBestFitness()));
+		assertEquals(2.0, goodSummary.getMeanGenerations(), 0.0);
+
+		RunSummary badSummary = summaries.get(badStrategy);
+		assertEquals(3, badSummary.getRuns());
+		assertEquals(3, badSummary.getFailures());
+		assertNull(badSummary.getMeanBestFitness());
+		assertTrue(runResults.get(3).getFailure() instanceof IllegalStateException);
+
+		fairShareTaskExecutor.destroy();
+	}
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.orchestration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.task.TaskExecutor;
+
+import com.ciphertool.genetics.GeneticAlgorithmStrategy;
+import com.ciphertool.genetics.algorithms.GeneticAlgorithm;
+import com.ciphertool.genetics.entities.statistics.ExecutionStatistics;
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.population.Population;
+import com.ciphertool.genetics.util.FairShareTaskExecutor;
+
+public class RacingRunnerTest {
+	/**
+	 * Creates a GeneticAlgorithm whose best fitness grows by the given rate every generation.
+	 */
+	private static GeneticAlgorithm geneticAlgorithmImprovingBy(final double rate) throws InterruptedException {
+		final ExecutionStatistics[] executionStatistics = new ExecutionStatistics[1];
+
+		GeneticAlgorithm geneticAlgorithm = mock(GeneticAlgorithm.class);
+
+		when(geneticAlgorithm.getExecutionStatistics()).thenAnswer(new Answer<ExecutionStatistics>() {
+			@Override
+			public ExecutionStatistics answer(InvocationOnMock invocation) throws Throwable {
+				return executionStatistics[0];
+			}
+		});
+
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				executionStatistics[0] = new ExecutionStatistics(new Date(), null);
+
+				GenerationStatistics generationStatistics = new GenerationStatistics(executionStatistics[0], 0);
+				generationStatistics.setBestFitness(BigDecimal.ZERO);
+				executionStatistics[0].addGenerationStatistics(generationStatistics);
+
+				return null;
+			}
+		}).when(geneticAlgorithm).initialize();
+
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				int generation = executionStatistics[0].getGenerationStatisticsList().size();
+
+				GenerationStatistics generationStatistics = new GenerationStatistics(executionStatistics[0],
+						generation);
+				generationStatistics.setBestFitness(BigDecimal.valueOf(rate * generation));
+				executionStatistics[0].addGenerationStatistics(generationStatistics);
+
+				return null;
+			}
+		}).when(geneticAlgorithm).proceedWithNextGeneration();
+
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				executionStatistics[0] = null;
+
+				return null;
+			}
+		}).when(geneticAlgorithm).finish();
+
+		return geneticAlgorithm;
+	}
+
+	@Test
+	public void testRace() throws InterruptedException {
+		final List<GeneticAlgorithmStrategy> strategies = new ArrayList<GeneticAlgorithmStrategy>();
+
+		for (int i = 0; i < 4; i++) {
+			GeneticAlgorithmStrategy strategy = new GeneticAlgorithmStrategy();
+			strategy.setMaxGenerations(20);
+
+			strategies.add(strategy);
+		}
+
+		RacingRunner racingRunner = new RacingRunner();
+		racingRunner.setInitialGenerations(2);
+		racingRunner.setEta(2.0);
+		racingRunner.setPruneFraction(0.5);
+
+		FairShareTaskExecutor fairShareTaskExecutor = new FairShareTaskExecutor();
+		fairShareTaskExecutor.setThreads(2);
+		racingRunner.setFairShareTaskExecutor(fairShareTaskExecutor);
+
+		racingRunner.setGeneticAlgorithmFactory(new GeneticAlgorithmFactory() {
+			@Override
+			public GeneticAlgorithm newGeneticAlgorithm(GeneticAlgorithmStrategy strategy, TaskExecutor taskExecutor) {
+				try {
+					return geneticAlgorithmImprovingBy(strategies.indexOf(strategy) + 1.0);
+				} catch (InterruptedException ie) {
+					throw new IllegalStateException(ie);
+				}
+			}
+		});
+
+		List<RunResult> runResults = racingRunner.race(strategies);
+
+		assertEquals(4, runResults.size());
+
+		// The fastest improver wins, and the others are ranked by how long they survived
+		assertSame(strategies.get(3), runResults.get(0).getStrategy());
+		assertSame(strategies.get(2), runResults.get(1).getStrategy());
+		assertSame(strategies.get(1), runResults.get(2).getStrategy());
+		assertSame(strategies.get(0), runResults.get(3).getStrategy());
+
+		assertEquals(20, runResults.get(0).getGenerations());
+		assertEquals(6, runResults.get(1).getGenerations());
+		assertEquals(2, runResults.get(2).getGenerations());
+		assertEquals(2, runResults.get(3).getGenerations());
+
+		assertEquals("Finished the race", runResults.get(0).getExecutionStatistics().getTerminationReason());
+		assertTrue(runResults.get(3).getExecutionStatistics().getTerminationReason().startsWith("Pruned"));
+
+		fairShareTaskExecutor.destroy();
+	}
+
+	private static RacingRunner racingRunnerFor(final List<GeneticAlgorithm> geneticAlgorithms,
+			final List<GeneticAlgorithmStrategy> strategies) {
+		RacingRunner racingRunner = new RacingRunner();
+		racingRunner.setInitialGenerations(2);
+
+		FairShareTaskExecutor fairShareTaskExecutor = new FairShareTaskExecutor();
+		fairShareTaskExecutor.setThreads(1);
+		racingRunner.setFairShareTaskExecutor(fairShareTaskExecutor);
+
+		racingRunner.setGeneticAlgorithmFactory(new GeneticAlgorithmFactory() {
+			@Override
+			public GeneticAlgorithm newGeneticAlgorithm(GeneticAlgorithmStrategy strategy, TaskExecutor taskExecutor) {
+				return geneticAlgorithms.get(strategies.indexOf(strategy));
+			}
+		});
+
+		return racingRunner;
+	}
+
+	@Test
+	public void testRace_FailedCandidateIsFinished() throws InterruptedException {
+		List<GeneticAlgorithmStrategy> strategies = new ArrayList<GeneticAlgorithmStrategy>();
+		List<GeneticAlgorithm> geneticAlgorithms = new ArrayList<GeneticAlgorithm>();
+
+		for (int i = 0; i < 2; i++) {
+			GeneticAlgorithmStrategy strategy = new GeneticAlgorithmStrategy();
+			strategy.setMaxGenerations(4);
+
+			strategies.add(strategy);
+			geneticAlgorithms.add(geneticAlgorithmImprovingBy(i + 1.0));
+		}
+
+		GeneticAlgorithm failing = geneticAlgorithms.get(0);
+		doThrow(new IllegalStateException("Broken")).when(failing).proceedWithNextGeneration();
+
+		List<RunResult> runResults = racingRunnerFor(geneticAlgorithms, strategies).race(strategies);
+
+		RunResult failed = runResults.get(1);
+
+		assertSame(strategies.get(0), failed.getStrategy());
+		assertTrue(failed.getFailure() instanceof IllegalStateException);
+		// The statistics gathered before the failure are kept
+		assertEquals("Failed during round 1: Broken", failed.getExecutionStatistics().getTerminationReason());
+		verify(failing).finish();
+	}
+
+	@Test
+	public void testRace_StopRecoversFromBackup() throws InterruptedException {
+		final List<GeneticAlgorithmStrategy> strategies = new ArrayList<GeneticAlgorithmStrategy>();
+		strategies.add(new GeneticAlgorithmStrategy());
+		strategies.get(0).setMaxGenerations(4);
+
+		GeneticAlgorithm stopping = geneticAlgorithmImprovingBy(1.0);
+		Population population = mock(Population.class);
+		when(stopping.getPopulation()).thenReturn(population);
+
+		final RacingRunner racingRunner = racingRunnerFor(Arrays.asList(stopping), strategies);
+
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				racingRunner.requestStop();
+
+				throw new InterruptedException("Stop requested during mutation");
+			}
+		}).when(stopping).proceedWithNextGeneration();
+
+		List<RunResult> runResults = racingRunner.race(strategies);
+
+		assertEquals(1, runResults.size());
+		assertNull(runResults.get(0).getFailure());
+		assertEquals("Stop requested", runResults.get(0).getExecutionStatistics().getTerminationReason());
+		verify(population).recoverFromBackup();
+		verify(stopping).finish();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetPruneFraction_Invalid() {
+		new RacingRunner().setPruneFraction(1.0);
+	}
+
+	@Test
+	public void testRace_Empty() throws InterruptedException {
+		RacingRunner racingRunner = new RacingRunner();
+
+		assertEquals(0, racingRunner.race(Arrays.<GeneticAlgorithmStrategy> asList()).size());
+	}
+}
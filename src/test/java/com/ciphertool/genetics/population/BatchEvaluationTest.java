@@ -0,0 +1,87 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.fitness.BatchFitnessEvaluator;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.util.RandomSource;
+
+public class BatchEvaluationTest {
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testStart_DefaultBatchSize() throws InterruptedException, ExecutionException {
+		final List<Integer> batchSizes = new ArrayList<Integer>();
+
+		BatchFitnessEvaluator fitnessEvaluator = mock(BatchFitnessEvaluator.class);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				List<Chromosome> chromosomes = (List<Chromosome>) invocation.getArguments()[0];
+				BigDecimal[] fitnesses = (BigDecimal[]) invocation.getArguments()[1];
+
+				batchSizes.add(chromosomes.size());
+
+				for (int i = 0; i < fitnesses.length; i++) {
+					fitnesses[i] = BigDecimal.valueOf(3.0);
+				}
+
+				return null;
+			}
+		}).when(fitnessEvaluator).evaluate(any(List.class), any(BigDecimal[].class));
+
+		List<Chromosome> chromosomes = new ArrayList<Chromosome>();
+		for (int i = 0; i < BatchEvaluation.DEFAULT_BATCH_SIZE * 2 + 1; i++) {
+			chromosomes.add(new MockKeyedChromosome());
+		}
+
+		List<FutureTask<Void>> futureTasks = BatchEvaluation.start(new SyncTaskExecutor(), new RandomSource(), fitnessEvaluator, chromosomes, 0);
+
+		assertEquals(3, futureTasks.size());
+
+		for (FutureTask<Void> futureTask : futureTasks) {
+			futureTask.get();
+		}
+
+		assertEquals(BatchEvaluation.DEFAULT_BATCH_SIZE, batchSizes.get(0).intValue());
+		assertEquals(BatchEvaluation.DEFAULT_BATCH_SIZE, batchSizes.get(1).intValue());
+		assertEquals(1, batchSizes.get(2).intValue());
+
+		for (Chromosome chromosome : chromosomes) {
+			assertEquals(BigDecimal.valueOf(3.0), chromosome.getFitness());
+		}
+	}
+}
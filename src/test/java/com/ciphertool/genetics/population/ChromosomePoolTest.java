@@ -0,0 +1,135 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.mocks.MockSequence;
+
+public class ChromosomePoolTest {
+	private static MockKeyedChromosome chromosome(String value, double fitness) {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+
+		MockGene gene = new MockGene();
+		gene.addSequence(new MockSequence(value));
+		chromosome.putGene(0, gene);
+
+		chromosome.setFitness(BigDecimal.valueOf(fitness));
+
+		return chromosome;
+	}
+
+	@Test
+	public void testCopyOf() {
+		ChromosomePool chromosomePool = new ChromosomePool();
+
+		MockKeyedChromosome source = chromosome("a", 2.0);
+
+		Chromosome copy = chromosomePool.copyOf(source);
+
+		assertNotSame(source, copy);
+		assertEquals(source, copy);
+		assertEquals(1, chromosomePool.getAllocated());
+		assertEquals(0, chromosomePool.getRecycled());
+	}
+
+	@Test
+	public void testCopyOf_Recycled() {
+		ChromosomePool chromosomePool = new ChromosomePool();
+
+		MockKeyedChromosome dead = chromosome("b", 1.0);
+		dead.setAge(5);
+		dead.setNumberOfChildren(3);
+		dead.getGenes().put(1, new MockGene());
+
+		assertTrue(chromosomePool.release(dead));
+		assertEquals(1, chromosomePool.size());
+
+		MockKeyedChromosome source = chromosome("a", 2.0);
+
+		MockKeyedChromosome copy = (MockKeyedChromosome) chromosomePool.copyOf(source);
+
+		assertSame(dead, copy);
+		assertEquals(source, copy);
+		assertEquals(1, copy.getGenes().size());
+		assertNotSame(source.getGenes().get(0), copy.getGenes().get(0));
+		assertSame(copy, copy.getGenes().get(0).getChromosome());
+		assertEquals(BigDecimal.valueOf(2.0), copy.getFitness());
+		assertEquals(0, copy.getAge());
+		assertEquals(0, copy.getNumberOfChildren());
+		assertNull(copy.getPopulation());
+
+		assertEquals(0, chromosomePool.size());
+		assertEquals(0, chromosomePool.getAllocated());
+		assertEquals(1, chromosomePool.getRecycled());
+	}
+
+	@Test
+	public void testCopyOrClone() {
+		MockKeyedChromosome source = chromosome("a", 2.0);
+
+		Chromosome clone = ChromosomePool.copyOrClone(null, source);
+
+		assertNotSame(source, clone);
+		assertEquals(source, clone);
+
+		ChromosomePool chromosomePool = new ChromosomePool();
+
+		MockKeyedChromosome dead = chromosome("b", 1.0);
+		chromosomePool.release(dead);
+
+		assertSame(dead, ChromosomePool.copyOrClone(chromosomePool, source));
+		assertEquals(source, dead);
+		assertEquals(1, chromosomePool.getRecycled());
+	}
+
+	@Test
+	public void testRelease_NotReusable() {
+		ChromosomePool chromosomePool = new ChromosomePool();
+
+		assertFalse(chromosomePool.release(mock(Chromosome.class)));
+		assertEquals(0, chromosomePool.size());
+	}
+
+	@Test
+	public void testRelease_Capacity() {
+		ChromosomePool chromosomePool = new ChromosomePool();
+		chromosomePool.setCapacity(2);
+
+		assertTrue(chromosomePool.release(chromosome("a", 1.0)));
+		assertTrue(chromosomePool.release(chromosome("b", 1.0)));
+		assertFalse(chromosomePool.release(chromosome("c", 1.0)));
+
+		assertEquals(2, chromosomePool.size());
+	}
+}
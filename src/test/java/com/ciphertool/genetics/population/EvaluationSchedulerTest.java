@@ -0,0 +1,342 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.statistics.PerformanceStatistics;
+import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.util.RandomSource;
+
+public class EvaluationSchedulerTest {
+	private static ThreadPoolTaskExecutor	taskExecutor	= new ThreadPoolTaskExecutor();
+
+	@BeforeClass
+	public static void setUp() {
+		taskExecutor.setCorePoolSize(4);
+		taskExecutor.setMaxPoolSize(4);
+		taskExecutor.setQueueCapacity(100);
+		taskExecutor.setKeepAliveSeconds(1);
+		taskExecutor.setAllowCoreThreadTimeOut(true);
+		taskExecutor.initialize();
+	}
+
+	/**
+	 * Sleeps for one millisecond per Gene, recording the order in which Chromosomes are evaluated.
+	 */
+	private static class SizeProportionalFitnessEvaluator implements FitnessEvaluator {
+		private List<Chromosome> evaluationOrder = Collections.synchronizedList(new ArrayList<Chromosome>());
+
+		@Override
+		public BigDecimal evaluate(Chromosome chromosome) {
+			evaluationOrder.add(chromosome);
+
+			try {
+				Thread.sleep(chromosome.actualSize());
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+
+			return BigDecimal.valueOf(chromosome.actualSize());
+		}
+
+		@Override
+		public void setGeneticStructure(Object obj) {
+		}
+
+		@Override
+		public String getDisplayName() {
+			return "Size Proportional";
+		}
+	}
+
+	private static MockKeyedChromosome chromosomeOfSize(int size) {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+
+		for (int i = 0; i < size; i++) {
+			chromosome.putGene(i, new MockGene());
+		}
+
+		chromosome.setEvaluationNeeded(true);
+
+		return chromosome;
+	}
+
+	@Test
+	public void testEvaluate() throws InterruptedException {
+		EvaluationScheduler scheduler = new EvaluationScheduler();
+		scheduler.setTaskExecutor(taskExecutor);
+		scheduler.setWorkers(4);
+
+		List<Chromosome> chromosomes = new ArrayList<Chromosome>();
+
+		for (int i = 1; i <= 20; i++) {
+			chromosomes.add(chromosomeOfSize(i));
+		}
+
+		PerformanceStatistics performanceStatistics = new PerformanceStatistics();
+		scheduler.evaluate(chromosomes, new SizeProportionalFitnessEvaluator(), new RandomSource(), performanceStatistics);
+
+		for (Chromosome chromosome : chromosomes) {
+			assertFalse(chromosome.isEvaluationNeeded());
+			assertEquals(BigDecimal.valueOf(chromosome.actualSize()), chromosome.getFitness());
+		}
+
+		assertEquals(0, performanceStatistics.getEvaluationTimeouts());
+		assertTrue(performanceStatistics.getEvaluationP50Micros() <= performanceStatistics.getEvaluationP95Micros());
+		assertTrue(performanceStatistics.getEvaluationP95Micros() <= performanceStatistics.getEvaluationP99Micros());
+		assertTrue(performanceStatistics.getEvaluationP99Micros() <= performanceStatistics.getEvaluationMaxMicros());
+		assertTrue(performanceStatistics.getEvaluationMaxMicros() >= 20000);
+	}
+
+	@Test
+	public void testEvaluate_MostExpensiveFirst() throws InterruptedException {
+		EvaluationScheduler scheduler = new EvaluationScheduler();
+		scheduler.setTaskExecutor(taskExecutor);
+		scheduler.setWorkers(1);
+		scheduler.setSmoothingFactor(1.0);
+
+		List<Chromosome> chromosomes = new ArrayList<Chromosome>();
+		chromosomes.add(chromosomeOfSize(1));
+		chromosomes.add(chromosomeOfSize(10));
+		chromosomes.add(chromosomeOfSize(30));
+
+		SizeProportionalFitnessEvaluator fitnessEvaluator = new SizeProportionalFitnessEvaluator();
+
+		// The first pass teaches the cost model, which has no history yet and so preserves the original order
+		scheduler.evaluate(chromosomes, fitnessEvaluator, new RandomSource(), null);
+
+		fitnessEvaluator.evaluationOrder.clear();
+		scheduler.evaluate(chromosomes, fitnessEvaluator, new RandomSource(), null);
+
+		assertEquals(Integer.valueOf(30), fitnessEvaluator.evaluationOrder.get(0).actualSize());
+		assertEquals(Integer.valueOf(10), fitnessEvaluator.evaluationOrder.get(1).actualSize());
+		assertEquals(Integer.valueOf(1), fitnessEvaluator.evaluationOrder.get(2).actualSize());
+	}
+
+	@Test
+	public void testEvaluate_CostsPerFitnessEvaluator() throws InterruptedException {
+		EvaluationScheduler scheduler = new EvaluationScheduler();
+		scheduler.setTaskExecutor(taskExecutor);
+		scheduler.setWorkers(1);
+		scheduler.setSmoothingFactor(1.0);
+
+		List<Chromosome> chromosomes = new ArrayList<Chromosome>();
+		chromosomes.add(chromosomeOfSize(1));
+		chromosomes.add(chromosomeOfSize(10));
+		chromosomes.add(chromosomeOfSize(30));
+
+		scheduler.evaluate(chromosomes, new SizeProportionalFitnessEvaluator(), new RandomSource(), null);
+
+		// Another FitnessEvaluator has no history of its own, so the original order is preserved
+		SizeProportionalFitnessEvaluator fitnessEvaluator = new SizeProportionalFitnessEvaluator();
+		scheduler.evaluate(chromosomes, fitnessEvaluator, new RandomSource(), null);
+
+		assertEquals(Integer.valueOf(1), fitnessEvaluator.evaluationOrder.get(0).actualSize());
+		assertEquals(Integer.valueOf(10), fitnessEvaluator.evaluationOrder.get(1).actualSize());
+		assertEquals(Integer.valueOf(30), fitnessEvaluator.evaluationOrder.get(2).actualSize());
+	}
+
+	@Test
+	public void testEvaluate_Timeout() throws InterruptedException {
+		EvaluationScheduler scheduler = new EvaluationScheduler();
+		scheduler.setTaskExecutor(taskExecutor);
+		scheduler.setWorkers(2);
+		scheduler.setTimeoutMillis(100);
+		scheduler.setPenaltyFitness(BigDecimal.valueOf(-1));
+
+		List<Chromosome> chromosomes = new ArrayList<Chromosome>();
+		MockKeyedChromosome slowChromosome = chromosomeOfSize(500);
+		chromosomes.add(slowChromosome);
+
+		for (int i = 1; i <= 5; i++) {
+			chromosomes.add(chromosomeOfSize(i));
+		}
+
+		PerformanceStatistics performanceStatistics = new PerformanceStatistics();
+		long start = System.currentTimeMillis();
+		scheduler.evaluate(chromosomes, new SizeProportionalFitnessEvaluator(), new RandomSource(), performanceStatistics);
+
+		assertTrue(System.currentTimeMillis() - start < 500);
+		assertEquals(BigDecimal.valueOf(-1), slowChromosome.getFitness());
+		assertEquals(1, performanceStatistics.getEvaluationTimeouts());
+
+		for (int i = 1; i < chromosomes.size(); i++) {
+			assertEquals(BigDecimal.valueOf(chromosomes.get(i).actualSize()), chromosomes.get(i).getFitness());
+		}
+	}
+
+	@Test
+	public void testEvaluate_TimeoutWithoutPenalty() throws InterruptedException {
+		EvaluationScheduler scheduler = new EvaluationScheduler();
+		scheduler.setTaskExecutor(taskExecutor);
+		scheduler.setWorkers(2);
+		scheduler.setTimeoutMillis(100);
+		scheduler.setPenaltyFitness(BigDecimal.valueOf(-1));
+
+		List<Chromosome> chromosomes = new ArrayList<Chromosome>();
+		MockKeyedChromosome slowChromosome = chromosomeOfSize(500);
+		slowChromosome.setFitness(BigDecimal.valueOf(7));
+		chromosomes.add(slowChromosome);
+		chromosomes.add(chromosomeOfSize(1));
+
+		PerformanceStatistics performanceStatistics = new PerformanceStatistics();
+		scheduler.evaluate(chromosomes, new SizeProportionalFitnessEvaluator(), new RandomSource(),
+				performanceStatistics, false);
+
+		assertEquals(BigDecimal.valueOf(7), slowChromosome.getFitness());
+		assertEquals(BigDecimal.ONE, chromosomes.get(1).getFitness());
+		assertEquals(1, performanceStatistics.getEvaluationTimeouts());
+	}
+
+	@Test
+	public void testEvaluate_TimeoutInterruptsAndPins() throws InterruptedException {
+		final MockKeyedChromosome slowChromosome = chromosomeOfSize(1);
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		final CountDownLatch finish = new CountDownLatch(1);
+
+		FitnessEvaluator fitnessEvaluator = new FitnessEvaluator() {
+			@Override
+			public BigDecimal evaluate(Chromosome chromosome) {
+				if (chromosome != slowChromosome) {
+					return BigDecimal.ONE;
+				}
+
+				try {
+					Thread.sleep(5000);
+				} catch (InterruptedException ie) {
+					interrupted.countDown();
+				}
+
+				// Go on reading the Chromosome after the interrupt, as an evaluator which ignores it would
+				while (true) {
+					try {
+						finish.await();
+
+						return BigDecimal.ONE;
+					} catch (InterruptedException ie) {
+					}
+				}
+			}
+
+			@Override
+			public void setGeneticStructure(Object obj) {
+			}
+
+			@Override
+			public String getDisplayName() {
+				return "Slow";
+			}
+		};
+
+		ChromosomePool chromosomePool = new ChromosomePool();
+
+		EvaluationScheduler scheduler = new EvaluationScheduler();
+		scheduler.setTaskExecutor(taskExecutor);
+		scheduler.setWorkers(1);
+		scheduler.setTimeoutMillis(50);
+		scheduler.setPenaltyFitness(BigDecimal.valueOf(-1));
+		scheduler.setChromosomePool(chromosomePool);
+
+		List<Chromosome> chromosomes = new ArrayList<Chromosome>();
+		chromosomes.add(slowChromosome);
+		chromosomes.add(chromosomeOfSize(2));
+
+		scheduler.evaluate(chromosomes, fitnessEvaluator, new RandomSource(), null);
+
+		assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+		assertEquals(BigDecimal.valueOf(-1), slowChromosome.getFitness());
+		assertEquals(BigDecimal.ONE, chromosomes.get(1).getFitness());
+		assertFalse(chromosomePool.release(slowChromosome));
+
+		// The result of the abandoned evaluation is discarded when it completes anyway
+		finish.countDown();
+
+		long deadline = System.currentTimeMillis() + 1000;
+
+		while (!chromosomePool.release(slowChromosome) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+
+		assertEquals(1, chromosomePool.size());
+		assertEquals(BigDecimal.valueOf(-1), slowChromosome.getFitness());
+	}
+
+	@Test
+	public void testEvaluate_SeededIndependentOfWorkers() throws InterruptedException {
+		final RandomSource unseeded = new RandomSource();
+
+		FitnessEvaluator fitnessEvaluator = new FitnessEvaluator() {
+			@Override
+			public BigDecimal evaluate(Chromosome chromosome) {
+				return BigDecimal.valueOf(unseeded.nextInt(1000000));
+			}
+
+			@Override
+			public void setGeneticStructure(Object obj) {
+			}
+
+			@Override
+			public String getDisplayName() {
+				return "Random";
+			}
+		};
+
+		List<Chromosome> first = new ArrayList<Chromosome>();
+		List<Chromosome> second = new ArrayList<Chromosome>();
+
+		for (int i = 1; i <= 20; i++) {
+			first.add(chromosomeOfSize(i));
+			second.add(chromosomeOfSize(i));
+		}
+
+		EvaluationScheduler scheduler = new EvaluationScheduler();
+		scheduler.setTaskExecutor(taskExecutor);
+
+		RandomSource randomSource = new RandomSource();
+		randomSource.setSeed(7L);
+		scheduler.setWorkers(1);
+		scheduler.evaluate(first, fitnessEvaluator, randomSource, null);
+
+		randomSource.setSeed(7L);
+		scheduler.setWorkers(4);
+		scheduler.evaluate(second, fitnessEvaluator, randomSource, null);
+
+		for (int i = 0; i < first.size(); i++) {
+			assertEquals(first.get(i).getFitness(), second.get(i).getFitness());
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.mocks.MockSequence;
+
+public class HallOfFameTest {
+	private static MockKeyedChromosome chromosome(String value, double fitness) {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+
+		MockGene gene = new MockGene();
+		gene.addSequence(new MockSequence(value));
+		chromosome.putGene(0, gene);
+
+		chromosome.setFitness(BigDecimal.valueOf(fitness));
+
+		return chromosome;
+	}
+
+	@Test
+	public void testAdd() {
+		HallOfFame hallOfFame = new HallOfFame(2);
+
+		assertNull(hallOfFame.getBest());
+
+		MockKeyedChromosome first = chromosome("a", 1.0);
+		MockKeyedChromosome second = chromosome("b", 3.0);
+		MockKeyedChromosome third = chromosome("c", 2.0);
+
+		assertTrue(hallOfFame.add(first));
+		assertTrue(hallOfFame.add(second));
+		assertTrue(hallOfFame.add(third));
+		assertFalse(hallOfFame.add(chromosome("d", 0.5)));
+
+		assertEquals(2, hallOfFame.size());
+		assertSame(second, hallOfFame.getBest());
+		assertSame(second, hallOfFame.getMembers().get(0));
+		assertSame(third, hallOfFame.getMembers().get(1));
+	}
+
+	@Test
+	public void testAdd_Duplicate() {
+		HallOfFame hallOfFame = new HallOfFame(3);
+
+		assertTrue(hallOfFame.add(chromosome("a", 2.0)));
+		assertFalse(hallOfFame.add(chromosome("a", 1.0)));
+
+		MockKeyedChromosome better = chromosome("a", 4.0);
+		assertTrue(hallOfFame.add(better));
+
+		assertEquals(1, hallOfFame.size());
+		assertSame(better, hallOfFame.getBest());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_InvalidCapacity() {
+		new HallOfFame(0);
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.mocks.MockSequence;
+
+public class KnownSolutionProximityTrackerTest {
+	private static MockKeyedChromosome chromosome(String value) {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+
+		MockGene gene = new MockGene();
+		gene.addSequence(new MockSequence(value));
+		chromosome.putGene(0, gene);
+
+		return chromosome;
+	}
+
+	@Test
+	public void testTrack() throws InterruptedException {
+		FitnessEvaluator knownSolutionFitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(knownSolutionFitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.valueOf(0.5));
+
+		KnownSolutionProximityTracker tracker = new KnownSolutionProximityTracker();
+		tracker.setTaskExecutor(new SimpleAsyncTaskExecutor());
+		tracker.setSampleInterval(3);
+
+		MockKeyedChromosome best = chromosome("a");
+
+		GenerationStatistics[] generationStatistics = new GenerationStatistics[5];
+
+		for (int i = 0; i < generationStatistics.length; i++) {
+			generationStatistics[i] = new GenerationStatistics();
+		}
+
+		assertTrue(tracker.track(knownSolutionFitnessEvaluatorMock, best, generationStatistics[0]));
+		assertFalse(tracker.track(knownSolutionFitnessEvaluatorMock, best, generationStatistics[1]));
+		assertFalse(tracker.track(knownSolutionFitnessEvaluatorMock, best, generationStatistics[2]));
+
+		// The best individual is unchanged, but it is due to be sampled again
+		assertTrue(tracker.track(knownSolutionFitnessEvaluatorMock, best, generationStatistics[3]));
+
+		// The best individual has changed
+		assertTrue(tracker.track(knownSolutionFitnessEvaluatorMock, chromosome("b"), generationStatistics[4]));
+
+		tracker.await();
+
+		assertEquals(0, BigDecimal.valueOf(50.0).compareTo(generationStatistics[0].getKnownSolutionProximity()));
+		assertNull(generationStatistics[1].getKnownSolutionProximity());
+		assertNull(generationStatistics[2].getKnownSolutionProximity());
+		assertEquals(0, BigDecimal.valueOf(50.0).compareTo(generationStatistics[3].getKnownSolutionProximity()));
+		assertEquals(0, BigDecimal.valueOf(50.0).compareTo(generationStatistics[4].getKnownSolutionProximity()));
+		verify(knownSolutionFitnessEvaluatorMock, times(3)).evaluate(any(Chromosome.class));
+	}
+
+	@Test
+	public void testTrack_ChangedInPlace() throws InterruptedException {
+		FitnessEvaluator knownSolutionFitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(knownSolutionFitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.valueOf(0.5));
+
+		KnownSolutionProximityTracker tracker = new KnownSolutionProximityTracker();
+		tracker.setTaskExecutor(new SimpleAsyncTaskExecutor());
+
+		MockKeyedChromosome best = chromosome("a");
+
+		assertTrue(tracker.track(knownSolutionFitnessEvaluatorMock, best, new GenerationStatistics()));
+
+		MockGene gene = new MockGene();
+		gene.addSequence(new MockSequence("b"));
+		best.putGene(0, gene);
+
+		assertTrue(tracker.track(knownSolutionFitnessEvaluatorMock, best, new GenerationStatistics()));
+
+		tracker.await();
+
+		verify(knownSolutionFitnessEvaluatorMock, times(2)).evaluate(any(Chromosome.class));
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.population.LatticeNeighborhood.Type;
+import com.ciphertool.genetics.util.RandomSource;
+
+public class LatticeNeighborhoodTest {
+	private static final int SELECTIONS = 1000;
+
+	@Test
+	public void testNeighborsOf_Moore() {
+		LatticeNeighborhood toroidal = new LatticeNeighborhood(5, 5, Type.MOORE, 1, true);
+		LatticeNeighborhood bounded = new LatticeNeighborhood(5, 5, Type.MOORE, 1, false);
+
+		assertEquals(8, toroidal.neighborsOf(0, 0).length);
+		assertEquals(8, toroidal.neighborsOf(2, 2).length);
+		assertEquals(3, bounded.neighborsOf(0, 0).length);
+		assertEquals(5, bounded.neighborsOf(0, 2).length);
+		assertEquals(8, bounded.neighborsOf(2, 2).length);
+
+		int[] corner = toroidal.neighborsOf(0, 0).clone();
+		Arrays.sort(corner);
+		assertArrayEquals(new int[] { 1, 4, 5, 6, 9, 20, 21, 24 }, corner);
+
+		assertEquals(24, new LatticeNeighborhood(7, 7, Type.MOORE, 2, true).neighborsOf(3, 3).length);
+	}
+
+	@Test
+	public void testNeighborsOf_VonNeumann() {
+		LatticeNeighborhood neighborhood = new LatticeNeighborhood(5, 5, Type.VON_NEUMANN, 1, true);
+
+		int[] corner = neighborhood.neighborsOf(0, 0).clone();
+		Arrays.sort(corner);
+		assertArrayEquals(new int[] { 1, 4, 5, 20 }, corner);
+
+		assertEquals(12, new LatticeNeighborhood(7, 7, Type.VON_NEUMANN, 2, true).neighborsOf(3, 3).length);
+	}
+
+	@Test
+	public void testNeighborsOf_WrapsOntoSameCell() {
+		// Above and below wrap onto the same row, and a cell is never its own neighbor
+		LatticeNeighborhood neighborhood = new LatticeNeighborhood(2, 2, Type.MOORE, 1, true);
+
+		assertEquals(3, neighborhood.neighborsOf(0, 0).length);
+	}
+
+	@Test
+	public void testSelectParentIndices() {
+		LatticeNeighborhood neighborhood = new LatticeNeighborhood(5, 5, Type.VON_NEUMANN, 1, true);
+		RandomSource randomSource = new RandomSource();
+
+		double[] fitness = new double[25];
+		Arrays.fill(fitness, 1.0);
+		// Only two neighbors of cell (2, 2) have any fitness
+		fitness[neighborhood.cellIndex(1, 2)] = 0.0;
+		fitness[neighborhood.cellIndex(2, 1)] = 0.0;
+
+		int[] selected = new int[2];
+
+		for (int i = 0; i < SELECTIONS; i++) {
+			neighborhood.selectParentIndices(fitness, 2, 2, randomSource, selected);
+
+			assertNotEquals(selected[0], selected[1]);
+			assertTrue(selected[0] == neighborhood.cellIndex(3, 2) || selected[0] == neighborhood.cellIndex(2, 3));
+			assertTrue(selected[1] == neighborhood.cellIndex(3, 2) || selected[1] == neighborhood.cellIndex(2, 3));
+		}
+	}
+
+	@Test
+	public void testSelectParentIndices_ZeroFitness() {
+		LatticeNeighborhood neighborhood = new LatticeNeighborhood(4, 4, Type.MOORE, 1, false);
+		RandomSource randomSource = new RandomSource();
+
+		double[] fitness = new double[16];
+		int[] selected = new int[2];
+		boolean[] seen = new boolean[16];
+
+		for (int i = 0; i < SELECTIONS; i++) {
+			neighborhood.selectParentIndices(fitness, 0, 0, randomSource, selected);
+
+			assertNotEquals(selected[0], selected[1]);
+			seen[selected[0]] = true;
+			seen[selected[1]] = true;
+		}
+
+		for (int neighbor : neighborhood.neighborsOf(0, 0)) {
+			assertTrue(seen[neighbor]);
+		}
+
+		assertEquals(3, neighborhood.neighborsOf(0, 0).length);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSelectParentIndices_TooFewNeighbors() {
+		LatticeNeighborhood neighborhood = new LatticeNeighborhood(1, 2, Type.MOORE, 1, false);
+
+		neighborhood.selectParentIndices(new double[2], 0, 0, new RandomSource(), new int[2]);
+	}
+}
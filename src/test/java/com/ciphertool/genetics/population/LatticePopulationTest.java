@@ -0,0 +1,232 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import com.ciphertool.genetics.Breeder;
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.entities.SpatialChromosome;
+import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
+import com.ciphertool.genetics.fitness.AscendingFitnessComparator;
+import com.ciphertool.genetics.fitness.FitnessEvaluator;
+
+public class LatticePopulationTest {
+	private LatticePopulation	population;
+	private SpatialChromosome[]	chromosomes;
+
+	@Before
+	public void setUp() {
+		population = new LatticePopulation();
+		population.setFitnessComparator(new AscendingFitnessComparator());
+		population.setTaskExecutor(new SyncTaskExecutor());
+		population.setTargetSize(4);
+		population.clearIndividuals();
+
+		chromosomes = new SpatialChromosome[4];
+
+		for (int i = 0; i < 4; i++) {
+			chromosomes[i] = mockChromosome(i / 2, i % 2, 4 - i);
+			population.addIndividual(chromosomes[i]);
+		}
+	}
+
+	private static SpatialChromosome mockChromosome(int x, int y, double fitness) {
+		SpatialChromosome chromosome = mock(SpatialChromosome.class);
+		when(chromosome.getXPos()).thenReturn(x);
+		when(chromosome.getYPos()).thenReturn(y);
+		when(chromosome.getFitness()).thenReturn(BigDecimal.valueOf(fitness));
+
+		return chromosome;
+	}
+
+	@Test
+	public void testGetIndividualsIsSorted() {
+		List<Chromosome> individuals = population.getIndividuals();
+
+		assertSame(chromosomes[3], individuals.get(0));
+		assertSame(chromosomes[0], individuals.get(3));
+
+		assertEquals(individuals, population.getSortedIndividuals());
+	}
+
+	@Test
+	public void testGetIndividualsIsCached() {
+		assertSame(population.getIndividuals(), population.getIndividuals());
+	}
+
+	@Test
+	public void testGetIndividualsResortsWhenFitnessChanges() throws InterruptedException {
+		List<Chromosome> individuals = population.getIndividuals();
+
+		when(chromosomes[3].getFitness()).thenReturn(BigDecimal.TEN);
+		population.evaluateFitness(null);
+
+		List<Chromosome> resorted = population.getIndividuals();
+
+		assertSame(chromosomes[2], resorted.get(0));
+		assertSame(chromosomes[3], resorted.get(3));
+
+		// Snapshots already handed out are left alone
+		assertSame(chromosomes[3], individuals.get(0));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGetIndividualsIsUnmodifiable() {
+		population.getIndividuals().clear();
+	}
+
+	@Test
+	public void testGetIndividualsRebuildsWhenCellReplaced() {
+		population.getIndividuals();
+
+		SpatialChromosome replacement = mockChromosome(0, 0, 0.5);
+		population.addIndividual(replacement);
+
+		List<Chromosome> individuals = population.getIndividuals();
+
+		assertEquals(4, individuals.size());
+		assertSame(replacement, individuals.get(0));
+		assertSame(chromosomes[1], individuals.get(3));
+	}
+
+	@Test
+	public void testPerformMajorEvaluation() throws InterruptedException {
+		FitnessEvaluator majorFitnessEvaluator = mock(FitnessEvaluator.class);
+		when(majorFitnessEvaluator.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.ONE);
+		population.setMajorFitnessEvaluator(majorFitnessEvaluator);
+
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+		Chromosome best = population.performMajorEvaluation(generationStatistics, 0.5);
+
+		assertEquals(2, generationStatistics.getNumberOfMajorEvaluations());
+		assertSame(chromosomes[0], best);
+
+		verify(majorFitnessEvaluator).evaluate(chromosomes[0]);
+		verify(majorFitnessEvaluator).evaluate(chromosomes[1]);
+		verify(majorFitnessEvaluator, never()).evaluate(chromosomes[2]);
+		verify(chromosomes[0]).setFitness(BigDecimal.ONE);
+		verify(chromosomes[1]).setFitness(BigDecimal.ONE);
+	}
+
+	@Test
+	public void testPerformMajorEvaluation_NoMajorFitnessEvaluator() throws InterruptedException {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+		Chromosome best = population.performMajorEvaluation(generationStatistics, 0.5);
+
+		assertEquals(0, generationStatistics.getNumberOfMajorEvaluations());
+		assertSame(chromosomes[0], best);
+	}
+
+	@Test
+	public void testEvaluateFitness_CountsInPlaceEvaluations() throws InterruptedException {
+		FitnessEvaluator fitnessEvaluator = mock(FitnessEvaluator.class);
+		when(fitnessEvaluator.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.ONE);
+		population.setFitnessEvaluator(fitnessEvaluator);
+
+		SpatialChromosome child = mockChromosome(1, 1, 1.0);
+		when(child.isEvaluationNeeded()).thenReturn(true);
+
+		population.replaceIfNotWorse(child);
+
+		when(child.isEvaluationNeeded()).thenReturn(false);
+		when(chromosomes[0].isEvaluationNeeded()).thenReturn(true);
+
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+		population.evaluateFitness(generationStatistics);
+
+		// One evaluation of the lattice and one of the child as it replaced its cell
+		assertEquals(2, generationStatistics.getNumberOfEvaluations());
+
+		population.evaluateFitness(generationStatistics);
+
+		assertEquals(1, generationStatistics.getNumberOfEvaluations());
+	}
+
+	@Test
+	public void testRecoverFromBackup_ReusedBackup() {
+		population.backupIndividuals();
+
+		SpatialChromosome replacement = mockChromosome(0, 0, 0.5);
+		population.addIndividual(replacement);
+
+		population.backupIndividuals();
+
+		population.addIndividual(mockChromosome(0, 0, 0.25));
+
+		population.recoverFromBackup();
+
+		assertSame(replacement, population.getIndividualsAsArray()[0][0]);
+		assertSame(chromosomes[3], population.getIndividualsAsArray()[1][1]);
+	}
+
+	@Test
+	public void testDoConcurrentTileFitnessEvaluations_ContinuesPastFailedCell() throws InterruptedException {
+		FitnessEvaluator fitnessEvaluator = mock(FitnessEvaluator.class);
+		when(fitnessEvaluator.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.ONE);
+		when(fitnessEvaluator.evaluate(chromosomes[0])).thenThrow(new IllegalStateException("Evaluation failed"));
+		population.setFitnessEvaluator(fitnessEvaluator);
+		population.setTileSize(2);
+
+		for (SpatialChromosome chromosome : chromosomes) {
+			when(chromosome.isEvaluationNeeded()).thenReturn(true);
+		}
+
+		population.doConcurrentFitnessEvaluations();
+
+		verify(chromosomes[0], never()).setFitness(any(BigDecimal.class));
+
+		for (int i = 1; i < 4; i++) {
+			verify(chromosomes[i]).setFitness(BigDecimal.ONE);
+		}
+	}
+
+	@Test
+	public void testSetGeneticStructure() {
+		Object geneticStructure = new Object();
+		Breeder breeder = mock(Breeder.class);
+		FitnessEvaluator majorFitnessEvaluator = mock(FitnessEvaluator.class);
+		population.setBreeder(breeder);
+
+		// Without a majorFitnessEvaluator only the Breeder is given the structure
+		population.setGeneticStructure(geneticStructure);
+
+		population.setMajorFitnessEvaluator(majorFitnessEvaluator);
+		population.setGeneticStructure(geneticStructure);
+
+		verify(breeder, times(2)).setGeneticStructure(same(geneticStructure));
+		verify(majorFitnessEvaluator).setGeneticStructure(same(geneticStructure));
+	}
+}
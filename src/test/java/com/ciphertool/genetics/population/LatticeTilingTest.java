@@ -0,0 +1,74 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatticeTilingTest {
+	@Test
+	public void testTilesCoverLatticeOnce() {
+		int rows = 13;
+		int columns = 7;
+		LatticeTiling tiling = new LatticeTiling(rows, columns, 4);
+
+		assertEquals(8, tiling.getNumberOfTiles());
+
+		int[][] visits = new int[rows][columns];
+		int cells = 0;
+
+		for (int tile = 0; tile < tiling.getNumberOfTiles(); tile++) {
+			for (int x = tiling.getRowStart(tile); x < tiling.getRowEnd(tile); x++) {
+				for (int y = tiling.getColumnStart(tile); y < tiling.getColumnEnd(tile); y++) {
+					visits[x][y]++;
+				}
+			}
+
+			cells += tiling.getNumberOfCells(tile);
+		}
+
+		assertEquals(rows * columns, cells);
+
+		for (int x = 0; x < rows; x++) {
+			for (int y = 0; y < columns; y++) {
+				assertEquals(1, visits[x][y]);
+			}
+		}
+
+		// The last tile is clipped to the edges of the lattice
+		assertEquals(12, tiling.getRowStart(7));
+		assertEquals(13, tiling.getRowEnd(7));
+		assertEquals(4, tiling.getColumnStart(7));
+		assertEquals(7, tiling.getColumnEnd(7));
+	}
+
+	@Test
+	public void testAutoTileSize() {
+		// 100x100 cells across 4 tiles for each of 4 processors is 625 cells, or 25x25, per tile
+		assertEquals(25, LatticeTiling.autoTileSize(100, 100, 4));
+		assertEquals(1, LatticeTiling.autoTileSize(3, 3, 16));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidTileSize() {
+		new LatticeTiling(10, 10, 0);
+	}
+}
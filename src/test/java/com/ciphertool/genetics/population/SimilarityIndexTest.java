@@ -0,0 +1,136 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.mocks.MockGene;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.mocks.MockSequence;
+
+public class SimilarityIndexTest {
+	private static MockKeyedChromosome chromosomeWithPrefix(String prefix, int changedGenes) {
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+
+		for (int i = 0; i < 20; i++) {
+			MockGene gene = new MockGene();
+			gene.addSequence(new MockSequence((i < changedGenes ? "changed" : prefix) + i));
+
+			chromosome.putGene(i, gene);
+		}
+
+		return chromosome;
+	}
+
+	@Test
+	public void testCandidatesOf() {
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+		individuals.add(chromosomeWithPrefix("a", 0));
+		individuals.add(chromosomeWithPrefix("a", 1));
+		individuals.add(chromosomeWithPrefix("b", 0));
+		individuals.add(chromosomeWithPrefix("b", 1));
+
+		SimilarityIndex similarityIndex = new SimilarityIndex(16, 4);
+		similarityIndex.build(individuals);
+
+		assertEquals(4, similarityIndex.size());
+		assertArrayEquals(new int[] { 1 }, similarityIndex.candidatesOf(0));
+		assertArrayEquals(new int[] { 0 }, similarityIndex.candidatesOf(1));
+		assertArrayEquals(new int[] { 3 }, similarityIndex.candidatesOf(2));
+		assertArrayEquals(new int[] { 2 }, similarityIndex.candidatesOf(3));
+	}
+
+	@Test
+	public void testEstimateSimilarity() {
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+		individuals.add(chromosomeWithPrefix("a", 0));
+		individuals.add(chromosomeWithPrefix("a", 0));
+		individuals.add(chromosomeWithPrefix("b", 0));
+
+		SimilarityIndex similarityIndex = new SimilarityIndex(16, 4);
+		similarityIndex.build(individuals);
+
+		assertEquals(1.0, similarityIndex.estimateSimilarity(0, 1), 0.0);
+		assertTrue(similarityIndex.estimateSimilarity(0, 2) < 0.1);
+	}
+
+	@Test
+	public void testNearest() {
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+		individuals.add(chromosomeWithPrefix("a", 0));
+		individuals.add(chromosomeWithPrefix("b", 0));
+
+		SimilarityIndex similarityIndex = new SimilarityIndex(16, 4);
+		similarityIndex.build(individuals);
+
+		assertEquals(1, similarityIndex.nearest(chromosomeWithPrefix("b", 2)));
+		assertEquals(-1, similarityIndex.nearest(chromosomeWithPrefix("c", 0)));
+	}
+
+	@Test
+	public void testCluster() {
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+		individuals.add(chromosomeWithPrefix("a", 0));
+		individuals.add(chromosomeWithPrefix("b", 0));
+		individuals.add(chromosomeWithPrefix("a", 1));
+		individuals.add(chromosomeWithPrefix("b", 1));
+		individuals.add(chromosomeWithPrefix("c", 0));
+
+		SimilarityIndex similarityIndex = new SimilarityIndex(16, 4);
+		similarityIndex.build(individuals);
+
+		int[] clusters = similarityIndex.cluster(0.5);
+
+		assertArrayEquals(new int[] { 0, 1, 0, 1, 4 }, clusters);
+	}
+
+	@Test
+	public void testMaxBucketSize() {
+		List<Chromosome> individuals = new ArrayList<Chromosome>();
+
+		for (int i = 0; i < 10; i++) {
+			individuals.add(chromosomeWithPrefix("a", 0));
+		}
+
+		SimilarityIndex similarityIndex = new SimilarityIndex(2, 2);
+		similarityIndex.setMaxBucketSize(3);
+		similarityIndex.build(individuals);
+
+		int[] candidates = similarityIndex.candidatesOf(0);
+
+		assertTrue(candidates.length <= 6);
+		assertFalse(Arrays.binarySearch(candidates, 0) >= 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_InvalidBands() {
+		new SimilarityIndex(0, 4);
+	}
+}
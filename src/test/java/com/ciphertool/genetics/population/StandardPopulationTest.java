@@ -29,7 +29,9 @@ import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -37,11 +39,17 @@ import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.util.ReflectionUtils;
 
@@ -50,9 +58,14 @@ import com.ciphertool.genetics.algorithms.selection.modes.Selector;
 import com.ciphertool.genetics.entities.Chromosome;
 import com.ciphertool.genetics.entities.statistics.GenerationStatistics;
 import com.ciphertool.genetics.fitness.AscendingFitnessComparator;
+import com.ciphertool.genetics.fitness.BatchFitnessEvaluator;
+import com.ciphertool.genetics.fitness.EvaluationCascade;
+import com.ciphertool.genetics.fitness.EvaluationStage;
 import com.ciphertool.genetics.fitness.FitnessEvaluator;
 import com.ciphertool.genetics.mocks.MockBreeder;
+import com.ciphertool.genetics.mocks.MockGene;
 import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.mocks.MockSequence;
 
 public class StandardPopulationTest {
 	private static ThreadPoolTaskExecutor	taskExecutor			= new ThreadPoolTaskExecutor();
@@ -311,6 +324,410 @@ public class StandardPopulationTest {
 		verify(fitnessEvaluatorMock, times(2)).evaluate(any(Chromosome.class));
 	}
 
+	@Test
+	public void testDoConcurrentFitnessEvaluationsInBatches() throws InterruptedException {
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+		population.setEvaluationBatchSize(2);
+
+		final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+
+		BatchFitnessEvaluator fitnessEvaluator = mock(BatchFitnessEvaluator.class);
+		doAnswer(new Answer<Void>() {
+			@SuppressWarnings("unchecked")
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				List<Chromosome> chromosomes = (List<Chromosome>) invocation.getArguments()[0];
+				BigDecimal[] fitnesses = (BigDecimal[]) invocation.getArguments()[1];
+
+				batchSizes.add(chromosomes.size());
+
+				for (int i = 0; i < fitnesses.length; i++) {
+					fitnesses[i] = BigDecimal.valueOf(5.0);
+				}
+
+				return null;
+			}
+		}).when(fitnessEvaluator).evaluate(anyListOf(Chromosome.class), any(BigDecimal[].class));
+		population.setFitnessEvaluator(fitnessEvaluator);
+
+		for (int i = 0; i < 5; i++) {
+			MockKeyedChromosome chromosomeEvaluationNeeded = new MockKeyedChromosome();
+			chromosomeEvaluationNeeded.setFitness(BigDecimal.valueOf(1.0));
+			population.addIndividual(chromosomeEvaluationNeeded);
+			chromosomeEvaluationNeeded.setEvaluationNeeded(true);
+		}
+
+		MockKeyedChromosome chromosomeEvaluationNotNeeded = new MockKeyedChromosome();
+		chromosomeEvaluationNotNeeded.setFitness(BigDecimal.valueOf(1.0));
+		population.addIndividual(chromosomeEvaluationNotNeeded);
+
+		assertEquals(5, population.doConcurrentFitnessEvaluations(fitnessEvaluator, -1, false));
+
+		for (Chromosome individual : population.getIndividuals()) {
+			assertFalse(individual.isEvaluationNeeded());
+		}
+
+		assertEquals(BigDecimal.valueOf(1.0), chromosomeEvaluationNotNeeded.getFitness());
+
+		Collections.sort(batchSizes);
+		assertEquals(Arrays.asList(1, 2, 2), batchSizes);
+		verify(fitnessEvaluator, never()).evaluate(any(Chromosome.class));
+	}
+
+	private static MockKeyedChromosome chromosomeWithValue(String value, double fitness, boolean evaluationNeeded) {
+		MockGene gene = new MockGene();
+		gene.addSequence(new MockSequence(value));
+
+		MockKeyedChromosome chromosome = new MockKeyedChromosome();
+		chromosome.putGene(0, gene);
+		chromosome.setFitness(BigDecimal.valueOf(fitness));
+		chromosome.setEvaluationNeeded(evaluationNeeded);
+
+		return chromosome;
+	}
+
+	@Test
+	public void testEvaluateFitness_Deduplicate() throws InterruptedException {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+		population.setDeduplicate(true);
+
+		FitnessEvaluator fitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(fitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.valueOf(3.0));
+		population.setFitnessEvaluator(fitnessEvaluatorMock);
+
+		MockKeyedChromosome evaluated = chromosomeWithValue("x", 7.0, false);
+		population.addIndividual(evaluated);
+
+		MockKeyedChromosome duplicateOfEvaluated = chromosomeWithValue("x", 0.0, true);
+		population.addIndividual(duplicateOfEvaluated);
+
+		MockKeyedChromosome pending1 = chromosomeWithValue("y", 0.0, true);
+		population.addIndividual(pending1);
+
+		MockKeyedChromosome pending2 = chromosomeWithValue("y", 0.0, true);
+		population.addIndividual(pending2);
+
+		MockKeyedChromosome unique = chromosomeWithValue("z", 0.0, true);
+		population.addIndividual(unique);
+
+		population.evaluateFitness(generationStatistics);
+
+		for (Chromosome individual : population.getIndividuals()) {
+			assertFalse(individual.isEvaluationNeeded());
+		}
+
+		// One of each pending pair of duplicates is evaluated, and the duplicate of the evaluated individual is not
+		verify(fitnessEvaluatorMock, times(2)).evaluate(any(Chromosome.class));
+		assertEquals(BigDecimal.valueOf(7.0), duplicateOfEvaluated.getFitness());
+		assertEquals(BigDecimal.valueOf(3.0), pending1.getFitness());
+		assertEquals(BigDecimal.valueOf(3.0), pending2.getFitness());
+		assertEquals(BigDecimal.valueOf(3.0), unique.getFitness());
+		assertEquals(0.4, generationStatistics.getDuplicateRatio().doubleValue(), 0.0);
+		assertEquals(2, generationStatistics.getNumberOfEvaluations());
+	}
+
+	@Test
+	public void testEvaluateFitness_DeduplicateFailedEvaluation() throws InterruptedException {
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+		population.setDeduplicate(true);
+
+		FitnessEvaluator fitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(fitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenThrow(new IllegalStateException("Failed"));
+		population.setFitnessEvaluator(fitnessEvaluatorMock);
+
+		MockKeyedChromosome pending1 = chromosomeWithValue("y", 0.0, true);
+		population.addIndividual(pending1);
+
+		MockKeyedChromosome pending2 = chromosomeWithValue("y", 0.0, true);
+		population.addIndividual(pending2);
+
+		population.evaluateFitness(new GenerationStatistics());
+
+		// Neither duplicate was evaluated, so both are still awaiting evaluation
+		assertTrue(pending1.isEvaluationNeeded());
+		assertTrue(pending2.isEvaluationNeeded());
+	}
+
+	@Test
+	public void testEvaluateFitness_DeduplicateRejectedEvaluation() throws InterruptedException {
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(new TaskExecutor() {
+			@Override
+			public void execute(Runnable task) {
+				throw new TaskRejectedException("Rejected");
+			}
+		});
+		population.setDeduplicate(true);
+		population.setFitnessEvaluator(mock(FitnessEvaluator.class));
+
+		MockKeyedChromosome pending1 = chromosomeWithValue("y", 0.0, true);
+		population.addIndividual(pending1);
+
+		MockKeyedChromosome pending2 = chromosomeWithValue("y", 0.0, true);
+		population.addIndividual(pending2);
+
+		try {
+			population.evaluateFitness(new GenerationStatistics());
+
+			fail("Expected the rejected evaluation to propagate");
+		} catch (TaskRejectedException tre) {
+			// Expected
+		}
+
+		assertTrue(pending1.isEvaluationNeeded());
+		assertTrue(pending2.isEvaluationNeeded());
+	}
+
+	@Test
+	public void testEvaluateFitness_ReplaceDuplicates() throws InterruptedException {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+		population.setDeduplicate(true);
+		population.setReplaceDuplicates(true);
+
+		MockKeyedChromosome replacement = chromosomeWithValue("w", 0.0, true);
+		Breeder breederMock = mock(Breeder.class);
+		when(breederMock.breed()).thenReturn(replacement);
+		population.setBreeder(breederMock);
+
+		FitnessEvaluator fitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(fitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.valueOf(3.0));
+		population.setFitnessEvaluator(fitnessEvaluatorMock);
+
+		MockKeyedChromosome evaluated = chromosomeWithValue("x", 7.0, false);
+		population.addIndividual(evaluated);
+
+		MockKeyedChromosome duplicate = chromosomeWithValue("x", 0.0, true);
+		population.addIndividual(duplicate);
+
+		population.evaluateFitness(generationStatistics);
+
+		assertEquals(2, population.size());
+		assertSame(evaluated, population.getIndividuals().get(0));
+		assertSame(replacement, population.getIndividuals().get(1));
+		assertSame(population, replacement.getPopulation());
+		verify(fitnessEvaluatorMock, times(1)).evaluate(same(replacement));
+		assertEquals(0.5, generationStatistics.getDuplicateRatio().doubleValue(), 0.0);
+	}
+
+	@Test
+	public void testEvaluateFitness_Crowding() throws InterruptedException {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+		population.setCrowdingReplacement(new CrowdingReplacement());
+
+		FitnessEvaluator fitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(fitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.valueOf(3.0));
+		population.setFitnessEvaluator(fitnessEvaluatorMock);
+
+		MockKeyedChromosome weakParent = chromosomeWithValue("x", 2.0, false);
+		population.addIndividual(weakParent);
+
+		MockKeyedChromosome strongParent = chromosomeWithValue("y", 5.0, false);
+		population.addIndividual(strongParent);
+
+		population.backupIndividuals();
+		population.clearIndividuals();
+
+		MockKeyedChromosome childOfWeakParent = chromosomeWithValue("x", 0.0, true);
+		population.addIndividual(childOfWeakParent);
+
+		MockKeyedChromosome childOfStrongParent = chromosomeWithValue("y", 0.0, true);
+		population.addIndividual(childOfStrongParent);
+
+		population.evaluateFitness(generationStatistics);
+
+		assertEquals(2, population.size());
+		assertSame(childOfWeakParent, population.getIndividuals().get(0));
+		assertSame(strongParent, population.getIndividuals().get(1));
+		assertEquals(8.0, population.getTotalFitness().doubleValue(), 0.0);
+	}
+
+	@Test
+	public void testPerformMajorEvaluation_Cascade() throws InterruptedException {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+		population.setFitnessComparator(new AscendingFitnessComparator());
+
+		FitnessEvaluator majorFitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		population.setMajorFitnessEvaluator(majorFitnessEvaluatorMock);
+
+		FitnessEvaluator stageFitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(stageFitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.valueOf(100.0));
+
+		EvaluationCascade evaluationCascade = new EvaluationCascade();
+		evaluationCascade.addStage(new EvaluationStage(stageFitnessEvaluatorMock, 1.0));
+		population.setEvaluationCascade(evaluationCascade);
+
+		for (int i = 1; i <= 4; i++) {
+			MockKeyedChromosome chromosome = new MockKeyedChromosome();
+			chromosome.setFitness(BigDecimal.valueOf(i));
+			population.addIndividual(chromosome);
+		}
+
+		population.performMajorEvaluation(generationStatistics, 0.5);
+
+		assertEquals(2, generationStatistics.getNumberOfMajorEvaluations());
+		assertEquals(1, generationStatistics.getEvaluationStageStatistics().size());
+		assertEquals(0, BigDecimal.valueOf(100.0).compareTo(generationStatistics.getBestFitness()));
+		verify(stageFitnessEvaluatorMock, times(2)).evaluate(any(Chromosome.class));
+		verifyNoMoreInteractions(majorFitnessEvaluatorMock);
+	}
+
+	@Test
+	public void testPerformMajorEvaluation_Asynchronous() throws InterruptedException {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+		population.setMajorEvaluationExecutor(taskExecutor);
+		population.setFitnessComparator(new AscendingFitnessComparator());
+
+		FitnessEvaluator majorFitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(majorFitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.valueOf(100.0));
+		population.setMajorFitnessEvaluator(majorFitnessEvaluatorMock);
+
+		List<MockKeyedChromosome> chromosomes = new ArrayList<MockKeyedChromosome>();
+
+		for (int i = 1; i <= 5; i++) {
+			MockKeyedChromosome chromosome = new MockKeyedChromosome();
+			MockGene gene = new MockGene();
+			gene.addSequence(new MockSequence(String.valueOf(i)));
+			chromosome.putGene(0, gene);
+			chromosome.setFitness(BigDecimal.valueOf(i));
+			population.addIndividual(chromosome);
+			chromosomes.add(chromosome);
+		}
+
+		population.performMajorEvaluation(generationStatistics, 0.5);
+
+		// The snapshots are evaluated in the background, so nothing has been merged yet
+		assertEquals(0, generationStatistics.getNumberOfMajorEvaluations());
+
+		// The fittest individual dies before its evaluation is merged
+		population.removeIndividual(population.getIndividuals().indexOf(chromosomes.get(4)));
+
+		population.awaitMajorEvaluations(generationStatistics);
+
+		assertEquals(2, generationStatistics.getNumberOfMajorEvaluations());
+		assertEquals(0, BigDecimal.valueOf(100.0).compareTo(chromosomes.get(3).getFitness()));
+		assertEquals(0, BigDecimal.valueOf(5.0).compareTo(chromosomes.get(4).getFitness()));
+		assertEquals(0, BigDecimal.valueOf(100.0).compareTo(generationStatistics.getBestFitness()));
+
+		assertEquals(1, population.getHallOfFame().size());
+		assertEquals(chromosomes.get(4), population.getHallOfFame().getBest());
+		assertEquals(0, BigDecimal.valueOf(100.0).compareTo(population.getHallOfFame().getBest().getFitness()));
+		verify(majorFitnessEvaluatorMock, times(2)).evaluate(any(Chromosome.class));
+	}
+
+	@Test
+	public void testPerformMajorEvaluation_MergedByGenotype() throws InterruptedException {
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+		population.setMajorEvaluationExecutor(taskExecutor);
+		population.setFitnessComparator(new AscendingFitnessComparator());
+
+		FitnessEvaluator majorFitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(majorFitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.valueOf(100.0));
+		population.setMajorFitnessEvaluator(majorFitnessEvaluatorMock);
+
+		List<MockKeyedChromosome> chromosomes = new ArrayList<MockKeyedChromosome>();
+
+		for (int i = 1; i <= 5; i++) {
+			MockKeyedChromosome chromosome = new MockKeyedChromosome();
+			MockGene gene = new MockGene();
+			gene.addSequence(new MockSequence(String.valueOf(i)));
+			chromosome.putGene(0, gene);
+			chromosome.setFitness(BigDecimal.valueOf(i));
+			population.addIndividual(chromosome);
+			chromosomes.add(chromosome);
+		}
+
+		population.performMajorEvaluation(generationStatistics, 0.2);
+
+		// The fittest individual is replaced by an equal Chromosome before its evaluation is merged
+		Chromosome replacement = chromosomes.get(4).clone();
+		population.removeIndividual(population.getIndividuals().indexOf(chromosomes.get(4)));
+		population.addIndividual(replacement);
+
+		population.awaitMajorEvaluations(generationStatistics);
+
+		assertEquals(1, generationStatistics.getNumberOfMajorEvaluations());
+		assertEquals(0, BigDecimal.valueOf(100.0).compareTo(replacement.getFitness()));
+		assertEquals(0, population.getHallOfFame().size());
+	}
+
+	@Test
+	public void testPerformMajorEvaluation_MergedByEvaluateFitness() throws InterruptedException {
+		final List<Runnable> queued = new ArrayList<Runnable>();
+
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+		population.setMajorEvaluationExecutor(new TaskExecutor() {
+			@Override
+			public void execute(Runnable task) {
+				queued.add(task);
+			}
+		});
+		population.setFitnessComparator(new AscendingFitnessComparator());
+		population.setFitnessEvaluator(mock(FitnessEvaluator.class));
+
+		FitnessEvaluator majorFitnessEvaluatorMock = mock(FitnessEvaluator.class);
+		when(majorFitnessEvaluatorMock.evaluate(any(Chromosome.class))).thenReturn(BigDecimal.valueOf(100.0));
+		population.setMajorFitnessEvaluator(majorFitnessEvaluatorMock);
+
+		for (int i = 1; i <= 5; i++) {
+			MockKeyedChromosome chromosome = new MockKeyedChromosome();
+			MockGene gene = new MockGene();
+			gene.addSequence(new MockSequence(String.valueOf(i)));
+			chromosome.putGene(0, gene);
+			chromosome.setFitness(BigDecimal.valueOf(i));
+			population.addIndividual(chromosome);
+		}
+
+		population.performMajorEvaluation(new GenerationStatistics(), 0.4);
+
+		for (Runnable task : queued) {
+			task.run();
+		}
+
+		queued.clear();
+
+		// The next major evaluation generation merges the finished evaluations before its own major evaluation
+		GenerationStatistics generationStatistics = new GenerationStatistics();
+		population.evaluateFitness(generationStatistics);
+
+		assertEquals(2, generationStatistics.getNumberOfMajorEvaluations());
+
+		population.performMajorEvaluation(generationStatistics, 0.4);
+
+		assertEquals(2, generationStatistics.getNumberOfMajorEvaluations());
+		assertEquals(2, queued.size());
+
+		// A new run starts without the evaluations left over from the last one
+		population.getHallOfFame().add(population.getIndividuals().get(0));
+		population.reset();
+
+		GenerationStatistics nextRunStatistics = new GenerationStatistics();
+		population.awaitMajorEvaluations(nextRunStatistics);
+
+		assertEquals(0, nextRunStatistics.getNumberOfMajorEvaluations());
+		assertEquals(0, population.getHallOfFame().size());
+	}
+
 	@Test
 	public void testEvaluateFitness() throws InterruptedException {
 		GenerationStatistics generationStatistics = new GenerationStatistics();
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.population;
+
+import java.math.BigDecimal;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.ciphertool.genetics.entities.Chromosome;
+import com.ciphertool.genetics.fitness.FitnessEvaluator;
+import com.ciphertool.genetics.mocks.MockKeyedChromosome;
+import com.ciphertool.genetics.util.VirtualThreadTaskExecutor;
+
+/**
+ * Compares evaluation throughput of a fixed platform thread pool against the VirtualThreadTaskExecutor, using a
+ * FitnessEvaluator which simulates a blocking call to a local store. This is not run as part of the test suite. To see
+ * the difference, build with the java21 profile and run it on Java 21 with the packaged JAR on the classpath.
+ */
+public class VirtualThreadEvaluationBenchmark {
+	private static final int	POPULATION_SIZE			= 2000;
+	private static final long	SIMULATED_LATENCY_MILLIS	= 20;
+	private static final int	PLATFORM_POOL_SIZE		= 16;
+	private static final int	MAX_CONCURRENCY			= 1000;
+	private static final int	ROUNDS					= 3;
+
+	private static class SimulatedLatencyFitnessEvaluator implements FitnessEvaluator {
+		@Override
+		public BigDecimal evaluate(Chromosome chromosome) {
+			try {
+				Thread.sleep(SIMULATED_LATENCY_MILLIS);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+
+			return BigDecimal.ONE;
+		}
+
+		@Override
+		public void setGeneticStructure(Object obj) {
+		}
+
+		@Override
+		public String getDisplayName() {
+			return "Simulated Latency";
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		ThreadPoolTaskExecutor platformExecutor = new ThreadPoolTaskExecutor();
+		platformExecutor.setCorePoolSize(PLATFORM_POOL_SIZE);
+		platformExecutor.setMaxPoolSize(PLATFORM_POOL_SIZE);
+		platformExecutor.setQueueCapacity(POPULATION_SIZE);
+		platformExecutor.initialize();
+
+		VirtualThreadTaskExecutor virtualExecutor = new VirtualThreadTaskExecutor();
+		virtualExecutor.setMaxConcurrency(MAX_CONCURRENCY);
+
+		System.out.println("Evaluating " + POPULATION_SIZE + " individuals with " + SIMULATED_LATENCY_MILLIS
+				+ "ms of simulated latency each (virtual threads supported: "
+				+ virtualExecutor.isUsingVirtualThreads() + ")");
+
+		for (int i = 0; i < ROUNDS; i++) {
+			report("platform pool of " + PLATFORM_POOL_SIZE, run(platformExecutor));
+			report("virtual threads limited to " + MAX_CONCURRENCY, run(virtualExecutor));
+		}
+
+		platformExecutor.shutdown();
+		virtualExecutor.destroy();
+	}
+
+	private static long run(TaskExecutor taskExecutor) throws InterruptedException {
+		StandardPopulation population = new StandardPopulation();
+		population.setTaskExecutor(taskExecutor);
+
+		FitnessEvaluator fitnessEvaluator = new SimulatedLatencyFitnessEvaluator();
+		population.setFitnessEvaluator(fitnessEvaluator);
+
+		for (int i = 0; i < POPULATION_SIZE; i++) {
+			MockKeyedChromosome chromosome = new MockKeyedChromosome();
+			chromosome.setFitness(BigDecimal.ZERO);
+			population.addIndividual(chromosome);
+			chromosome.setEvaluationNeeded(true);
+		}
+
+		long start = System.currentTimeMillis();
+		population.doConcurrentFitnessEvaluations(fitnessEvaluator, -1, false);
+
+		return System.currentTimeMillis() - start;
+	}
+
+	private static void report(String executorDescription, long elapsedMillis) {
+		System.out.println(String.format("%-32s %6dms %10.1f evaluations/s", executorDescription, elapsedMillis,
+				POPULATION_SIZE * 1000.0 / elapsedMillis));
+	}
+}
@@ -19,6 +19,8 @@
 
 package com.ciphertool.genetics.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -50,4 +52,43 @@ public class CoinTest {
 
 		assertTrue(headsOccurred && tailsOccurred);
 	}
+
+	@Test
+	public void testFlipMask() {
+		Coin coin = new Coin();
+		long heads = 0;
+
+		for (int i = 0; i < MAX_FLIPS; i++) {
+			heads += Long.bitCount(coin.flipMask());
+		}
+
+		assertEquals(0.5, (double) heads / (MAX_FLIPS * 64), 0.05);
+	}
+
+	@Test
+	public void testFlipMask_Biased() {
+		Coin coin = new Coin();
+
+		assertEquals(0L, coin.flipMask(0.0));
+		assertEquals(-1L, coin.flipMask(1.0));
+
+		long heads = 0;
+
+		for (int i = 0; i < MAX_FLIPS; i++) {
+			heads += Long.bitCount(coin.flipMask(0.1));
+		}
+
+		assertEquals(0.1, (double) heads / (MAX_FLIPS * 64), 0.03);
+	}
+
+	@Test
+	public void testIsHeads() {
+		long mask = 0x8000000000000005L;
+
+		assertTrue(Coin.isHeads(mask, 0));
+		assertFalse(Coin.isHeads(mask, 1));
+		assertTrue(Coin.isHeads(mask, 2));
+		assertTrue(Coin.isHeads(mask, 63));
+		assertTrue(Coin.isHeads(mask, 64));
+	}
 }
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class DistinctIndexSamplerTest {
+	@Test
+	public void testSample() {
+		RandomSource randomSource = new RandomSource();
+
+		for (int run = 0; run < 100; run++) {
+			int[] sample = DistinctIndexSampler.sample(randomSource, 10, 7);
+
+			assertEquals(7, sample.length);
+
+			Set<Integer> distinct = new HashSet<Integer>();
+
+			for (int index : sample) {
+				assertTrue(index >= 0 && index < 10);
+
+				distinct.add(index);
+			}
+
+			assertEquals(7, distinct.size());
+		}
+	}
+
+	@Test
+	public void testSample_All() {
+		int[] sample = DistinctIndexSampler.sample(new RandomSource(), 5, 5);
+
+		Set<Integer> distinct = new HashSet<Integer>();
+
+		for (int index : sample) {
+			distinct.add(index);
+		}
+
+		assertEquals(5, distinct.size());
+	}
+
+	@Test
+	public void testSample_Uniform() {
+		RandomSource randomSource = new RandomSource();
+		int[] counts = new int[4];
+		int runs = 20000;
+
+		for (int run = 0; run < runs; run++) {
+			counts[DistinctIndexSampler.sample(randomSource, 4, 1)[0]]++;
+
+			// A larger sample in between must not disturb the next one
+			DistinctIndexSampler.sample(randomSource, 8, 3);
+		}
+
+		for (int count : counts) {
+			assertEquals(0.25, (double) count / runs, 0.02);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSample_TooMany() {
+		DistinctIndexSampler.sample(new RandomSource(), 3, 4);
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class FairShareTaskExecutorTest {
+	@Test
+	public void testExecute_TakesTurns() throws InterruptedException {
+		FairShareTaskExecutor fairShareTaskExecutor = new FairShareTaskExecutor();
+		fairShareTaskExecutor.setThreads(1);
+
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(6);
+		final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+
+		// Occupy the only worker so that both Shares queue up all their tasks before any of them runs
+		fairShareTaskExecutor.newShare("blocker").execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					release.await();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		FairShareTaskExecutor.Share first = fairShareTaskExecutor.newShare("first");
+		FairShareTaskExecutor.Share second = fairShareTaskExecutor.newShare("second");
+
+		for (int i = 1; i <= 3; i++) {
+			first.execute(new RecordingTask("a" + i, order, done));
+		}
+
+		for (int i = 1; i <= 3; i++) {
+			second.execute(new RecordingTask("b" + i, order, done));
+		}
+
+		assertEquals(3, first.getPendingTasks());
+
+		release.countDown();
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("a1", "b1", "a2", "b2", "a3", "b3"), order);
+
+		fairShareTaskExecutor.destroy();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testExecute_AfterDestroy() {
+		FairShareTaskExecutor fairShareTaskExecutor = new FairShareTaskExecutor();
+		fairShareTaskExecutor.destroy();
+
+		fairShareTaskExecutor.newShare("late").execute(new RecordingTask("late", new ArrayList<String>(),
+				new CountDownLatch(1)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetThreads_Invalid() {
+		new FairShareTaskExecutor().setThreads(0);
+	}
+
+	private static class RecordingTask implements Runnable {
+		private String			name;
+		private List<String>	order;
+		private CountDownLatch	done;
+
+		public RecordingTask(String name, List<String> order, CountDownLatch done) {
+			this.name = name;
+			this.order = order;
+			this.done = done;
+		}
+
+		@Override
+		public void run() {
+			order.add(name);
+			done.countDown();
+		}
+	}
+}
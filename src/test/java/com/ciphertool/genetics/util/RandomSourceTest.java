@@ -0,0 +1,139 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class RandomSourceTest {
+	private static final int	NUMBER_OF_TASKS	= 50;
+	private static final int	DRAWS_PER_TASK	= 20;
+
+	private static class DrawTask implements Callable<long[]> {
+		private RandomSource randomSource;
+
+		public DrawTask(RandomSource randomSource) {
+			this.randomSource = randomSource;
+		}
+
+		@Override
+		public long[] call() throws Exception {
+			long[] draws = new long[DRAWS_PER_TASK];
+
+			for (int i = 0; i < DRAWS_PER_TASK; i++) {
+				draws[i] = randomSource.nextLong();
+			}
+
+			return draws;
+		}
+	}
+
+	@Test
+	public void testBind_Unseeded() {
+		RandomSource randomSource = new RandomSource();
+		Callable<long[]> task = new DrawTask(randomSource);
+
+		assertFalse(randomSource.isSeeded());
+		assertSame(task, randomSource.bind(task, randomSource.nextStream(), 0));
+	}
+
+	@Test
+	public void testBind_SameSeedSameDraws() throws Exception {
+		RandomSource randomSource = new RandomSource();
+		randomSource.setSeed(42L);
+
+		long[] first = randomSource.bind(new DrawTask(randomSource), 0, 0).call();
+		long[] second = randomSource.bind(new DrawTask(randomSource), 0, 0).call();
+
+		assertArrayEquals(first, second);
+	}
+
+	@Test
+	public void testBind_DifferentIndexDifferentDraws() throws Exception {
+		RandomSource randomSource = new RandomSource();
+		randomSource.setSeed(42L);
+
+		long[] first = randomSource.bind(new DrawTask(randomSource), 0, 0).call();
+		long[] second = randomSource.bind(new DrawTask(randomSource), 0, 1).call();
+		long[] third = randomSource.bind(new DrawTask(randomSource), 1, 0).call();
+
+		assertFalse(Arrays.equals(first, second));
+		assertFalse(Arrays.equals(first, third));
+	}
+
+	@Test
+	public void testBind_IndependentOfPoolSize() throws Exception {
+		List<long[]> singleThreaded = runOnPool(1);
+		List<long[]> multiThreaded = runOnPool(4);
+
+		for (int i = 0; i < NUMBER_OF_TASKS; i++) {
+			assertArrayEquals(singleThreaded.get(i), multiThreaded.get(i));
+		}
+	}
+
+	@Test
+	public void testReset() {
+		RandomSource randomSource = new RandomSource();
+		randomSource.setSeed(42L);
+
+		long firstStream = randomSource.nextStream();
+		randomSource.nextStream();
+		randomSource.reset();
+
+		assertTrue(firstStream == randomSource.nextStream());
+	}
+
+	private static List<long[]> runOnPool(int threads) throws Exception {
+		RandomSource randomSource = new RandomSource();
+		randomSource.setSeed(1234L);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<long[]>> futures = new ArrayList<Future<long[]>>();
+		List<long[]> results = new ArrayList<long[]>();
+
+		try {
+			long stream = randomSource.nextStream();
+
+			for (int i = 0; i < NUMBER_OF_TASKS; i++) {
+				futures.add(executor.submit(randomSource.bind(new DrawTask(randomSource), stream, i)));
+			}
+
+			for (Future<long[]> future : futures) {
+				results.add(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		return results;
+	}
+}
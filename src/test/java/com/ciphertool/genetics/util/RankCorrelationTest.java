@@ -0,0 +1,52 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class RankCorrelationTest {
+	@Test
+	public void testSpearman() {
+		assertEquals(1.0, RankCorrelation.spearman(new double[] { 1.0, 2.0, 3.0 }, new double[] { 10.0, 20.0, 40.0 }), 1e-9);
+		assertEquals(-1.0, RankCorrelation.spearman(new double[] { 1.0, 2.0, 3.0 }, new double[] { 3.0, 2.0, 1.0 }), 1e-9);
+		assertEquals(0.5, RankCorrelation.spearman(new double[] { 1.0, 2.0, 3.0 }, new double[] { 1.0, 3.0, 2.0 }), 1e-9);
+	}
+
+	@Test
+	public void testSpearman_Ties() {
+		// Ranks are 1.5, 1.5, 3 against 1, 2, 3
+		assertEquals(Math.sqrt(0.75), RankCorrelation.spearman(new double[] { 5.0, 5.0, 7.0 }, new double[] { 1.0, 2.0,
+				3.0 }), 1e-9);
+	}
+
+	@Test
+	public void testSpearman_Undefined() {
+		assertNull(RankCorrelation.spearman(new double[] { 1.0 }, new double[] { 2.0 }));
+		assertNull(RankCorrelation.spearman(new double[] { 1.0, 1.0 }, new double[] { 1.0, 2.0 }));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSpearman_LengthMismatch() {
+		RankCorrelation.spearman(new double[] { 1.0 }, new double[] { 1.0, 2.0 });
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2015 George Belden
+ * 
+ * This file is part of Genie.
+ * 
+ * Genie is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ * 
+ * Genie is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Genie. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.genetics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class VirtualThreadTaskExecutorTest {
+	private static final int	MAX_CONCURRENCY	= 3;
+	private static final int	NUMBER_OF_TASKS	= 30;
+
+	@Test
+	public void testExecute_LimitsConcurrency() throws InterruptedException {
+		VirtualThreadTaskExecutor taskExecutor = new VirtualThreadTaskExecutor();
+		taskExecutor.setMaxConcurrency(MAX_CONCURRENCY);
+
+		final AtomicInteger running = new AtomicInteger(0);
+		final AtomicInteger maxRunning = new AtomicInteger(0);
+		final CountDownLatch finished = new CountDownLatch(NUMBER_OF_TASKS);
+
+		try {
+			for (int i = 0; i < NUMBER_OF_TASKS; i++) {
+				taskExecutor.execute(new Runnable() {
+					@Override
+					public void run() {
+						int current = running.incrementAndGet();
+
+						maxRunning.accumulateAndGet(current, Math::max);
+
+						try {
+							Thread.sleep(5);
+						} catch (InterruptedException ie) {
+							Thread.currentThread().interrupt();
+						}
+
+						running.decrementAndGet();
+						finished.countDown();
+					}
+				});
+			}
+
+			assertTrue(finished.await(10, TimeUnit.SECONDS));
+		} finally {
+			taskExecutor.destroy();
+		}
+
+		assertEquals(0, running.get());
+		assertTrue(maxRunning.get() <= MAX_CONCURRENCY);
+	}
+}